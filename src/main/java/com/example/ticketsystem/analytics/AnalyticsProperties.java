@@ -0,0 +1,26 @@
+package com.example.ticketsystem.analytics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Analytics snapshot settings ({@code app.analytics.*}). The snapshot is loaded in the
+ * background at startup and then refreshed incrementally every {@code refresh-interval};
+ * reports answer 503 until the first load finishes.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.analytics")
+public class AnalyticsProperties {
+
+    private boolean enabled = true;
+    private int loadBatchSize = 10_000;
+    /**
+     * How long a gap in ids is waited on before it is taken for a rolled-back insert or a deleted
+     * row rather than one still committing. Rows after a younger gap wait for the next refresh.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(10);
+    /** Longest cohort window a retention report may ask for, in months. */
+    private int maxCohortMonths = 36;
+}
@@ -0,0 +1,254 @@
+package com.example.ticketsystem.analytics;
+
+import com.example.ticketsystem.entity.TicketPriority;
+import com.example.ticketsystem.entity.TicketStatus;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.TicketMessageRepository;
+import com.example.ticketsystem.repository.TicketPriorityRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import com.example.ticketsystem.repository.TicketStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Registration, ticket, message and retention reports over an {@link AnalyticsSnapshot}. The
+ * snapshot is filled in the background at startup from keyset-paged projections on the reporting
+ * pool, then topped up every {@code app.analytics.refresh-interval} with new rows, with the
+ * tickets updated since the last pass and with deleted customers, so reports never scan the OLTP
+ * tables.
+ *
+ * <p>Ids are handed out before commit, so a row can become visible after a higher one. New rows
+ * are therefore taken only up to the first gap in ids, unless the row after the gap is older than
+ * {@code app.analytics.gap-timeout}; the rest waits for the next pass.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AnalyticsProperties.class)
+public class AnalyticsService {
+
+    // updated_at is set before commit, so every change pass re-reads this much history.
+    private static final long CHANGE_OVERLAP_SECONDS = 60;
+
+    private final CustomerRepository customerRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketMessageRepository messageRepository;
+    private final TicketStatusRepository statusRepository;
+    private final TicketPriorityRepository priorityRepository;
+    private final AnalyticsProperties properties;
+    private final AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+    private volatile boolean ready;
+    private volatile LocalDateTime refreshedAt;
+    private LocalDateTime changedSince;
+    private long changedAfterId;
+
+    public record Status(boolean ready, LocalDateTime refreshedAt, int customers, int tickets, int messages, long bytes) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread.ofPlatform().name("analytics-loader").daemon().start(this::load);
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        try {
+            snapshot.setDictionaries(
+                    statusRepository.findAll().stream()
+                            .collect(Collectors.toMap(s -> s.getId().intValue(), TicketStatus::getName)),
+                    priorityRepository.findAll().stream()
+                            .collect(Collectors.toMap(p -> p.getId().intValue(), TicketPriority::getName)));
+            changedSince = LocalDateTime.now().minusSeconds(CHANGE_OVERLAP_SECONDS);
+            changedAfterId = 0;
+            synchronized (this) {
+                appendNewRows();
+            }
+            ready = true;
+            AnalyticsSnapshot.Size size = snapshot.size();
+            log.info("Analytics snapshot loaded {} customers, {} tickets, {} messages ({} KB) in {} ms",
+                    size.customers(), size.tickets(), size.messages(), size.bytes() / 1024,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Analytics snapshot load failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.refresh-interval:5m}", initialDelayString = "${app.analytics.refresh-interval:5m}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            synchronized (this) {
+                applyTicketChanges();
+                appendNewRows();
+                removeDeletedCustomers();
+            }
+            log.debug("Analytics snapshot refreshed in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Analytics snapshot refresh failed; retrying on the next run", e);
+        }
+    }
+
+    private void appendNewRows() {
+        Pageable batch = PageRequest.ofSize(properties.getLoadBatchSize());
+        LocalDateTime settledBefore = LocalDateTime.now().minus(properties.getGapTimeout());
+        List<CustomerFact> customers;
+        int settled;
+        do {
+            long afterId = snapshot.lastCustomerId();
+            customers = customerRepository.findAnalyticsFactsAfter(afterId, batch);
+            settled = settledPrefix(customers, afterId, CustomerFact::customerId, CustomerFact::createdAt, settledBefore);
+            snapshot.appendCustomers(customers.subList(0, settled));
+        } while (settled == batch.getPageSize());
+
+        List<TicketFact> tickets;
+        do {
+            long afterId = snapshot.lastTicketId();
+            tickets = ticketRepository.findAnalyticsFactsAfter(afterId, batch);
+            settled = settledPrefix(tickets, afterId, TicketFact::ticketId, TicketFact::createdAt, settledBefore);
+            if (snapshot.appendTickets(tickets.subList(0, settled)) < settled) {
+                break; // a customer newer than the customer pass; picked up next refresh
+            }
+        } while (settled == batch.getPageSize());
+
+        List<MessageFact> messages;
+        do {
+            long afterId = snapshot.lastMessageId();
+            messages = messageRepository.findAnalyticsFactsAfter(afterId, batch);
+            settled = settledPrefix(messages, afterId, MessageFact::messageId, MessageFact::createdAt, settledBefore);
+            snapshot.appendMessages(messages.subList(0, settled));
+        } while (settled == batch.getPageSize());
+        refreshedAt = LocalDateTime.now();
+    }
+
+    /**
+     * How many leading {@code rows} (ascending ids after {@code afterId}) can be taken. A gap in
+     * ids may be an insert still committing; rows after one wait until they are older than
+     * {@code settledBefore}, by when the gap is taken to be a rollback or a deleted row.
+     */
+    static <T> int settledPrefix(List<T> rows, long afterId, ToLongFunction<T> id,
+                                 Function<T, LocalDateTime> createdAt, LocalDateTime settledBefore) {
+        long expected = afterId + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            T row = rows.get(i);
+            if (id.applyAsLong(row) != expected && createdAt.apply(row).isAfter(settledBefore)) {
+                return i;
+            }
+            expected = id.applyAsLong(row) + 1;
+        }
+        return rows.size();
+    }
+
+    // Deletes leave nothing to tail; a cheap count tells whether the id walk is needed at all
+    private void removeDeletedCustomers() {
+        long upToId = snapshot.lastCustomerId();
+        if (upToId == 0 || customerRepository.countByIdLessThanEqual(upToId) == snapshot.size().customers()) {
+            return;
+        }
+        Pageable batch = PageRequest.ofSize(properties.getLoadBatchSize());
+        long afterId = 0;
+        int removed = 0;
+        List<Long> ids;
+        do {
+            ids = customerRepository.findIdsBetween(afterId, upToId, batch);
+            long pageEnd = ids.size() == batch.getPageSize() ? ids.get(ids.size() - 1) : upToId;
+            removed += snapshot.removeCustomersMissing(afterId, pageEnd, ids);
+            afterId = pageEnd;
+        } while (ids.size() == batch.getPageSize());
+        if (removed > 0) {
+            log.debug("Removed {} deleted customers from the analytics snapshot", removed);
+        }
+    }
+
+    private void applyTicketChanges() {
+        Pageable batch = PageRequest.ofSize(properties.getLoadBatchSize());
+        LocalDateTime nextSince = LocalDateTime.now().minusSeconds(CHANGE_OVERLAP_SECONDS);
+        List<TicketFact> changed;
+        do {
+            changed = ticketRepository.findAnalyticsFactsUpdatedSince(changedSince, changedAfterId, batch);
+            snapshot.updateTickets(changed);
+            if (!changed.isEmpty()) {
+                TicketFact last = changed.get(changed.size() - 1);
+                changedSince = last.updatedAt();
+                changedAfterId = last.ticketId();
+            }
+        } while (changed.size() == batch.getPageSize());
+        changedSince = nextSince;
+        changedAfterId = 0;
+    }
+
+    public Status status() {
+        AnalyticsSnapshot.Size size = snapshot.size();
+        return new Status(ready, refreshedAt, size.customers(), size.tickets(), size.messages(), size.bytes());
+    }
+
+    public List<AnalyticsSnapshot.Bucket> registrations(LocalDate since, AnalyticsSnapshot.Granularity granularity) {
+        requireReady();
+        return snapshot.registrations(since, granularity);
+    }
+
+    public List<AnalyticsSnapshot.Bucket> ticketsCreated(LocalDate since, AnalyticsSnapshot.Granularity granularity) {
+        requireReady();
+        return snapshot.ticketsCreated(since, granularity);
+    }
+
+    public List<AnalyticsSnapshot.Breakdown> breakdown(AnalyticsSnapshot.Dimension dimension, LocalDate since) {
+        requireReady();
+        return snapshot.breakdown(dimension, since);
+    }
+
+    public List<AnalyticsSnapshot.MessageDay> messagesPerDay(LocalDate since) {
+        requireReady();
+        return snapshot.messagesPerDay(since);
+    }
+
+    public Map<String, Object> activeCustomers(LocalDate since) {
+        requireReady();
+        return Map.of("since", since, "activeCustomers", snapshot.activeCustomers(since));
+    }
+
+    /** Customers registered before {@code registeredBefore} who opened a ticket on or after {@code activeSince}. */
+    public Map<String, Object> retainedCustomers(LocalDate registeredBefore, LocalDate activeSince) {
+        requireReady();
+        if (activeSince.isBefore(registeredBefore)) {
+            throw new IllegalArgumentException("activeSince, registeredBefore tarihinden önce olamaz");
+        }
+        return Map.of("registeredBefore", registeredBefore, "activeSince", activeSince,
+                "retainedCustomers", snapshot.retainedCustomers(registeredBefore, activeSince));
+    }
+
+    public List<AnalyticsSnapshot.Cohort> cohorts(YearMonth from, int months) {
+        requireReady();
+        if (months < 1 || months > properties.getMaxCohortMonths()) {
+            throw new IllegalArgumentException("months 1 ile " + properties.getMaxCohortMonths() + " arasında olmalıdır");
+        }
+        return snapshot.cohorts(from, months);
+    }
+
+    private void requireReady() {
+        if (!ready) {
+            throw new IllegalStateException("Analiz verisi henüz hazır değil");
+        }
+    }
+}
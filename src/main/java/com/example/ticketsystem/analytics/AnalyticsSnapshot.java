@@ -0,0 +1,473 @@
+package com.example.ticketsystem.analytics;
+
+import com.example.ticketsystem.entity.TicketMessage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Customer, ticket and message facts laid out column by column for analytical scans. Dates are
+ * stored as epoch days in {@code int} vectors and status, priority and sender as {@code byte}
+ * codes, so a ticket costs 22 bytes and a report is a handful of tight loops over primitive
+ * arrays instead of a GROUP BY over the row store.
+ *
+ * <p>Rows are appended in id order and tickets point at their customer by position, which makes
+ * per-customer reports (active, retained, cohorts) bit operations over customer positions. Ticket
+ * status and close date change, so tickets can also be updated in place by id. A deleted customer
+ * keeps its position but loses its registration day, which takes it out of every report. Reports
+ * share a read lock; appends and updates take the write lock one batch at a time.
+ */
+public class AnalyticsSnapshot {
+
+    public enum Granularity {
+        DAY,
+        MONTH
+    }
+
+    public enum Dimension {
+        STATUS,
+        PRIORITY
+    }
+
+    public record Bucket(String key, long count) {
+    }
+
+    public record MessageDay(String day, long total, Map<String, Long> bySender) {
+    }
+
+    /** Tickets per status or priority; {@code open} counts those without a close date. */
+    public record Breakdown(String key, long tickets, long open) {
+    }
+
+    /**
+     * Customers who registered in {@code month}, and how many of them opened a ticket in each
+     * month since: {@code active[0]} is the registration month itself.
+     */
+    public record Cohort(String month, int customers, int[] active) {
+    }
+
+    public record Size(int customers, int tickets, int messages, long bytes) {
+    }
+
+    private static final int NOT_CLOSED = Integer.MIN_VALUE;
+    private static final int REMOVED = Integer.MIN_VALUE;
+    private static final TicketMessage.SenderType[] SENDERS = TicketMessage.SenderType.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongColumn customerIds = new LongColumn(1024);
+    private final IntColumn customerCreatedDay = new IntColumn(1024);
+    private int removedCustomers;
+
+    private final LongColumn ticketIds = new LongColumn(4096);
+    private final IntColumn ticketCustomer = new IntColumn(4096);
+    private final IntColumn ticketCreatedDay = new IntColumn(4096);
+    private final IntColumn ticketClosedDay = new IntColumn(4096);
+    private final ByteColumn ticketStatus = new ByteColumn(4096);
+    private final ByteColumn ticketPriority = new ByteColumn(4096);
+
+    private final IntColumn messageCreatedDay = new IntColumn(16384);
+    private final ByteColumn messageSender = new ByteColumn(16384);
+    private long lastMessageId;
+
+    private int maxDay = Integer.MIN_VALUE;
+    private Map<Integer, String> statusNames = Map.of();
+    private Map<Integer, String> priorityNames = Map.of();
+
+    // ---- Loading ----
+
+    public long lastCustomerId() {
+        return read(() -> customerIds.size() == 0 ? 0L : customerIds.get(customerIds.size() - 1));
+    }
+
+    public long lastTicketId() {
+        return read(() -> ticketIds.size() == 0 ? 0L : ticketIds.get(ticketIds.size() - 1));
+    }
+
+    public long lastMessageId() {
+        return read(() -> lastMessageId);
+    }
+
+    public void setDictionaries(Map<Integer, String> statuses, Map<Integer, String> priorities) {
+        write(() -> {
+            statusNames = Map.copyOf(statuses);
+            priorityNames = Map.copyOf(priorities);
+        });
+    }
+
+    /** Appends customers newer than the last one; older ids are ignored, so a batch can be replayed. */
+    public void appendCustomers(List<CustomerFact> facts) {
+        write(() -> {
+            for (CustomerFact fact : facts) {
+                if (customerIds.size() > 0 && fact.customerId() <= customerIds.get(customerIds.size() - 1)) {
+                    continue;
+                }
+                customerIds.add(fact.customerId());
+                customerCreatedDay.add(day(fact.createdAt()));
+            }
+        });
+    }
+
+    /**
+     * Appends tickets newer than the last one, in order. Stops at a ticket whose customer is not
+     * in the snapshot yet (it registered after the customer pass) so it is retried next time.
+     *
+     * @return how many of {@code facts} are now in the snapshot
+     */
+    public int appendTickets(List<TicketFact> facts) {
+        return writeAndGet(() -> {
+            int done = 0;
+            for (TicketFact fact : facts) {
+                if (ticketIds.size() > 0 && fact.ticketId() <= ticketIds.get(ticketIds.size() - 1)) {
+                    done++;
+                    continue;
+                }
+                int customer = customerIds.binarySearch(fact.customerId());
+                if (customer < 0) {
+                    break;
+                }
+                ticketIds.add(fact.ticketId());
+                ticketCustomer.add(customer);
+                ticketCreatedDay.add(day(fact.createdAt()));
+                ticketClosedDay.add(fact.closedAt() != null ? day(fact.closedAt()) : NOT_CLOSED);
+                ticketStatus.add(code(fact.statusId()));
+                ticketPriority.add(code(fact.priorityId()));
+                done++;
+            }
+            return done;
+        });
+    }
+
+    /** Overwrites the changeable columns of tickets already in the snapshot; unknown ids are skipped. */
+    public void updateTickets(List<TicketFact> facts) {
+        write(() -> {
+            for (TicketFact fact : facts) {
+                int position = ticketIds.binarySearch(fact.ticketId());
+                if (position < 0) {
+                    continue;
+                }
+                ticketClosedDay.set(position, fact.closedAt() != null ? day(fact.closedAt()) : NOT_CLOSED);
+                ticketStatus.set(position, code(fact.statusId()));
+                ticketPriority.set(position, code(fact.priorityId()));
+            }
+        });
+    }
+
+    /**
+     * Removes the customers with ids in ({@code afterId}, {@code upToId}] that are missing from
+     * {@code presentIds}, which lists every id in that range still in the database, ascending.
+     *
+     * @return how many customers were removed
+     */
+    public int removeCustomersMissing(long afterId, long upToId, List<Long> presentIds) {
+        return writeAndGet(() -> {
+            int position = customerIds.binarySearch(afterId);
+            position = position >= 0 ? position + 1 : -position - 1;
+            int present = 0;
+            int removed = 0;
+            for (; position < customerIds.size() && customerIds.get(position) <= upToId; position++) {
+                long id = customerIds.get(position);
+                while (present < presentIds.size() && presentIds.get(present) < id) {
+                    present++;
+                }
+                boolean exists = present < presentIds.size() && presentIds.get(present) == id;
+                if (!exists && customerCreatedDay.get(position) != REMOVED) {
+                    customerCreatedDay.set(position, REMOVED);
+                    removed++;
+                }
+            }
+            removedCustomers += removed;
+            return removed;
+        });
+    }
+
+    public void appendMessages(List<MessageFact> facts) {
+        write(() -> {
+            for (MessageFact fact : facts) {
+                if (fact.messageId() <= lastMessageId) {
+                    continue;
+                }
+                messageCreatedDay.add(day(fact.createdAt()));
+                messageSender.add((byte) (fact.senderType() != null
+                        ? fact.senderType().ordinal()
+                        : TicketMessage.SenderType.SYSTEM.ordinal()));
+                lastMessageId = fact.messageId();
+            }
+        });
+    }
+
+    public Size size() {
+        return read(() -> new Size(customerIds.size() - removedCustomers, ticketIds.size(), messageCreatedDay.size(),
+                customerIds.bytes() + customerCreatedDay.bytes() + ticketIds.bytes() + ticketCustomer.bytes()
+                        + ticketCreatedDay.bytes() + ticketClosedDay.bytes() + ticketStatus.bytes()
+                        + ticketPriority.bytes() + messageCreatedDay.bytes() + messageSender.bytes()));
+    }
+
+    // ---- Reports ----
+
+    /** Customers registered per day or month from {@code since}, oldest first. */
+    public List<Bucket> registrations(LocalDate since, Granularity granularity) {
+        return read(() -> histogram(customerCreatedDay, (int) since.toEpochDay(), granularity));
+    }
+
+    /** Tickets created per day or month from {@code since}, oldest first. */
+    public List<Bucket> ticketsCreated(LocalDate since, Granularity granularity) {
+        return read(() -> histogram(ticketCreatedDay, (int) since.toEpochDay(), granularity));
+    }
+
+    /** Messages per day from {@code since}, oldest first, split by sender type. */
+    public List<MessageDay> messagesPerDay(LocalDate since) {
+        return read(() -> {
+            int from = (int) since.toEpochDay();
+            if (maxDay < from) {
+                return List.of();
+            }
+            int[] days = messageCreatedDay.values();
+            byte[] senders = messageSender.values();
+            int n = messageCreatedDay.size();
+            long[] counts = new long[(maxDay - from + 1) * SENDERS.length];
+            for (int i = 0; i < n; i++) {
+                int d = days[i] - from;
+                if (d >= 0) {
+                    counts[d * SENDERS.length + senders[i]]++;
+                }
+            }
+            List<MessageDay> result = new ArrayList<>();
+            for (int d = 0; d <= maxDay - from; d++) {
+                long total = 0;
+                Map<String, Long> bySender = new LinkedHashMap<>();
+                for (int s = 0; s < SENDERS.length; s++) {
+                    long count = counts[d * SENDERS.length + s];
+                    total += count;
+                    if (count > 0) {
+                        bySender.put(SENDERS[s].name(), count);
+                    }
+                }
+                if (total > 0) {
+                    result.add(new MessageDay(LocalDate.ofEpochDay(from + d).toString(), total, bySender));
+                }
+            }
+            return result;
+        });
+    }
+
+    /** Tickets created from {@code since} per status or priority, most tickets first. */
+    public List<Breakdown> breakdown(Dimension dimension, LocalDate since) {
+        return read(() -> {
+            int from = (int) since.toEpochDay();
+            byte[] codes = (dimension == Dimension.STATUS ? ticketStatus : ticketPriority).values();
+            int[] created = ticketCreatedDay.values();
+            int[] closed = ticketClosedDay.values();
+            int n = ticketIds.size();
+            long[] tickets = new long[Byte.MAX_VALUE + 1];
+            long[] open = new long[Byte.MAX_VALUE + 1];
+            for (int i = 0; i < n; i++) {
+                if (created[i] >= from) {
+                    tickets[codes[i]]++;
+                    if (closed[i] == NOT_CLOSED) {
+                        open[codes[i]]++;
+                    }
+                }
+            }
+            Map<Integer, String> names = dimension == Dimension.STATUS ? statusNames : priorityNames;
+            List<Breakdown> result = new ArrayList<>();
+            for (int code = 0; code < tickets.length; code++) {
+                if (tickets[code] > 0) {
+                    result.add(new Breakdown(names.getOrDefault(code, String.valueOf(code)), tickets[code], open[code]));
+                }
+            }
+            result.sort((a, b) -> Long.compare(b.tickets(), a.tickets()));
+            return result;
+        });
+    }
+
+    /** Distinct customers who created a ticket on or after {@code since}. */
+    public int activeCustomers(LocalDate since) {
+        return read(() -> activeSince((int) since.toEpochDay()).cardinality());
+    }
+
+    /** Customers registered before {@code registeredBefore} who created a ticket on or after {@code activeSince}. */
+    public int retainedCustomers(LocalDate registeredBefore, LocalDate activeSince) {
+        return read(() -> {
+            int before = (int) registeredBefore.toEpochDay();
+            int[] registered = customerCreatedDay.values();
+            BitSet active = activeSince((int) activeSince.toEpochDay());
+            int count = 0;
+            for (int c = active.nextSetBit(0); c >= 0; c = active.nextSetBit(c + 1)) {
+                if (registered[c] != REMOVED && registered[c] < before) {
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Monthly registration cohorts from {@code from} for {@code months} months, each with the
+     * number of its customers active in every month after registering, up to the latest data.
+     */
+    public List<Cohort> cohorts(YearMonth from, int months) {
+        return read(() -> {
+            int startDay = (int) from.atDay(1).toEpochDay();
+            if (maxDay < startDay) {
+                return List.of();
+            }
+            // Month number (0 = from) of every day in range, so the scans never build a LocalDate
+            int[] monthOf = new int[maxDay - startDay + 1];
+            for (int d = 0; d < monthOf.length; d++) {
+                LocalDate date = LocalDate.ofEpochDay(startDay + d);
+                monthOf[d] = (date.getYear() - from.getYear()) * 12 + date.getMonthValue() - from.getMonthValue();
+            }
+            int observedMonths = monthOf[monthOf.length - 1] + 1;
+            int cohortCount = Math.min(months, observedMonths);
+
+            int customers = customerIds.size();
+            int[] registered = customerCreatedDay.values();
+            int[] cohortOf = new int[customers];
+            int[] cohortSize = new int[cohortCount];
+            for (int c = 0; c < customers; c++) {
+                if (registered[c] == REMOVED) {
+                    cohortOf[c] = -1;
+                    continue;
+                }
+                int d = registered[c] - startDay;
+                int cohort = d >= 0 && d < monthOf.length ? monthOf[d] : -1;
+                cohortOf[c] = cohort < cohortCount ? cohort : -1;
+                if (cohortOf[c] >= 0) {
+                    cohortSize[cohortOf[c]]++;
+                }
+            }
+
+            BitSet[] activeByOffset = new BitSet[observedMonths];
+            int[] ticketDays = ticketCreatedDay.values();
+            int[] owners = ticketCustomer.values();
+            int n = ticketIds.size();
+            for (int i = 0; i < n; i++) {
+                int cohort = cohortOf[owners[i]];
+                int d = ticketDays[i] - startDay;
+                if (cohort < 0 || d < 0) {
+                    continue;
+                }
+                int offset = monthOf[d] - cohort;
+                if (offset >= 0) {
+                    if (activeByOffset[offset] == null) {
+                        activeByOffset[offset] = new BitSet(customers);
+                    }
+                    activeByOffset[offset].set(owners[i]);
+                }
+            }
+
+            int[][] active = new int[cohortCount][];
+            for (int cohort = 0; cohort < cohortCount; cohort++) {
+                active[cohort] = new int[observedMonths - cohort];
+            }
+            for (int offset = 0; offset < observedMonths; offset++) {
+                BitSet bits = activeByOffset[offset];
+                if (bits == null) {
+                    continue;
+                }
+                for (int c = bits.nextSetBit(0); c >= 0; c = bits.nextSetBit(c + 1)) {
+                    active[cohortOf[c]][offset]++;
+                }
+            }
+
+            List<Cohort> result = new ArrayList<>(cohortCount);
+            for (int cohort = 0; cohort < cohortCount; cohort++) {
+                result.add(new Cohort(from.plusMonths(cohort).toString(), cohortSize[cohort], active[cohort]));
+            }
+            return result;
+        });
+    }
+
+    private BitSet activeSince(int fromDay) {
+        int[] days = ticketCreatedDay.values();
+        int[] owners = ticketCustomer.values();
+        int n = ticketIds.size();
+        BitSet active = new BitSet(customerIds.size());
+        for (int i = 0; i < n; i++) {
+            if (days[i] >= fromDay) {
+                active.set(owners[i]);
+            }
+        }
+        return active;
+    }
+
+    private List<Bucket> histogram(IntColumn column, int from, Granularity granularity) {
+        if (maxDay < from) {
+            return List.of();
+        }
+        int[] days = column.values();
+        int n = column.size();
+        long[] counts = new long[maxDay - from + 1];
+        for (int i = 0; i < n; i++) {
+            int d = days[i] - from;
+            if (days[i] != REMOVED && d >= 0) {
+                counts[d]++;
+            }
+        }
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int d = 0; d < counts.length; d++) {
+            if (counts[d] == 0) {
+                continue;
+            }
+            LocalDate date = LocalDate.ofEpochDay(from + d);
+            String key = granularity == Granularity.DAY ? date.toString() : YearMonth.from(date).toString();
+            buckets.merge(key, counts[d], Long::sum);
+        }
+        return buckets.entrySet().stream().map(e -> new Bucket(e.getKey(), e.getValue())).toList();
+    }
+
+    // ---- Encoding ----
+
+    private int day(LocalDateTime at) {
+        int day = (int) at.toLocalDate().toEpochDay();
+        if (day > maxDay) {
+            maxDay = day;
+        }
+        return day;
+    }
+
+    private static byte code(Long id) {
+        if (id == null || id < 0 || id > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Lookup id does not fit a byte code: " + id);
+        }
+        return id.byteValue();
+    }
+
+    // ---- Locking ----
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T writeAndGet(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ticketsystem.analytics;
+
+import java.util.Arrays;
+
+/** Growable {@code byte} vector for dictionary-encoded values such as status and priority ids. */
+final class ByteColumn {
+
+    private byte[] values;
+    private int size;
+
+    ByteColumn(int capacity) {
+        values = new byte[Math.max(1, capacity)];
+    }
+
+    void add(byte value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    void set(int index, byte value) {
+        values[index] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] values() {
+        return values;
+    }
+
+    long bytes() {
+        return values.length;
+    }
+}
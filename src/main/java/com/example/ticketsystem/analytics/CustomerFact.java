@@ -0,0 +1,7 @@
+package com.example.ticketsystem.analytics;
+
+import java.time.LocalDateTime;
+
+/** A customer row as the analytics snapshot reads it. */
+public record CustomerFact(Long customerId, LocalDateTime createdAt) {
+}
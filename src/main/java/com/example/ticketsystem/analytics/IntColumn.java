@@ -0,0 +1,42 @@
+package com.example.ticketsystem.analytics;
+
+import java.util.Arrays;
+
+/** Growable {@code int} vector; scans read {@link #values()} directly, so no boxing or bounds calls. */
+final class IntColumn {
+
+    private int[] values;
+    private int size;
+
+    IntColumn(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    void set(int index, int value) {
+        values[index] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** The backing array; only the first {@link #size()} entries are valid. */
+    int[] values() {
+        return values;
+    }
+
+    long bytes() {
+        return 4L * values.length;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ticketsystem.analytics;
+
+import java.util.Arrays;
+
+/** Growable {@code long} vector, appended in ascending order so positions can be found by binary search. */
+final class LongColumn {
+
+    private long[] values;
+    private int size;
+
+    LongColumn(int capacity) {
+        values = new long[Math.max(1, capacity)];
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Position of {@code value}, or a negative insertion point. */
+    int binarySearch(long value) {
+        return Arrays.binarySearch(values, 0, size, value);
+    }
+
+    long bytes() {
+        return 8L * values.length;
+    }
+}
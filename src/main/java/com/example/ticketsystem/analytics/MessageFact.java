@@ -0,0 +1,9 @@
+package com.example.ticketsystem.analytics;
+
+import com.example.ticketsystem.entity.TicketMessage;
+
+import java.time.LocalDateTime;
+
+/** A message row as the analytics snapshot reads it. */
+public record MessageFact(Long messageId, LocalDateTime createdAt, TicketMessage.SenderType senderType) {
+}
@@ -0,0 +1,8 @@
+package com.example.ticketsystem.analytics;
+
+import java.time.LocalDateTime;
+
+/** A ticket row as the analytics snapshot reads it. */
+public record TicketFact(Long ticketId, Long customerId, Long statusId, Long priorityId,
+                         LocalDateTime createdAt, LocalDateTime closedAt, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,11 @@
+package com.example.ticketsystem.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One field transition of a ticket as stored in the audit log. {@code actorType} is {@code null}
+ * only for records written before it was kept.
+ */
+public record AuditEntry(long ticketId, String field, String oldValue, String newValue, String actorType,
+                         Long actorId, LocalDateTime at) {
+}
@@ -0,0 +1,300 @@
+package com.example.ticketsystem.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only transition log: a directory of {@link AuditSegment}s plus an in-memory index from
+ * ticket id to record positions, rebuilt by scanning the segments on open. Only the newest
+ * segment is written; when it is full it is sealed and a new one is started.
+ *
+ * <p>Maintenance never rewrites a live file. {@link #compact} merges a run of old sealed segments
+ * into one new file with each ticket's records next to each other, then deletes the originals;
+ * a compacted segment takes the id of the last segment it replaced, so if the process dies in
+ * between, {@link #open} finds plain segments at or below a compacted id and deletes them.
+ * {@link #expire} deletes whole segments whose newest record is past retention. Both rebuild the
+ * index from the sealed segments without holding the lock and swap it in; readers keep using the
+ * old index, and the old files, until then. Only one maintenance call runs at a time.
+ */
+@Slf4j
+public class AuditLog implements Closeable {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, AuditSegment> segments = new TreeMap<>();
+    private Map<Long, Positions> index = new HashMap<>();
+    private AuditSegment active;
+    private long records;
+
+    private AuditLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public record Stats(int segments, long bytes, long records, int tickets) {
+    }
+
+    public static AuditLog open(Path directory, int segmentSize) {
+        AuditLog auditLog = new AuditLog(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.sorted().toList();
+            }
+            long compactedUpTo = -1;
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(AuditSegment.COMPACTED_SUFFIX)) {
+                    compactedUpTo = Math.max(compactedUpTo, idOf(file));
+                }
+            }
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.endsWith(AuditSegment.SUFFIX) && idOf(file) <= compactedUpTo) {
+                    // Left over from a compaction interrupted after its output was installed
+                    Files.delete(file);
+                } else if (name.endsWith(AuditSegment.SUFFIX) || name.endsWith(AuditSegment.COMPACTED_SUFFIX)) {
+                    AuditSegment segment = AuditSegment.open(file, idOf(file), name.endsWith(AuditSegment.COMPACTED_SUFFIX));
+                    auditLog.segments.put(segment.id(), segment);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit log in " + directory, e);
+        }
+        for (AuditSegment segment : auditLog.segments.values()) {
+            auditLog.records += scan(segment, auditLog.index);
+        }
+        auditLog.roll();
+        return auditLog;
+    }
+
+    private static long idOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("audit-".length(), name.indexOf('.')));
+    }
+
+    public void append(AuditEntry entry) {
+        lock.writeLock().lock();
+        try {
+            int position = active.append(entry);
+            if (position < 0) {
+                roll();
+                position = active.append(entry);
+                if (position < 0) {
+                    throw new IllegalArgumentException("Audit entry larger than a segment");
+                }
+            }
+            index.computeIfAbsent(entry.ticketId(), id -> new Positions()).add(active.id(), position);
+            records++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Every recorded transition of {@code ticketId}, oldest first. */
+    public List<AuditEntry> history(long ticketId) {
+        lock.readLock().lock();
+        try {
+            Positions positions = index.get(ticketId);
+            if (positions == null) {
+                return List.of();
+            }
+            List<AuditEntry> entries = new ArrayList<>(positions.size);
+            for (int i = 0; i < positions.size; i++) {
+                long position = positions.values[i];
+                entries.add(segments.get(position >>> 32).read((int) position));
+            }
+            entries.sort(Comparator.comparing(AuditEntry::at));
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Forces the active segment's dirty pages to disk. */
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            active.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Deletes sealed segments whose newest record is before {@code cutoff}; returns how many. */
+    public synchronized int expire(LocalDateTime cutoff) {
+        long limit = cutoff.toEpochSecond(ZoneOffset.UTC);
+        List<AuditSegment> expired;
+        lock.readLock().lock();
+        try {
+            expired = segments.values().stream()
+                    .filter(s -> s != active && s.lastAt() < limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!expired.isEmpty()) {
+            replace(expired, null);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Merges the oldest run of uncompacted sealed segments whose newest record is before
+     * {@code olderThan} into one compacted segment ordered by ticket, dropping records before
+     * {@code expireBefore}. Returns how many segments were merged.
+     */
+    public synchronized int compact(LocalDateTime olderThan, LocalDateTime expireBefore) {
+        long limit = olderThan.toEpochSecond(ZoneOffset.UTC);
+        List<AuditSegment> run = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (AuditSegment segment : segments.values()) {
+                if (segment.compacted()) {
+                    continue;
+                }
+                if (segment == active || segment.lastAt() >= limit) {
+                    break;
+                }
+                run.add(segment);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (run.isEmpty()) {
+            return 0;
+        }
+
+        // Sealed segments are immutable, so they can be read without holding the lock
+        List<AuditEntry> entries = new ArrayList<>();
+        for (AuditSegment segment : run) {
+            segment.forEach((position, entry) -> {
+                if (!entry.at().isBefore(expireBefore)) {
+                    entries.add(entry);
+                }
+            });
+        }
+        entries.sort(Comparator.comparingLong(AuditEntry::ticketId).thenComparing(AuditEntry::at));
+        long id = run.get(run.size() - 1).id();
+        AuditSegment merged = AuditSegment.write(directory, id, entries);
+        replace(run, merged);
+        log.info("Compacted {} audit segments into {} ({} records)", run.size(), id, entries.size());
+        return run.size();
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long bytes = segments.values().stream().mapToLong(AuditSegment::size).sum();
+            return new Stats(segments.size(), bytes, records, index.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            active.seal();
+            segments.values().forEach(AuditSegment::close);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void roll() {
+        if (active != null) {
+            active.seal();
+        }
+        long id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        active = AuditSegment.create(directory, id, segmentSize);
+        segments.put(id, active);
+    }
+
+    /**
+     * Swaps {@code removed} for {@code added} (which may be {@code null}). The index over the sealed
+     * segments is rebuilt before taking the write lock; under it only the segments written since
+     * are scanned, then the new index replaces the old one and the removed files are deleted.
+     */
+    private void replace(List<AuditSegment> removed, AuditSegment added) {
+        long activeId;
+        TreeMap<Long, AuditSegment> sealed;
+        lock.readLock().lock();
+        try {
+            activeId = active.id();
+            sealed = new TreeMap<>(segments.headMap(activeId));
+        } finally {
+            lock.readLock().unlock();
+        }
+        removed.forEach(segment -> sealed.remove(segment.id()));
+        if (added != null) {
+            sealed.put(added.id(), added);
+        }
+        // Sealed segments are immutable, and only maintenance removes them
+        Map<Long, Positions> rebuilt = new HashMap<>();
+        long count = 0;
+        for (AuditSegment segment : sealed.values()) {
+            count += scan(segment, rebuilt);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removed.forEach(segment -> segments.remove(segment.id()));
+            if (added != null) {
+                segments.put(added.id(), added);
+            }
+            for (AuditSegment segment : segments.tailMap(activeId, true).values()) {
+                count += scan(segment, rebuilt);
+            }
+            index = rebuilt;
+            records = count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Readers that could still reach these finished before the write lock was granted
+        removed.forEach(AuditSegment::delete);
+    }
+
+    private static long scan(AuditSegment segment, Map<Long, Positions> into) {
+        long[] count = {0};
+        segment.forEach((position, entry) -> {
+            into.computeIfAbsent(entry.ticketId(), id -> new Positions()).add(segment.id(), position);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /** Record positions of one ticket, encoded as segment id (high 32 bits) and offset. */
+    private static final class Positions {
+
+        private long[] values = new long[2];
+        private int size;
+
+        void add(long segmentId, int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = segmentId << 32 | position;
+        }
+    }
+}
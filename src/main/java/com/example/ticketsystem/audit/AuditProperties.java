@@ -0,0 +1,24 @@
+package com.example.ticketsystem.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Audit log settings ({@code app.audit.*}). Transitions are appended to memory-mapped segment
+ * files under {@code directory}; the page cache is forced to disk every {@code flush-interval}.
+ * Sealed segments older than {@code compact-after} are merged into one file ordered by ticket,
+ * and anything older than {@code retention} is dropped.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+    private String directory = "data/audit";
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+    private Duration retention = Duration.ofDays(365);
+    private Duration compactAfter = Duration.ofDays(7);
+}
@@ -0,0 +1,286 @@
+package com.example.ticketsystem.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped file of the audit log. Records are {@code [length][crc32][body]}; a zero
+ * length or a checksum mismatch marks the end, so a record torn by a crash is simply not there
+ * on the next open. The active segment is mapped at its full preallocated size; sealing trims
+ * the file to its contents and remaps it read-only.
+ */
+final class AuditSegment implements Closeable {
+
+    static final String SUFFIX = ".log";
+    static final String COMPACTED_SUFFIX = ".clog";
+    private static final int HEADER = 8;
+    private static final int MAX_VALUE_BYTES = 1024;
+
+    interface Visitor {
+        void visit(int position, AuditEntry entry);
+    }
+
+    private final long id;
+    private final Path path;
+    private final boolean compacted;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private long lastAt = Long.MIN_VALUE;
+    private boolean sealed;
+
+    private AuditSegment(long id, Path path, boolean compacted) {
+        this.id = id;
+        this.path = path;
+        this.compacted = compacted;
+    }
+
+    static Path fileName(Path directory, long id, boolean compacted) {
+        return directory.resolve("audit-%020d%s".formatted(id, compacted ? COMPACTED_SUFFIX : SUFFIX));
+    }
+
+    /** A new, empty segment preallocated to {@code capacity} bytes. */
+    static AuditSegment create(Path directory, long id, int capacity) {
+        AuditSegment segment = new AuditSegment(id, fileName(directory, id, false), false);
+        try {
+            segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create audit segment " + segment.path, e);
+        }
+        return segment;
+    }
+
+    /** An existing segment, scanned to its last intact record and sealed. */
+    static AuditSegment open(Path file, long id, boolean compacted) {
+        AuditSegment segment = new AuditSegment(id, file, compacted);
+        try {
+            segment.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment.buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit segment " + file, e);
+        }
+        segment.forEach((position, entry) -> { });
+        segment.seal();
+        return segment;
+    }
+
+    /**
+     * Writes a complete sealed segment holding {@code entries}, in the given order, and maps it.
+     * The file is written under a temporary name and renamed, so it is never seen half written.
+     */
+    static AuditSegment write(Path directory, long id, Iterable<AuditEntry> entries) {
+        Path target = fileName(directory, id, true);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            for (AuditEntry entry : entries) {
+                byte[] body = encode(entry);
+                ByteBuffer record = ByteBuffer.allocate(HEADER + body.length);
+                record.putInt(body.length).putInt(checksum(body)).put(body).flip();
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+            out.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write compacted audit segment " + temp, e);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not install compacted audit segment " + target, e);
+        }
+        return open(target, id, true);
+    }
+
+    long id() {
+        return id;
+    }
+
+    boolean compacted() {
+        return compacted;
+    }
+
+    boolean sealed() {
+        return sealed;
+    }
+
+    /** Epoch second (UTC) of the newest record, or {@link Long#MIN_VALUE} when empty. */
+    long lastAt() {
+        return lastAt;
+    }
+
+    long size() {
+        return end;
+    }
+
+    /** Appends {@code entry}; returns its position, or -1 if the segment has no room left. */
+    int append(AuditEntry entry) {
+        byte[] body = encode(entry);
+        if (sealed || end + HEADER + body.length > buffer.capacity()) {
+            return -1;
+        }
+        int position = end;
+        buffer.putInt(position + 4, checksum(body));
+        buffer.put(position + HEADER, body);
+        // The length goes in last: until it is there the record does not exist
+        buffer.putInt(position, body.length);
+        end = position + HEADER + body.length;
+        lastAt = Math.max(lastAt, entry.at().toEpochSecond(ZoneOffset.UTC));
+        return position;
+    }
+
+    AuditEntry read(int position) {
+        int length = buffer.getInt(position);
+        byte[] body = new byte[length];
+        buffer.get(position + HEADER, body);
+        return decode(body);
+    }
+
+    /** Visits every intact record in order and leaves {@link #size()} at the end of the last one. */
+    void forEach(Visitor visitor) {
+        int position = 0;
+        int limit = sealed ? end : buffer.capacity();
+        while (position + HEADER <= limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER + length > limit) {
+                break;
+            }
+            byte[] body = new byte[length];
+            buffer.get(position + HEADER, body);
+            if (checksum(body) != buffer.getInt(position + 4)) {
+                break;
+            }
+            AuditEntry entry = decode(body);
+            lastAt = Math.max(lastAt, entry.at().toEpochSecond(ZoneOffset.UTC));
+            visitor.visit(position, entry);
+            position += HEADER + length;
+        }
+        if (!sealed) {
+            end = position;
+        }
+    }
+
+    void force() {
+        if (!sealed) {
+            buffer.force();
+        }
+    }
+
+    /** Trims the file to its records and remaps it read-only. */
+    void seal() {
+        if (sealed) {
+            return;
+        }
+        try {
+            buffer.force();
+            buffer = null;
+            channel.truncate(end);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not seal audit segment " + path, e);
+        }
+        sealed = true;
+    }
+
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete audit segment " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close audit segment " + path, e);
+        }
+    }
+
+    // body: ticketId, epoch second, nano, field, actorId (-1 = none), old value, new value, actor type.
+    // The actor type came last, so older records simply end before it.
+    private static byte[] encode(AuditEntry entry) {
+        byte[] field = entry.field().getBytes(StandardCharsets.UTF_8);
+        byte[] oldValue = bytes(entry.oldValue());
+        byte[] newValue = bytes(entry.newValue());
+        byte[] actorType = bytes(entry.actorType());
+        ByteBuffer body = ByteBuffer.allocate(8 + 8 + 4 + 2 + field.length + 8
+                + 2 + (oldValue != null ? oldValue.length : 0) + 2 + (newValue != null ? newValue.length : 0)
+                + 2 + (actorType != null ? actorType.length : 0));
+        body.putLong(entry.ticketId())
+                .putLong(entry.at().toEpochSecond(ZoneOffset.UTC))
+                .putInt(entry.at().getNano())
+                .putShort((short) field.length).put(field)
+                .putLong(entry.actorId() != null ? entry.actorId() : -1L);
+        putValue(body, oldValue);
+        putValue(body, newValue);
+        putValue(body, actorType);
+        return body.array();
+    }
+
+    private static AuditEntry decode(byte[] bytes) {
+        ByteBuffer body = ByteBuffer.wrap(bytes);
+        long ticketId = body.getLong();
+        LocalDateTime at = LocalDateTime.ofEpochSecond(body.getLong(), body.getInt(), ZoneOffset.UTC);
+        byte[] field = new byte[body.getShort()];
+        body.get(field);
+        long actorId = body.getLong();
+        String oldValue = getValue(body);
+        String newValue = getValue(body);
+        String actorType = body.hasRemaining() ? getValue(body) : null;
+        return new AuditEntry(ticketId, new String(field, StandardCharsets.UTF_8), oldValue, newValue, actorType,
+                actorId >= 0 ? actorId : null, at);
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= MAX_VALUE_BYTES ? bytes : Arrays.copyOf(bytes, MAX_VALUE_BYTES);
+    }
+
+    private static void putValue(ByteBuffer body, byte[] value) {
+        if (value == null) {
+            body.putShort((short) -1);
+        } else {
+            body.putShort((short) value.length).put(value);
+        }
+    }
+
+    private static String getValue(ByteBuffer body) {
+        short length = body.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        body.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
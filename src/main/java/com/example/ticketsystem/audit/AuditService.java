@@ -0,0 +1,101 @@
+package com.example.ticketsystem.audit;
+
+import com.example.ticketsystem.event.TicketTransitionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records committed status and agent transitions in the {@link AuditLog}. Nothing is written to
+ * the database: the log lives in its own files, so ticket writes pay only an in-memory append
+ * after commit. The log is opened synchronously at startup (a scan of the segment files) so no
+ * transition published after startup can be missed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditService {
+
+    private final AuditProperties properties;
+    private AuditLog auditLog;
+
+    @PostConstruct
+    void open() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        auditLog = AuditLog.open(Path.of(properties.getDirectory()), (int) properties.getSegmentSize().toBytes());
+        AuditLog.Stats stats = auditLog.stats();
+        log.info("Audit log opened {} segments, {} records in {} ms", stats.segments(), stats.records(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    void close() {
+        if (auditLog != null) {
+            auditLog.close();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(TicketTransitionEvent event) {
+        if (auditLog == null) {
+            return;
+        }
+        try {
+            auditLog.append(new AuditEntry(event.ticketId(), event.field().name(), event.oldValue(),
+                    event.newValue(), event.actorType().name(), event.actorId(), event.at()));
+        } catch (RuntimeException e) {
+            // The ticket change is committed; losing its audit line must not fail the request
+            log.error("Could not append audit entry for ticket {}", event.ticketId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval:1s}")
+    public void flush() {
+        if (auditLog != null) {
+            auditLog.flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.maintenance-interval:1h}", initialDelayString = "${app.audit.maintenance-interval:1h}")
+    public void maintain() {
+        if (auditLog == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expireBefore = now.minus(properties.getRetention());
+        int compacted = auditLog.compact(now.minus(properties.getCompactAfter()), expireBefore);
+        int expired = auditLog.expire(expireBefore);
+        if (compacted > 0 || expired > 0) {
+            log.info("Audit log maintenance: {} segments compacted, {} expired", compacted, expired);
+        }
+    }
+
+    /** Status and agent transitions of a ticket, oldest first; empty if it never changed. */
+    public List<AuditEntry> history(Long ticketId) {
+        return requireLog().history(ticketId);
+    }
+
+    public AuditLog.Stats stats() {
+        return requireLog().stats();
+    }
+
+    private AuditLog requireLog() {
+        if (auditLog == null) {
+            throw new IllegalStateException("Denetim kaydı bu sunucuda kapalı");
+        }
+        return auditLog;
+    }
+}
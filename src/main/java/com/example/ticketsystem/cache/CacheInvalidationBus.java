@@ -0,0 +1,360 @@
+package com.example.ticketsystem.cache;
+
+import com.example.ticketsystem.datasource.WorkloadClass;
+import com.example.ticketsystem.datasource.WorkloadContext;
+import com.example.ticketsystem.entity.CacheInvalidation;
+import com.example.ticketsystem.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps node-local caches coherent across nodes using the shared database as the transport.
+ * {@link #publish} queues an invalidation; one poller thread per node writes the queue as a
+ * single multi-row INSERT, then tails the invalidation table by id and hands other nodes' rows to
+ * the {@link InvalidatableCache} of the same name, once per key per batch. Propagation lag (from
+ * the row being written by one node to the invalidation on another) is recorded as
+ * {@code ticketsystem.cache.invalidation.lag}; it is measured against the writing node's clock,
+ * so clock skew between nodes shows up in it. The feed and the reloads it triggers read the
+ * primary: a replica behind the writing node would hand back the value just invalidated.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationBus {
+
+    public record Status(String nodeId, boolean running, long appliedId, long latestId, int pending,
+                         long published, long applied, Duration lastLag, LocalDateTime lastAppliedAt) {
+    }
+
+    private final CacheInvalidationRepository repository;
+    private final ObjectProvider<InvalidatableCache> cacheProvider;
+    private final CacheInvalidationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final ConcurrentLinkedQueue<CacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Semaphore wakeUps = new Semaphore(0);
+    private volatile Map<String, InvalidatableCache> caches = Map.of();
+    private Timer lagTimer;
+    private volatile boolean running;
+    private volatile long appliedId;
+    private volatile long published;
+    private volatile long applied;
+    private volatile Duration lastLag;
+    private volatile LocalDateTime lastAppliedAt;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CacheInvalidationBus(CacheInvalidationRepository repository,
+                                ObjectProvider<InvalidatableCache> cacheProvider,
+                                CacheInvalidationProperties properties,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.cacheProvider = cacheProvider;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = properties.getNodeId() == null || properties.getNodeId().isBlank()
+                ? UUID.randomUUID().toString() : properties.getNodeId();
+    }
+
+    // Before ApplicationReadyEvent, where caches start loading, so no change after their load is missed
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        prepare();
+        running = true;
+        Thread.ofPlatform().name("cache-invalidation-poller").daemon().start(this::run);
+        log.info("Cache invalidation bus started on node {} after id {} for caches {}", nodeId, appliedId,
+                caches.keySet());
+    }
+
+    void prepare() {
+        Map<String, InvalidatableCache> byName = new HashMap<>();
+        cacheProvider.orderedStream().forEach(cache -> byName.put(cache.cacheName(), cache));
+        caches = Map.copyOf(byName);
+        lagTimer = Timer.builder("ticketsystem.cache.invalidation.lag")
+                .description("Time from an invalidation being written by one node to it being applied on another")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        appliedId = repository.findLatestId();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        wakeUps.release();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} cache invalidations on shutdown", pendingCount.get(), e);
+        }
+    }
+
+    /**
+     * Tells the other nodes to drop {@code key} from {@code cacheName}, or the whole cache when
+     * {@code key} is null. This node's own cache is the caller's business. Inside a transaction
+     * nothing is sent unless it commits.
+     */
+    public void publish(String cacheName, String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CacheInvalidation invalidation = new CacheInvalidation();
+        invalidation.setCacheName(cacheName);
+        invalidation.setCacheKey(key);
+        invalidation.setOrigin(nodeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // afterCompletion rather than afterCommit: a publish from an after-commit listener
+            // registers while afterCommit is already running and would never be called back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(invalidation);
+                    }
+                }
+            });
+        } else {
+            enqueue(invalidation);
+        }
+    }
+
+    /**
+     * Invalidates {@code key} (or everything, when null) in {@code cacheName} on this node now and
+     * on the others through the bus, e.g. after the underlying rows were changed by hand.
+     *
+     * @throws NoSuchElementException if no cache of that name is registered
+     */
+    public void invalidate(String cacheName, String key) {
+        InvalidatableCache cache = caches.get(cacheName);
+        if (cache == null) {
+            throw new NoSuchElementException("Bilinmeyen önbellek: " + cacheName);
+        }
+        apply(cacheName, key == null ? null : Set.of(key));
+        publish(cacheName, key);
+    }
+
+    public Set<String> cacheNames() {
+        return new TreeSet<>(caches.keySet());
+    }
+
+    private void enqueue(CacheInvalidation invalidation) {
+        pending.add(invalidation);
+        pendingCount.incrementAndGet();
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    void run() {
+        // This thread only tails the feed and reloads caches, both of which must see the primary
+        WorkloadContext.enter(WorkloadClass.PRIMARY);
+        while (running) {
+            try {
+                flush();
+                if (pollOnce() < properties.getBatchSize() && pendingCount.get() == 0) {
+                    wakeUps.tryAcquire(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation poll on node {} failed after id {}; retrying", nodeId, appliedId, e);
+                try {
+                    Thread.sleep(Math.max(1000, properties.getPollInterval().toMillis()));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Writes up to a batch of queued invalidations in one statement; returns how many. */
+    synchronized int flush() {
+        // Only this method removes from the queue, so its head stays put until the insert succeeded
+        List<CacheInvalidation> batch = new ArrayList<>();
+        Iterator<CacheInvalidation> queued = pending.iterator();
+        while (batch.size() < properties.getBatchSize() && queued.hasNext()) {
+            batch.add(queued.next());
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> insert(batch));
+        for (int i = 0; i < batch.size(); i++) {
+            pending.poll();
+        }
+        pendingCount.addAndGet(-batch.size());
+        published += batch.size();
+        return batch.size();
+    }
+
+    private void insert(List<CacheInvalidation> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO cache_invalidations (cache_name, cache_key, origin, created_at) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            int p = i * 4;
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(?").append(p + 1).append(", ?").append(p + 2).append(", ?").append(p + 3)
+                    .append(", ?").append(p + 4).append(')');
+        }
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            CacheInvalidation invalidation = batch.get(i);
+            int p = i * 4;
+            insert.setParameter(p + 1, invalidation.getCacheName());
+            insert.setParameter(p + 2, invalidation.getCacheKey());
+            insert.setParameter(p + 3, invalidation.getOrigin());
+            insert.setParameter(p + 4, now);
+        }
+        insert.executeUpdate();
+    }
+
+    /** Applies one batch of other nodes' invalidations; returns how many rows it consumed. */
+    int pollOnce() {
+        List<CacheInvalidation> rows = repository.findAfter(appliedId, PageRequest.ofSize(properties.getBatchSize()));
+        LocalDateTime now = LocalDateTime.now();
+        int safe = settledPrefix(rows, appliedId, now.minus(properties.getGapTimeout()));
+        if (safe == 0) {
+            return 0;
+        }
+        List<CacheInvalidation> settled = rows.subList(0, safe);
+        for (Map.Entry<String, Set<String>> entry : coalesce(settled, nodeId).entrySet()) {
+            apply(entry.getKey(), entry.getValue());
+        }
+        for (CacheInvalidation row : settled) {
+            if (!nodeId.equals(row.getOrigin())) {
+                Duration lag = Duration.between(row.getCreatedAt(), now);
+                lagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
+                lastLag = lag;
+                applied++;
+                lastAppliedAt = now;
+            }
+        }
+        appliedId = settled.get(safe - 1).getId();
+        return safe;
+    }
+
+    private void apply(String cacheName, Set<String> keys) {
+        InvalidatableCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        WorkloadClass previous = WorkloadContext.enter(WorkloadClass.PRIMARY);
+        try {
+            if (keys == null) {
+                cache.invalidateAll();
+            } else {
+                keys.forEach(cache::invalidate);
+            }
+        } catch (RuntimeException e) {
+            // One cache failing to refresh must not hold up every other cache's invalidations
+            log.error("Cache {} could not apply invalidations {}", cacheName, keys != null ? keys : "(all)", e);
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    /**
+     * The distinct keys to invalidate per cache in {@code rows}, skipping rows from
+     * {@code ownNodeId}; a null key set means the whole cache, which covers any single keys.
+     */
+    static Map<String, Set<String>> coalesce(List<CacheInvalidation> rows, String ownNodeId) {
+        Map<String, Set<String>> keys = new LinkedHashMap<>();
+        Set<String> wholeCaches = new HashSet<>();
+        for (CacheInvalidation row : rows) {
+            if (ownNodeId.equals(row.getOrigin()) || wholeCaches.contains(row.getCacheName())) {
+                continue;
+            }
+            if (row.getCacheKey() == null) {
+                wholeCaches.add(row.getCacheName());
+                keys.put(row.getCacheName(), null);
+            } else {
+                keys.computeIfAbsent(row.getCacheName(), name -> new LinkedHashSet<>()).add(row.getCacheKey());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * How many leading rows can be applied. Ids are taken at insert, so a missing id is either an
+     * insert still committing or one that rolled back; rows after a gap wait until they are older
+     * than {@code settledBefore}, by when the gap is taken to be permanent.
+     */
+    static int settledPrefix(List<CacheInvalidation> rows, long afterId, LocalDateTime settledBefore) {
+        long expected = afterId + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            CacheInvalidation row = rows.get(i);
+            if (row.getId() != expected && row.getCreatedAt().isAfter(settledBefore)) {
+                return i;
+            }
+            expected = row.getId() + 1;
+        }
+        return rows.size();
+    }
+
+    public Status status() {
+        return new Status(nodeId, running, appliedId, repository.findLatestId(), pendingCount.get(), published,
+                applied, lastLag, lastAppliedAt);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.cleanup-interval:10m}",
+            initialDelayString = "${app.cache.invalidation.cleanup-interval:10m}")
+    public void deleteExpired() {
+        if (!running) {
+            return;
+        }
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.debug("Deleted {} cache invalidations older than {}", deleted, properties.getRetention());
+        }
+    }
+}
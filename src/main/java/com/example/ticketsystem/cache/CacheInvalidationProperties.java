@@ -0,0 +1,29 @@
+package com.example.ticketsystem.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cache invalidation bus settings ({@code app.cache.invalidation.*}). Every node polls the
+ * invalidation table every {@code poll-interval}, which bounds how long another node's cache can
+ * serve an entry after it changed. {@code node-id} must differ between nodes; left blank, a random
+ * one is chosen at startup.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    private boolean enabled = true;
+    private String nodeId = "";
+    private Duration pollInterval = Duration.ofMillis(100);
+    private int batchSize = 1000;
+    /**
+     * How long a gap in ids is waited on before it is taken for a rolled-back insert rather than
+     * one still committing.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(5);
+    /** Rows older than this are deleted; a node that was down longer clears its caches on restart anyway. */
+    private Duration retention = Duration.ofHours(1);
+}
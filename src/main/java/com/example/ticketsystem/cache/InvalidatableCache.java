@@ -0,0 +1,16 @@
+package com.example.ticketsystem.cache;
+
+/**
+ * A node-local cache that other nodes can invalidate through the {@link CacheInvalidationBus}.
+ * Implementations are called on the bus's poller thread and must be safe against concurrent reads.
+ */
+public interface InvalidatableCache {
+
+    /** The name invalidations for this cache are published under. */
+    String cacheName();
+
+    /** Drops or refreshes the entry for {@code key}. */
+    void invalidate(String key);
+
+    void invalidateAll();
+}
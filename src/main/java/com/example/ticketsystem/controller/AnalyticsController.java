@@ -0,0 +1,95 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.analytics.AnalyticsService;
+import com.example.ticketsystem.analytics.AnalyticsSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/status")
+    public AnalyticsService.Status status() {
+        return analyticsService.status();
+    }
+
+    @GetMapping("/registrations")
+    public List<AnalyticsSnapshot.Bucket> registrations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+            @RequestParam(defaultValue = "DAY") AnalyticsSnapshot.Granularity granularity) {
+        return call(() -> analyticsService.registrations(orDaysAgo(since, 30), granularity));
+    }
+
+    @GetMapping("/tickets/created")
+    public List<AnalyticsSnapshot.Bucket> ticketsCreated(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+            @RequestParam(defaultValue = "DAY") AnalyticsSnapshot.Granularity granularity) {
+        return call(() -> analyticsService.ticketsCreated(orDaysAgo(since, 30), granularity));
+    }
+
+    @GetMapping("/tickets/breakdown")
+    public List<AnalyticsSnapshot.Breakdown> breakdown(
+            @RequestParam(defaultValue = "STATUS") AnalyticsSnapshot.Dimension by,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        return call(() -> analyticsService.breakdown(by, orDaysAgo(since, 30)));
+    }
+
+    @GetMapping("/messages/daily")
+    public List<AnalyticsSnapshot.MessageDay> messagesPerDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        return call(() -> analyticsService.messagesPerDay(orDaysAgo(since, 30)));
+    }
+
+    @GetMapping("/customers/active")
+    public Map<String, Object> activeCustomers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        return call(() -> analyticsService.activeCustomers(orDaysAgo(since, 30)));
+    }
+
+    @GetMapping("/customers/retained")
+    public Map<String, Object> retainedCustomers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate activeSince) {
+        return call(() -> analyticsService.retainedCustomers(registeredBefore, orDaysAgo(activeSince, 30)));
+    }
+
+    @GetMapping("/cohorts")
+    public List<AnalyticsSnapshot.Cohort> cohorts(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(defaultValue = "12") int months) {
+        YearMonth start = from != null ? from : YearMonth.now().minusMonths(months - 1L);
+        return call(() -> analyticsService.cohorts(start, months));
+    }
+
+    private static LocalDate orDaysAgo(LocalDate date, int days) {
+        return date != null ? date : LocalDate.now().minusDays(days);
+    }
+
+    private static <T> T call(Supplier<T> report) {
+        try {
+            return report.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
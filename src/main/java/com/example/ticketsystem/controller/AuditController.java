@@ -0,0 +1,43 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.audit.AuditEntry;
+import com.example.ticketsystem.audit.AuditLog;
+import com.example.ticketsystem.audit.AuditService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @GetMapping("/tickets/{ticketId}/history")
+    public List<AuditEntry> history(@PathVariable Long ticketId) {
+        return orUnavailable(() -> auditService.history(ticketId));
+    }
+
+    @GetMapping("/audit/status")
+    public AuditLog.Stats status() {
+        return orUnavailable(auditService::stats);
+    }
+
+    private static <T> T orUnavailable(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.cache.CacheInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheInvalidationBus invalidationBus;
+
+    @GetMapping
+    public Set<String> caches() {
+        return invalidationBus.cacheNames();
+    }
+
+    /** Invalidates one key, or the whole cache without {@code key}, on every node. */
+    @PostMapping("/{cacheName}/invalidate")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void invalidate(@PathVariable String cacheName, @RequestParam(required = false) String key) {
+        log.info("Invalidating cache {} key {} on all nodes", cacheName, key != null ? key : "(all)");
+        try {
+            invalidationBus.invalidate(cacheName, key);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @GetMapping("/invalidation/status")
+    public CacheInvalidationBus.Status status() {
+        return invalidationBus.status();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.dto.CallerIdResponse;
+import com.example.ticketsystem.phone.CallerIdService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/caller-id")
+@RequiredArgsConstructor
+public class CallerIdController {
+
+    private final CallerIdService callerIdService;
+
+    @GetMapping
+    public CallerIdResponse identify(@RequestParam String number) {
+        try {
+            return callerIdService.identify(number)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Caller not found"));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,37 @@
 package com.example.ticketsystem.controller;
 
+import com.example.ticketsystem.dto.CustomerSuggestion;
+import com.example.ticketsystem.dto.MessageSearchResponse;
+import com.example.ticketsystem.dto.VipCustomerResponse;
 import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.CustomerStats;
+import com.example.ticketsystem.event.CustomerEvent;
 import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.search.CustomerLookupIndex;
+import com.example.ticketsystem.search.CustomerLookupIndexer;
+import com.example.ticketsystem.service.TicketService;
+import com.example.ticketsystem.stats.CustomerStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/customers")
@@ -18,15 +39,23 @@ import org.springframework.web.server.ResponseStatusException;
 public class CustomerController {
 
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketService ticketService;
+    private final CustomerLookupIndexer customerLookupIndexer;
+    private final CustomerStatsService customerStatsService;
 
+    // Customer writes are transactional so organization counts commit with them.
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
+    @Transactional
     public Customer create(@Valid @RequestBody Customer request) {
 
         customerRepository.findByEmail(request.getEmail()).ifPresent(c -> {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use");
         });
-        return customerRepository.save(request);
+        Customer saved = customerRepository.save(request);
+        eventPublisher.publishEvent(CustomerEvent.of(CustomerEvent.Type.CREATED, saved));
+        return saved;
     }
 
     @GetMapping
@@ -46,22 +75,99 @@ public class CustomerController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found by email"));
     }
 
+    @GetMapping("/suggest")
+    public List<CustomerSuggestion> suggest(@RequestParam("q") String query,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return customerLookupIndexer.suggest(query, limit).stream()
+                    .map(s -> new CustomerSuggestion(s.id(), s.name(), s.email(), s.phone(), s.matched().name()))
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/filter")
+    public Page<Customer> filter(@RequestParam(required = false) String name,
+                                 @RequestParam(required = false) String email,
+                                 @RequestParam(required = false) String phone,
+                                 @RequestParam(required = false)
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+                                 Pageable pageable) {
+        CustomerLookupIndex.FilterResult result;
+        try {
+            result = customerLookupIndexer.filter(name, email, phone, createdAfter,
+                    (int) pageable.getOffset(), pageable.getPageSize());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        Map<Long, Customer> customers = result.ids().isEmpty() ? Map.of()
+                : customerRepository.findByIdIn(result.ids()).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        // Newest first, as the index ordered them
+        List<Customer> content = result.ids().stream().map(customers::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    @GetMapping("/vip")
+    public List<VipCustomerResponse> vip(@RequestParam(defaultValue = "10") int limit) {
+        try {
+            return customerStatsService.vipCustomers(limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/stats")
+    public CustomerStats stats(@PathVariable Long id) {
+        try {
+            return customerStatsService.lifetime(id);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        }
+    }
+
+    @GetMapping("/{id}/messages/search")
+    public Page<MessageSearchResponse> searchMessages(@PathVariable Long id, @RequestParam("q") String query,
+                                                      Pageable pageable) {
+        try {
+            return ticketService.searchCustomerMessages(id, query, pageable);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
+    @Transactional
     public Customer update(@PathVariable Long id, @Valid @RequestBody Customer update) {
         var existing = customerRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found"));
+        String previousEmail = existing.getEmail();
         existing.setName(update.getName());
         existing.setEmail(update.getEmail());
         existing.setPhone(update.getPhone());
-        return customerRepository.save(existing);
+        Customer saved = customerRepository.save(existing);
+        eventPublisher.publishEvent(CustomerEvent.updated(saved, previousEmail));
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Transactional
     public void delete(@PathVariable Long id) {
-        if (!customerRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
-        }
-        customerRepository.deleteById(id);
+        Customer existing = customerRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found"));
+        customerRepository.delete(existing);
+        eventPublisher.publishEvent(CustomerEvent.of(CustomerEvent.Type.DELETED, existing));
     }
 }
\ No newline at end of file
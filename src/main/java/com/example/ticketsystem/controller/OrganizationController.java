@@ -0,0 +1,56 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.dto.TicketResponse;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Organization;
+import com.example.ticketsystem.organization.OrganizationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/organizations")
+@RequiredArgsConstructor
+public class OrganizationController {
+
+    private final OrganizationService organizationService;
+
+    @GetMapping
+    public Page<Organization> list(Pageable pageable) {
+        return organizationService.list(pageable);
+    }
+
+    @GetMapping("/{domain}")
+    public Organization get(@PathVariable String domain) {
+        return orNotFound(() -> organizationService.get(domain));
+    }
+
+    @GetMapping("/{domain}/customers")
+    public Page<Customer> customers(@PathVariable String domain, Pageable pageable) {
+        return orNotFound(() -> organizationService.customers(domain, pageable));
+    }
+
+    @GetMapping("/{domain}/tickets")
+    public Page<TicketResponse> tickets(@PathVariable String domain, Pageable pageable) {
+        return orNotFound(() -> organizationService.tickets(domain, pageable));
+    }
+
+    private static <T> T orNotFound(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Organization not found");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.outbox.OutboxMessage;
+import com.example.ticketsystem.outbox.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/outbox")
+@RequiredArgsConstructor
+public class OutboxController {
+
+    private final OutboxRelay outboxRelay;
+
+    /** Pull consumers page through the feed by passing the last offset they processed. */
+    @GetMapping("/events")
+    public List<OutboxMessage> events(@RequestParam(defaultValue = "0") long after,
+                                      @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return outboxRelay.read(after, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/status")
+    public OutboxRelay.Status status() {
+        return outboxRelay.status();
+    }
+
+    @PostMapping("/replay")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void replay(@RequestParam long from) {
+        log.info("Outbox replay requested after offset {}", from);
+        try {
+            outboxRelay.replay(from);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.presence.PresenceRegistry;
+import com.example.ticketsystem.presence.PresenceService;
+import com.example.ticketsystem.presence.PresenceState;
+import com.example.ticketsystem.routing.RoutingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Agent heartbeats and presence. Heartbeats are answered from memory without touching the
+ * database: the agent is checked against the routing index, so unknown and deactivated agents are
+ * turned away instead of being registered as online.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/presence")
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private final PresenceService presenceService;
+    private final RoutingService routingService;
+
+    @PutMapping("/agents/{agentId}")
+    public PresenceRegistry.Presence heartbeat(@PathVariable Long agentId,
+                                               @RequestParam(defaultValue = "ONLINE") PresenceState state) {
+        return call(() -> {
+            routingService.requireActiveAgent(agentId);
+            return presenceService.heartbeat(agentId, state);
+        });
+    }
+
+    @DeleteMapping("/agents/{agentId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void signOff(@PathVariable Long agentId) {
+        call(() -> presenceService.signOff(agentId));
+    }
+
+    @GetMapping("/agents/{agentId}")
+    public PresenceRegistry.Presence presence(@PathVariable Long agentId) {
+        return presenceService.presence(agentId);
+    }
+
+    @GetMapping
+    public PresenceService.Summary summary() {
+        return presenceService.summary();
+    }
+
+    private static <T> T call(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
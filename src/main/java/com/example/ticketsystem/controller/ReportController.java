@@ -0,0 +1,78 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.dto.ReportJobRequest;
+import com.example.ticketsystem.dto.ReportJobResponse;
+import com.example.ticketsystem.report.ReportJob;
+import com.example.ticketsystem.report.ReportJobService;
+import com.example.ticketsystem.report.ReportProperties;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportJobService reportJobService;
+    private final ReportProperties reportProperties;
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobResponse> submit(@Valid @RequestBody ReportJobRequest request) {
+        ReportJob job;
+        try {
+            job = reportJobService.submit(request.type(), request.parametersOrEmpty());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Rapor kuyruğu dolu, daha sonra tekrar deneyin");
+        }
+        ReportJobResponse response = reportJobService.toResponse(job);
+        return response.isDone()
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ReportJobResponse get(@PathVariable String jobId) {
+        return reportJobService.toResponse(requireJob(jobId));
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable String jobId) {
+        ReportJob job = requireJob(jobId);
+        SseEmitter emitter = new SseEmitter(reportProperties.getStreamTimeout().toMillis());
+        try {
+            emitter.send(SseEmitter.event().name("status").data(reportJobService.toResponse(job)));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        // Completes on the report worker (or right here if the job is already done).
+        job.getResult().whenComplete((result, error) -> {
+            try {
+                emitter.send(SseEmitter.event().name("result").data(reportJobService.toResponse(job)));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Report stream {} closed before result: {}", jobId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private ReportJob requireJob(String jobId) {
+        return reportJobService.find(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rapor işi bulunamadı"));
+    }
+}
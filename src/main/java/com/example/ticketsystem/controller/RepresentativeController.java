@@ -4,14 +4,21 @@ import com.example.ticketsystem.dto.AgentReplyRequest;
 import com.example.ticketsystem.dto.AssignTicketRequest;
 import com.example.ticketsystem.dto.TicketResponse;
 import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.event.AgentEvent;
+import com.example.ticketsystem.presence.PresenceService;
+import com.example.ticketsystem.presence.PresenceState;
 import com.example.ticketsystem.repository.AgentRepository;
+import com.example.ticketsystem.routing.RebalanceJob;
+import com.example.ticketsystem.routing.TicketRebalancer;
 import com.example.ticketsystem.service.TicketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -24,6 +31,9 @@ public class RepresentativeController {
 
     private final AgentRepository agentRepository;
     private final TicketService ticketService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketRebalancer ticketRebalancer;
+    private final PresenceService presenceService;
 
 
 
@@ -31,7 +41,9 @@ public class RepresentativeController {
     @ResponseStatus(HttpStatus.CREATED)
     public Agent create(@Valid @RequestBody Agent request) {
         log.info("Creating new representative: {}", request.getName());
-        return agentRepository.save(request);
+        Agent saved = agentRepository.save(request);
+        eventPublisher.publishEvent(AgentEvent.of(AgentEvent.Type.CREATED, saved));
+        return saved;
     }
 
     @GetMapping
@@ -55,17 +67,53 @@ public class RepresentativeController {
         existing.setName(update.getName());
         existing.setEmail(update.getEmail());
         existing.setPhone(update.getPhone());
-        return agentRepository.save(existing);
+        existing.setSkills(update.getSkills());
+        existing.setLanguages(update.getLanguages());
+        Agent saved = agentRepository.save(existing);
+        eventPublisher.publishEvent(AgentEvent.of(AgentEvent.Type.UPDATED, saved));
+        return saved;
     }
 
+    /**
+     * 204 when the representative had no tickets and is gone; otherwise 202 with the job that hands
+     * over its tickets and then deletes it, to be followed at {@code /rebalance/{jobId}}.
+     */
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
+    public ResponseEntity<RebalanceJob.Progress> delete(@PathVariable Long id) {
         log.info("Deleting representative: {}", id);
-        if (!agentRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Representative not found");
-        }
-        agentRepository.deleteById(id);
+        var existing = agentRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Representative not found"));
+        return ticketRebalancer.delete(existing)
+                .map(job -> ResponseEntity.accepted().body(job.progress()))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/{id}/deactivate")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RebalanceJob.Progress deactivate(@PathVariable Long id) {
+        log.info("Deactivating representative: {}", id);
+        var existing = agentRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Representative not found"));
+        existing.deactivate();
+        Agent saved = agentRepository.save(existing);
+        eventPublisher.publishEvent(AgentEvent.of(AgentEvent.Type.UPDATED, saved));
+        return ticketRebalancer.start(id).progress();
+    }
+
+    @PostMapping("/{id}/rebalance")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RebalanceJob.Progress rebalance(@PathVariable Long id) {
+        log.info("Rebalancing tickets of representative: {}", id);
+        agentRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Representative not found"));
+        return ticketRebalancer.start(id).progress();
+    }
+
+    @GetMapping("/rebalance/{jobId}")
+    public RebalanceJob.Progress rebalanceProgress(@PathVariable String jobId) {
+        return ticketRebalancer.job(jobId)
+                .map(RebalanceJob::progress)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rebalance job not found"));
     }
 
 
@@ -92,6 +140,8 @@ public class RepresentativeController {
             log.info("✓ Representative reply sent successfully");
             return response;
 
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             log.error("Error in representative reply: {}", e.getMessage(), e);
             throw e;
@@ -131,8 +181,10 @@ public class RepresentativeController {
                     "Ticket " + agent.getName() + " tarafından kendisine atandı"
             );
 
-            return ticketService.assign(ticketId, assignRequest);
+            return ticketService.assign(ticketId, assignRequest, agentId);
 
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             log.error("Error in self-assign: {}", e.getMessage(), e);
             throw e;
@@ -172,11 +224,11 @@ public class RepresentativeController {
                         agentId,
                         "Durum güncellerken " + agent.getName() + " tarafından otomatik atandı"
                 );
-                ticketService.assign(ticketId, assignRequest);
+                ticketService.assign(ticketId, assignRequest, agentId);
             }
 
 
-            TicketResponse response = ticketService.updateStatus(ticketId, statusId);
+            TicketResponse response = ticketService.updateStatus(ticketId, statusId, agentId);
 
 
             if (note != null && !note.trim().isEmpty()) {
@@ -191,6 +243,8 @@ public class RepresentativeController {
 
             return response;
 
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             log.error("Error in representative status update: {}", e.getMessage(), e);
             throw e;
@@ -221,8 +275,10 @@ public class RepresentativeController {
             }
 
 
-            return ticketService.close(ticketId);
+            return ticketService.close(ticketId, agentId);
 
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             log.error("Error closing ticket: {}", e.getMessage(), e);
             throw e;
@@ -246,6 +302,7 @@ public class RepresentativeController {
             return new RepresentativeDashboard(
                     agent.getName(),
                     agent.getEmail(),
+                    presenceService.state(agentId),
                     assignedTickets.getTotalElements(),
                     unassignedTickets.getTotalElements(),
                     assignedTickets.getContent(),
@@ -262,6 +319,7 @@ public class RepresentativeController {
     public record RepresentativeDashboard(
             String name,
             String email,
+            PresenceState presence,
             long assignedTicketCount,
             long unassignedTicketCount,
             java.util.List<TicketResponse> recentAssignedTickets,
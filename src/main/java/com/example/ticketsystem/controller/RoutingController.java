@@ -0,0 +1,58 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.routing.RoutingDecision;
+import com.example.ticketsystem.routing.RoutingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/routing")
+@RequiredArgsConstructor
+public class RoutingController {
+
+    private final RoutingService routingService;
+
+    @GetMapping("/tickets/{ticketId}")
+    public RoutingDecision route(@PathVariable Long ticketId) {
+        return call(() -> routingService.route(ticketId));
+    }
+
+    @GetMapping("/agents")
+    public RoutingDecision match(@RequestParam(defaultValue = "") List<String> skills,
+                                 @RequestParam(required = false) String language) {
+        return call(() -> routingService.match(skills, language));
+    }
+
+    @GetMapping("/coverage")
+    public Map<String, Integer> coverage() {
+        return call(routingService::coverage);
+    }
+
+    @GetMapping("/status")
+    public RoutingService.Status status() {
+        return routingService.status();
+    }
+
+    private static <T> T call(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.ticketsystem.controller;
 import com.example.ticketsystem.dto.AssignTicketRequest;
 import com.example.ticketsystem.dto.CreateTicketRequest;
 import com.example.ticketsystem.dto.MessageResponse;
+import com.example.ticketsystem.dto.MessageSearchResponse;
 import com.example.ticketsystem.dto.SendMessageRequest;
 import com.example.ticketsystem.dto.TicketResponse;
 import com.example.ticketsystem.entity.Customer;
@@ -26,11 +27,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import com.example.ticketsystem.entity.Agent;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Slf4j
@@ -101,17 +104,29 @@ public class TicketController {
 
     @PostMapping("/{id}/assign")
     public TicketResponse assign(@PathVariable Long id, @Valid @RequestBody AssignTicketRequest request) {
-        return ticketService.assign(id, request);
+        try {
+            return ticketService.assign(id, request, null);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PatchMapping("/{id}/status/{statusId}")
     public TicketResponse updateStatus(@PathVariable Long id, @PathVariable Long statusId) {
-        return ticketService.updateStatus(id, statusId);
+        try {
+            return ticketService.updateStatus(id, statusId, null);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PostMapping("/{id}/close")
     public TicketResponse close(@PathVariable Long id) {
-        return ticketService.close(id);
+        try {
+            return ticketService.close(id, null);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PostMapping("/{id}/messages")
@@ -134,6 +149,31 @@ public class TicketController {
         return ticketService.getMessages(id);
     }
 
+    @GetMapping("/{id}/messages/search")
+    public Page<MessageSearchResponse> searchMessages(@PathVariable Long id, @RequestParam("q") String query,
+                                                      Pageable pageable) {
+        try {
+            return ticketService.searchMessages(id, query, pageable);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/search")
+    public Page<TicketResponse> search(@RequestParam("q") String query, Pageable pageable) {
+        try {
+            return ticketService.search(query, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     // === DEBUG ENDPOINTS ===
 
     @GetMapping("/test")
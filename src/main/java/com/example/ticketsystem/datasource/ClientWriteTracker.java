@@ -0,0 +1,50 @@
+package com.example.ticketsystem.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each client last wrote so its follow-up reads can be pinned to the primary
+ * until the replicas have had time to catch up.
+ */
+public class ClientWriteTracker {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    public ClientWriteTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    public static void bind(String clientId) {
+        CURRENT_CLIENT.set(clientId);
+    }
+
+    public static void clear() {
+        CURRENT_CLIENT.remove();
+    }
+
+    public void recordWrite() {
+        String clientId = CURRENT_CLIENT.get();
+        if (clientId != null) {
+            lastWriteMillis.put(clientId, System.currentTimeMillis());
+        }
+    }
+
+    public boolean recentlyWrote() {
+        String clientId = CURRENT_CLIENT.get();
+        if (clientId == null) {
+            return false;
+        }
+        Long last = lastWriteMillis.get(clientId);
+        return last != null && System.currentTimeMillis() - last < windowMillis;
+    }
+
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        lastWriteMillis.values().removeIf(last -> last < cutoff);
+    }
+}
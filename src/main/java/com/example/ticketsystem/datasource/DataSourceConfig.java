@@ -0,0 +1,95 @@
+package com.example.ticketsystem.datasource;
+
+import com.example.ticketsystem.slowquery.SlowQueryDataSource;
+import com.example.ticketsystem.slowquery.SlowQueryLog;
+import com.example.ticketsystem.timing.ServerTimingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({RoutingDataSourceProperties.class, WorkloadPoolProperties.class})
+public class DataSourceConfig {
+
+    @Bean
+    public ClientWriteTracker clientWriteTracker(RoutingDataSourceProperties properties) {
+        return new ClientWriteTracker(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             RoutingDataSourceProperties routing,
+                                                             WorkloadPoolProperties workloads,
+                                                             ClientWriteTracker writeTracker,
+                                                             Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        }
+
+        WorkloadPoolProperties.Pool reportingSettings = workloads.getReporting();
+        HikariDataSource reporting = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(reportingSettings.getUrl() != null ? reportingSettings.getUrl() : dataSourceProperties.determineUrl())
+                .username(reportingSettings.getUsername() != null ? reportingSettings.getUsername() : dataSourceProperties.determineUsername())
+                .password(reportingSettings.getPassword() != null ? reportingSettings.getPassword() : dataSourceProperties.determinePassword())
+                .build();
+        reporting.setPoolName(ReplicaRoutingDataSource.REPORTING);
+        reporting.setMaximumPoolSize(reportingSettings.getMaximumPoolSize());
+        reporting.setConnectionTimeout(reportingSettings.getConnectionTimeout().toMillis());
+
+        List<ReplicaRoutingDataSource.ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            RoutingDataSourceProperties.Replica replica = routing.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            pool.setPoolName(name);
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            replicas.add(new ReplicaRoutingDataSource.ReplicaNode(name,
+                    withTimeout(pool, workloads.getOltp().getStatementTimeout())));
+        }
+
+        return new ReplicaRoutingDataSource(
+                withTimeout(primary, workloads.getOltp().getStatementTimeout()),
+                withTimeout(reporting, reportingSettings.getStatementTimeout()),
+                replicas, writeTracker, routing.getMaxReplicaLag(), routing.getLagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource, SlowQueryLog slowQueryLog,
+                                 ServerTimingProperties serverTiming) {
+        // The JDBC proxy feeds both the slow-query log and the db segment of Server-Timing.
+        DataSource target = slowQueryLog.getProperties().isEnabled() || serverTiming.isEnabled()
+                ? new SlowQueryDataSource(replicaRoutingDataSource, slowQueryLog)
+                : replicaRoutingDataSource;
+        return new LazyConnectionDataSourceProxy(target);
+    }
+
+    private static DataSource withTimeout(DataSource pool, Duration timeout) {
+        return timeout.isZero() ? pool : new StatementTimeoutDataSource(pool, timeout);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ticketsystem.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ReplicaHealthMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ClientWriteTracker writeTracker;
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:5s}")
+    public void checkReplicas() {
+        routingDataSource.refreshReplicaHealth();
+        writeTracker.evictExpired();
+    }
+}
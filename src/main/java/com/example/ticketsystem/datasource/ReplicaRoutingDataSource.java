@@ -0,0 +1,199 @@
+package com.example.ticketsystem.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * Read-only work tagged {@link WorkloadClass#REPORTING} goes to the reporting pool instead, and
+ * work tagged {@link WorkloadClass#PRIMARY} always stays on the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the read-only flag is known by the time the connection is fetched.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPORTING = "reporting";
+
+    private final DataSource primary;
+    private final DataSource reporting;
+    private final List<ReplicaNode> replicas;
+    private final ClientWriteTracker writeTracker;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource reporting, List<ReplicaNode> replicas,
+                                    ClientWriteTracker writeTracker, Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.reporting = reporting;
+        this.replicas = List.copyOf(replicas);
+        this.writeTracker = writeTracker;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery != null && !lagQuery.isBlank() ? lagQuery : null;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        if (reporting != null) {
+            targets.put(REPORTING, reporting);
+        }
+        this.replicas.forEach(r -> targets.put(r.name(), r.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writeTracker.recordWrite();
+            return PRIMARY;
+        }
+        WorkloadClass workload = WorkloadContext.current();
+        if (workload == WorkloadClass.PRIMARY) {
+            return PRIMARY;
+        }
+        if (reporting != null && workload == WorkloadClass.REPORTING) {
+            return REPORTING;
+        }
+        if (!inTransaction) {
+            return PRIMARY;
+        }
+        if (writeTracker.recentlyWrote()) {
+            return PRIMARY;
+        }
+        ReplicaNode replica = nextHealthyReplica();
+        return replica != null ? replica.name() : PRIMARY;
+    }
+
+    private ReplicaNode nextHealthyReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode candidate = replicas.get((start + i) % size);
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    /** All pools by name, in primary, reporting, replica order. */
+    public Map<String, DataSource> getPools() {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        pools.put(PRIMARY, primary);
+        if (reporting != null) {
+            pools.put(REPORTING, reporting);
+        }
+        replicas.forEach(r -> pools.put(r.name(), r.dataSource()));
+        return pools;
+    }
+
+    public void refreshReplicaHealth() {
+        for (ReplicaNode replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            try (Connection con = replica.dataSource().getConnection()) {
+                long lagSeconds = lagQuery != null ? readLagSeconds(con) : 0;
+                replica.update(lagSeconds >= 0 && lagSeconds <= maxLag.toSeconds(), lagSeconds);
+            } catch (SQLException e) {
+                replica.update(false, -1);
+                log.debug("Replica {} health check failed: {}", replica.name(), e.getMessage());
+            }
+            if (wasHealthy != replica.isHealthy()) {
+                log.warn("Replica {} is now {} (lag={}s)", replica.name(),
+                        replica.isHealthy() ? "in rotation" : "out of rotation", replica.lagSeconds());
+            }
+        }
+    }
+
+    private long readLagSeconds(Connection con) throws SQLException {
+        try (Statement st = con.createStatement(); ResultSet rs = st.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return -1;
+            }
+            ResultSetMetaData meta = rs.getMetaData();
+            int column = 1;
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                String label = meta.getColumnLabel(i);
+                if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                    column = i;
+                    break;
+                }
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? -1 : lag;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource pool : getPools().values()) {
+            try {
+                if (pool.isWrapperFor(Closeable.class)) {
+                    pool.unwrap(Closeable.class).close();
+                }
+            } catch (SQLException e) {
+                log.warn("Could not close pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    public static final class ReplicaNode {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagSeconds;
+
+        public ReplicaNode(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long lagSeconds() {
+            return lagSeconds;
+        }
+
+        void update(boolean healthy, long lagSeconds) {
+            this.healthy = healthy;
+            this.lagSeconds = lagSeconds;
+        }
+    }
+}
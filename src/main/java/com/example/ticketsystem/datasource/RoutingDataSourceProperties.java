@@ -0,0 +1,42 @@
+package com.example.ticketsystem.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing settings ({@code app.datasource.routing.*}).
+ * With no replicas configured every connection comes from the primary pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas lagging more than this are skipped until they catch up. */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /**
+     * Query returning the replica lag in seconds, e.g. {@code SHOW REPLICA STATUS} on MySQL.
+     * When empty the replica is only checked for reachability.
+     */
+    private String lagQuery;
+
+    /** How long a client's reads stay on the primary after its own write. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private String clientIdHeader = "X-Client-Id";
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
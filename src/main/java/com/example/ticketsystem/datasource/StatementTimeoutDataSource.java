@@ -0,0 +1,60 @@
+package com.example.ticketsystem.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Applies a default query timeout to every statement created on the wrapped pool.
+ * Hibernate still overrides it for queries that carry their own timeout hint.
+ */
+public class StatementTimeoutDataSource extends DelegatingDataSource {
+
+    private final int timeoutSeconds;
+
+    public StatementTimeoutDataSource(DataSource target, Duration timeout) {
+        super(target);
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(target, method, args);
+                        if (result instanceof Statement statement) {
+                            statement.setQueryTimeout(timeoutSeconds);
+                        }
+                        yield result;
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.ticketsystem.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tags a repository method (or a whole repository) with the connection pool it should use.
+ * Read-only calls tagged {@link WorkloadClass#REPORTING} run on the reporting pool so heavy
+ * aggregates cannot starve the interactive ticket paths; calls tagged {@link WorkloadClass#PRIMARY}
+ * never read from a replica that may not have caught up yet.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Workload {
+
+    WorkloadClass value();
+}
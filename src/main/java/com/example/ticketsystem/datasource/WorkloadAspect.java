@@ -0,0 +1,32 @@
+package com.example.ticketsystem.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadAspect {
+
+    // Repository annotations live on the interface method, so they are looked up by hand
+    // instead of being bound as an advice argument.
+    @Around("@annotation(com.example.ticketsystem.datasource.Workload)")
+    public Object withWorkload(ProceedingJoinPoint pjp) throws Throwable {
+        Workload workload = AnnotationUtils.findAnnotation(((MethodSignature) pjp.getSignature()).getMethod(), Workload.class);
+        if (workload == null) {
+            return pjp.proceed();
+        }
+        WorkloadClass previous = WorkloadContext.enter(workload.value());
+        try {
+            return pjp.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.ticketsystem.datasource;
+
+public enum WorkloadClass {
+    OLTP,
+    REPORTING,
+    /** Reads that must see every committed write, e.g. feeds tailed by id; never sent to a replica. */
+    PRIMARY
+}
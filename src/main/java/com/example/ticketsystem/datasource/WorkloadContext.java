@@ -0,0 +1,39 @@
+package com.example.ticketsystem.datasource;
+
+import java.util.function.Supplier;
+
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.OLTP;
+    }
+
+    /** Switches the current thread to {@code workload} and returns the value to hand to {@link #restore}. */
+    public static WorkloadClass enter(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(WorkloadClass previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static <T> T run(WorkloadClass workload, Supplier<T> action) {
+        WorkloadClass previous = enter(workload);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+}
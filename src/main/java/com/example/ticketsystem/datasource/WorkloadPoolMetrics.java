@@ -0,0 +1,81 @@
+package com.example.ticketsystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Queue depth and usage gauges for every pool behind the routing data source,
+ * tagged with the pool name ({@code primary}, {@code reporting}, replicas). Each pool also
+ * gets Hikari's own {@code hikaricp.*} meters (acquire time, usage, timeouts).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkloadPoolMetrics implements MeterBinder {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        routingDataSource.getPools().forEach((name, pool) -> {
+            HikariDataSource hikari = unwrap(pool);
+            if (hikari == null) {
+                return;
+            }
+            bindHikariTracker(registry, name, hikari);
+            gauge(registry, "ticketsystem.datasource.pool.pending", name, hikari,
+                    HikariPoolMXBean::getThreadsAwaitingConnection,
+                    "Threads waiting for a connection");
+            gauge(registry, "ticketsystem.datasource.pool.active", name, hikari,
+                    HikariPoolMXBean::getActiveConnections, "Connections in use");
+            gauge(registry, "ticketsystem.datasource.pool.idle", name, hikari,
+                    HikariPoolMXBean::getIdleConnections, "Idle connections");
+            Gauge.builder("ticketsystem.datasource.pool.max", hikari, HikariDataSource::getMaximumPoolSize)
+                    .tag("pool", name)
+                    .register(registry);
+        });
+    }
+
+    // The pools are not beans, so Boot's Hikari metrics binding only sees whichever pool the
+    // routing data source unwraps to; the rest are wired here.
+    private static void bindHikariTracker(MeterRegistry registry, String name, HikariDataSource hikari) {
+        if (hikari.getMetricRegistry() != null || hikari.getMetricsTrackerFactory() != null) {
+            return;
+        }
+        try {
+            hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        } catch (RuntimeException e) {
+            log.warn("Could not bind Hikari metrics for pool {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static void gauge(MeterRegistry registry, String metric, String pool, HikariDataSource hikari,
+                              ToIntFunction<HikariPoolMXBean> value, String description) {
+        Gauge.builder(metric, hikari, ds -> {
+                    HikariPoolMXBean bean = ds.getHikariPoolMXBean();
+                    return bean != null ? value.applyAsInt(bean) : 0;
+                })
+                .tag("pool", pool)
+                .description(description)
+                .register(registry);
+    }
+
+    private static HikariDataSource unwrap(DataSource pool) {
+        try {
+            return pool.isWrapperFor(HikariDataSource.class) ? pool.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ticketsystem.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-workload pool settings ({@code app.datasource.workloads.*}). The reporting class gets
+ * its own pool; the OLTP class keeps the primary pool from {@code spring.datasource.*} and
+ * only takes its statement timeout from here.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.workloads")
+public class WorkloadPoolProperties {
+
+    private Pool oltp = new Pool();
+    private Pool reporting = new Pool();
+
+    @Data
+    public static class Pool {
+        /** Defaults to the primary datasource URL. */
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+        /** Zero disables the timeout. */
+        private Duration statementTimeout = Duration.ZERO;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ticketsystem.dto;
+
+import java.util.List;
+
+/**
+ * Who is calling: the customers on the number and their open tickets. {@code match} is EXACT for
+ * the same E.164 number and SUFFIX when only the subscriber digits matched, in which case there
+ * may be more than one caller.
+ */
+public record CallerIdResponse(
+        String number,
+        String match,
+        List<Caller> callers
+) {
+
+    public record Caller(
+            Long id,
+            String name,
+            String email,
+            String phone,
+            List<TicketResponse> openTickets
+    ) {
+    }
+}
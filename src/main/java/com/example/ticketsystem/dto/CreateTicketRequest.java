@@ -20,7 +20,13 @@ public record CreateTicketRequest(
         String description,
 
         @Min(value = 1, message = "Öncelik ID'si pozitif bir sayı olmalıdır")
-        Long priorityId
+        Long priorityId,
+
+        @Size(max = 50, message = "Kategori 50 karakterden fazla olamaz")
+        String category,
+
+        @Size(max = 10, message = "Dil kodu 10 karakterden fazla olamaz")
+        String language
 ) {
 
     public CreateTicketRequest {
@@ -39,6 +45,10 @@ public record CreateTicketRequest(
         this(customerId, title, description, null); // null göndererek service'in default atamasını sağlıyoruz
     }
 
+    public CreateTicketRequest(Long customerId, String title, String description, Long priorityId) {
+        this(customerId, title, description, priorityId, null, null);
+    }
+
 
     public Long getEffectivePriorityId() {
         return priorityId != null ? priorityId : 2L; // Default: Normal priority (ID=2)
@@ -0,0 +1,11 @@
+package com.example.ticketsystem.dto;
+
+/** A type-ahead hit; {@code matchedField} is NAME, EMAIL or PHONE. */
+public record CustomerSuggestion(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        String matchedField
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.ticketsystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A message search hit. {@code snippet} is an excerpt of the message around the match and
+ * {@code highlights} are the {@code [start, end)} character ranges in it that matched.
+ */
+public record MessageSearchResponse(
+        Long id,
+        Long ticketId,
+        String senderType,
+        LocalDateTime createdAt,
+        String snippet,
+        List<Highlight> highlights
+) {
+
+    public record Highlight(int start, int end) {
+    }
+}
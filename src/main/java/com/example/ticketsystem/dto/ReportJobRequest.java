@@ -0,0 +1,18 @@
+package com.example.ticketsystem.dto;
+
+import com.example.ticketsystem.report.ReportType;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Map;
+
+public record ReportJobRequest(
+        @NotNull(message = "Rapor tipi gerekli")
+        ReportType type,
+
+        Map<String, String> parameters
+) {
+
+    public Map<String, String> parametersOrEmpty() {
+        return parameters != null ? parameters : Map.of();
+    }
+}
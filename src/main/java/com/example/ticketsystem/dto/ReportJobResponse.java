@@ -0,0 +1,31 @@
+package com.example.ticketsystem.dto;
+
+import com.example.ticketsystem.report.ReportType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReportJobResponse(
+        String jobId,
+        ReportType type,
+        Map<String, String> parameters,
+        JobStatus status,
+        LocalDateTime submittedAt,
+        LocalDateTime completedAt,
+        Long durationMillis,
+        Object result,
+        String error
+) {
+
+    public enum JobStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public boolean isDone() {
+        return status != JobStatus.RUNNING;
+    }
+}
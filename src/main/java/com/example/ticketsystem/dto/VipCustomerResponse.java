@@ -0,0 +1,17 @@
+package com.example.ticketsystem.dto;
+
+import java.time.LocalDateTime;
+
+/** A VIP leaderboard row: the customer and their precomputed ticket statistics. */
+public record VipCustomerResponse(
+        int rank,
+        Long id,
+        String name,
+        String email,
+        long ticketCount,
+        long openTicketCount,
+        long messageCount,
+        LocalDateTime firstTicketAt,
+        LocalDateTime lastTicketAt
+) {
+}
@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -45,6 +47,15 @@ public class Agent {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Lowercase tags a ticket's category and language are matched against when routing
+    @Convert(converter = StringSetConverter.class)
+    @Column(length = 500)
+    private Set<String> skills = new TreeSet<>();
+
+    @Convert(converter = StringSetConverter.class)
+    @Column(length = 100)
+    private Set<String> languages = new TreeSet<>();
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -217,6 +228,22 @@ public class Agent {
         this.isActive = isActive != null ? isActive : true;
     }
 
+    public Set<String> getSkills() {
+        return skills != null ? skills : Set.of();
+    }
+
+    public void setSkills(Set<String> skills) {
+        this.skills = StringSetConverter.normalize(skills);
+    }
+
+    public Set<String> getLanguages() {
+        return languages != null ? languages : Set.of();
+    }
+
+    public void setLanguages(Set<String> languages) {
+        this.languages = StringSetConverter.normalize(languages);
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
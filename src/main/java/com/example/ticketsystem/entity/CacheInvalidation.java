@@ -0,0 +1,38 @@
+package com.example.ticketsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One invalidation of a node-local cache entry, broadcast to the other nodes through the shared
+ * database. A null {@code cacheKey} means the whole cache. Rows are inserted by
+ * {@code CacheInvalidationBus}, tailed by every node's poller and deleted after retention.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+        @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_name", nullable = false, length = 60)
+    private String cacheName;
+
+    @Column(name = "cache_key", length = 200)
+    private String cacheKey;
+
+    /** The node that wrote the row; it has invalidated its own cache already. */
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.example.ticketsystem.entity;
 
+import com.example.ticketsystem.phone.PhoneNumberNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -15,7 +16,9 @@ import java.util.Objects;
 @Table(name = "customers", indexes = {
         @Index(name = "idx_customer_email", columnList = "email"),
         @Index(name = "idx_customer_name", columnList = "name"),
-        @Index(name = "idx_customer_created_at", columnList = "created_at")
+        @Index(name = "idx_customer_created_at", columnList = "created_at"),
+        @Index(name = "idx_customer_phone_e164", columnList = "phone_e164"),
+        @Index(name = "idx_customer_email_domain", columnList = "email_domain")
 })
 public class Customer {
 
@@ -38,6 +41,14 @@ public class Customer {
     @Column(length = 20)
     private String phone;
 
+    // Derived from phone on every save; null when phone does not normalise
+    @Column(name = "phone_e164", length = 16)
+    private String phoneE164;
+
+    // Derived from email on every save; groups the customer into an Organization
+    @Column(name = "email_domain", length = 100)
+    private String emailDomain;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -73,11 +84,15 @@ public class Customer {
         if (updatedAt == null) {
             updatedAt = now;
         }
+        phoneE164 = PhoneNumberNormalizer.toE164(phone).orElse(null);
+        emailDomain = Organization.domainOf(email);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        phoneE164 = PhoneNumberNormalizer.toE164(phone).orElse(null);
+        emailDomain = Organization.domainOf(email);
     }
 
 
@@ -143,6 +158,22 @@ public class Customer {
         this.phone = phone != null ? phone.trim().replaceAll("[^0-9+]", "") : null;
     }
 
+    public String getPhoneE164() {
+        return phoneE164;
+    }
+
+    public void setPhoneE164(String phoneE164) {
+        this.phoneE164 = phoneE164;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,45 @@
+package com.example.ticketsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-customer ticket and message totals, kept up to date in the transaction of every ticket
+ * and message write so VIP and lifetime views read one row instead of grouping the tickets
+ * table. A customer gets a row with their first ticket. Rows are written through
+ * {@code CustomerStatsRepository}, never saved as entities.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "customer_stats", indexes = {
+        @Index(name = "idx_customer_stats_ticket_count", columnList = "ticket_count"),
+        @Index(name = "idx_customer_stats_open_ticket_count", columnList = "open_ticket_count")
+})
+public class CustomerStats {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "ticket_count", nullable = false)
+    private long ticketCount;
+
+    @Column(name = "open_ticket_count", nullable = false)
+    private long openTicketCount;
+
+    @Column(name = "message_count", nullable = false)
+    private long messageCount;
+
+    @Column(name = "first_ticket_at")
+    private LocalDateTime firstTicketAt;
+
+    @Column(name = "last_ticket_at")
+    private LocalDateTime lastTicketAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,57 @@
+package com.example.ticketsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * The customers sharing an e-mail domain, with their ticket counts kept up to date on every
+ * customer and ticket write so B2B account views never aggregate the tickets table. Rows are
+ * written through {@code OrganizationRepository.adjust}, never saved as entities.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "organizations", indexes = {
+        @Index(name = "idx_organization_ticket_count", columnList = "ticket_count")
+})
+public class Organization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String domain;
+
+    @Column(name = "customer_count", nullable = false)
+    private long customerCount;
+
+    @Column(name = "ticket_count", nullable = false)
+    private long ticketCount;
+
+    @Column(name = "open_ticket_count", nullable = false)
+    private long openTicketCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+
+    /** The lower-cased part after the last {@code @}, or {@code null} for anything that is not an address. */
+    public static String domainOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        if (at < 0 || at == email.length() - 1) {
+            return null;
+        }
+        return email.substring(at + 1).strip().toLowerCase(Locale.ROOT);
+    }
+}
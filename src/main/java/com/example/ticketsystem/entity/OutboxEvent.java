@@ -0,0 +1,41 @@
+package com.example.ticketsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ticket lifecycle event, written in the transaction that caused it. The id is the event's
+ * offset in the change feed. Rows are inserted by {@code OutboxWriter} and read by
+ * {@code OutboxRelay}; nothing updates them, and the relay deletes them once they are delivered
+ * and past retention.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox", indexes = {
+        @Index(name = "idx_outbox_created_at", columnList = "created_at")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.example.ticketsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last outbox event a relay consumer has delivered. Written through
+ * {@code OutboxOffsetRepository.commit}, never saved as an entity.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_offsets")
+public class OutboxOffset {
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,10 @@
+package com.example.ticketsystem.entity;
+
+/**
+ * What a {@link TicketStatus} means for the ticket holding it. Active tickets count as open work
+ * for agents and customers; a closed ticket has a {@code closedAt} and is out of every open list.
+ */
+public enum StatusCategory {
+    ACTIVE,
+    CLOSED
+}
@@ -0,0 +1,44 @@
+package com.example.ticketsystem.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Stores a small set of lowercase tags (agent skills, languages) as one comma-separated column,
+ * so loading an agent never costs a collection query. Values are sorted, so equal sets store equal.
+ */
+@Converter
+public class StringSetConverter implements AttributeConverter<Set<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<String> values) {
+        return values == null || values.isEmpty() ? null : String.join(",", normalize(values));
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return new TreeSet<>();
+        }
+        return normalize(Arrays.asList(column.split(",")));
+    }
+
+    /** Trimmed, lowercase, without blanks or commas; never null. */
+    public static SortedSet<String> normalize(Collection<String> values) {
+        SortedSet<String> normalized = new TreeSet<>();
+        for (String value : values != null ? values : Collections.<String>emptySet()) {
+            if (value != null && !value.isBlank()) {
+                normalized.add(value.trim().toLowerCase(Locale.ROOT).replace(",", ""));
+            }
+        }
+        return normalized;
+    }
+}
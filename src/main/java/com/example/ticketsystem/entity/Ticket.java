@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -67,9 +68,19 @@ public class Ticket {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Stamped and cleared only by TicketStatusMachine, on entering and leaving a closed status
     @Column(name = "closed_at")
     private LocalDateTime closedAt;
 
+    // Routing: the skill and the language an agent needs to take the ticket
+    @Size(max = 50, message = "Kategori 50 karakterden fazla olamaz")
+    @Column(length = 50)
+    private String category;
+
+    @Size(max = 10, message = "Dil kodu 10 karakterden fazla olamaz")
+    @Column(length = 10)
+    private String language;
+
 
 
     public Ticket() {}
@@ -111,24 +122,23 @@ public class Ticket {
     }
 
 
+    /** Active and waiting for an agent. */
     public boolean isOpen() {
-        return status != null && "Açık".equals(status.getName());
+        return isActive() && agent == null;
     }
 
+    /** Active and owned by an agent. */
     public boolean isAssigned() {
-        return agent != null && status != null && "Atanmış".equals(status.getName());
+        return isActive() && agent != null;
     }
 
+    /** In a closed-category status (resolved or closed). */
     public boolean isClosed() {
-        return status != null && "Kapalı".equals(status.getName());
-    }
-
-    public boolean isResolved() {
-        return status != null && "Çözüldü".equals(status.getName());
+        return status != null && !status.isActive();
     }
 
     public boolean isActive() {
-        return status != null && !isClosed() && !isResolved();
+        return status != null && status.isActive();
     }
 
     public boolean isOverdue() {
@@ -156,24 +166,6 @@ public class Ticket {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public void updateStatus(TicketStatus newStatus) {
-        this.status = newStatus;
-        this.updatedAt = LocalDateTime.now();
-
-
-        if (newStatus != null && ("Kapalı".equals(newStatus.getName()) ||
-                "Çözüldü".equals(newStatus.getName()))) {
-            if (closedAt == null) {
-                closedAt = LocalDateTime.now();
-            }
-        }
-    }
-
-    public void close() {
-        this.closedAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
-    }
-
     public Duration getAge() {
         return Duration.between(createdAt, LocalDateTime.now());
     }
@@ -398,6 +390,22 @@ public class Ticket {
         this.closedAt = closedAt;
     }
 
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category != null && !category.isBlank() ? category.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language != null && !language.isBlank() ? language.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof Ticket ticket &&
@@ -11,7 +11,8 @@ import lombok.Data;
 @AllArgsConstructor
 @Entity
 @Table(name = "ticket_statuses", indexes = {
-        @Index(name = "idx_status_name", columnList = "name")
+        @Index(name = "idx_status_name", columnList = "name"),
+        @Index(name = "idx_status_category", columnList = "category")
 })
 public class TicketStatus {
 
@@ -28,6 +29,10 @@ public class TicketStatus {
     @Column(length = 200)
     private String description;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private StatusCategory category;
+
 
     public static final String OPEN = "Açık";
     public static final String ASSIGNED = "Atanmış";
@@ -42,6 +47,22 @@ public class TicketStatus {
     public TicketStatus(String name, String description) {
         this.name = name;
         this.description = description;
+        this.category = defaultCategory(name);
+    }
+
+    /** Resolved and closed statuses (under their Turkish or English names) close the ticket. */
+    public static StatusCategory defaultCategory(String name) {
+        return switch (name != null ? name.trim() : "") {
+            case RESOLVED, CLOSED, "RESOLVED", "CLOSED" -> StatusCategory.CLOSED;
+            default -> StatusCategory.ACTIVE;
+        };
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (category == null) {
+            category = defaultCategory(name);
+        }
     }
 
 
@@ -70,7 +91,7 @@ public class TicketStatus {
     }
 
     public boolean isActive() {
-        return !isClosed() && !isResolved();
+        return (category != null ? category : defaultCategory(name)) == StatusCategory.ACTIVE;
     }
 
 
@@ -98,6 +119,14 @@ public class TicketStatus {
         this.description = description != null ? description.trim() : null;
     }
 
+    public StatusCategory getCategory() {
+        return category;
+    }
+
+    public void setCategory(StatusCategory category) {
+        this.category = category;
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof TicketStatus status &&
@@ -112,7 +141,7 @@ public class TicketStatus {
 
     @Override
     public String toString() {
-        return "TicketStatus{id=%d, name='%s', description='%s'}"
-                .formatted(id, name, description);
+        return "TicketStatus{id=%d, name='%s', category=%s, description='%s'}"
+                .formatted(id, name, category, description);
     }
 }
\ No newline at end of file
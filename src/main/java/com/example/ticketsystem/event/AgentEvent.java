@@ -0,0 +1,23 @@
+package com.example.ticketsystem.event;
+
+import com.example.ticketsystem.entity.Agent;
+
+import java.util.Set;
+
+/**
+ * Published when an agent is created, changed or deleted, with the fields routing depends on as
+ * they were saved. Listeners that act on committed state use {@code @TransactionalEventListener}.
+ */
+public record AgentEvent(Type type, Long agentId, boolean active, Set<String> skills, Set<String> languages) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static AgentEvent of(Type type, Agent agent) {
+        return new AgentEvent(type, agent.getId(), agent.isActive(), Set.copyOf(agent.getSkills()),
+                Set.copyOf(agent.getLanguages()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ticketsystem.event;
+
+import com.example.ticketsystem.entity.Customer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a customer is created, changed or deleted, with the customer's fields as they
+ * were saved. {@code previousEmail} is only set on updates. Listeners that act on committed
+ * state use {@code @TransactionalEventListener}.
+ */
+public record CustomerEvent(Type type, Long customerId, String name, String email, String phone,
+                            LocalDateTime createdAt, String previousEmail) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static CustomerEvent of(Type type, Customer customer) {
+        return new CustomerEvent(type, customer.getId(), customer.getName(), customer.getEmail(),
+                customer.getPhone(), customer.getCreatedAt(), null);
+    }
+
+    public static CustomerEvent updated(Customer customer, String previousEmail) {
+        return new CustomerEvent(Type.UPDATED, customer.getId(), customer.getName(), customer.getEmail(),
+                customer.getPhone(), customer.getCreatedAt(), previousEmail);
+    }
+}
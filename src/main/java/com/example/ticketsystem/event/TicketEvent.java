@@ -0,0 +1,18 @@
+package com.example.ticketsystem.event;
+
+/**
+ * Published by the ticket service for every change to a ticket, inside the transaction that
+ * makes the change. {@code wasActive} and {@code active} say whether the ticket counted as open
+ * ({@link com.example.ticketsystem.entity.TicketStatus#isActive()}) before and after the change,
+ * so counters can be adjusted without reading the ticket back. Listeners that act on committed
+ * state use {@code @TransactionalEventListener}.
+ */
+public record TicketEvent(Type type, Long ticketId, Long customerId, boolean wasActive, boolean active) {
+
+    public enum Type {
+        CREATED,
+        ASSIGNED,
+        STATUS_CHANGED,
+        CLOSED
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.ticketsystem.event;
+
+/** Published by the ticket service for every message it saves, inside the saving transaction. */
+public record TicketMessageEvent(Long messageId, Long ticketId, Long customerId, String message) {
+}
@@ -0,0 +1,26 @@
+package com.example.ticketsystem.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the ticket service (and the rebalancer, for agent hand-offs) for every change of a
+ * ticket's status or agent, inside the transaction that makes it, with the values before and after.
+ * {@code actorType} is never {@code null}; {@code actorId} is set for customers and agents only.
+ */
+public record TicketTransitionEvent(Long ticketId, Field field, String oldValue, String newValue,
+                                    ActorType actorType, Long actorId, LocalDateTime at) {
+
+    public enum Field {
+        STATUS,
+        AGENT
+    }
+
+    public enum ActorType {
+        CUSTOMER,
+        AGENT,
+        /** The application itself, e.g. the rebalancer. */
+        SYSTEM,
+        /** A request through an endpoint that does not say who is calling. */
+        ANONYMOUS
+    }
+}
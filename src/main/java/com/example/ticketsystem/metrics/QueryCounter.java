@@ -0,0 +1,40 @@
+package com.example.ticketsystem.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Per-thread running totals of SQL statements prepared and entity rows loaded by Hibernate.
+ * The totals only ever grow; callers take a {@link #snapshot()} before an operation and
+ * subtract it afterwards, which keeps nested operations correct without any bookkeeping.
+ */
+public final class QueryCounter implements StatementInspector {
+
+    public static final QueryCounter INSTANCE = new QueryCounter();
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private QueryCounter() {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get()[0]++;
+        return sql;
+    }
+
+    static void entityLoaded() {
+        COUNTS.get()[1]++;
+    }
+
+    public static Snapshot snapshot() {
+        long[] counts = COUNTS.get();
+        return new Snapshot(counts[0], counts[1]);
+    }
+
+    public record Snapshot(long queries, long rows) {
+
+        public Snapshot since(Snapshot start) {
+            return new Snapshot(queries - start.queries, rows - start.rows);
+        }
+    }
+}
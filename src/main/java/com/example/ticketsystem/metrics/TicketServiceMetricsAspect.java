@@ -0,0 +1,69 @@
+package com.example.ticketsystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency, statement count and loaded rows for every {@code TicketService} call, tagged by
+ * operation. Runs outside the transaction advice so commit and flush are included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class TicketServiceMetricsAspect {
+
+    static final String TIMER = "ticketsystem.service.operation";
+    static final String QUERIES = "ticketsystem.service.queries";
+    static final String ROWS = "ticketsystem.service.rows.fetched";
+
+    private final MeterRegistry registry;
+
+    @Around("execution(* com.example.ticketsystem.service.TicketService.*(..))")
+    public Object measure(ProceedingJoinPoint pjp) throws Throwable {
+        String operation = pjp.getSignature().getName();
+        QueryCounter.Snapshot start = QueryCounter.snapshot();
+        long startNanos = System.nanoTime();
+        String outcome = "success";
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - startNanos;
+            QueryCounter.Snapshot used = QueryCounter.snapshot().since(start);
+
+            Timer.builder(TIMER)
+                    .description("TicketService operation latency")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder(QUERIES)
+                    .description("SQL statements issued per TicketService operation")
+                    .tag("operation", operation)
+                    .register(registry)
+                    .record(used.queries());
+            DistributionSummary.builder(ROWS)
+                    .description("Entity rows loaded per TicketService operation")
+                    .tag("operation", operation)
+                    .register(registry)
+                    .record(used.rows());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.ticketsystem.organization;
+
+import com.example.ticketsystem.dto.TicketResponse;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Organization;
+import com.example.ticketsystem.event.CustomerEvent;
+import com.example.ticketsystem.event.TicketEvent;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.OrganizationRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import com.example.ticketsystem.service.mapper.TicketResponseMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * B2B account views: customers grouped by e-mail domain. The organization counts follow every
+ * customer and ticket write through plain (synchronous) event listeners, so they are updated in
+ * the transaction that makes the change and roll back with it. Reads go through the indexed
+ * {@code email_domain} column and take their totals from the organization row.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrganizationService {
+
+    private final OrganizationRepository organizationRepository;
+    private final CustomerRepository customerRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketResponseMapper responseMapper;
+
+    @EventListener
+    @Transactional
+    public void onCustomerEvent(CustomerEvent event) {
+        String domain = Organization.domainOf(event.email());
+        LocalDateTime now = LocalDateTime.now();
+        switch (event.type()) {
+            case CREATED -> adjust(domain, 1, 0, 0, now);
+            case DELETED -> adjust(domain, -1, 0, 0, now);
+            case UPDATED -> {
+                String previous = Organization.domainOf(event.previousEmail());
+                if (event.previousEmail() == null || Objects.equals(previous, domain)) {
+                    return;
+                }
+                // The customer's tickets move with them
+                long tickets = ticketRepository.countByCustomerId(event.customerId());
+                long open = ticketRepository.countOpenByCustomerId(event.customerId());
+                adjust(previous, -1, -tickets, -open, now);
+                adjust(domain, 1, tickets, open, now);
+            }
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onTicketEvent(TicketEvent event) {
+        long tickets = event.type() == TicketEvent.Type.CREATED ? 1 : 0;
+        long open = (event.active() ? 1 : 0) - (event.wasActive() ? 1 : 0);
+        if (tickets != 0 || open != 0) {
+            organizationRepository.adjustTicketCounts(event.customerId(), tickets, open, LocalDateTime.now());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Organization> list(Pageable pageable) {
+        return organizationRepository.findAllByOrderByTicketCountDesc(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Organization get(String domain) {
+        return organizationRepository.findByDomain(normalize(domain))
+                .orElseThrow(() -> new NoSuchElementException("Organization not found: " + domain));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Customer> customers(String domain, Pageable pageable) {
+        Organization organization = get(domain);
+        List<Customer> content = customerRepository.findByEmailDomainOrderByCreatedAtDesc(
+                organization.getDomain(), pageable);
+        return new PageImpl<>(content, pageable, organization.getCustomerCount());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TicketResponse> tickets(String domain, Pageable pageable) {
+        Organization organization = get(domain);
+        List<TicketResponse> content = ticketRepository.findByCustomerEmailDomain(organization.getDomain(), pageable)
+                .stream()
+                .map(responseMapper::toBasicResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, organization.getTicketCount());
+    }
+
+    private void adjust(String domain, long customers, long tickets, long open, LocalDateTime now) {
+        if (domain != null) {
+            organizationRepository.adjust(domain, customers, tickets, open, now);
+        }
+    }
+
+    private static String normalize(String domain) {
+        return domain == null ? null : domain.strip().toLowerCase(Locale.ROOT);
+    }
+}
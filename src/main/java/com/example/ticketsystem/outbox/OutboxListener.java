@@ -0,0 +1,12 @@
+package com.example.ticketsystem.outbox;
+
+/**
+ * In-process consumer of the ticket change feed. Every bean implementing this is called by the
+ * {@link OutboxRelay}, in offset order, after the event's transaction has committed. Delivery
+ * is at least once: if any listener or the sink throws, the whole batch is delivered again, so
+ * implementations must tolerate seeing an offset twice.
+ */
+public interface OutboxListener {
+
+    void onEvent(OutboxMessage message);
+}
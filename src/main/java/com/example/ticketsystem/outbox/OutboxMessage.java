@@ -0,0 +1,10 @@
+package com.example.ticketsystem.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+
+/** An outbox event as delivered to listeners and sinks; {@code offset} is its position in the feed. */
+public record OutboxMessage(long offset, String type, Long ticketId, Long customerId,
+                            JsonNode payload, LocalDateTime createdAt) {
+}
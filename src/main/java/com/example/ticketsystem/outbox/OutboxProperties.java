@@ -0,0 +1,31 @@
+package com.example.ticketsystem.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Outbox relay settings ({@code app.outbox.*}). Events are always written; {@code relay-enabled}
+ * only controls whether this instance tails the table. Instances that each want every event
+ * for their own in-process listeners need distinct {@code consumer} names, since the delivered
+ * offset is stored per consumer.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private boolean relayEnabled = true;
+    private String consumer = "default";
+    private int batchSize = 500;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Duration retryBackoff = Duration.ofSeconds(5);
+    /**
+     * How long a gap in event ids is waited on before it is taken for a rolled-back insert
+     * rather than one still committing.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(10);
+    /** Delivered events older than this are deleted. */
+    private Duration retention = Duration.ofDays(7);
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,207 @@
+package com.example.ticketsystem.outbox;
+
+import com.example.ticketsystem.datasource.WorkloadClass;
+import com.example.ticketsystem.datasource.WorkloadContext;
+import com.example.ticketsystem.entity.OutboxEvent;
+import com.example.ticketsystem.entity.OutboxOffset;
+import com.example.ticketsystem.repository.OutboxEventRepository;
+import com.example.ticketsystem.repository.OutboxOffsetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tails the outbox table and hands each batch to the {@link OutboxSink} (if any) and then to
+ * every {@link OutboxListener}, in offset order. The consumer's offset is committed only after
+ * the whole batch was delivered, so a failure or a restart redelivers from the last committed
+ * offset: at least once, never skipped. Commits wake the relay, so in-process listeners see an
+ * event within milliseconds; the poll interval only bounds the latency of other instances' writes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxRelay {
+
+    public record Status(String consumer, boolean running, long deliveredOffset, long latestOffset, long lag,
+                         long delivered, LocalDateTime lastDeliveryAt) {
+    }
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final ObjectProvider<OutboxListener> listenerProvider;
+    private final ObjectProvider<OutboxSink> sinkProvider;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final AtomicReference<Long> replayFrom = new AtomicReference<>();
+    private volatile boolean running;
+    private volatile long offset;
+    private volatile long delivered;
+    private volatile LocalDateTime lastDeliveryAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        running = true;
+        Thread.ofPlatform().name("outbox-relay").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        wakeUp();
+    }
+
+    /** Called after a commit that wrote outbox rows. */
+    void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    void run() {
+        // The committed offset and the feed must come from the primary, never a lagging replica
+        WorkloadContext.enter(WorkloadClass.PRIMARY);
+        offset = offsetRepository.findById(properties.getConsumer()).map(OutboxOffset::getLastEventId).orElse(0L);
+        log.info("Outbox relay '{}' starting after offset {}", properties.getConsumer(), offset);
+        while (running) {
+            try {
+                if (relayOnce() < properties.getBatchSize()) {
+                    wakeUps.tryAcquire(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay '{}' failed after offset {}; retrying in {}",
+                        properties.getConsumer(), offset, properties.getRetryBackoff(), e);
+                try {
+                    Thread.sleep(properties.getRetryBackoff());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Delivers and commits one batch; returns how many events it held. */
+    int relayOnce() {
+        Long replay = replayFrom.getAndSet(null);
+        if (replay != null) {
+            offset = replay;
+            offsetRepository.commit(properties.getConsumer(), offset, LocalDateTime.now());
+        }
+        List<OutboxMessage> batch = read(offset, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        OutboxSink sink = sinkProvider.getIfAvailable();
+        if (sink != null) {
+            sink.publish(batch);
+        }
+        List<OutboxListener> listeners = listenerProvider.orderedStream().toList();
+        for (OutboxMessage message : batch) {
+            for (OutboxListener listener : listeners) {
+                listener.onEvent(message);
+            }
+        }
+        long last = batch.get(batch.size() - 1).offset();
+        offsetRepository.commit(properties.getConsumer(), last, LocalDateTime.now());
+        offset = last;
+        delivered += batch.size();
+        lastDeliveryAt = LocalDateTime.now();
+        return batch.size();
+    }
+
+    /**
+     * Up to {@code limit} events after {@code afterOffset}, stopping short of any event that may
+     * still have an uncommitted predecessor. Used by the relay and by pull consumers.
+     */
+    public List<OutboxMessage> read(long afterOffset, int limit) {
+        if (limit < 1 || limit > properties.getMaxPageSize()) {
+            throw new IllegalArgumentException("limit 1 ile " + properties.getMaxPageSize() + " arasında olmalıdır");
+        }
+        List<OutboxEvent> rows = eventRepository.findAfter(afterOffset, PageRequest.ofSize(limit));
+        int safe = settledPrefix(rows, afterOffset, LocalDateTime.now().minus(properties.getGapTimeout()));
+        return rows.subList(0, safe).stream().map(this::toMessage).toList();
+    }
+
+    /**
+     * How many leading rows can be delivered. Ids are taken at commit, so a missing id is either
+     * a transaction committing right now or one that rolled back; rows after a gap wait until
+     * they are older than {@code settledBefore}, by when the gap is taken to be permanent.
+     */
+    static int settledPrefix(List<OutboxEvent> rows, long afterOffset, LocalDateTime settledBefore) {
+        long expected = afterOffset + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            OutboxEvent row = rows.get(i);
+            if (row.getId() != expected && row.getCreatedAt().isAfter(settledBefore)) {
+                return i;
+            }
+            expected = row.getId() + 1;
+        }
+        return rows.size();
+    }
+
+    /** Redelivers every event after {@code fromOffset} to this instance's listeners and sink. */
+    public void replay(long fromOffset) {
+        if (!running) {
+            throw new IllegalStateException("Outbox aktarıcısı bu sunucuda çalışmıyor");
+        }
+        if (fromOffset < 0 || fromOffset > eventRepository.findLatestId()) {
+            throw new IllegalArgumentException("Geçersiz offset: " + fromOffset);
+        }
+        replayFrom.set(fromOffset);
+        wakeUp();
+    }
+
+    public Status status() {
+        long latest = eventRepository.findLatestId();
+        return new Status(properties.getConsumer(), running, offset, latest, Math.max(0, latest - offset),
+                delivered, lastDeliveryAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval:1h}", initialDelayString = "${app.outbox.cleanup-interval:1h}")
+    public void deleteExpired() {
+        Long lowest = offsetRepository.findLowestOffset();
+        if (lowest == null) {
+            return;
+        }
+        int deleted = eventRepository.deleteDeliveredBefore(lowest, LocalDateTime.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.info("Deleted {} delivered outbox events older than {}", deleted, properties.getRetention());
+        }
+    }
+
+    private OutboxMessage toMessage(OutboxEvent row) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(row.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox event " + row.getId() + " has an unreadable payload", e);
+        }
+        return new OutboxMessage(row.getId(), row.getEventType(), row.getTicketId(), row.getCustomerId(),
+                payload, row.getCreatedAt());
+    }
+}
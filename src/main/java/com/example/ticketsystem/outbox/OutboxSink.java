@@ -0,0 +1,13 @@
+package com.example.ticketsystem.outbox;
+
+import java.util.List;
+
+/**
+ * Where the {@link OutboxRelay} forwards events outside the process (a broker, a webhook). At
+ * most one bean may implement it; without one, events only reach {@link OutboxListener}s and
+ * the pull endpoint. A batch is delivered again until {@link #publish} returns normally.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> batch);
+}
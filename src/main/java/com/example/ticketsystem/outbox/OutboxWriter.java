@@ -0,0 +1,159 @@
+package com.example.ticketsystem.outbox;
+
+import com.example.ticketsystem.entity.OutboxEvent;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.entity.TicketMessage;
+import com.example.ticketsystem.event.TicketEvent;
+import com.example.ticketsystem.event.TicketMessageEvent;
+import com.example.ticketsystem.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns ticket and message events into outbox rows inside the ticket service transaction, so an
+ * event exists exactly when its change commits. The rows of one transaction are collected and
+ * written as a single multi-row INSERT just before commit; ids are therefore assigned at commit
+ * time, which keeps the feed close to commit order.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    public static final String TICKET_CREATED = "TICKET_CREATED";
+    public static final String TICKET_ASSIGNED = "TICKET_ASSIGNED";
+    public static final String TICKET_STATUS_CHANGED = "TICKET_STATUS_CHANGED";
+    public static final String TICKET_CLOSED = "TICKET_CLOSED";
+    public static final String MESSAGE_ADDED = "MESSAGE_ADDED";
+
+    private final OutboxEventRepository outboxRepository;
+    private final OutboxRelay relay;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener
+    public void onTicketEvent(TicketEvent event) {
+        // The ticket service has the ticket and its associations loaded, so this is no query
+        Ticket ticket = entityManager.find(Ticket.class, event.ticketId());
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("ticketId", event.ticketId());
+        payload.put("customerId", event.customerId());
+        payload.put("agentId", ticket != null && ticket.getAgent() != null ? ticket.getAgent().getId() : null);
+        payload.put("status", ticket != null ? ticket.getStatus().getName() : null);
+        payload.put("priority", ticket != null ? ticket.getPriority().getName() : null);
+        payload.put("wasActive", event.wasActive());
+        payload.put("active", event.active());
+        enqueue(typeOf(event.type()), event.ticketId(), event.customerId(), payload);
+    }
+
+    @EventListener
+    public void onTicketMessageEvent(TicketMessageEvent event) {
+        TicketMessage message = entityManager.find(TicketMessage.class, event.messageId());
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("messageId", event.messageId());
+        payload.put("ticketId", event.ticketId());
+        payload.put("customerId", event.customerId());
+        payload.put("senderType", message != null ? message.getSenderType() : null);
+        payload.put("senderId", message != null ? message.getSenderId() : null);
+        payload.put("messageType", message != null ? message.getMessageType() : null);
+        payload.put("message", event.message());
+        enqueue(MESSAGE_ADDED, event.ticketId(), event.customerId(), payload);
+    }
+
+    private static String typeOf(TicketEvent.Type type) {
+        return switch (type) {
+            case CREATED -> TICKET_CREATED;
+            case ASSIGNED -> TICKET_ASSIGNED;
+            case STATUS_CHANGED -> TICKET_STATUS_CHANGED;
+            case CLOSED -> TICKET_CLOSED;
+        };
+    }
+
+    private void enqueue(String type, Long ticketId, Long customerId, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type);
+        event.setTicketId(ticketId);
+        event.setCustomerId(customerId);
+        event.setPayload(toJson(payload));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            event.setCreatedAt(LocalDateTime.now());
+            outboxRepository.save(event);
+            relay.wakeUp();
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<OutboxEvent> pending = (List<OutboxEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OutboxEvent> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(batch);
+                }
+
+                @Override
+                public void afterCommit() {
+                    relay.wakeUp();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(event);
+    }
+
+    private void insert(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO outbox (event_type, ticket_id, customer_id, payload, created_at) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            int p = i * 5;
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(?").append(p + 1).append(", ?").append(p + 2).append(", ?").append(p + 3)
+                    .append(", ?").append(p + 4).append(", ?").append(p + 5).append(')');
+        }
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            int p = i * 5;
+            insert.setParameter(p + 1, event.getEventType());
+            insert.setParameter(p + 2, event.getTicketId());
+            insert.setParameter(p + 3, event.getCustomerId());
+            insert.setParameter(p + 4, event.getPayload());
+            insert.setParameter(p + 5, now);
+        }
+        insert.executeUpdate();
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox payload could not be serialized", e);
+        }
+    }
+}
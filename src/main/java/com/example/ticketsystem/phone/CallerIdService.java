@@ -0,0 +1,182 @@
+package com.example.ticketsystem.phone;
+
+import com.example.ticketsystem.cache.CacheInvalidationBus;
+import com.example.ticketsystem.cache.InvalidatableCache;
+import com.example.ticketsystem.dto.CallerIdResponse;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.event.CustomerEvent;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import com.example.ticketsystem.service.mapper.TicketResponseMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caller ID for the telephony integration. The number is resolved in memory by a
+ * {@link PhoneIndex}, kept in step with the customers table like the search indexes, including
+ * {@value #CACHE_NAME} cache invalidations from other nodes; only the matched customers and their
+ * open tickets are read from the database, in two queries.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(PhoneProperties.class)
+public class CallerIdService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "caller-id";
+
+    private final CustomerRepository customerRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketResponseMapper responseMapper;
+    private final PhoneProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationBus invalidationBus;
+    private final PhoneIndex index = new PhoneIndex();
+    private volatile boolean ready;
+    private Timer lookupTimer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Gauge.builder("ticketsystem.callerid.numbers", index, PhoneIndex::size)
+                .description("Customers in the caller-ID index")
+                .register(meterRegistry);
+        lookupTimer = Timer.builder("ticketsystem.callerid.lookup")
+                .description("Caller-ID number lookups, without the database reads")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Thread.ofPlatform().name("caller-id-loader").daemon().start(() -> load(false));
+    }
+
+    /** Reads every number; {@code refresh} overwrites customers already indexed instead of skipping them. */
+    void load(boolean refresh) {
+        long started = System.nanoTime();
+        long afterId = 0;
+        int loaded = 0;
+        index.beginLoad();
+        try {
+            while (true) {
+                List<PhoneEntry> page = customerRepository.findPhoneEntriesAfter(afterId,
+                        PageRequest.ofSize(properties.getLoadBatchSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (PhoneEntry entry : page) {
+                    // A number changed or deleted by a live update while loading is newer than this page
+                    if (refresh) {
+                        index.put(entry.customerId(), entry.phone(), entry.phoneE164());
+                    } else {
+                        index.putIfAbsent(entry.customerId(), entry.phone(), entry.phoneE164());
+                    }
+                }
+                loaded += page.size();
+                afterId = page.get(page.size() - 1).customerId();
+            }
+            ready = true;
+            log.info("Caller-ID index loaded {} numbers in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Caller-ID index load failed after {} numbers", loaded, e);
+        } finally {
+            index.endLoad();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerEvent(CustomerEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.type() == CustomerEvent.Type.DELETED) {
+            index.remove(event.customerId());
+        } else {
+            index.put(event.customerId(), event.phone(), PhoneNumberNormalizer.toE164(event.phone()).orElse(null));
+        }
+        invalidationBus.publish(CACHE_NAME, event.customerId().toString());
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /** Re-reads one customer's number changed on another node. */
+    @Override
+    public void invalidate(String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long customerId = Long.parseLong(key);
+        customerRepository.findById(customerId).ifPresentOrElse(
+                customer -> index.put(customerId, customer.getPhone(), customer.getPhoneE164()),
+                () -> index.remove(customerId));
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (properties.isEnabled()) {
+            load(true);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The customers calling from {@code number} with their open tickets, most urgent first, or
+     * empty if nobody is on file for it.
+     *
+     * @throws IllegalArgumentException if the number is too short to look up
+     * @throws IllegalStateException    while the index is still loading
+     */
+    @Transactional(readOnly = true)
+    public Optional<CallerIdResponse> identify(String number) {
+        if (!ready) {
+            throw new IllegalStateException("Arayan numara dizini henüz hazır değil");
+        }
+        PhoneIndex.Match match = lookupTimer.record(() -> index.lookup(number, properties.getMaxCallers()));
+        if (match == null) {
+            return Optional.empty();
+        }
+        List<Long> ids = new ArrayList<>(match.customerIds());
+        Map<Long, Customer> customers = customerRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, List<Ticket>> openTickets = ticketRepository.findOpenTicketsByCustomerIds(ids).stream()
+                .collect(Collectors.groupingBy(t -> t.getCustomer().getId()));
+
+        List<CallerIdResponse.Caller> callers = ids.stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .map(c -> new CallerIdResponse.Caller(c.getId(), c.getName(), c.getEmail(), c.getPhone(),
+                        openTickets.getOrDefault(c.getId(), List.of()).stream()
+                                .map(responseMapper::toBasicResponse)
+                                .toList()))
+                .toList();
+        if (callers.isEmpty()) {
+            return Optional.empty();
+        }
+        String normalized = PhoneNumberNormalizer.toE164(number).orElse(PhoneNumberNormalizer.digits(number));
+        return Optional.of(new CallerIdResponse(normalized, match.type().name(), callers));
+    }
+}
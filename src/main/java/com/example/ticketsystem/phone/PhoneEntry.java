@@ -0,0 +1,5 @@
+package com.example.ticketsystem.phone;
+
+/** A customer's stored phone number as the caller-ID index loads it. */
+public record PhoneEntry(Long customerId, String phone, String phoneE164) {
+}
@@ -0,0 +1,204 @@
+package com.example.ticketsystem.phone;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Phone number → customers, keyed on the digits reversed. An exact lookup is one map probe, and
+ * a lookup by the last digits of a number ("ends with 1234567") becomes a prefix range over the
+ * reversed keys, so callers whose number arrives in a format we cannot normalise still resolve.
+ *
+ * <p>Customers are keyed by their E.164 number, or by the raw digits when the stored number does
+ * not normalise. Lookups share a read lock; updates take the write lock.
+ */
+public class PhoneIndex {
+
+    public enum MatchType {
+        EXACT,
+        SUFFIX
+    }
+
+    public record Match(MatchType type, Set<Long> customerIds) {
+    }
+
+    /** Fewest trailing digits a suffix lookup accepts; shorter tails match too many numbers. */
+    static final int MIN_SUFFIX_DIGITS = 7;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, long[]> byReversedDigits = new TreeMap<>();
+    private final Map<Long, String> keyByCustomer = new HashMap<>();
+    // Customers changed or removed since beginLoad(), whose number a bulk load page may predate;
+    // a number cleared or deleted leaves no key behind, so keyByCustomer alone cannot tell
+    private Set<Long> changedDuringLoad;
+
+    /** Indexes a customer's number, replacing the previous one; a blank number removes them. */
+    public void put(long customerId, String phone, String phoneE164) {
+        lock.writeLock().lock();
+        try {
+            changed(customerId);
+            index(customerId, phone, phoneE164);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Like {@link #put} unless the customer is already indexed or was changed or removed since
+     * {@link #beginLoad}, so a bulk load never overwrites a live update.
+     */
+    public boolean putIfAbsent(long customerId, String phone, String phoneE164) {
+        lock.writeLock().lock();
+        try {
+            if (keyByCustomer.containsKey(customerId)
+                    || (changedDuringLoad != null && changedDuringLoad.contains(customerId))) {
+                return false;
+            }
+            index(customerId, phone, phoneE164);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long customerId) {
+        lock.writeLock().lock();
+        try {
+            changed(customerId);
+            remove(customerId, keyByCustomer.remove(customerId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Starts remembering live changes until {@link #endLoad}, for {@link #putIfAbsent} to skip. */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void changed(long customerId) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(customerId);
+        }
+    }
+
+    private void index(long customerId, String phone, String phoneE164) {
+        String digits = PhoneNumberNormalizer.digits(phoneE164 != null ? phoneE164 : phone);
+        remove(customerId, keyByCustomer.remove(customerId));
+        if (digits.length() >= MIN_SUFFIX_DIGITS) {
+            String key = reverse(digits);
+            long[] ids = byReversedDigits.get(key);
+            byReversedDigits.put(key, ids == null ? new long[]{customerId} : append(ids, customerId));
+            keyByCustomer.put(customerId, key);
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keyByCustomer.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Customers with exactly this number, or failing that, customers whose number ends with its
+     * national part. {@code null} when neither finds anyone or the tail matches more than
+     * {@code maxCandidates} customers.
+     *
+     * @throws IllegalArgumentException if the number has fewer than {@value #MIN_SUFFIX_DIGITS} digits
+     */
+    public Match lookup(String number, int maxCandidates) {
+        String digits = PhoneNumberNormalizer.digits(number);
+        if (digits.length() < MIN_SUFFIX_DIGITS) {
+            throw new IllegalArgumentException("Telefon numarası en az %d haneli olmalıdır".formatted(MIN_SUFFIX_DIGITS));
+        }
+        String e164 = PhoneNumberNormalizer.toE164(number).orElse(null);
+        lock.readLock().lock();
+        try {
+            long[] exact = byReversedDigits.get(reverse(e164 != null ? e164.substring(1) : digits));
+            if (exact != null) {
+                return new Match(MatchType.EXACT, toSet(exact));
+            }
+            // Match on the subscriber digits, whatever country or trunk prefix came with them
+            String tail = digits.length() > PhoneNumberNormalizer.NATIONAL_LENGTH
+                    ? digits.substring(digits.length() - PhoneNumberNormalizer.NATIONAL_LENGTH)
+                    : digits;
+            if (tail.startsWith("0")) {
+                tail = tail.substring(1);
+            }
+            if (tail.length() < MIN_SUFFIX_DIGITS) {
+                return null;
+            }
+            String prefix = reverse(tail);
+            SortedMap<String, long[]> range = byReversedDigits.subMap(prefix, prefix + Character.MAX_VALUE);
+            Set<Long> ids = new LinkedHashSet<>();
+            for (long[] customers : range.values()) {
+                for (long id : customers) {
+                    ids.add(id);
+                }
+                if (ids.size() > maxCandidates) {
+                    return null;
+                }
+            }
+            return ids.isEmpty() ? null : new Match(MatchType.SUFFIX, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(long customerId, String key) {
+        if (key == null) {
+            return;
+        }
+        long[] ids = byReversedDigits.get(key);
+        if (ids == null) {
+            return;
+        }
+        long[] kept = Arrays.stream(ids).filter(id -> id != customerId).toArray();
+        if (kept.length == 0) {
+            byReversedDigits.remove(key);
+        } else {
+            byReversedDigits.put(key, kept);
+        }
+    }
+
+    private static long[] append(long[] ids, long id) {
+        long[] grown = Arrays.copyOf(ids, ids.length + 1);
+        grown[ids.length] = id;
+        return grown;
+    }
+
+    private static Set<Long> toSet(long[] ids) {
+        Set<Long> set = new LinkedHashSet<>();
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    static String reverse(String digits) {
+        return new StringBuilder(digits).reverse().toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ticketsystem.phone;
+
+import java.util.Optional;
+
+/**
+ * Turns phone numbers as people type them into E.164 ({@code +905321234567}). Numbers without a
+ * country code are taken as Turkish: {@code 0532 123 45 67}, {@code (532) 123-45-67} and
+ * {@code 5321234567} all become {@code +905321234567}. {@code 00} is read as the international
+ * prefix. Anything that does not come out as 8 to 15 digits is rejected.
+ */
+public final class PhoneNumberNormalizer {
+
+    public static final String DEFAULT_COUNTRY_CODE = "90";
+    /** Digits of a Turkish number after the trunk prefix 0. */
+    static final int NATIONAL_LENGTH = 10;
+
+    private static final int MIN_DIGITS = 8;
+    private static final int MAX_DIGITS = 15;
+
+    private PhoneNumberNormalizer() {
+    }
+
+    public static Optional<String> toE164(String raw) {
+        if (raw == null) {
+            return Optional.empty();
+        }
+        String trimmed = raw.strip();
+        String digits = digits(trimmed);
+        String international;
+        if (trimmed.startsWith("+")) {
+            international = digits;
+        } else if (digits.startsWith("00")) {
+            international = digits.substring(2);
+        } else if (digits.startsWith("0") && digits.length() == NATIONAL_LENGTH + 1) {
+            international = DEFAULT_COUNTRY_CODE + digits.substring(1);
+        } else if (digits.length() == NATIONAL_LENGTH && !digits.startsWith("0")) {
+            international = DEFAULT_COUNTRY_CODE + digits;
+        } else {
+            international = digits;
+        }
+        if (international.length() < MIN_DIGITS || international.length() > MAX_DIGITS
+                || international.startsWith("0")) {
+            return Optional.empty();
+        }
+        return Optional.of("+" + international);
+    }
+
+    public static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ticketsystem.phone;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Caller-ID settings ({@code app.phone.*}). The number index is loaded from the database in the
+ * background at startup; lookups answer 503 until it is ready.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.phone")
+public class PhoneProperties {
+
+    private boolean enabled = true;
+    private int loadBatchSize = 10_000;
+    /** A suffix match with more customers than this is treated as no match. */
+    private int maxCallers = 5;
+}
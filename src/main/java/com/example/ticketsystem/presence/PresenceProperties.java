@@ -0,0 +1,21 @@
+package com.example.ticketsystem.presence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Agent presence settings ({@code app.presence.*}). Clients send a heartbeat well within
+ * {@code ttl}; an agent is offline once {@code ttl} passes without one, noticed within one
+ * {@code tick}. Presence lives only in memory, so after a restart agents are offline until their
+ * next heartbeat. With presence disabled routing offers tickets to every active agent.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.presence")
+public class PresenceProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(90);
+    private Duration tick = Duration.ofSeconds(1);
+}
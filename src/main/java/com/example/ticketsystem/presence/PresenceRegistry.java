@@ -0,0 +1,123 @@
+package com.example.ticketsystem.presence;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agents' presence, fed by heartbeats and forgotten {@code ttl} after the last one. Reads
+ * (an agent's state, who is online, how many are in each state) are single hash lookups on
+ * concurrent maps and never block; heartbeats and expiry are serialized on the registry but each
+ * touches only one agent's entry and one {@link TimerWheel} bucket.
+ */
+public class PresenceRegistry {
+
+    public record Presence(long agentId, PresenceState state, Instant lastSeen, Instant expiresAt) {
+
+        static Presence offline(long agentId) {
+            return new Presence(agentId, PresenceState.OFFLINE, null, null);
+        }
+    }
+
+    private final Duration ttl;
+    private final long tickMillis;
+    private final Map<Long, Presence> byAgent = new ConcurrentHashMap<>();
+    private final Map<PresenceState, Set<Long>> byState = new EnumMap<>(PresenceState.class);
+    private final TimerWheel wheel;
+
+    public PresenceRegistry(Duration ttl, Duration tick, Instant now) {
+        if (ttl.isNegative() || ttl.isZero() || tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Presence TTL and tick must be positive");
+        }
+        this.ttl = ttl;
+        this.tickMillis = tick.toMillis();
+        for (PresenceState state : PresenceState.values()) {
+            if (state != PresenceState.OFFLINE) {
+                byState.put(state, ConcurrentHashMap.newKeySet());
+            }
+        }
+        // Enough buckets that a TTL fits in one revolution of the wheel
+        this.wheel = new TimerWheel((int) Math.min(1 << 16, ttl.toMillis() / tickMillis + 2), floorTick(now));
+    }
+
+    /**
+     * Records a heartbeat from {@code agentId} in {@code state}, pushing its expiry to
+     * {@code now + ttl}.
+     *
+     * @throws IllegalArgumentException for {@link PresenceState#OFFLINE}; use {@link #signOff}
+     */
+    public synchronized Presence heartbeat(long agentId, PresenceState state, Instant now) {
+        if (state == PresenceState.OFFLINE) {
+            throw new IllegalArgumentException("Çevrimdışı durumu kalp atışıyla bildirilemez");
+        }
+        Presence previous = byAgent.get(agentId);
+        if (previous != null && previous.state() != state) {
+            byState.get(previous.state()).remove(agentId);
+        }
+        Instant expiresAt = now.plus(ttl);
+        Presence presence = new Presence(agentId, state, now, expiresAt);
+        byAgent.put(agentId, presence);
+        byState.get(state).add(agentId);
+        wheel.schedule(agentId, ceilTick(expiresAt));
+        return presence;
+    }
+
+    /** Marks {@code agentId} offline now; returns whether it was present. */
+    public synchronized boolean signOff(long agentId) {
+        wheel.cancel(agentId);
+        return forget(agentId);
+    }
+
+    /** Drops every agent whose TTL ran out by {@code now}; returns how many. */
+    public synchronized int expire(Instant now) {
+        return wheel.advance(floorTick(now), this::forget);
+    }
+
+    public PresenceState state(long agentId) {
+        Presence presence = byAgent.get(agentId);
+        return presence != null ? presence.state() : PresenceState.OFFLINE;
+    }
+
+    public boolean isOnline(long agentId) {
+        return byState.get(PresenceState.ONLINE).contains(agentId);
+    }
+
+    public Presence presence(long agentId) {
+        return Optional.ofNullable(byAgent.get(agentId)).orElseGet(() -> Presence.offline(agentId));
+    }
+
+    public SortedSet<Long> agents(PresenceState state) {
+        return state == PresenceState.OFFLINE ? new TreeSet<>() : new TreeSet<>(byState.get(state));
+    }
+
+    /** Agents per state, not counting {@link PresenceState#OFFLINE}, which is everyone else. */
+    public Map<PresenceState, Integer> counts() {
+        Map<PresenceState, Integer> counts = new EnumMap<>(PresenceState.class);
+        byState.forEach((state, agents) -> counts.put(state, agents.size()));
+        return counts;
+    }
+
+    private boolean forget(long agentId) {
+        Presence removed = byAgent.remove(agentId);
+        if (removed == null) {
+            return false;
+        }
+        byState.get(removed.state()).remove(agentId);
+        return true;
+    }
+
+    private long floorTick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    // Rounded up, so an agent is never dropped before its TTL, at most one tick after
+    private long ceilTick(Instant instant) {
+        return -Math.floorDiv(-instant.toEpochMilli(), tickMillis);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ticketsystem.presence;
+
+import com.example.ticketsystem.event.AgentEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedSet;
+
+/**
+ * Agent presence for routing and dashboards. Heartbeats only touch the in-memory
+ * {@link PresenceRegistry}; nothing about presence is read from or written to the database.
+ *
+ * <p>Presence is therefore per node: an agent is online on the node that received its heartbeats
+ * and offline on every other one, and a restart forgets everyone until they next heartbeat. Run a
+ * single node, or route each agent's heartbeats and the routing requests that depend on them to
+ * the same node (sticky sessions), until presence is shared.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(PresenceProperties.class)
+public class PresenceService {
+
+    public record Summary(Map<PresenceState, Integer> counts, Map<PresenceState, SortedSet<Long>> agents) {
+    }
+
+    private final PresenceProperties properties;
+    private final PresenceRegistry registry;
+
+    public PresenceService(PresenceProperties properties) {
+        this.properties = properties;
+        this.registry = new PresenceRegistry(properties.getTtl(), properties.getTick(), Instant.now());
+    }
+
+    /**
+     * @throws IllegalArgumentException for {@link PresenceState#OFFLINE}
+     * @throws IllegalStateException    when presence tracking is disabled
+     */
+    public PresenceRegistry.Presence heartbeat(Long agentId, PresenceState state) {
+        requireEnabled();
+        return registry.heartbeat(agentId, state, Instant.now());
+    }
+
+    public boolean signOff(Long agentId) {
+        requireEnabled();
+        return registry.signOff(agentId);
+    }
+
+    public PresenceRegistry.Presence presence(Long agentId) {
+        return registry.presence(agentId);
+    }
+
+    public PresenceState state(Long agentId) {
+        return registry.state(agentId);
+    }
+
+    /** Whether routing may offer {@code agentId} a ticket: online, or any agent while presence is off. */
+    public boolean acceptsTickets(long agentId) {
+        return !properties.isEnabled() || registry.isOnline(agentId);
+    }
+
+    public Summary summary() {
+        Map<PresenceState, SortedSet<Long>> agents = new EnumMap<>(PresenceState.class);
+        for (PresenceState state : PresenceState.values()) {
+            if (state != PresenceState.OFFLINE) {
+                agents.put(state, registry.agents(state));
+            }
+        }
+        return new Summary(registry.counts(), agents);
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.tick:1s}")
+    public void expire() {
+        int expired = registry.expire(Instant.now());
+        if (expired > 0) {
+            log.debug("{} agents went offline after missing heartbeats", expired);
+        }
+    }
+
+    // A deactivated or deleted agent drops out of routing at once rather than when its TTL runs out
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgentEvent(AgentEvent event) {
+        if (event.type() == AgentEvent.Type.DELETED || !event.active()) {
+            registry.signOff(event.agentId());
+        }
+    }
+
+    private void requireEnabled() {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Çevrimiçi durum takibi kapalı");
+        }
+    }
+}
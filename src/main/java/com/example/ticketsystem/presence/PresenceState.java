@@ -0,0 +1,13 @@
+package com.example.ticketsystem.presence;
+
+/**
+ * Whether an agent is at their desk, as last reported by their client. Only {@link #ONLINE}
+ * agents are offered new tickets; an agent whose heartbeats stop is {@link #OFFLINE} once the
+ * TTL runs out.
+ */
+public enum PresenceState {
+    ONLINE,
+    AWAY,
+    BUSY,
+    OFFLINE
+}
@@ -0,0 +1,77 @@
+package com.example.ticketsystem.presence;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Hashed timing wheel over long keys. A key due at tick {@code t} sits in bucket
+ * {@code t mod size}; rescheduling moves it between two buckets and advancing the wheel by a tick
+ * looks at one bucket, so a heartbeat and an expiry are both O(1) however many keys are tracked.
+ * Deadlines further out than one revolution stay in their bucket until a pass finds them due.
+ * Not thread-safe; the owner serializes calls.
+ */
+class TimerWheel {
+
+    private final Set<Long>[] buckets;
+    private final int mask;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(int size, long startTick) {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.buckets = new Set[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new HashSet<>();
+        }
+        this.mask = capacity - 1;
+        this.currentTick = startTick;
+    }
+
+    /** Schedules {@code key} for {@code deadlineTick}, replacing any earlier deadline. */
+    void schedule(long key, long deadlineTick) {
+        // A deadline already passed goes in the next bucket rather than one the wheel has left behind
+        deadlineTick = Math.max(deadlineTick, currentTick + 1);
+        Long previous = deadlines.put(key, deadlineTick);
+        if (previous != null) {
+            buckets[(int) (previous & mask)].remove(key);
+        }
+        buckets[(int) (deadlineTick & mask)].add(key);
+    }
+
+    void cancel(long key) {
+        Long previous = deadlines.remove(key);
+        if (previous != null) {
+            buckets[(int) (previous & mask)].remove(key);
+        }
+    }
+
+    /** Advances to {@code tick}, handing every key due by then to {@code expired}; returns how many. */
+    int advance(long tick, LongConsumer expired) {
+        int count = 0;
+        // One revolution visits every bucket, so a longer gap needs no more passes than that
+        long last = Math.min(tick, currentTick + buckets.length);
+        for (long t = currentTick + 1; t <= last; t++) {
+            Iterator<Long> keys = buckets[(int) (t & mask)].iterator();
+            while (keys.hasNext()) {
+                long key = keys.next();
+                if (deadlines.get(key) <= tick) {
+                    keys.remove();
+                    deadlines.remove(key);
+                    expired.accept(key);
+                    count++;
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, tick);
+        return count;
+    }
+
+    int size() {
+        return deadlines.size();
+    }
+}
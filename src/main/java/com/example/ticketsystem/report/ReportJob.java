@@ -0,0 +1,95 @@
+package com.example.ticketsystem.report;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single report computation. Identical submissions share the same instance until the
+ * result expires, so {@link #getResult()} may have several waiters.
+ */
+public class ReportJob {
+
+    private final String id;
+    private final String cacheKey;
+    private final ReportType type;
+    private final Map<String, String> parameters;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+    private volatile LocalDateTime completedAt;
+    private volatile long startedNanos;
+    private volatile long durationMillis = -1;
+
+    public ReportJob(String id, String cacheKey, ReportType type, Map<String, String> parameters) {
+        this.id = id;
+        this.cacheKey = cacheKey;
+        this.type = type;
+        this.parameters = parameters;
+    }
+
+    void started() {
+        startedNanos = System.nanoTime();
+    }
+
+    void complete(Object value) {
+        finish();
+        result.complete(value);
+    }
+
+    void fail(Throwable error) {
+        finish();
+        result.completeExceptionally(error);
+    }
+
+    private void finish() {
+        durationMillis = startedNanos == 0 ? 0 : (System.nanoTime() - startedNanos) / 1_000_000;
+        completedAt = LocalDateTime.now();
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    public boolean isFailed() {
+        return result.isCompletedExceptionally();
+    }
+
+    /** Running jobs never expire; finished ones expire {@code ttl} after completion. */
+    public boolean isExpired(Duration ttl, LocalDateTime now) {
+        LocalDateTime finished = completedAt;
+        return finished != null && finished.plus(ttl).isBefore(now);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public ReportType getType() {
+        return type;
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public Long getDurationMillis() {
+        return durationMillis >= 0 ? durationMillis : null;
+    }
+
+    public CompletableFuture<Object> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.ticketsystem.report;
+
+import com.example.ticketsystem.dto.ReportJobResponse;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.TicketMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs analytical reports on a bounded background executor and caches the results by
+ * parameter hash. Submitting the same report with the same parameters while a job is running,
+ * or while its result is still fresh, returns the existing job instead of starting a new scan.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(ReportProperties.class)
+public class ReportJobService implements DisposableBean {
+
+    private final CustomerRepository customerRepository;
+    private final TicketMessageRepository messageRepository;
+    private final ReportProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentHashMap<String, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ReportJob> jobsById = new ConcurrentHashMap<>();
+
+    public ReportJobService(CustomerRepository customerRepository,
+                            TicketMessageRepository messageRepository,
+                            ReportProperties properties) {
+        this.customerRepository = customerRepository;
+        this.messageRepository = messageRepository;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getWorkerThreads(), properties.getWorkerThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "report-worker-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Returns the job computing {@code type} for {@code rawParameters}, starting one if no
+     * running or fresh job exists.
+     *
+     * @throws IllegalArgumentException  if a parameter is missing or malformed
+     * @throws RejectedExecutionException if the report queue is full
+     */
+    public ReportJob submit(ReportType type, Map<String, String> rawParameters) {
+        Map<String, String> parameters = normalize(type, rawParameters);
+        String key = cacheKey(type, parameters);
+        LocalDateTime now = LocalDateTime.now();
+
+        ReportJob[] created = new ReportJob[1];
+        ReportJob job = jobsByKey.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isFailed() && !existing.isExpired(properties.getResultTtl(), now)) {
+                return existing;
+            }
+            created[0] = new ReportJob(UUID.randomUUID().toString(), key, type, parameters);
+            return created[0];
+        });
+
+        if (created[0] == null) {
+            log.debug("Report {} served from job {}", type, job.getId());
+            return job;
+        }
+
+        jobsById.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobsByKey.remove(key, job);
+            jobsById.remove(job.getId());
+            log.warn("Report queue full, rejected {} {}", type, parameters);
+            throw e;
+        }
+        log.info("Report job {} started: {} {}", job.getId(), type, parameters);
+        return job;
+    }
+
+    public Optional<ReportJob> find(String jobId) {
+        return Optional.ofNullable(jobsById.get(jobId));
+    }
+
+    public ReportJobResponse toResponse(ReportJob job) {
+        ReportJobResponse.JobStatus status;
+        Object result = null;
+        String error = null;
+        if (!job.isDone()) {
+            status = ReportJobResponse.JobStatus.RUNNING;
+        } else if (job.isFailed()) {
+            status = ReportJobResponse.JobStatus.FAILED;
+            error = failureMessage(job);
+        } else {
+            status = ReportJobResponse.JobStatus.COMPLETED;
+            result = job.getResult().join();
+        }
+        return new ReportJobResponse(job.getId(), job.getType(), job.getParameters(), status,
+                job.getSubmittedAt(), job.getCompletedAt(), job.getDurationMillis(), result, error);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.purge-interval:1m}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        jobsById.values().removeIf(job -> {
+            if (!job.isExpired(properties.getResultTtl(), now)) {
+                return false;
+            }
+            jobsByKey.remove(job.getCacheKey(), job);
+            return true;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void run(ReportJob job) {
+        job.started();
+        try {
+            job.complete(compute(job.getType(), job.getParameters()));
+            log.info("Report job {} finished in {} ms", job.getId(), job.getDurationMillis());
+        } catch (Exception e) {
+            log.warn("Report job {} failed: {}", job.getId(), e.getMessage());
+            job.fail(e);
+        }
+    }
+
+    private Object compute(ReportType type, Map<String, String> p) {
+        return switch (type) {
+            case RETAINED_CUSTOMERS -> customerRepository.findRetainedCustomers(
+                    LocalDateTime.parse(p.get("oldDate")), LocalDateTime.parse(p.get("recentDate")));
+            case CUSTOMER_LIFETIME_STATS -> rows(customerRepository.getCustomerLifetimeStats(),
+                    "customer", "ticketCount", "firstTicketAt", "lastTicketAt");
+            case DAILY_MESSAGE_STATS -> rows(messageRepository.getDailyMessageStats(
+                    LocalDateTime.parse(p.get("since"))), "date", "messageCount");
+            case CUSTOMERS_WITH_MANY_OPEN_TICKETS -> rows(customerRepository.findCustomersWithManyOpenTickets(
+                    Long.parseLong(p.get("threshold"))), "customer", "openTicketCount");
+        };
+    }
+
+    private static List<Map<String, Object>> rows(List<Object[]> raw, String... columns) {
+        List<Map<String, Object>> rows = new ArrayList<>(raw.size());
+        for (Object[] values : raw) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.length && i < values.length; i++) {
+                row.put(columns[i], values[i] instanceof java.sql.Date date ? date.toLocalDate() : values[i]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Map<String, String> normalize(ReportType type, Map<String, String> raw) {
+        Map<String, String> parameters = new TreeMap<>();
+        for (String name : type.getParameters()) {
+            String value = raw.get(name);
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("Eksik rapor parametresi: " + name);
+            }
+            parameters.put(name, canonical(name, value.trim()));
+        }
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    // Parsing here both validates the input and makes equivalent spellings hash the same.
+    private static String canonical(String name, String value) {
+        try {
+            if ("threshold".equals(name)) {
+                return String.valueOf(Long.parseLong(value));
+            }
+            return value.length() == 10
+                    ? LocalDate.parse(value).atStartOfDay().toString()
+                    : LocalDateTime.parse(value).toString();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Geçersiz rapor parametresi: " + name + "=" + value);
+        }
+    }
+
+    private static String cacheKey(ReportType type, Map<String, String> parameters) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((type.name() + parameters).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String failureMessage(ReportJob job) {
+        try {
+            job.getResult().join();
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.ticketsystem.report;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Report job settings ({@code app.reports.*}). Worker threads and queue capacity bound how many
+ * scans can run or wait at once; anything beyond that is rejected instead of queued forever.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reports")
+public class ReportProperties {
+
+    private int workerThreads = 2;
+    private int queueCapacity = 16;
+    /** How long a finished result is served from cache for identical parameters. */
+    private Duration resultTtl = Duration.ofMinutes(10);
+    private Duration streamTimeout = Duration.ofMinutes(5);
+}
@@ -0,0 +1,20 @@
+package com.example.ticketsystem.report;
+
+import java.util.List;
+
+public enum ReportType {
+    RETAINED_CUSTOMERS(List.of("oldDate", "recentDate")),
+    CUSTOMER_LIFETIME_STATS(List.of()),
+    DAILY_MESSAGE_STATS(List.of("since")),
+    CUSTOMERS_WITH_MANY_OPEN_TICKETS(List.of("threshold"));
+
+    private final List<String> parameters;
+
+    ReportType(List<String> parameters) {
+        this.parameters = parameters;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+}
@@ -2,6 +2,12 @@ package com.example.ticketsystem.repository;
 
 import com.example.ticketsystem.entity.Agent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface AgentRepository extends JpaRepository<Agent, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT a.id FROM Agent a WHERE a.isActive = true ORDER BY a.id")
+    List<Long> findActiveAgentIds();
+}
@@ -0,0 +1,35 @@
+package com.example.ticketsystem.repository;
+
+import com.example.ticketsystem.datasource.Workload;
+import com.example.ticketsystem.datasource.WorkloadClass;
+import com.example.ticketsystem.entity.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    // Invalidation feed read, keyset-paged by id on the primary key. A lagging replica would make
+    // ids look missing and hold the poller back until the gap timeout, so the feed reads the primary.
+    @Workload(WorkloadClass.PRIMARY)
+    @Query("SELECT i FROM CacheInvalidation i WHERE i.id > :afterId ORDER BY i.id")
+    List<CacheInvalidation> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Workload(WorkloadClass.PRIMARY)
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM CacheInvalidation i")
+    long findLatestId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CacheInvalidation i WHERE i.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
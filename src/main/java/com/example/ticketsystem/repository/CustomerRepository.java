@@ -1,10 +1,17 @@
 package com.example.ticketsystem.repository;
 
+import com.example.ticketsystem.analytics.CustomerFact;
+import com.example.ticketsystem.datasource.Workload;
+import com.example.ticketsystem.datasource.WorkloadClass;
 import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.phone.PhoneEntry;
+import com.example.ticketsystem.search.CustomerDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +22,7 @@ import java.util.Optional;
  * Enhanced with modern query methods and performance optimizations
  */
 @Repository
+@Transactional(readOnly = true)
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     // Basic queries
@@ -62,20 +70,23 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     long countCustomersCreatedAfter(@Param("since") LocalDateTime since);
 
     // Active customers count (customers with tickets)
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT COUNT(DISTINCT t.customer.id) FROM Ticket t 
         WHERE t.createdAt > :since
         """)
     long countActiveCustomersAfter(@Param("since") LocalDateTime since);
 
-    // Email domain queries
+    // Email domain queries: equality on the derived, indexed email_domain column
     @Query("""
-        SELECT c FROM Customer c 
-        WHERE c.email LIKE %:domain%
+        SELECT c FROM Customer c
+        WHERE c.emailDomain = LOWER(:domain)
         ORDER BY c.createdAt DESC
         """)
     List<Customer> findByEmailDomain(@Param("domain") String domain);
 
+    List<Customer> findByEmailDomainOrderByCreatedAtDesc(String emailDomain, Pageable pageable);
+
     // Phone queries
     @Query("""
         SELECT c FROM Customer c 
@@ -93,16 +104,16 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
         """)
     List<Customer> findCustomersWithoutPhone();
 
-    // VIP customer queries (customers with many tickets) - FIXED
+    // VIP customer queries (customers with many tickets): a range over idx_customer_stats_ticket_count
     @Query("""
-        SELECT t.customer FROM Ticket t 
-        GROUP BY t.customer.id, t.customer.name, t.customer.email, t.customer.phone, t.customer.createdAt, t.customer.updatedAt
-        HAVING COUNT(t) >= :minTicketCount
-        ORDER BY COUNT(t) DESC
+        SELECT c FROM CustomerStats s JOIN Customer c ON c.id = s.customerId
+        WHERE s.ticketCount >= :minTicketCount
+        ORDER BY s.ticketCount DESC
         """)
     List<Customer> findVipCustomers(@Param("minTicketCount") long minTicketCount);
 
     // Recent active customers - FIXED
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT DISTINCT t.customer FROM Ticket t 
         WHERE t.createdAt > :since
@@ -111,6 +122,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findRecentActiveCustomers(@Param("since") LocalDateTime since);
 
     // Customers without any tickets
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT c FROM Customer c 
         WHERE c.id NOT IN (
@@ -121,21 +133,20 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findCustomersWithoutTickets();
 
     // Satisfied customers - FIXED
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT DISTINCT t.customer FROM Ticket t 
-        WHERE t.status.name = 'Çözüldü'
+        WHERE t.status.category = com.example.ticketsystem.entity.StatusCategory.CLOSED
         AND t.closedAt > :since
         ORDER BY t.customer.createdAt DESC
         """)
     List<Customer> findSatisfiedCustomers(@Param("since") LocalDateTime since);
 
-    // Customers with many open tickets - FIXED
+    // Customers with many open tickets: a range over idx_customer_stats_open_ticket_count
     @Query("""
-        SELECT t.customer, COUNT(t) FROM Ticket t 
-        WHERE t.status.name IN ('Açık', 'Atanmış', 'İşlemde', 'Beklemede')
-        GROUP BY t.customer.id, t.customer.name, t.customer.email, t.customer.phone, t.customer.createdAt, t.customer.updatedAt
-        HAVING COUNT(t) > :threshold
-        ORDER BY COUNT(t) DESC
+        SELECT c, s.openTicketCount FROM CustomerStats s JOIN Customer c ON c.id = s.customerId
+        WHERE s.openTicketCount > :threshold
+        ORDER BY s.openTicketCount DESC
         """)
     List<Object[]> findCustomersWithManyOpenTickets(@Param("threshold") long threshold);
 
@@ -146,15 +157,49 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findByNameContainingIgnoreCaseOrderByCreatedAtDesc(String name);
 
     // Phone number queries
+    List<Customer> findByPhoneE164(String phoneE164);
+
+    // Caller-ID index feed, keyset-paged by id.
+    @Query("""
+        SELECT new com.example.ticketsystem.phone.PhoneEntry(c.id, c.phone, c.phoneE164)
+        FROM Customer c
+        WHERE c.id > :afterId AND c.phone IS NOT NULL
+        ORDER BY c.id
+        """)
+    List<PhoneEntry> findPhoneEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Analytics snapshot feed, keyset-paged by id.
+    @Workload(WorkloadClass.REPORTING)
+    @Query("""
+        SELECT new com.example.ticketsystem.analytics.CustomerFact(c.id, c.createdAt)
+        FROM Customer c
+        WHERE c.id > :afterId
+        ORDER BY c.id
+        """)
+    List<CustomerFact> findAnalyticsFactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Analytics deletion check: deletes leave no row behind, so the snapshot compares ids up to its cursor
+    @Workload(WorkloadClass.REPORTING)
+    long countByIdLessThanEqual(Long id);
+
+    @Workload(WorkloadClass.REPORTING)
+    @Query("""
+        SELECT c.id
+        FROM Customer c
+        WHERE c.id > :afterId AND c.id <= :upToId
+        ORDER BY c.id
+        """)
+    List<Long> findIdsBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
     List<Customer> findByPhoneContaining(String phoneDigits);
     List<Customer> findByPhoneStartingWith(String phonePrefix);
 
     // Advanced search with multiple criteria
     @Query("""
         SELECT c FROM Customer c 
-        WHERE (:name IS NULL OR c.name ILIKE %:name%) 
-        AND (:email IS NULL OR c.email ILIKE %:email%)
-        AND (:phone IS NULL OR c.phone LIKE %:phone%)
+        WHERE (:name IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%')))
+        AND (:email IS NULL OR LOWER(c.email) LIKE LOWER(CONCAT('%', :email, '%')))
+        AND (:phone IS NULL OR c.phone LIKE CONCAT('%', :phone, '%'))
         AND (:createdAfter IS NULL OR c.createdAt > :createdAfter)
         ORDER BY c.createdAt DESC
         """)
@@ -165,24 +210,41 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
             @Param("createdAfter") LocalDateTime createdAfter
     );
 
+    // Lookup index feed: only the indexed columns, keyset-paged by id.
+    @Query("""
+        SELECT new com.example.ticketsystem.search.CustomerDocument(c.id, c.name, c.email, c.phone, c.createdAt)
+        FROM Customer c
+        WHERE c.id > :afterId
+        ORDER BY c.id
+        """)
+    List<CustomerDocument> findLookupDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.ticketsystem.search.CustomerDocument(c.id, c.name, c.email, c.phone, c.createdAt)
+        FROM Customer c
+        WHERE c.id = :customerId
+        """)
+    Optional<CustomerDocument> findLookupDocument(@Param("customerId") Long customerId);
+
     // Customer engagement statistics - SIMPLIFIED
     @Query("""
         SELECT COUNT(c) FROM Customer c
         """)
     long getTotalCustomerCount();
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT COUNT(DISTINCT t.customer.id) FROM Ticket t 
         WHERE t.createdAt > :since
         """)
     long getActiveCustomerCount(@Param("since") LocalDateTime since);
 
-    // Customer lifetime value - FIXED
+    // Customer lifetime value: precomputed per customer in customer_stats
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
-        SELECT t.customer, COUNT(t), MIN(t.createdAt), MAX(t.createdAt)
-        FROM Ticket t 
-        GROUP BY t.customer.id, t.customer.name, t.customer.email, t.customer.phone, t.customer.createdAt, t.customer.updatedAt
-        ORDER BY COUNT(t) DESC
+        SELECT c, s.ticketCount, s.firstTicketAt, s.lastTicketAt
+        FROM CustomerStats s JOIN Customer c ON c.id = s.customerId
+        ORDER BY s.ticketCount DESC
         """)
     List<Object[]> getCustomerLifetimeStats();
 
@@ -198,14 +260,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("SELECT c FROM Customer c WHERE c.id IN :customerIds")
     List<Customer> findByIdIn(@Param("customerIds") List<Long> customerIds);
 
-    // Customer segmentation queries - FIXED
+    // Customer segmentation queries: a range over idx_customer_stats_ticket_count
     @Query("""
-        SELECT c FROM Customer c 
-        WHERE c.id IN (
-            SELECT t.customer.id FROM Ticket t 
-            GROUP BY t.customer.id 
-            HAVING COUNT(t) BETWEEN :minTickets AND :maxTickets
-        )
+        SELECT c FROM CustomerStats s JOIN Customer c ON c.id = s.customerId
+        WHERE s.ticketCount BETWEEN :minTickets AND :maxTickets
         ORDER BY c.name ASC
         """)
     List<Customer> findCustomersByTicketRange(@Param("minTickets") long minTickets,
@@ -220,6 +278,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findCustomersByPhonePattern(@Param("phonePattern") String phonePattern);
 
     // Customer retention queries - FIXED
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT c FROM Customer c 
         WHERE c.createdAt < :oldDate 
@@ -236,16 +295,18 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("SELECT COUNT(c) FROM Customer c WHERE c.createdAt > :date")
     long countNewCustomersSince(@Param("date") LocalDateTime date);
 
-    @Query("SELECT COUNT(c) FROM Customer c WHERE c.email LIKE %:domain%")
+    @Query("SELECT COUNT(c) FROM Customer c WHERE c.emailDomain = LOWER(:domain)")
     long countCustomersByEmailDomain(@Param("domain") String domain);
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT COUNT(DISTINCT t.customer.id) FROM Ticket t 
-        WHERE t.status.name IN ('Çözüldü', 'Kapalı')
+        WHERE t.status.category = com.example.ticketsystem.entity.StatusCategory.CLOSED
         """)
     long countCustomersWithResolvedTickets();
 
     // Daily/Monthly statistics - FIXED for MySQL compatibility
+    @Workload(WorkloadClass.REPORTING)
     @Query(value = """
         SELECT DATE(c.created_at) as registration_date, COUNT(c.id) as customer_count 
         FROM customers c 
@@ -255,6 +316,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
         """, nativeQuery = true)
     List<Object[]> getDailyCustomerRegistrationStats(@Param("since") LocalDateTime since);
 
+    @Workload(WorkloadClass.REPORTING)
     @Query(value = """
         SELECT YEAR(c.created_at) as year, 
                MONTH(c.created_at) as month, 
@@ -282,9 +344,8 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     // Customer activity summary
     @Query("""
-        SELECT c, 
-               (SELECT COUNT(t) FROM Ticket t WHERE t.customer.id = c.id) as ticketCount
-        FROM Customer c 
+        SELECT c, COALESCE(s.ticketCount, 0) as ticketCount
+        FROM Customer c LEFT JOIN CustomerStats s ON s.customerId = c.id
         WHERE c.id = :customerId
         """)
     Object[] getCustomerSummary(@Param("customerId") Long customerId);
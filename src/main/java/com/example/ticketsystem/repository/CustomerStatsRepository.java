@@ -0,0 +1,63 @@
+package com.example.ticketsystem.repository;
+
+import com.example.ticketsystem.entity.CustomerStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface CustomerStatsRepository extends JpaRepository<CustomerStats, Long> {
+
+    // Leaderboard seed: walks idx_customer_stats_ticket_count from the top.
+    @Query("SELECT s FROM CustomerStats s ORDER BY s.ticketCount DESC, s.customerId ASC")
+    List<CustomerStats> findTopByTicketCount(Pageable pageable);
+
+    @Query("SELECT s.ticketCount FROM CustomerStats s WHERE s.customerId = :customerId")
+    Long findTicketCount(@Param("customerId") Long customerId);
+
+    // Upsert: a customer's first ticket creates their row.
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO customer_stats (customer_id, ticket_count, open_ticket_count, message_count,
+                                    first_ticket_at, last_ticket_at, updated_at)
+        VALUES (:customerId, 1, :openTickets, 0, :createdAt, :createdAt, :createdAt)
+        ON DUPLICATE KEY UPDATE
+            ticket_count = ticket_count + 1,
+            open_ticket_count = open_ticket_count + :openTickets,
+            first_ticket_at = COALESCE(first_ticket_at, :createdAt),
+            last_ticket_at = :createdAt,
+            updated_at = :createdAt
+        """, nativeQuery = true)
+    int addTicket(@Param("customerId") Long customerId,
+                  @Param("openTickets") long openTickets,
+                  @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE CustomerStats s
+        SET s.openTicketCount = s.openTicketCount + :openTickets, s.updatedAt = :now
+        WHERE s.customerId = :customerId
+        """)
+    int adjustOpenTickets(@Param("customerId") Long customerId,
+                          @Param("openTickets") long openTickets,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE CustomerStats s
+        SET s.messageCount = s.messageCount + 1, s.updatedAt = :now
+        WHERE s.customerId = :customerId
+        """)
+    int addMessage(@Param("customerId") Long customerId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,56 @@
+package com.example.ticketsystem.repository;
+
+import com.example.ticketsystem.entity.Organization;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface OrganizationRepository extends JpaRepository<Organization, Long> {
+
+    Optional<Organization> findByDomain(String domain);
+
+    Page<Organization> findAllByOrderByTicketCountDesc(Pageable pageable);
+
+    // Upsert: the first customer of a domain creates its row, later writes add to the counts.
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO organizations (domain, customer_count, ticket_count, open_ticket_count, created_at, updated_at)
+        VALUES (:domain, :customers, :tickets, :openTickets, :now, :now)
+        ON DUPLICATE KEY UPDATE
+            customer_count = customer_count + :customers,
+            ticket_count = ticket_count + :tickets,
+            open_ticket_count = open_ticket_count + :openTickets,
+            updated_at = :now
+        """, nativeQuery = true)
+    int adjust(@Param("domain") String domain,
+               @Param("customers") long customers,
+               @Param("tickets") long tickets,
+               @Param("openTickets") long openTickets,
+               @Param("now") LocalDateTime now);
+
+    // Ticket writes only know the customer; its organization row exists since the customer was saved.
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Organization o
+        SET o.ticketCount = o.ticketCount + :tickets,
+            o.openTicketCount = o.openTicketCount + :openTickets,
+            o.updatedAt = :now
+        WHERE o.domain = (SELECT c.emailDomain FROM Customer c WHERE c.id = :customerId)
+        """)
+    int adjustTicketCounts(@Param("customerId") Long customerId,
+                           @Param("tickets") long tickets,
+                           @Param("openTickets") long openTickets,
+                           @Param("now") LocalDateTime now);
+}
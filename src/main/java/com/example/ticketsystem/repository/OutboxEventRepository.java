@@ -0,0 +1,36 @@
+package com.example.ticketsystem.repository;
+
+import com.example.ticketsystem.datasource.Workload;
+import com.example.ticketsystem.datasource.WorkloadClass;
+import com.example.ticketsystem.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Change feed read, keyset-paged by offset. Read from the primary: on a lagging replica
+    // committed events look like gaps and delivery stalls for the gap timeout.
+    @Workload(WorkloadClass.PRIMARY)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<OutboxEvent> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Workload(WorkloadClass.PRIMARY)
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findLatestId();
+
+    // Retention: only events every consumer has already been given.
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :deliveredId AND e.createdAt < :before")
+    int deleteDeliveredBefore(@Param("deliveredId") Long deliveredId, @Param("before") LocalDateTime before);
+}
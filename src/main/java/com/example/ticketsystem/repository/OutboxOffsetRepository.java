@@ -0,0 +1,30 @@
+package com.example.ticketsystem.repository;
+
+import com.example.ticketsystem.entity.OutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+@Transactional(readOnly = true)
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+
+    @Query("SELECT MIN(o.lastEventId) FROM OutboxOffset o")
+    Long findLowestOffset();
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO outbox_offsets (consumer, last_event_id, updated_at)
+        VALUES (:consumer, :lastEventId, :now)
+        ON DUPLICATE KEY UPDATE last_event_id = :lastEventId, updated_at = :now
+        """, nativeQuery = true)
+    int commit(@Param("consumer") String consumer,
+               @Param("lastEventId") long lastEventId,
+               @Param("now") LocalDateTime now);
+}
@@ -1,18 +1,24 @@
 package com.example.ticketsystem.repository;
 
+import com.example.ticketsystem.analytics.MessageFact;
+import com.example.ticketsystem.datasource.Workload;
+import com.example.ticketsystem.datasource.WorkloadClass;
 import com.example.ticketsystem.entity.TicketMessage;
+import com.example.ticketsystem.search.MessageDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
+@Transactional(readOnly = true)
 public interface TicketMessageRepository extends JpaRepository<TicketMessage, Long> {
 
 
@@ -58,6 +64,7 @@ public interface TicketMessageRepository extends JpaRepository<TicketMessage, Lo
     List<TicketMessage> findRecentMessagesByTicket(@Param("ticketId") Long ticketId,
                                                    @Param("since") LocalDateTime since);
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT tm FROM TicketMessage tm 
         WHERE tm.createdAt BETWEEN :startDate AND :endDate 
@@ -86,6 +93,32 @@ public interface TicketMessageRepository extends JpaRepository<TicketMessage, Lo
     List<TicketMessage> searchCustomerMessages(@Param("customerId") Long customerId,
                                                @Param("searchTerm") String searchTerm);
 
+    // Search index feed: only the indexed columns, keyset-paged by id.
+    @Query("""
+        SELECT new com.example.ticketsystem.search.MessageDocument(tm.id, t.id, t.customer.id, tm.message)
+        FROM TicketMessage tm JOIN tm.ticket t
+        WHERE tm.id > :afterId
+        ORDER BY tm.id
+        """)
+    List<MessageDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.ticketsystem.search.MessageDocument(tm.id, t.id, t.customer.id, tm.message)
+        FROM TicketMessage tm JOIN tm.ticket t
+        WHERE tm.id = :messageId
+        """)
+    Optional<MessageDocument> findSearchDocument(@Param("messageId") Long messageId);
+
+    // Analytics snapshot feed, keyset-paged by id.
+    @Workload(WorkloadClass.REPORTING)
+    @Query("""
+        SELECT new com.example.ticketsystem.analytics.MessageFact(tm.id, tm.createdAt, tm.senderType)
+        FROM TicketMessage tm
+        WHERE tm.id > :afterId
+        ORDER BY tm.id
+        """)
+    List<MessageFact> findAnalyticsFactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 
 
     @Query("""
@@ -105,6 +138,7 @@ public interface TicketMessageRepository extends JpaRepository<TicketMessage, Lo
                                     @Param("senderType") TicketMessage.SenderType senderType,
                                     @Param("since") LocalDateTime since);
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
     SELECT FUNCTION('date', tm.createdAt), COUNT(tm)
     FROM TicketMessage tm
@@ -116,6 +150,7 @@ public interface TicketMessageRepository extends JpaRepository<TicketMessage, Lo
 
 
     // Advanced queries
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT tm FROM TicketMessage tm 
         WHERE tm.ticket.id IN (
@@ -126,6 +161,7 @@ public interface TicketMessageRepository extends JpaRepository<TicketMessage, Lo
         """)
     List<TicketMessage> findMessagesByAgentTickets(@Param("agentId") Long agentId);
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT DISTINCT tm.ticket.id FROM TicketMessage tm 
         WHERE tm.senderType = 'CUSTOMER' 
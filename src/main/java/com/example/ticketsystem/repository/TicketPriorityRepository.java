@@ -1,16 +1,20 @@
 package com.example.ticketsystem.repository;
 
+import com.example.ticketsystem.datasource.Workload;
+import com.example.ticketsystem.datasource.WorkloadClass;
 import com.example.ticketsystem.entity.TicketPriority;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
+@Transactional(readOnly = true)
 public interface TicketPriorityRepository extends JpaRepository<TicketPriority, Long> {
 
 
@@ -70,6 +74,7 @@ public interface TicketPriorityRepository extends JpaRepository<TicketPriority,
     }
 
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT tp.name, tp.level, COUNT(t) FROM TicketPriority tp 
         LEFT JOIN Ticket t ON t.priority = tp 
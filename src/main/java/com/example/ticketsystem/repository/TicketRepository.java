@@ -1,23 +1,35 @@
 package com.example.ticketsystem.repository;
 
+import com.example.ticketsystem.analytics.TicketFact;
+import com.example.ticketsystem.datasource.Workload;
+import com.example.ticketsystem.datasource.WorkloadClass;
+import com.example.ticketsystem.entity.Agent;
 import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.routing.RebalanceTicket;
+import com.example.ticketsystem.search.TicketDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
+@Transactional(readOnly = true)
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
 
     List<Ticket> findByCustomerId(Long customerId);
     List<Ticket> findByAgentId(Long agentId);
+    boolean existsByAgentId(Long agentId);
     Optional<Ticket> findByIdAndCustomerId(Long id, Long customerId);
 
     @Query("SELECT t FROM Ticket t WHERE t.status.id = :statusId ORDER BY t.createdAt DESC")
@@ -29,12 +41,22 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("""
         SELECT t FROM Ticket t 
         WHERE t.agent.id = :agentId 
-        AND t.status.id IN (1,2,3,4) 
+        AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE
         ORDER BY t.priority.level DESC, t.updatedAt DESC
         """)
     List<Ticket> findOpenTicketsByAgent(@Param("agentId") Long agentId);
 
 
+    // Caller ID: the open tickets of the customers on the line; their customers are already loaded.
+    @EntityGraph(attributePaths = {"status", "priority"})
+    @Query("""
+        SELECT t FROM Ticket t
+        WHERE t.customer.id IN :customerIds
+        AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE
+        ORDER BY t.priority.level DESC, t.updatedAt DESC
+        """)
+    List<Ticket> findOpenTicketsByCustomerIds(@Param("customerIds") Collection<Long> customerIds);
+
     @Query("""
         SELECT t FROM Ticket t 
         LEFT JOIN FETCH t.customer 
@@ -78,6 +100,7 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
                                            @Param("statusIds") List<Long> statusIds);
 
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT t FROM Ticket t 
         WHERE t.createdAt BETWEEN :startDate AND :endDate 
@@ -89,7 +112,7 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("""
         SELECT t FROM Ticket t 
         WHERE t.createdAt < :threshold 
-        AND t.status.id IN (1, 2, 3, 4) 
+        AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE
         ORDER BY t.createdAt ASC
         """)
     List<Ticket> findOldOpenTickets(@Param("threshold") LocalDateTime threshold);
@@ -97,37 +120,154 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("""
         SELECT t FROM Ticket t 
         WHERE t.updatedAt < :threshold 
-        AND t.status.id IN (2, 3, 4) 
+        AND t.agent IS NOT NULL
+        AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE
         ORDER BY t.priority.level DESC, t.updatedAt ASC
         """)
     List<Ticket> findStaleTickets(@Param("threshold") LocalDateTime threshold);
 
 
     Page<Ticket> findByCustomerIdOrderByCreatedAtDesc(Long customerId, Pageable pageable);
+
+    // Organization tickets: customers by idx_customer_email_domain, then their tickets by idx_ticket_customer.
+    // No count query; the organization row already holds the total.
+    @EntityGraph(attributePaths = {"customer", "status", "priority"})
+    @Query("""
+        SELECT t FROM Ticket t
+        WHERE t.customer.emailDomain = :domain
+        ORDER BY t.createdAt DESC
+        """)
+    List<Ticket> findByCustomerEmailDomain(@Param("domain") String domain, Pageable pageable);
+    @EntityGraph(attributePaths = {"customer", "status", "priority"})
     Page<Ticket> findByAgentIdOrderByUpdatedAtDesc(Long agentId, Pageable pageable);
     Page<Ticket> findByStatusIdOrderByCreatedAtDesc(Long statusId, Pageable pageable);
+    @EntityGraph(attributePaths = {"customer", "status", "priority"})
     Page<Ticket> findByAgentIsNullOrderByCreatedAtAsc(Pageable pageable);
 
+    // Ticket list pages render customer, status and priority for every row.
+    @Override
+    @EntityGraph(attributePaths = {"customer", "status", "priority"})
+    Page<Ticket> findAll(Pageable pageable);
+
+
+    @EntityGraph(attributePaths = {"customer", "status", "priority"})
+    List<Ticket> findByIdIn(Collection<Long> ids);
+
+    // Search index feed: only the indexed columns, keyset-paged by id.
+    @Query("""
+        SELECT new com.example.ticketsystem.search.TicketDocument(t.id, t.title, t.description, c.id, c.name)
+        FROM Ticket t JOIN t.customer c
+        WHERE t.id > :afterId
+        ORDER BY t.id
+        """)
+    List<TicketDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.ticketsystem.search.TicketDocument(t.id, t.title, t.description, c.id, c.name)
+        FROM Ticket t JOIN t.customer c
+        WHERE t.id = :ticketId
+        """)
+    Optional<TicketDocument> findSearchDocument(@Param("ticketId") Long ticketId);
+
+    // Analytics snapshot feed, keyset-paged by id.
+    @Workload(WorkloadClass.REPORTING)
+    @Query("""
+        SELECT new com.example.ticketsystem.analytics.TicketFact(
+            t.id, t.customer.id, t.status.id, t.priority.id, t.createdAt, t.closedAt, t.updatedAt)
+        FROM Ticket t
+        WHERE t.id > :afterId
+        ORDER BY t.id
+        """)
+    List<TicketFact> findAnalyticsFactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Analytics snapshot changes, keyset-paged by (updatedAt, id) over idx_ticket_updated_at.
+    @Workload(WorkloadClass.REPORTING)
+    @Query("""
+        SELECT new com.example.ticketsystem.analytics.TicketFact(
+            t.id, t.customer.id, t.status.id, t.priority.id, t.createdAt, t.closedAt, t.updatedAt)
+        FROM Ticket t
+        WHERE t.updatedAt > :since OR (t.updatedAt = :since AND t.id > :afterId)
+        ORDER BY t.updatedAt, t.id
+        """)
+    List<TicketFact> findAnalyticsFactsUpdatedSince(@Param("since") LocalDateTime since,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
 
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.status.id = :statusId")
     long countByStatusId(@Param("statusId") Long statusId);
 
-    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.agent.id = :agentId AND t.status.id IN (2,3,4)")
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.agent.id = :agentId AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE")
     long countActiveTicketsByAgent(@Param("agentId") Long agentId);
 
+    // Routing: the load of each eligible agent in one pass over idx_ticket_agent_status
+    @Query("""
+        SELECT t.agent.id, COUNT(t) FROM Ticket t
+        WHERE t.agent.id IN :agentIds
+        AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE
+        GROUP BY t.agent.id
+        """)
+    List<Object[]> countActiveTicketsByAgents(@Param("agentIds") Collection<Long> agentIds);
+
+    // Rebalancing: keyset chunks of a departing agent's tickets, moved or detached by id in one statement each
+    @Query("""
+        SELECT new com.example.ticketsystem.routing.RebalanceTicket(t.id, t.category, t.language) FROM Ticket t
+        WHERE t.agent.id = :agentId
+        AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE
+        AND t.id > :afterId
+        ORDER BY t.id
+        """)
+    List<RebalanceTicket> findActiveTicketsOfAgentAfter(@Param("agentId") Long agentId,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.agent.id = :agentId AND t.id > :afterId ORDER BY t.id")
+    List<Long> findTicketIdsOfAgentAfter(@Param("agentId") Long agentId,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Ticket t SET t.agent = :to, t.updatedAt = :now
+        WHERE t.id IN :ticketIds AND t.agent.id = :fromAgentId
+        """)
+    int reassign(@Param("fromAgentId") Long fromAgentId,
+                 @Param("to") Agent to,
+                 @Param("ticketIds") Collection<Long> ticketIds,
+                 @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ticketIds AND t.agent.id = :agentId")
+    List<Long> findIdsAssignedTo(@Param("agentId") Long agentId, @Param("ticketIds") Collection<Long> ticketIds);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ticketIds AND t.agent IS NULL")
+    List<Long> findUnassignedIds(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Ticket t SET t.agent = NULL, t.updatedAt = :now WHERE t.id IN :ticketIds AND t.agent.id = :agentId")
+    int detachAgent(@Param("agentId") Long agentId,
+                    @Param("ticketIds") Collection<Long> ticketIds,
+                    @Param("now") LocalDateTime now);
+
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.customer.id = :customerId")
     long countByCustomerId(@Param("customerId") Long customerId);
 
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.customer.id = :customerId AND t.status.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE")
+    long countOpenByCustomerId(@Param("customerId") Long customerId);
+
 
+    @Workload(WorkloadClass.REPORTING)
     @Query(value = """
         SELECT AVG(DATEDIFF(closed_at, created_at) * 24) 
-        FROM ticket 
+        FROM tickets 
         WHERE closed_at IS NOT NULL 
         AND created_at > ?1
         """, nativeQuery = true)
     Double getAverageResolutionTimeInHours(@Param("since") LocalDateTime since);
 
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT t.priority.name, COUNT(t) FROM Ticket t 
         GROUP BY t.priority.name, t.priority.level 
@@ -135,6 +275,7 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
         """)
     List<Object[]> getTicketCountByPriority();
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT t.status.name, COUNT(t) FROM Ticket t 
         GROUP BY t.status.name, t.status.id 
@@ -144,8 +285,9 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
 
 
+    @Workload(WorkloadClass.REPORTING)
     @Query(value = """
-        SELECT DATE(created_at), COUNT(*) FROM ticket 
+        SELECT DATE(created_at), COUNT(*) FROM tickets 
         WHERE created_at > :since 
         GROUP BY DATE(created_at) 
         ORDER BY DATE(created_at) DESC
@@ -1,14 +1,18 @@
 package com.example.ticketsystem.repository;
 
+import com.example.ticketsystem.datasource.Workload;
+import com.example.ticketsystem.datasource.WorkloadClass;
 import com.example.ticketsystem.entity.TicketStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
+@Transactional(readOnly = true)
 public interface TicketStatusRepository extends JpaRepository<TicketStatus, Long> {
 
 
@@ -18,14 +22,14 @@ public interface TicketStatusRepository extends JpaRepository<TicketStatus, Long
 
     @Query("""
         SELECT ts FROM TicketStatus ts 
-        WHERE ts.name IN ('Açık', 'Atanmış', 'İşlemde', 'Beklemede') 
+        WHERE ts.category = com.example.ticketsystem.entity.StatusCategory.ACTIVE
         ORDER BY ts.id
         """)
     List<TicketStatus> findActiveStatuses();
 
     @Query("""
         SELECT ts FROM TicketStatus ts 
-        WHERE ts.name IN ('Çözüldü', 'Kapalı') 
+        WHERE ts.category = com.example.ticketsystem.entity.StatusCategory.CLOSED
         ORDER BY ts.id
         """)
     List<TicketStatus> findClosedStatuses();
@@ -50,6 +54,7 @@ public interface TicketStatusRepository extends JpaRepository<TicketStatus, Long
     Optional<TicketStatus> findClosedStatus();
 
 
+    @Workload(WorkloadClass.REPORTING)
     @Query("""
         SELECT ts.name, COUNT(t) FROM TicketStatus ts 
         LEFT JOIN Ticket t ON t.status = ts 
@@ -0,0 +1,106 @@
+package com.example.ticketsystem.routing;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One rebalancing run for a departing agent. The worker updates the counters after every chunk;
+ * {@link #progress()} can be read from any thread while it runs.
+ */
+public class RebalanceJob {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public record Progress(String id, Long agentId, State state, long total, long moved, long detached,
+                           int chunks, Map<Long, Long> movedTo, LocalDateTime startedAt,
+                           LocalDateTime finishedAt, String error) {
+    }
+
+    private final String id;
+    private final Long agentId;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong moved = new AtomicLong();
+    private final AtomicLong detached = new AtomicLong();
+    private final AtomicInteger chunks = new AtomicInteger();
+    private final Map<Long, Long> movedTo = new ConcurrentHashMap<>();
+    private volatile long total;
+    private volatile State state = State.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile boolean deleteAgent;
+
+    RebalanceJob(String id, Long agentId) {
+        this.id = id;
+        this.agentId = agentId;
+    }
+
+    void total(long total) {
+        this.total = total;
+    }
+
+    void moved(Map<Long, Integer> byAgent) {
+        byAgent.forEach((agent, count) -> {
+            movedTo.merge(agent, (long) count, Long::sum);
+            moved.addAndGet(count);
+        });
+        chunks.incrementAndGet();
+    }
+
+    void detached(int count) {
+        detached.addAndGet(count);
+        chunks.incrementAndGet();
+    }
+
+    /** Makes the job detach the agent's remaining tickets and delete the agent once its tickets moved. */
+    void deleteAgent() {
+        deleteAgent = true;
+    }
+
+    public boolean deletesAgent() {
+        return deleteAgent;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(Throwable cause) {
+        error = cause.getMessage();
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getAgentId() {
+        return agentId;
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    public boolean isFailed() {
+        return state == State.FAILED;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Progress progress() {
+        return new Progress(id, agentId, state, total, moved.get(), detached.get(), chunks.get(),
+                new TreeMap<>(movedTo), startedAt, finishedAt, error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.ticketsystem.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Ticket rebalancing settings ({@code app.rebalance.*}). A departing agent's tickets are moved
+ * {@code chunk-size} at a time, each chunk in its own short transaction, with {@code chunk-pause}
+ * between chunks so other writers get at the rows in between. Finished jobs are kept for
+ * {@code job-retention} so their progress can still be read.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rebalance")
+public class RebalanceProperties {
+
+    private int chunkSize = 500;
+    private Duration chunkPause = Duration.ofMillis(50);
+    private Duration jobRetention = Duration.ofHours(1);
+}
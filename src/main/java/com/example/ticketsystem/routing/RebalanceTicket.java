@@ -0,0 +1,5 @@
+package com.example.ticketsystem.routing;
+
+/** What rebalancing needs of one ticket to pick its new agent. */
+public record RebalanceTicket(Long ticketId, String category, String language) {
+}
@@ -0,0 +1,14 @@
+package com.example.ticketsystem.routing;
+
+import java.util.List;
+
+/**
+ * Where a ticket should go: the skills and language it needs, how many active agents have them
+ * all, and the least loaded of those, best first. {@code agentId} is null when nobody qualifies.
+ */
+public record RoutingDecision(Long ticketId, List<String> skills, String language, int eligibleAgents,
+                              Long agentId, List<Candidate> candidates) {
+
+    public record Candidate(Long agentId, long activeTickets) {
+    }
+}
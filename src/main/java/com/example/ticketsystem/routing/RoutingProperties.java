@@ -0,0 +1,24 @@
+package com.example.ticketsystem.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skill-based routing settings ({@code app.routing.*}). Agents' skills and languages are loaded
+ * into a {@link SkillIndex} in the background at startup; routing answers 503 until it is ready.
+ * A ticket category needs the skill of the same name unless {@code category-skills} lists the
+ * skills it needs instead.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.routing")
+public class RoutingProperties {
+
+    private boolean enabled = true;
+    /** How many of the least loaded eligible agents a routing decision lists. */
+    private int maxCandidates = 10;
+    private Map<String, List<String>> categorySkills = new HashMap<>();
+}
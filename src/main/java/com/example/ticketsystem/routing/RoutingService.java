@@ -0,0 +1,219 @@
+package com.example.ticketsystem.routing;
+
+import com.example.ticketsystem.cache.CacheInvalidationBus;
+import com.example.ticketsystem.cache.InvalidatableCache;
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.StringSetConverter;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.event.AgentEvent;
+import com.example.ticketsystem.presence.PresenceService;
+import com.example.ticketsystem.repository.AgentRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Skill-based routing. Which agents can take a ticket is answered by the in-memory
+ * {@link SkillIndex}, kept in step with the agents table through {@link AgentEvent}s on this node
+ * and {@value #CACHE_NAME} cache invalidations from other nodes; only the eligible agents' current
+ * load is read from the database, in one grouped query. Agents who are not online according to
+ * {@link PresenceService} are left out.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RoutingProperties.class)
+public class RoutingService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "agents";
+
+    public record Status(boolean ready, int agents, int activeAgents, int skills, int languages) {
+    }
+
+    private final AgentRepository agentRepository;
+    private final TicketRepository ticketRepository;
+    private final RoutingProperties properties;
+    private final PresenceService presenceService;
+    private final CacheInvalidationBus invalidationBus;
+    private final SkillIndex index = new SkillIndex();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread.ofPlatform().name("routing-index-loader").daemon().start(this::load);
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        try {
+            List<Agent> agents = agentRepository.findAll();
+            agents.forEach(agent -> index.put(agent.getId(), agent.isActive(), agent.getSkills(), agent.getLanguages()));
+            ready = true;
+            log.info("Routing index loaded {} agents in {} ms", agents.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Routing index load failed", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgentEvent(AgentEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.type() == AgentEvent.Type.DELETED) {
+            index.remove(event.agentId());
+        } else {
+            index.put(event.agentId(), event.active(), event.skills(), event.languages());
+        }
+        invalidationBus.publish(CACHE_NAME, event.agentId().toString());
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /** Re-reads one agent changed on another node. */
+    @Override
+    public void invalidate(String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long agentId = Long.parseLong(key);
+        agentRepository.findById(agentId).ifPresentOrElse(
+                agent -> index.put(agentId, agent.isActive(), agent.getSkills(), agent.getLanguages()),
+                () -> index.remove(agentId));
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (properties.isEnabled()) {
+            load();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Status status() {
+        SkillIndex.Stats stats = index.stats();
+        return new Status(ready, stats.agents(), stats.activeAgents(), stats.skills(), stats.languages());
+    }
+
+    /**
+     * Checks that {@code agentId} is a known, active agent, from the index; with routing off, from
+     * the agents table.
+     *
+     * @throws NoSuchElementException   if there is no such agent
+     * @throws IllegalArgumentException if the agent is deactivated
+     * @throws IllegalStateException    while the index is still loading
+     */
+    public void requireActiveAgent(long agentId) {
+        boolean known;
+        boolean active;
+        if (properties.isEnabled()) {
+            requireReady();
+            known = index.contains(agentId);
+            active = index.isActive(agentId);
+        } else {
+            Optional<Agent> agent = agentRepository.findById(agentId);
+            known = agent.isPresent();
+            active = agent.map(Agent::isActive).orElse(false);
+        }
+        if (!known) {
+            throw new NoSuchElementException("Agent not found: " + agentId);
+        }
+        if (!active) {
+            throw new IllegalArgumentException("Temsilci aktif değil: " + agentId);
+        }
+    }
+
+    public Map<String, Integer> coverage() {
+        requireReady();
+        return index.coverage();
+    }
+
+    /**
+     * The routing decision for a ticket, from its category and language.
+     *
+     * @throws NoSuchElementException if the ticket does not exist
+     * @throws IllegalStateException  while the index is still loading
+     */
+    @Transactional(readOnly = true)
+    public RoutingDecision route(Long ticketId) {
+        requireReady();
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new NoSuchElementException("Ticket not found: " + ticketId));
+        return decide(ticketId, skillsFor(ticket.getCategory()), ticket.getLanguage());
+    }
+
+    /**
+     * Active, online agents that can take a ticket of {@code category} in {@code language}, or empty while
+     * the index is still loading. Callers that route in bulk rank these themselves.
+     */
+    public Optional<long[]> eligibleAgents(String category, String language) {
+        return ready ? Optional.of(online(index.eligible(skillsFor(category), language))) : Optional.empty();
+    }
+
+    /** The routing decision for a ticket that would need {@code skills} and {@code language}. */
+    @Transactional(readOnly = true)
+    public RoutingDecision match(Collection<String> skills, String language) {
+        requireReady();
+        String normalized = language == null || language.isBlank() ? null : language.trim().toLowerCase(Locale.ROOT);
+        return decide(null, List.copyOf(StringSetConverter.normalize(skills)), normalized);
+    }
+
+    private RoutingDecision decide(Long ticketId, List<String> skills, String language) {
+        long[] eligible = online(index.eligible(skills, language));
+        if (eligible.length == 0) {
+            return new RoutingDecision(ticketId, skills, language, 0, null, List.of());
+        }
+        Map<Long, Long> load = new HashMap<>();
+        for (Object[] row : ticketRepository.countActiveTicketsByAgents(Arrays.stream(eligible).boxed().toList())) {
+            load.put((Long) row[0], (Long) row[1]);
+        }
+        List<RoutingDecision.Candidate> candidates = Arrays.stream(eligible)
+                .mapToObj(id -> new RoutingDecision.Candidate(id, load.getOrDefault(id, 0L)))
+                .sorted(Comparator.comparingLong(RoutingDecision.Candidate::activeTickets)
+                        .thenComparing(RoutingDecision.Candidate::agentId))
+                .limit(Math.max(1, properties.getMaxCandidates()))
+                .toList();
+        return new RoutingDecision(ticketId, skills, language, eligible.length, candidates.get(0).agentId(), candidates);
+    }
+
+    private long[] online(long[] agentIds) {
+        return Arrays.stream(agentIds).filter(presenceService::acceptsTickets).toArray();
+    }
+
+    private List<String> skillsFor(String category) {
+        return category == null ? List.of()
+                : List.copyOf(StringSetConverter.normalize(properties.getCategorySkills()
+                        .getOrDefault(category, List.of(category))));
+    }
+
+    private void requireReady() {
+        if (!ready) {
+            throw new IllegalStateException("Yönlendirme dizini henüz hazır değil");
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.ticketsystem.routing;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agents by skill and language as bitsets over agent slots. Each agent gets a slot (reused after
+ * removal); every skill, every language and "active" is a {@link BitSet} of slots, so the agents
+ * that have all of a ticket's skills and its language are an AND of a few sets, one machine
+ * word per 64 agents, with no per-agent work until the result is read out.
+ */
+public class SkillIndex {
+
+    public record Stats(int agents, int activeAgents, int skills, int languages) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final BitSet used = new BitSet();
+    private final BitSet active = new BitSet();
+    private final Map<String, BitSet> skills = new HashMap<>();
+    private final Map<String, BitSet> languages = new HashMap<>();
+    private long[] agentIds = new long[64];
+    private String[][] skillsOf = new String[64][];
+    private String[][] languagesOf = new String[64][];
+
+    /** Adds or replaces an agent. Tags are expected lowercase, as the agent entity stores them. */
+    public void put(long agentId, boolean isActive, Collection<String> agentSkills, Collection<String> agentLanguages) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slots.get(agentId);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                clear(slot);
+            } else {
+                slot = used.nextClearBit(0);
+                grow(slot);
+                used.set(slot);
+                slots.put(agentId, slot);
+                agentIds[slot] = agentId;
+            }
+            active.set(slot, isActive);
+            skillsOf[slot] = agentSkills.toArray(String[]::new);
+            languagesOf[slot] = agentLanguages.toArray(String[]::new);
+            for (String skill : skillsOf[slot]) {
+                skills.computeIfAbsent(skill, s -> new BitSet()).set(slot);
+            }
+            for (String language : languagesOf[slot]) {
+                languages.computeIfAbsent(language, l -> new BitSet()).set(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long agentId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(agentId);
+            if (slot != null) {
+                clear(slot);
+                active.clear(slot);
+                used.clear(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long agentId) {
+        lock.readLock().lock();
+        try {
+            return slots.containsKey(agentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isActive(long agentId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(agentId);
+            return slot != null && active.get(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active agents having every one of {@code requiredSkills} and, unless it is null, {@code language};
+     * agent ids in slot order.
+     */
+    public long[] eligible(Collection<String> requiredSkills, String language) {
+        lock.readLock().lock();
+        try {
+            BitSet eligible = (BitSet) active.clone();
+            for (String skill : requiredSkills) {
+                and(eligible, skills.get(skill));
+            }
+            if (language != null) {
+                and(eligible, languages.get(language));
+            }
+            long[] result = new long[eligible.cardinality()];
+            int i = 0;
+            for (int slot = eligible.nextSetBit(0); slot >= 0; slot = eligible.nextSetBit(slot + 1)) {
+                result[i++] = agentIds[slot];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Active agents per skill, for spotting skills nobody on shift covers. */
+    public Map<String, Integer> coverage() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> coverage = new HashMap<>();
+            skills.forEach((skill, set) -> {
+                BitSet covered = (BitSet) set.clone();
+                covered.and(active);
+                coverage.put(skill, covered.cardinality());
+            });
+            return coverage;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            return new Stats(slots.size(), active.cardinality(), skills.size(), languages.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void and(BitSet target, BitSet set) {
+        if (set == null) {
+            target.clear();
+        } else {
+            target.and(set);
+        }
+    }
+
+    private void clear(int slot) {
+        unset(skills, skillsOf[slot], slot);
+        unset(languages, languagesOf[slot], slot);
+        skillsOf[slot] = null;
+        languagesOf[slot] = null;
+    }
+
+    private static void unset(Map<String, BitSet> sets, String[] tags, int slot) {
+        for (String tag : tags) {
+            BitSet set = sets.get(tag);
+            set.clear(slot);
+            if (set.isEmpty()) {
+                sets.remove(tag);
+            }
+        }
+    }
+
+    private void grow(int slot) {
+        if (slot >= agentIds.length) {
+            int capacity = Math.max(slot + 1, agentIds.length * 2);
+            agentIds = Arrays.copyOf(agentIds, capacity);
+            skillsOf = Arrays.copyOf(skillsOf, capacity);
+            languagesOf = Arrays.copyOf(languagesOf, capacity);
+        }
+    }
+}
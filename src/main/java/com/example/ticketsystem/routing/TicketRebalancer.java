@@ -0,0 +1,307 @@
+package com.example.ticketsystem.routing;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.event.AgentEvent;
+import com.example.ticketsystem.event.TicketTransitionEvent;
+import com.example.ticketsystem.presence.PresenceService;
+import com.example.ticketsystem.repository.AgentRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Hands a departing agent's open tickets to the remaining active agents. Tickets are read in
+ * keyset-paged chunks; each chunk is planned in memory (least-loaded eligible agent first) and
+ * written with one set-based UPDATE per receiving agent in its own short transaction, so a large
+ * hand-off never holds locks on more than one chunk of rows at a time. Every ticket moved or
+ * detached gets an AGENT {@link TicketTransitionEvent}, so the hand-off shows in its history.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(RebalanceProperties.class)
+public class TicketRebalancer {
+
+    private final TicketRepository ticketRepository;
+    private final AgentRepository agentRepository;
+    private final RoutingService routingService;
+    private final PresenceService presenceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RebalanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, RebalanceJob> jobs = new ConcurrentHashMap<>();
+
+    public TicketRebalancer(TicketRepository ticketRepository,
+                            AgentRepository agentRepository,
+                            RoutingService routingService,
+                            PresenceService presenceService,
+                            ApplicationEventPublisher eventPublisher,
+                            RebalanceProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.agentRepository = agentRepository;
+        this.routingService = routingService;
+        this.presenceService = presenceService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts moving {@code agentId}'s open tickets in the background and returns the job, or the
+     * job already running for that agent.
+     */
+    public RebalanceJob start(Long agentId) {
+        expireFinishedJobs();
+        synchronized (jobs) {
+            return running(agentId).orElseGet(() -> launch(agentId, false));
+        }
+    }
+
+    /**
+     * Deletes {@code agent}. One without tickets, the common case, is deleted at once and nothing
+     * is returned. Otherwise the agent is deactivated, so routing stops offering it tickets, and a
+     * background job moves its open tickets, detaches the rest and then deletes it; if the job
+     * fails, the agent stays deactivated and the job says why. A job already running for the agent
+     * is returned instead of starting another, and told to delete the agent when it is done.
+     */
+    public Optional<RebalanceJob> delete(Agent agent) {
+        Long agentId = agent.getId();
+        expireFinishedJobs();
+        synchronized (jobs) {
+            Optional<RebalanceJob> running = running(agentId);
+            if (running.isEmpty() && !ticketRepository.existsByAgentId(agentId)) {
+                agentRepository.delete(agent);
+                eventPublisher.publishEvent(AgentEvent.of(AgentEvent.Type.DELETED, agent));
+                return Optional.empty();
+            }
+            agent.deactivate();
+            eventPublisher.publishEvent(AgentEvent.of(AgentEvent.Type.UPDATED, agentRepository.save(agent)));
+            running.ifPresent(RebalanceJob::deleteAgent);
+            return Optional.of(running.orElseGet(() -> launch(agentId, true)));
+        }
+    }
+
+    // Callers hold the jobs lock
+    private Optional<RebalanceJob> running(Long agentId) {
+        return jobs.values().stream()
+                .filter(job -> job.isRunning() && job.getAgentId().equals(agentId))
+                .findFirst();
+    }
+
+    // Callers hold the jobs lock
+    private RebalanceJob launch(Long agentId, boolean deleteAgent) {
+        RebalanceJob job = new RebalanceJob(UUID.randomUUID().toString(), agentId);
+        if (deleteAgent) {
+            job.deleteAgent();
+        }
+        jobs.put(job.getId(), job);
+        Thread.ofPlatform().name("rebalance-" + agentId).daemon().start(() -> run(job));
+        return job;
+    }
+
+    public Optional<RebalanceJob> job(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    void run(RebalanceJob job) {
+        Long from = job.getAgentId();
+        long started = System.nanoTime();
+        try {
+            long total = ticketRepository.countActiveTicketsByAgent(from);
+            job.total(total);
+            if (total > 0) {
+                moveOpenTickets(job, from);
+            }
+            boolean deleteAgent = completeUnlessDeleting(job);
+            if (deleteAgent) {
+                detachRemaining(job, from);
+            }
+            RebalanceJob.Progress progress = job.progress();
+            log.info("Rebalanced agent {}: {} tickets moved to {} agents, {} detached in {} ms", from,
+                    progress.moved(), progress.movedTo().size(), progress.detached(),
+                    (System.nanoTime() - started) / 1_000_000);
+            if (deleteAgent) {
+                // Done only once the agent is deleted
+                deleteDrained(job, from);
+            }
+        } catch (RuntimeException e) {
+            log.error("Rebalancing agent {} failed", from, e);
+            job.fail(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(e);
+        }
+    }
+
+    private void moveOpenTickets(RebalanceJob job, Long from) throws InterruptedException {
+        List<Long> targets = new ArrayList<>(agentRepository.findActiveAgentIds());
+        targets.remove(from);
+        if (targets.isEmpty()) {
+            throw new IllegalStateException("Biletleri devralacak aktif temsilci yok");
+        }
+        Map<Long, Long> load = new HashMap<>();
+        targets.forEach(id -> load.put(id, 0L));
+        for (Object[] row : ticketRepository.countActiveTicketsByAgents(targets)) {
+            load.put((Long) row[0], (Long) row[1]);
+        }
+        Set<Long> targetSet = new HashSet<>(targets);
+        Map<String, long[]> eligibleByKind = new HashMap<>();
+
+        long afterId = 0;
+        PageRequest chunk = PageRequest.ofSize(Math.max(1, properties.getChunkSize()));
+        List<RebalanceTicket> tickets;
+        while (!(tickets = ticketRepository.findActiveTicketsOfAgentAfter(from, afterId, chunk)).isEmpty()) {
+            Map<Long, List<Long>> plan = plan(tickets, load, ticket -> eligibleByKind.computeIfAbsent(
+                    ticket.category() + "|" + ticket.language(),
+                    kind -> eligible(ticket, targetSet)));
+            job.moved(apply(from, plan, load));
+            afterId = tickets.get(tickets.size() - 1).ticketId();
+            pause();
+        }
+    }
+
+    // Eligible online agents; failing that any online agent, and failing that any active one
+    private long[] eligible(RebalanceTicket ticket, Set<Long> targets) {
+        return routingService.eligibleAgents(ticket.category(), ticket.language())
+                .map(ids -> Arrays.stream(ids).filter(targets::contains).toArray())
+                .filter(ids -> ids.length > 0)
+                .orElseGet(() -> {
+                    long[] all = targets.stream().mapToLong(Long::longValue).sorted().toArray();
+                    long[] online = Arrays.stream(all).filter(presenceService::acceptsTickets).toArray();
+                    return online.length > 0 ? online : all;
+                });
+    }
+
+    /**
+     * Assigns each ticket to the least-loaded of its eligible agents (lowest id on a tie), counting
+     * every assignment towards that agent's load, and returns the ticket ids per receiving agent.
+     */
+    static Map<Long, List<Long>> plan(List<RebalanceTicket> tickets, Map<Long, Long> load,
+                                       Function<RebalanceTicket, long[]> eligibility) {
+        Map<Long, List<Long>> plan = new LinkedHashMap<>();
+        for (RebalanceTicket ticket : tickets) {
+            long best = -1;
+            long bestLoad = Long.MAX_VALUE;
+            for (long candidate : eligibility.apply(ticket)) {
+                long candidateLoad = load.getOrDefault(candidate, 0L);
+                if (candidateLoad < bestLoad || (candidateLoad == bestLoad && candidate < best)) {
+                    best = candidate;
+                    bestLoad = candidateLoad;
+                }
+            }
+            if (best < 0) {
+                continue;
+            }
+            load.put(best, bestLoad + 1);
+            plan.computeIfAbsent(best, id -> new ArrayList<>()).add(ticket.ticketId());
+        }
+        return plan;
+    }
+
+    // One transaction per chunk; a ticket someone else reassigned meanwhile is left alone by the UPDATE
+    private Map<Long, Integer> apply(Long from, Map<Long, List<Long>> plan, Map<Long, Long> load) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, Integer> moved = new HashMap<>();
+            for (Map.Entry<Long, List<Long>> entry : plan.entrySet()) {
+                Long to = entry.getKey();
+                List<Long> ids = entry.getValue();
+                Collection<Long> movedIds = ids;
+                int count = ticketRepository.reassign(from, agentRepository.getReferenceById(to), ids, now);
+                if (count != ids.size()) {
+                    movedIds = ticketRepository.findIdsAssignedTo(to, ids);
+                    load.merge(to, (long) (count - ids.size()), Long::sum);
+                }
+                for (Long ticketId : movedIds) {
+                    eventPublisher.publishEvent(new TicketTransitionEvent(ticketId, TicketTransitionEvent.Field.AGENT,
+                            from.toString(), to.toString(), TicketTransitionEvent.ActorType.SYSTEM, null, now));
+                }
+                moved.put(to, count);
+            }
+            return moved;
+        });
+    }
+
+    private void detachRemaining(RebalanceJob job, Long from) throws InterruptedException {
+        PageRequest chunk = PageRequest.ofSize(Math.max(1, properties.getChunkSize()));
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = ticketRepository.findTicketIdsOfAgentAfter(from, afterId, chunk)).isEmpty()) {
+            List<Long> batch = ids;
+            job.detached(transactionTemplate.execute(status -> detach(from, batch)));
+            afterId = ids.get(ids.size() - 1);
+            pause();
+        }
+    }
+
+    // Like apply(): a ticket someone else reassigned meanwhile is left alone and gets no event
+    private int detach(Long from, List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        int count = ticketRepository.detachAgent(from, ids, now);
+        Collection<Long> detachedIds = count == ids.size() ? ids : ticketRepository.findUnassignedIds(ids);
+        for (Long ticketId : detachedIds) {
+            eventPublisher.publishEvent(new TicketTransitionEvent(ticketId, TicketTransitionEvent.Field.AGENT,
+                    from.toString(), null, TicketTransitionEvent.ActorType.SYSTEM, null, now));
+        }
+        return count;
+    }
+
+    // Under the jobs lock, so a delete() either sees the job still running and hands it the
+    // deletion, or sees it completed and starts its own
+    private boolean completeUnlessDeleting(RebalanceJob job) {
+        synchronized (jobs) {
+            if (job.deletesAgent()) {
+                return true;
+            }
+            job.complete();
+            return false;
+        }
+    }
+
+    // A ticket assigned to the agent after the drain makes the delete fail; the agent stays deactivated
+    private void deleteDrained(RebalanceJob job, Long agentId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> agentRepository.findById(agentId).ifPresent(agent -> {
+                agentRepository.delete(agent);
+                agentRepository.flush();
+                eventPublisher.publishEvent(AgentEvent.of(AgentEvent.Type.DELETED, agent));
+            }));
+            job.complete();
+        } catch (RuntimeException e) {
+            log.error("Deleting drained agent {} failed", agentId, e);
+            job.fail(e);
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        long millis = properties.getChunkPause().toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private void expireFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getJobRetention());
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ticketsystem.search;
+
+import java.time.LocalDateTime;
+
+/** The indexed fields of a customer. */
+public record CustomerDocument(Long id, String name, String email, String phone, LocalDateTime createdAt) {
+}
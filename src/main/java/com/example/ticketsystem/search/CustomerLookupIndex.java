@@ -0,0 +1,543 @@
+package com.example.ticketsystem.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory lookup over customer name, email and phone for type-ahead and substring filters.
+ *
+ * <p>Two structures answer the lookups without touching every customer:
+ * <ul>
+ *   <li>a sorted map from every name and email word, and every phone number, to its customers,
+ *   so "starts with" is a range walk that can stop as soon as enough results are found;</li>
+ *   <li>a trigram map from every three-character window of the normalised fields to its
+ *   customers, so "contains" intersects a few posting lists and verifies the survivors.</li>
+ * </ul>
+ * Fields are compared normalised: names folded like {@link TurkishTextAnalyzer}, emails lower
+ * case, phones digits only. The original values are kept to verify candidates and to answer
+ * suggestions without a database round trip.
+ *
+ * <p>Changing a customer marks the old entry deleted and adds a new one; once deleted entries
+ * pile up they are purged and the remaining entries renumbered, so memory follows the live
+ * customers rather than every change ever made. Lookups share a read lock; updates take the
+ * write lock.
+ */
+public class CustomerLookupIndex {
+
+    public enum Field {
+        NAME,
+        EMAIL,
+        PHONE
+    }
+
+    public record Suggestion(long id, String name, String email, String phone, Field matched) {
+    }
+
+    public record FilterResult(long total, List<Long> ids) {
+
+        static final FilterResult EMPTY = new FilterResult(0, List.of());
+    }
+
+    /** Candidates verified per suggestion before giving up on filling the list. */
+    static final int MAX_SUGGEST_CANDIDATES = 20_000;
+
+    private static final int PURGE_MIN_DELETED = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[1024];
+    private long[] created = new long[1024];
+    private String[] names = new String[1024];
+    private String[] emails = new String[1024];
+    private String[] phones = new String[1024];
+    private int docCount;
+    private int liveDocs;
+    private int deletedSincePurge;
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, Integer> docById = new HashMap<>();
+    // Customers removed since beginLoad(); the load may still hold them in a page read earlier
+    private Set<Long> removedDuringLoad;
+
+    private final TreeMap<String, IntList> words = new TreeMap<>();
+    private final TreeMap<String, IntList> phoneNumbers = new TreeMap<>();
+    private final Map<Long, IntList> trigrams = new HashMap<>();
+
+    /** Adds a customer, replacing what was indexed for them before. */
+    public void index(CustomerDocument customer) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docById.get(customer.id());
+            if (existing != null) {
+                delete(existing);
+            }
+            add(customer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a customer unless already indexed or removed since {@link #beginLoad}, so a bulk load
+     * never overwrites a live update nor brings back a deleted customer.
+     */
+    public boolean indexIfAbsent(CustomerDocument customer) {
+        lock.writeLock().lock();
+        try {
+            if (docById.containsKey(customer.id())
+                    || (removedDuringLoad != null && removedDuringLoad.contains(customer.id()))) {
+                return false;
+            }
+            add(customer);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(CustomerDocument customer) {
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        ids[doc] = customer.id();
+        created[doc] = customer.createdAt() != null ? customer.createdAt().toEpochSecond(ZoneOffset.UTC) : 0;
+        names[doc] = customer.name();
+        emails[doc] = customer.email();
+        phones[doc] = customer.phone();
+        docById.put(customer.id(), doc);
+        liveDocs++;
+
+        List<String> keys = new ArrayList<>(TurkishTextAnalyzer.tokens(customer.name()));
+        keys.addAll(TurkishTextAnalyzer.tokens(customer.email()));
+        keys.stream().distinct().forEach(word -> words.computeIfAbsent(word, w -> new IntList(2)).add(doc));
+        String phone = digits(customer.phone());
+        if (!phone.isEmpty()) {
+            phoneNumbers.computeIfAbsent(phone, p -> new IntList(1)).add(doc);
+        }
+
+        long[] grams = trigramsOf(normalize(customer.name()), normalize(customer.email()), phone);
+        for (long gram : grams) {
+            trigrams.computeIfAbsent(gram, g -> new IntList(2)).add(doc);
+        }
+    }
+
+    public void remove(long customerId) {
+        lock.writeLock().lock();
+        try {
+            if (removedDuringLoad != null) {
+                removedDuringLoad.add(customerId);
+            }
+            Integer doc = docById.get(customerId);
+            if (doc != null) {
+                delete(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Starts remembering removals until {@link #endLoad}, for {@link #indexIfAbsent} to skip. */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Type-ahead suggestions, best first: customers with a name or email word (or a phone number)
+     * starting with what was typed, in word order, then customers where it appears inside a
+     * word, newest first. A query of digits only is looked up as a phone number. Every typed
+     * word has to match.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String phoneQuery = digits(query);
+        boolean phoneMode = phoneQuery.length() >= 3 && query.chars().noneMatch(Character::isLetter);
+        List<String> tokens = TurkishTextAnalyzer.tokens(query);
+        if (limit <= 0 || (!phoneMode && tokens.isEmpty())) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Field> found = new LinkedHashMap<>();
+            if (phoneMode) {
+                startingWith(phoneNumbers, phoneQuery, limit, found,
+                        doc -> digits(phones[doc]).startsWith(phoneQuery) ? Field.PHONE : null);
+                containing(trigramLists(List.of(phoneQuery)), limit, found,
+                        doc -> digits(phones[doc]).contains(phoneQuery) ? Field.PHONE : null);
+            } else {
+                // Every typed word of three or more characters sits inside a matching customer's
+                // fields, so its trigrams rule out most candidates before their words are read
+                List<String> gramTokens = tokens.stream().filter(t -> t.length() >= 3).toList();
+                IntList[] lists = gramTokens.isEmpty() ? null : trigramLists(gramTokens);
+                if (!gramTokens.isEmpty() && lists == null) {
+                    return List.of();
+                }
+                startingWith(words, driving(tokens), limit, found,
+                        doc -> lists == null || inAll(lists, 0, doc) ? wordsStartWith(doc, tokens) : null);
+                containing(lists, limit, found, doc -> wordsContain(doc, tokens));
+            }
+            List<Suggestion> suggestions = new ArrayList<>(found.size());
+            found.forEach((doc, field) -> suggestions.add(
+                    new Suggestion(ids[doc], names[doc], emails[doc], phones[doc], field)));
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Customers whose fields contain every given value ({@code null} values are ignored), created
+     * after {@code createdAfter} if given, newest first. Matching is case and accent insensitive
+     * for names, case insensitive for emails and on digits only for phones.
+     */
+    public FilterResult filter(String name, String email, String phone, LocalDateTime createdAfter,
+                               int offset, int limit) {
+        String nameValue = blankToNull(normalize(name));
+        String emailValue = blankToNull(normalize(email));
+        String phoneValue = blankToNull(digits(phone));
+        long after = createdAfter != null ? createdAfter.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        if (limit <= 0 || offset < 0) {
+            return FilterResult.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            List<String> indexable = indexable(nameValue, emailValue, phoneValue);
+            IntList candidates = indexable.isEmpty() ? null : trigramCandidates(indexable);
+            int count = candidates != null ? candidates.size() : docCount;
+
+            Comparator<Integer> oldestFirst = Comparator.<Integer>comparingLong(doc -> created[doc])
+                    .thenComparingLong(doc -> ids[doc]);
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<Integer> newest = new PriorityQueue<>(Math.min(wanted, 1024), oldestFirst);
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                int doc = candidates != null ? candidates.get(i) : i;
+                if (deleted.get(doc) || created[doc] <= after
+                        || (nameValue != null && !normalize(names[doc]).contains(nameValue))
+                        || (emailValue != null && !normalize(emails[doc]).contains(emailValue))
+                        || (phoneValue != null && !digits(phones[doc]).contains(phoneValue))) {
+                    continue;
+                }
+                total++;
+                if (newest.size() < wanted) {
+                    newest.add(doc);
+                } else if (oldestFirst.compare(doc, newest.peek()) > 0) {
+                    newest.poll();
+                    newest.add(doc);
+                }
+            }
+            Long[] ranked = new Long[newest.size()];
+            for (int r = ranked.length - 1; r >= 0; r--) {
+                ranked[r] = ids[newest.poll()];
+            }
+            List<Long> page = offset >= ranked.length ? List.of()
+                    : List.of(ranked).subList(offset, ranked.length);
+            return new FilterResult(total, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether {@link #filter} can narrow these values through trigrams; without a value of three or
+     * more characters it has to check every customer.
+     */
+    public static boolean narrowsFilter(String name, String email, String phone) {
+        return !indexable(normalize(name), normalize(email), digits(phone)).isEmpty();
+    }
+
+    private static List<String> indexable(String... values) {
+        List<String> indexable = new ArrayList<>(values.length);
+        for (String value : values) {
+            if (value != null && value.length() >= 3) {
+                indexable.add(value);
+            }
+        }
+        return indexable;
+    }
+
+    private interface Matcher {
+        /** The field that matched, or null if the customer does not match. */
+        Field match(int doc);
+    }
+
+    /**
+     * The typed word to walk the word map by: the one whose rarest trigram has the fewest
+     * customers, so a common first name next to a rare surname walks the surname. Words too short
+     * for trigrams only drive when nothing longer was typed.
+     */
+    private String driving(List<String> tokens) {
+        String best = null;
+        long bestCount = Long.MAX_VALUE;
+        for (String token : tokens) {
+            IntList[] lists = token.length() >= 3 ? trigramLists(List.of(token)) : null;
+            long count = lists != null ? lists[0].size() : Integer.MAX_VALUE + (long) (3 - token.length());
+            if (count < bestCount) {
+                best = token;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    // Keys in order, and under each key the newest customers first
+    private void startingWith(TreeMap<String, IntList> keys, String prefix, int limit,
+                              Map<Integer, Field> found, Matcher matcher) {
+        SortedMap<String, IntList> range = keys.subMap(prefix, prefix + Character.MAX_VALUE);
+        int verified = 0;
+        for (IntList docs : range.values()) {
+            for (int i = docs.size() - 1; i >= 0; i--) {
+                if (found.size() >= limit || verified >= MAX_SUGGEST_CANDIDATES) {
+                    return;
+                }
+                int doc = docs.get(i);
+                if (deleted.get(doc) || found.containsKey(doc)) {
+                    continue;
+                }
+                verified++;
+                Field field = matcher.match(doc);
+                if (field != null) {
+                    found.put(doc, field);
+                }
+            }
+        }
+    }
+
+    // Walks the shortest trigram list from its newest end and probes the others, so a common
+    // trigram costs nothing beyond the few candidates needed to fill the list
+    private void containing(IntList[] lists, int limit, Map<Integer, Field> found, Matcher matcher) {
+        if (lists == null || found.size() >= limit) {
+            return;
+        }
+        int verified = 0;
+        IntList shortest = lists[0];
+        for (int i = shortest.size() - 1; i >= 0 && found.size() < limit && verified < MAX_SUGGEST_CANDIDATES; i--) {
+            int doc = shortest.get(i);
+            if (deleted.get(doc) || found.containsKey(doc) || !inAll(lists, 1, doc)) {
+                continue;
+            }
+            verified++;
+            Field field = matcher.match(doc);
+            if (field != null) {
+                found.put(doc, field);
+            }
+        }
+    }
+
+    private static boolean inAll(IntList[] lists, int from, int doc) {
+        for (int l = from; l < lists.length; l++) {
+            if (lists[l].binarySearch(doc) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Posting lists of every trigram of the values, shortest first, or null if one is missing. */
+    private IntList[] trigramLists(List<String> values) {
+        long[] grams = trigramsOf(values.toArray(String[]::new));
+        IntList[] lists = new IntList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = trigrams.get(grams[i]);
+            if (lists[i] == null) {
+                return null;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(IntList::size));
+        return lists.length == 0 ? null : lists;
+    }
+
+    /** Documents holding every trigram of every value, ascending; callers still verify. */
+    private IntList trigramCandidates(List<String> values) {
+        IntList[] lists = trigramLists(values);
+        if (lists == null) {
+            return new IntList(0);
+        }
+        IntList result = new IntList(lists[0].size());
+        for (int i = 0; i < lists[0].size(); i++) {
+            int doc = lists[0].get(i);
+            if (inAll(lists, 1, doc)) {
+                result.add(doc);
+            }
+        }
+        return result;
+    }
+
+    private Field wordsStartWith(int doc, List<String> tokens) {
+        List<String> name = TurkishTextAnalyzer.tokens(names[doc]);
+        if (tokens.stream().allMatch(t -> name.stream().anyMatch(w -> w.startsWith(t)))) {
+            return Field.NAME;
+        }
+        List<String> email = TurkishTextAnalyzer.tokens(emails[doc]);
+        return tokens.stream().allMatch(t -> email.stream().anyMatch(w -> w.startsWith(t))
+                || name.stream().anyMatch(w -> w.startsWith(t))) ? Field.EMAIL : null;
+    }
+
+    private Field wordsContain(int doc, List<String> tokens) {
+        List<String> name = TurkishTextAnalyzer.tokens(names[doc]);
+        if (tokens.stream().allMatch(t -> name.stream().anyMatch(w -> w.contains(t)))) {
+            return Field.NAME;
+        }
+        List<String> email = TurkishTextAnalyzer.tokens(emails[doc]);
+        return tokens.stream().allMatch(t -> email.stream().anyMatch(w -> w.contains(t))
+                || name.stream().anyMatch(w -> w.contains(t))) ? Field.EMAIL : null;
+    }
+
+    /** Distinct three-character windows of the given strings, packed 16 bits per character. */
+    static long[] trigramsOf(String... values) {
+        long[] grams = new long[16];
+        int count = 0;
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                long gram = (long) value.charAt(i) << 32 | (long) value.charAt(i + 1) << 16 | value.charAt(i + 2);
+                if (count == grams.length) {
+                    grams = Arrays.copyOf(grams, count * 2);
+                }
+                grams[count++] = gram;
+            }
+        }
+        return Arrays.stream(grams, 0, count).distinct().toArray();
+    }
+
+    /** Lower case with Turkish letters folded; punctuation kept, whitespace runs collapsed. */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            char folded = TurkishTextAnalyzer.fold(c);
+            if (folded == 0) {
+                continue;
+            }
+            if (folded != ' ') {
+                normalized.append(folded);
+            } else if (!Character.isWhitespace(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        return normalized.toString().strip();
+    }
+
+    static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isDigit(value.charAt(i))) {
+                digits.append(value.charAt(i));
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        docById.remove(ids[doc], doc);
+        liveDocs--;
+        if (++deletedSincePurge >= PURGE_MIN_DELETED && deletedSincePurge > liveDocs / 4) {
+            purge();
+        }
+    }
+
+    // Drops deleted documents and renumbers the rest in order, so postings stay sorted
+    private void purge() {
+        int[] renumbered = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = live;
+            ids[live] = ids[doc];
+            created[live] = created[doc];
+            names[live] = names[doc];
+            emails[live] = emails[doc];
+            phones[live] = phones[doc];
+            live++;
+        }
+        Arrays.fill(names, live, docCount, null);
+        Arrays.fill(emails, live, docCount, null);
+        Arrays.fill(phones, live, docCount, null);
+        renumber(words.values(), renumbered);
+        renumber(phoneNumbers.values(), renumbered);
+        renumber(trigrams.values(), renumbered);
+        words.values().removeIf(IntList::isEmpty);
+        phoneNumbers.values().removeIf(IntList::isEmpty);
+        trigrams.values().removeIf(IntList::isEmpty);
+        docById.replaceAll((id, doc) -> renumbered[doc]);
+        docCount = live;
+        deleted.clear();
+        deletedSincePurge = 0;
+    }
+
+    private static void renumber(Iterable<IntList> lists, int[] renumbered) {
+        for (IntList list : lists) {
+            int kept = 0;
+            for (int i = 0; i < list.size(); i++) {
+                int doc = renumbered[list.get(i)];
+                if (doc >= 0) {
+                    list.set(kept++, doc);
+                }
+            }
+            list.truncate(kept);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        created = Arrays.copyOf(created, grown);
+        names = Arrays.copyOf(names, grown);
+        emails = Arrays.copyOf(emails, grown);
+        phones = Arrays.copyOf(phones, grown);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.ticketsystem.search;
+
+import com.example.ticketsystem.cache.CacheInvalidationBus;
+import com.example.ticketsystem.cache.InvalidatableCache;
+import com.example.ticketsystem.event.CustomerEvent;
+import com.example.ticketsystem.repository.CustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the {@link CustomerLookupIndex} in step with the database: a keyset-paged bulk load at
+ * startup, then one update per committed customer change on this node and one
+ * {@value #CACHE_NAME} cache invalidation, keyed by customer id, per change on the others.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerLookupIndexer implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "customer-lookup";
+
+    private final CustomerRepository customerRepository;
+    private final SearchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationBus invalidationBus;
+    private final CustomerLookupIndex index = new CustomerLookupIndex();
+    private volatile boolean ready;
+    private Timer suggestTimer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Gauge.builder("ticketsystem.search.customers", index, CustomerLookupIndex::size)
+                .description("Customers in the lookup index")
+                .register(meterRegistry);
+        suggestTimer = Timer.builder("ticketsystem.search.customer.suggest")
+                .description("Customer type-ahead lookups")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Thread.ofPlatform().name("customer-lookup-loader").daemon().start(() -> load(false));
+    }
+
+    /** Reads every customer; {@code refresh} overwrites customers already indexed instead of skipping them. */
+    void load(boolean refresh) {
+        long started = System.nanoTime();
+        long afterId = 0;
+        int loaded = 0;
+        index.beginLoad();
+        try {
+            while (true) {
+                List<CustomerDocument> page = customerRepository.findLookupDocumentsAfter(afterId,
+                        PageRequest.ofSize(properties.getLoadBatchSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (CustomerDocument customer : page) {
+                    // A customer changed or deleted by a live update while loading is newer than this page
+                    if (refresh) {
+                        index.index(customer);
+                    } else {
+                        index.indexIfAbsent(customer);
+                    }
+                }
+                loaded += page.size();
+                afterId = page.get(page.size() - 1).id();
+            }
+            ready = true;
+            log.info("Customer lookup index loaded {} customers in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Customer lookup index load failed after {} customers", loaded, e);
+        } finally {
+            index.endLoad();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerEvent(CustomerEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.type() == CustomerEvent.Type.DELETED) {
+            index.remove(event.customerId());
+        } else {
+            index.index(new CustomerDocument(event.customerId(), event.name(), event.email(), event.phone(),
+                    event.createdAt()));
+        }
+        invalidationBus.publish(CACHE_NAME, event.customerId().toString());
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /** Re-reads one customer changed on another node. */
+    @Override
+    public void invalidate(String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long customerId = Long.parseLong(key);
+        customerRepository.findLookupDocument(customerId).ifPresentOrElse(index::index, () -> index.remove(customerId));
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (properties.isEnabled()) {
+            load(true);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<CustomerLookupIndex.Suggestion> suggest(String query, int limit) {
+        requireReady();
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Arama metni boş olamaz");
+        }
+        int capped = Math.min(limit, properties.getMaxSuggestions());
+        return suggestTimer.record(() -> index.suggest(query, capped));
+    }
+
+    public CustomerLookupIndex.FilterResult filter(String name, String email, String phone,
+                                                   LocalDateTime createdAfter, int offset, int limit) {
+        requireReady();
+        if (!CustomerLookupIndex.narrowsFilter(name, email, phone) && index.size() > properties.getMaxFilterScan()) {
+            throw new IllegalArgumentException("Filtre için en az 3 karakterlik bir ad, e-posta ya da telefon gerekli");
+        }
+        return index.filter(name, email, phone, createdAfter, offset, Math.min(limit, properties.getMaxPageSize()));
+    }
+
+    private void requireReady() {
+        if (!ready) {
+            throw new IllegalStateException("Müşteri arama dizini henüz hazır değil");
+        }
+    }
+}
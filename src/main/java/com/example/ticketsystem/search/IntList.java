@@ -0,0 +1,67 @@
+package com.example.ticketsystem.search;
+
+import java.util.Arrays;
+
+/** Growable {@code int} array; postings are millions of these, so no boxing. */
+final class IntList {
+
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(4);
+    }
+
+    IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    void set(int index, int value) {
+        values[index] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Index of {@code value} in a list kept in ascending order, or a negative insertion point. */
+    int binarySearch(int value) {
+        return Arrays.binarySearch(values, 0, size, value);
+    }
+
+    boolean remove(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void truncate(int newSize) {
+        size = newSize;
+    }
+
+    int[] toSortedArray() {
+        int[] copy = Arrays.copyOf(values, size);
+        Arrays.sort(copy);
+        return copy;
+    }
+}
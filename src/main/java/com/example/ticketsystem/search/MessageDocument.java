@@ -0,0 +1,5 @@
+package com.example.ticketsystem.search;
+
+/** The indexed fields of a ticket message. */
+public record MessageDocument(Long messageId, Long ticketId, Long customerId, String message) {
+}
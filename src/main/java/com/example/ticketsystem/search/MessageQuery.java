@@ -0,0 +1,79 @@
+package com.example.ticketsystem.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed message search. Every clause must match the same message:
+ * <ul>
+ *   <li>{@code iade} matches the term anywhere in the message,</li>
+ *   <li>{@code kargo*} matches any term starting with "kargo",</li>
+ *   <li>{@code "kargo gecikti"} matches the terms next to each other in that order.</li>
+ * </ul>
+ * Terms go through {@link TurkishTextAnalyzer}, so case and Turkish marks do not matter.
+ */
+public record MessageQuery(List<Clause> clauses) {
+
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    public sealed interface Clause permits Term, Prefix, Phrase {
+    }
+
+    public record Term(String term) implements Clause {
+    }
+
+    public record Prefix(String prefix) implements Clause {
+    }
+
+    public record Phrase(List<String> terms) implements Clause {
+    }
+
+    /** @throws IllegalArgumentException if the query has no searchable term or a prefix is too short */
+    public static MessageQuery parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query != null) {
+            // Even segments are outside quotes, odd ones inside; an unclosed quote runs to the end
+            String[] segments = query.split("\"", -1);
+            for (int i = 0; i < segments.length; i++) {
+                if (i % 2 == 1) {
+                    phrase(TurkishTextAnalyzer.tokens(segments[i]), clauses);
+                } else {
+                    words(segments[i], clauses);
+                }
+            }
+        }
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("Arama metni boş olamaz");
+        }
+        return new MessageQuery(List.copyOf(clauses));
+    }
+
+    private static void words(String segment, List<Clause> clauses) {
+        for (String word : segment.trim().split("\\s+")) {
+            if (!word.endsWith("*")) {
+                TurkishTextAnalyzer.tokens(word).forEach(term -> clauses.add(new Term(term)));
+                continue;
+            }
+            List<String> terms = TurkishTextAnalyzer.tokens(word.substring(0, word.length() - 1));
+            if (terms.isEmpty()) {
+                continue;
+            }
+            // "e-fatu*" is the term "e" followed by the prefix "fatu"
+            terms.subList(0, terms.size() - 1).forEach(term -> clauses.add(new Term(term)));
+            String prefix = terms.get(terms.size() - 1);
+            if (prefix.length() < MIN_PREFIX_LENGTH) {
+                throw new IllegalArgumentException("Önek araması en az %d karakter olmalıdır: %s"
+                        .formatted(MIN_PREFIX_LENGTH, word));
+            }
+            clauses.add(new Prefix(prefix));
+        }
+    }
+
+    private static void phrase(List<String> terms, List<Clause> clauses) {
+        if (terms.size() == 1) {
+            clauses.add(new Term(terms.get(0)));
+        } else if (terms.size() > 1) {
+            clauses.add(new Phrase(List.copyOf(terms)));
+        }
+    }
+}
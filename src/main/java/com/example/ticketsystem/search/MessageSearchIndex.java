@@ -0,0 +1,286 @@
+package com.example.ticketsystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory positional index over message bodies, partitioned by ticket. Searches are always
+ * scoped to one ticket or to one customer's tickets, so each ticket keeps its own small index
+ * and a scoped search reads only the partitions in scope, never a global posting list.
+ *
+ * <p>A partition maps each term that occurs in the ticket to a growable list of (message,
+ * position) pairs. Messages get increasing ordinals within their ticket, so adding one only
+ * appends to the lists of its own terms and costs the size of that message, not of the
+ * conversation. Term ids come from a shared sorted dictionary, which also answers prefix queries.
+ *
+ * <p>Searches share a read lock; updates take the write lock.
+ */
+public class MessageSearchIndex {
+
+    public record Hit(long messageId, long ticketId) {
+    }
+
+    public record SearchResult(long total, List<Hit> hits) {
+
+        static final SearchResult EMPTY = new SearchResult(0, List.of());
+    }
+
+    private static final class Partition {
+        final long ticketId;
+        long[] messageIds = new long[2];
+        int messages;
+        final Set<Long> indexed = new HashSet<>();
+        // Term id -> flattened (message ordinal, position) pairs, sorted by ordinal, then position
+        final Map<Integer, IntList> postings = new HashMap<>();
+
+        Partition(long ticketId) {
+            this.ticketId = ticketId;
+        }
+
+        boolean contains(long messageId) {
+            return indexed.contains(messageId);
+        }
+    }
+
+    /** A query clause with its terms resolved to dictionary ids. */
+    private record Resolved(MessageQuery.Clause clause, int[] termIds) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Integer> dictionary = new TreeMap<>();
+    private final Map<Long, Partition> partitions = new HashMap<>();
+    private final Map<Long, List<Partition>> customerPartitions = new HashMap<>();
+    private long messageCount;
+
+    /** Adds a message; returns false if it is already indexed. Messages are never edited. */
+    public boolean index(MessageDocument document) {
+        List<String> tokens = TurkishTextAnalyzer.tokens(document.message());
+        lock.writeLock().lock();
+        try {
+            Partition partition = partitions.get(document.ticketId());
+            if (partition == null) {
+                partition = new Partition(document.ticketId());
+                partitions.put(document.ticketId(), partition);
+                customerPartitions.computeIfAbsent(document.customerId(), c -> new ArrayList<>(2)).add(partition);
+            } else if (partition.contains(document.messageId())) {
+                return false;
+            }
+            append(partition, document.messageId(), tokens);
+            messageCount++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return messageCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Messages of one ticket that match, newest first. */
+    public SearchResult searchTicket(long ticketId, MessageQuery query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Partition partition = partitions.get(ticketId);
+            return search(partition != null ? List.of(partition) : List.of(), query, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Messages on any of a customer's tickets that match, newest first. */
+    public SearchResult searchCustomer(long customerId, MessageQuery query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return search(customerPartitions.getOrDefault(customerId, List.of()), query, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchResult search(Collection<Partition> scope, MessageQuery query, int offset, int limit) {
+        if (scope.isEmpty() || limit <= 0 || offset < 0) {
+            return SearchResult.EMPTY;
+        }
+        List<Resolved> clauses = resolve(query);
+        if (clauses == null) {
+            return SearchResult.EMPTY;
+        }
+        List<Hit> hits = new ArrayList<>();
+        for (Partition partition : scope) {
+            boolean[] matched = match(partition, clauses);
+            for (int ordinal = 0; ordinal < partition.messages; ordinal++) {
+                if (matched[ordinal]) {
+                    hits.add(new Hit(partition.messageIds[ordinal], partition.ticketId));
+                }
+            }
+        }
+        hits.sort(Comparator.comparingLong(Hit::messageId).reversed());
+        int from = Math.min(offset, hits.size());
+        int to = (int) Math.min((long) offset + limit, hits.size());
+        return new SearchResult(hits.size(), List.copyOf(hits.subList(from, to)));
+    }
+
+    // Null when some clause can match nothing anywhere
+    private List<Resolved> resolve(MessageQuery query) {
+        List<Resolved> resolved = new ArrayList<>(query.clauses().size());
+        for (MessageQuery.Clause clause : query.clauses()) {
+            int[] ids = switch (clause) {
+                case MessageQuery.Term t -> lookup(List.of(t.term()));
+                case MessageQuery.Phrase p -> lookup(p.terms());
+                case MessageQuery.Prefix p -> dictionary
+                        .subMap(p.prefix(), true, p.prefix() + Character.MAX_VALUE, false)
+                        .values().stream().mapToInt(Integer::intValue).sorted().toArray();
+            };
+            if (ids == null || ids.length == 0) {
+                return null;
+            }
+            resolved.add(new Resolved(clause, ids));
+        }
+        return resolved;
+    }
+
+    private int[] lookup(List<String> terms) {
+        int[] ids = new int[terms.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Integer id = dictionary.get(terms.get(i));
+            if (id == null) {
+                return null;
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    private static boolean[] match(Partition partition, List<Resolved> clauses) {
+        boolean[] result = null;
+        for (Resolved resolved : clauses) {
+            boolean[] matched = new boolean[partition.messages];
+            boolean any = switch (resolved.clause()) {
+                case MessageQuery.Term t -> markTerm(partition, resolved.termIds()[0], matched);
+                case MessageQuery.Prefix p -> markPrefix(partition, resolved.termIds(), matched);
+                case MessageQuery.Phrase p -> markPhrase(partition, resolved.termIds(), matched);
+            };
+            if (!any) {
+                return new boolean[partition.messages];
+            }
+            if (result == null) {
+                result = matched;
+            } else {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] &= matched[i];
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean markTerm(Partition partition, int termId, boolean[] matched) {
+        IntList entries = partition.postings.get(termId);
+        if (entries == null) {
+            return false;
+        }
+        for (int e = 0; e < entries.size(); e += 2) {
+            matched[entries.get(e)] = true;
+        }
+        return true;
+    }
+
+    private static boolean markPrefix(Partition partition, int[] termIds, boolean[] matched) {
+        boolean any = false;
+        // Walk whichever side is smaller: the prefix's terms or the ticket's
+        if (termIds.length <= partition.postings.size()) {
+            for (int term : termIds) {
+                any |= markTerm(partition, term, matched);
+            }
+            return any;
+        }
+        for (int term : partition.postings.keySet()) {
+            if (Arrays.binarySearch(termIds, term) >= 0) {
+                any |= markTerm(partition, term, matched);
+            }
+        }
+        return any;
+    }
+
+    private static boolean markPhrase(Partition partition, int[] termIds, boolean[] matched) {
+        IntList[] entries = new IntList[termIds.length];
+        for (int k = 0; k < termIds.length; k++) {
+            entries[k] = partition.postings.get(termIds[k]);
+            if (entries[k] == null) {
+                return false;
+            }
+        }
+        boolean any = false;
+        for (int e = 0; e < entries[0].size(); e += 2) {
+            int ordinal = entries[0].get(e);
+            int position = entries[0].get(e + 1);
+            if (matched[ordinal]) {
+                continue;
+            }
+            boolean phrase = true;
+            for (int k = 1; k < termIds.length && phrase; k++) {
+                phrase = containsPair(entries[k], ordinal, position + k);
+            }
+            if (phrase) {
+                matched[ordinal] = true;
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    // Entries of one term are sorted by message, then position
+    private static boolean containsPair(IntList entries, int ordinal, int position) {
+        int low = 0;
+        int high = entries.size() / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Integer.compare(entries.get(2 * mid), ordinal);
+            if (cmp == 0) {
+                cmp = Integer.compare(entries.get(2 * mid + 1), position);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void append(Partition partition, long messageId, List<String> tokens) {
+        int ordinal = partition.messages;
+        if (ordinal == partition.messageIds.length) {
+            partition.messageIds = Arrays.copyOf(partition.messageIds, ordinal * 2);
+        }
+        partition.messageIds[ordinal] = messageId;
+        partition.messages++;
+        partition.indexed.add(messageId);
+
+        // The new message has the highest ordinal, so its entries go last and keep every list sorted
+        for (int position = 0; position < tokens.size(); position++) {
+            int termId = dictionary.computeIfAbsent(tokens.get(position), t -> dictionary.size());
+            IntList entries = partition.postings.computeIfAbsent(termId, t -> new IntList(2));
+            entries.add(ordinal);
+            entries.add(position);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.ticketsystem.search;
+
+import com.example.ticketsystem.cache.CacheInvalidationBus;
+import com.example.ticketsystem.cache.InvalidatableCache;
+import com.example.ticketsystem.event.TicketMessageEvent;
+import com.example.ticketsystem.repository.TicketMessageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link MessageSearchIndex} in step with the database: a keyset-paged bulk load at
+ * startup, then one update per committed message on this node and one {@value #CACHE_NAME}
+ * cache invalidation, keyed by message id, per message on the others.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageSearchIndexer implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "message-search";
+
+    private final TicketMessageRepository ticketMessageRepository;
+    private final SearchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationBus invalidationBus;
+    private final MessageSearchIndex index = new MessageSearchIndex();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Gauge.builder("ticketsystem.search.messages", index, MessageSearchIndex::size)
+                .description("Messages in the search index")
+                .register(meterRegistry);
+        Thread.ofPlatform().name("message-search-loader").daemon().start(this::load);
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        long afterId = 0;
+        int loaded = 0;
+        try {
+            while (true) {
+                List<MessageDocument> page = ticketMessageRepository.findSearchDocumentsAfter(afterId,
+                        PageRequest.ofSize(properties.getLoadBatchSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                // A message indexed by a live update while loading is skipped here
+                page.forEach(index::index);
+                loaded += page.size();
+                afterId = page.get(page.size() - 1).messageId();
+            }
+            ready = true;
+            log.info("Message search index loaded {} messages in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Message search index load failed after {} messages", loaded, e);
+        }
+    }
+
+    // The event carries the text, so indexing after commit needs no query
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessage(TicketMessageEvent event) {
+        if (properties.isEnabled()) {
+            index.index(new MessageDocument(event.messageId(), event.ticketId(), event.customerId(), event.message()));
+            invalidationBus.publish(CACHE_NAME, event.messageId().toString());
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /** Indexes one message written on another node. */
+    @Override
+    public void invalidate(String key) {
+        if (properties.isEnabled()) {
+            ticketMessageRepository.findSearchDocument(Long.parseLong(key)).ifPresent(index::index);
+        }
+    }
+
+    // Messages are never edited, so reading them all again only adds the missing ones
+    @Override
+    public void invalidateAll() {
+        if (properties.isEnabled()) {
+            load();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public MessageSearchIndex.SearchResult searchTicket(long ticketId, MessageQuery query, int offset, int limit) {
+        requireReady();
+        return index.searchTicket(ticketId, query, offset, Math.min(limit, properties.getMaxPageSize()));
+    }
+
+    public MessageSearchIndex.SearchResult searchCustomer(long customerId, MessageQuery query, int offset, int limit) {
+        requireReady();
+        return index.searchCustomer(customerId, query, offset, Math.min(limit, properties.getMaxPageSize()));
+    }
+
+    private void requireReady() {
+        if (!ready) {
+            throw new IllegalStateException("Mesaj arama dizini henüz hazır değil");
+        }
+    }
+}
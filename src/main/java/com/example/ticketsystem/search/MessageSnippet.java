@@ -0,0 +1,126 @@
+package com.example.ticketsystem.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An excerpt of a message around its best match. {@code highlights} are {@code [start, end)}
+ * ranges in {@link #text()} that the client renders as marked; the text itself is left
+ * untouched, so there is nothing to escape.
+ */
+public record MessageSnippet(String text, List<Highlight> highlights) {
+
+    static final String ELLIPSIS = "…";
+
+    public record Highlight(int start, int end) {
+    }
+
+    /**
+     * Picks the window of at most {@code maxLength} characters that holds the most matches,
+     * cut at token boundaries. A message with no visible match starts from the beginning.
+     */
+    public static MessageSnippet of(String message, MessageQuery query, int maxLength) {
+        if (message == null) {
+            return new MessageSnippet("", List.of());
+        }
+        List<TurkishTextAnalyzer.Token> tokens = TurkishTextAnalyzer.spans(message);
+        List<TurkishTextAnalyzer.Token> matches = matches(tokens, query);
+
+        int start = 0;
+        int end = Math.min(message.length(), maxLength);
+        if (!matches.isEmpty()) {
+            int bestFirst = 0;
+            int bestCount = 0;
+            for (int first = 0, last = 0; first < matches.size(); first++) {
+                while (last < matches.size() && matches.get(last).end() - matches.get(first).start() <= maxLength) {
+                    last++;
+                }
+                if (last - first > bestCount) {
+                    bestCount = last - first;
+                    bestFirst = first;
+                }
+            }
+            int matchStart = matches.get(bestFirst).start();
+            int matchEnd = matches.get(bestFirst + Math.max(bestCount, 1) - 1).end();
+            // Spread the remaining room around the matches, a little more of it after than before
+            int room = Math.max(0, maxLength - (matchEnd - matchStart));
+            start = Math.max(0, matchStart - room / 3);
+            end = Math.min(message.length(), start + maxLength);
+            start = Math.max(0, Math.min(start, end - maxLength));
+        }
+        start = tokenStart(tokens, start, -1);
+        end = tokenStart(tokens, end, start);
+
+        String prefix = start > 0 ? ELLIPSIS : "";
+        String suffix = end < message.length() ? ELLIPSIS : "";
+        String text = prefix + message.substring(start, end).strip() + suffix;
+        int shift = prefix.length() - start - leadingSpace(message, start, end);
+
+        List<Highlight> highlights = new ArrayList<>();
+        for (TurkishTextAnalyzer.Token match : matches) {
+            if (match.start() >= start && match.end() <= end) {
+                highlights.add(new Highlight(match.start() + shift, match.end() + shift));
+            }
+        }
+        return new MessageSnippet(text, List.copyOf(highlights));
+    }
+
+    private static List<TurkishTextAnalyzer.Token> matches(List<TurkishTextAnalyzer.Token> tokens, MessageQuery query) {
+        boolean[] marked = new boolean[tokens.size()];
+        for (MessageQuery.Clause clause : query.clauses()) {
+            switch (clause) {
+                case MessageQuery.Term t -> mark(tokens, marked, term -> term.equals(t.term()));
+                case MessageQuery.Prefix p -> mark(tokens, marked, term -> term.startsWith(p.prefix()));
+                case MessageQuery.Phrase p -> {
+                    List<String> terms = p.terms();
+                    for (int i = 0; i + terms.size() <= tokens.size(); i++) {
+                        int k = 0;
+                        while (k < terms.size() && tokens.get(i + k).term().equals(terms.get(k))) {
+                            k++;
+                        }
+                        if (k == terms.size()) {
+                            for (int j = i; j < i + k; j++) {
+                                marked[j] = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        List<TurkishTextAnalyzer.Token> matches = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (marked[i]) {
+                matches.add(tokens.get(i));
+            }
+        }
+        return matches;
+    }
+
+    private static void mark(List<TurkishTextAnalyzer.Token> tokens, boolean[] marked,
+                             Predicate<String> matches) {
+        for (int i = 0; i < tokens.size(); i++) {
+            if (matches.test(tokens.get(i).term())) {
+                marked[i] = true;
+            }
+        }
+    }
+
+    // Moves a cut that falls inside a token back to the token's start, unless that passes the floor
+    private static int tokenStart(List<TurkishTextAnalyzer.Token> tokens, int offset, int floor) {
+        for (TurkishTextAnalyzer.Token token : tokens) {
+            if (token.start() < offset && offset < token.end()) {
+                return token.start() > floor ? token.start() : offset;
+            }
+        }
+        return offset;
+    }
+
+    private static int leadingSpace(String message, int start, int end) {
+        int i = start;
+        while (i < end && Character.isWhitespace(message.charAt(i))) {
+            i++;
+        }
+        return i - start;
+    }
+}
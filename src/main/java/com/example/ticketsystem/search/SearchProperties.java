@@ -0,0 +1,27 @@
+package com.example.ticketsystem.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ticket, message and customer search settings ({@code app.search.*}). The indexes are built from the
+ * database in the background at startup; searches answer 503 until the load has finished.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    private boolean enabled = true;
+    /** Tickets read per keyset page while building the index. */
+    private int loadBatchSize = 5_000;
+    private int maxPageSize = 100;
+    /** Longest message excerpt returned with a message search hit. */
+    private int snippetLength = 160;
+    /** Most customers returned by one type-ahead lookup. */
+    private int maxSuggestions = 20;
+    /**
+     * Most customers a customer filter without a value of three or more characters may check one
+     * by one; past this such filters are refused rather than scanning the whole index.
+     */
+    private int maxFilterScan = 100_000;
+}
@@ -0,0 +1,5 @@
+package com.example.ticketsystem.search;
+
+/** The indexed fields of a ticket. */
+public record TicketDocument(Long ticketId, String title, String description, Long customerId, String customerName) {
+}
@@ -0,0 +1,473 @@
+package com.example.ticketsystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over ticket title, description and customer name. A query matches
+ * tickets that contain every query term in any of the three fields, ranked by BM25 summed over
+ * fields with per-field weights.
+ *
+ * <p>Tickets get internal document numbers in indexing order, so posting lists stay sorted by
+ * appending and can be probed with a binary search. Re-indexing a ticket marks its old number
+ * deleted; once deleted entries pile up they are purged and the remaining tickets renumbered in
+ * order. Until then they are left out of matches and of document frequencies alike, so they
+ * never sway the ranking. Customer names are indexed once per customer rather than per ticket,
+ * so a rename touches one entry.
+ *
+ * <p>Searches share a read lock; updates take the write lock.
+ */
+public class TicketSearchIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    static final float TITLE_WEIGHT = 2.0f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+    static final float CUSTOMER_WEIGHT = 1.5f;
+
+    private static final int MAX_FREQUENCY = 0xFFFF;
+    private static final int PURGE_MIN_DELETED = 1024;
+
+    public record Hit(long ticketId, float score) {
+    }
+
+    public record SearchResult(long total, List<Hit> hits) {
+
+        static final SearchResult EMPTY = new SearchResult(0, List.of());
+    }
+
+    private static final class Postings {
+        final IntList docs = new IntList(2);
+        // title frequency << 16 | description frequency
+        final IntList frequencies = new IntList(2);
+    }
+
+    private static final class Customer {
+        String[] terms = {};
+        final IntList docs = new IntList(2);
+        int liveDocs;
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ticketIds = new long[1024];
+    private int[] customerOf = new int[1024];
+    private int[] titleLengths = new int[1024];
+    private int[] descriptionLengths = new int[1024];
+    private int docCount;
+    private int liveDocs;
+    private int deletedSincePurge;
+    private final BitSet deleted = new BitSet();
+    private long totalTitleLength;
+    private long totalDescriptionLength;
+    private long totalNameLength;
+    private final Map<Long, Integer> docByTicket = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Integer> customerNumbers = new HashMap<>();
+    private final List<Customer> customers = new ArrayList<>();
+    private final Map<String, IntList> customerPostings = new HashMap<>();
+    // Customers renamed since beginLoad(), whose name a bulk load page may predate
+    private Set<Long> renamedDuringLoad;
+
+    /**
+     * Adds a ticket. With {@code replace} false an already indexed ticket is left alone, which
+     * lets a bulk load run alongside live updates without overwriting newer data.
+     */
+    public boolean index(TicketDocument document, boolean replace) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByTicket.get(document.ticketId());
+            if (existing != null) {
+                if (!replace) {
+                    return false;
+                }
+                delete(existing);
+            }
+            int doc = docCount++;
+            ensureCapacity(docCount);
+
+            List<String> title = TurkishTextAnalyzer.tokens(document.title());
+            List<String> description = TurkishTextAnalyzer.tokens(document.description());
+            Map<String, int[]> frequencies = new LinkedHashMap<>();
+            title.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[0]++);
+            description.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[1]++);
+            frequencies.forEach((term, counts) -> {
+                Postings list = postings.computeIfAbsent(term, t -> new Postings());
+                list.docs.add(doc);
+                list.frequencies.add(Math.min(counts[0], MAX_FREQUENCY) << 16 | Math.min(counts[1], MAX_FREQUENCY));
+            });
+
+            boolean staleName = !replace && renamedDuringLoad != null
+                    && renamedDuringLoad.contains(document.customerId());
+            int customerNumber = customer(document.customerId(), document.customerName(), !staleName);
+            Customer customer = customers.get(customerNumber);
+            customer.docs.add(doc);
+            customer.liveDocs++;
+
+            ticketIds[doc] = document.ticketId();
+            customerOf[doc] = customerNumber;
+            titleLengths[doc] = title.size();
+            descriptionLengths[doc] = description.size();
+            totalTitleLength += title.size();
+            totalDescriptionLength += description.size();
+            totalNameLength += customer.terms.length;
+            liveDocs++;
+            docByTicket.put(document.ticketId(), doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long ticketId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByTicket.get(ticketId);
+            if (doc != null) {
+                delete(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes a customer's name for all of their tickets. Unknown customers are ignored,
+     * except during a load, where the name is kept for the tickets the load has yet to add.
+     */
+    public void renameCustomer(long customerId, String name) {
+        lock.writeLock().lock();
+        try {
+            if (renamedDuringLoad != null) {
+                renamedDuringLoad.add(customerId);
+                customer(customerId, name, true);
+                return;
+            }
+            Integer number = customerNumbers.get(customerId);
+            if (number != null) {
+                rename(number, TurkishTextAnalyzer.tokens(name).toArray(String[]::new));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts remembering renames until {@link #endLoad}, so tickets added without
+     * {@code replace} keep the newer name instead of the one on their page.
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            renamedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            renamedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> terms = TurkishTextAnalyzer.tokens(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0 || offset < 0) {
+            return SearchResult.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return SearchResult.EMPTY;
+            }
+            int n = terms.size();
+            Postings[] termPostings = new Postings[n];
+            int[][] termCustomers = new int[n][];
+            long[] documentFrequency = new long[n];
+            for (int i = 0; i < n; i++) {
+                termPostings[i] = postings.get(terms.get(i));
+                IntList owners = customerPostings.get(terms.get(i));
+                termCustomers[i] = owners != null ? owners.toSortedArray() : new int[0];
+                long df = termPostings[i] != null ? live(termPostings[i].docs) : 0;
+                for (int customer : termCustomers[i]) {
+                    df += customers.get(customer).liveDocs;
+                }
+                if (df == 0) {
+                    return SearchResult.EMPTY;
+                }
+                documentFrequency[i] = df;
+            }
+
+            // Start from the rarest term and narrow down; every later term is a binary search per candidate
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> documentFrequency[i]));
+            IntList candidates = candidates(termPostings[order[0]], termCustomers[order[0]]);
+            float[] scores = new float[candidates.size()];
+
+            float averageTitle = Math.max(1f, (float) totalTitleLength / liveDocs);
+            float averageDescription = Math.max(1f, (float) totalDescriptionLength / liveDocs);
+            float averageName = Math.max(1f, (float) totalNameLength / liveDocs);
+            for (int i : order) {
+                double df = Math.min(documentFrequency[i], liveDocs);
+                float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                int kept = 0;
+                for (int c = 0; c < candidates.size(); c++) {
+                    int doc = candidates.get(c);
+                    float score = termScore(doc, terms.get(i), termPostings[i], termCustomers[i],
+                            averageTitle, averageDescription, averageName);
+                    if (score >= 0) {
+                        candidates.set(kept, doc);
+                        scores[kept++] = scores[c] + idf * score;
+                    }
+                }
+                candidates.truncate(kept);
+            }
+            return top(candidates, scores, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Postings in {@code docs} that are not deleted, probing whichever of the two is smaller. */
+    private int live(IntList docs) {
+        if (deletedSincePurge == 0) {
+            return docs.size();
+        }
+        int dead = 0;
+        if (deletedSincePurge < docs.size()) {
+            for (int doc = deleted.nextSetBit(0); doc >= 0; doc = deleted.nextSetBit(doc + 1)) {
+                if (docs.binarySearch(doc) >= 0) {
+                    dead++;
+                }
+            }
+        } else {
+            for (int i = 0; i < docs.size(); i++) {
+                if (deleted.get(docs.get(i))) {
+                    dead++;
+                }
+            }
+        }
+        return docs.size() - dead;
+    }
+
+    private IntList candidates(Postings termPostings, int[] termCustomers) {
+        int expected = termPostings != null ? termPostings.docs.size() : 0;
+        IntList all = new IntList(expected + 16);
+        if (termPostings != null) {
+            for (int i = 0; i < termPostings.docs.size(); i++) {
+                int doc = termPostings.docs.get(i);
+                if (!deleted.get(doc)) {
+                    all.add(doc);
+                }
+            }
+        }
+        if (termCustomers.length == 0) {
+            return all;
+        }
+        for (int customer : termCustomers) {
+            IntList docs = customers.get(customer).docs;
+            for (int i = 0; i < docs.size(); i++) {
+                if (!deleted.get(docs.get(i))) {
+                    all.add(docs.get(i));
+                }
+            }
+        }
+        // A ticket can match through both its text and its customer's name
+        int[] sorted = all.toSortedArray();
+        IntList unique = new IntList(sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                unique.add(sorted[i]);
+            }
+        }
+        return unique;
+    }
+
+    /** BM25 contribution of one term to one ticket before idf, or -1 if the ticket lacks the term. */
+    private float termScore(int doc, String term, Postings termPostings, int[] termCustomers,
+                            float averageTitle, float averageDescription, float averageName) {
+        boolean matched = false;
+        float score = 0;
+        if (termPostings != null) {
+            int at = termPostings.docs.binarySearch(doc);
+            if (at >= 0) {
+                matched = true;
+                int frequencies = termPostings.frequencies.get(at);
+                score += field(frequencies >>> 16, titleLengths[doc], averageTitle, TITLE_WEIGHT)
+                        + field(frequencies & MAX_FREQUENCY, descriptionLengths[doc], averageDescription, DESCRIPTION_WEIGHT);
+            }
+        }
+        if (termCustomers.length > 0 && Arrays.binarySearch(termCustomers, customerOf[doc]) >= 0) {
+            matched = true;
+            String[] name = customers.get(customerOf[doc]).terms;
+            int frequency = 0;
+            for (String t : name) {
+                if (t.equals(term)) {
+                    frequency++;
+                }
+            }
+            score += field(frequency, name.length, averageName, CUSTOMER_WEIGHT);
+        }
+        return matched ? score : -1;
+    }
+
+    private static float field(int frequency, int length, float averageLength, float weight) {
+        if (frequency == 0) {
+            return 0;
+        }
+        return weight * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    // Best score first; ties go to the newer ticket
+    private SearchResult top(IntList candidates, float[] scores, int offset, int limit) {
+        int wanted = (int) Math.min((long) offset + limit, candidates.size());
+        if (wanted <= offset) {
+            return new SearchResult(candidates.size(), List.of());
+        }
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(i -> scores[i])
+                .thenComparingLong(i -> ticketIds[candidates.get(i)]);
+        PriorityQueue<Integer> best = new PriorityQueue<>(wanted, worstFirst);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (best.size() < wanted) {
+                best.add(i);
+            } else if (worstFirst.compare(i, best.peek()) > 0) {
+                best.poll();
+                best.add(i);
+            }
+        }
+        Hit[] ranked = new Hit[best.size()];
+        for (int r = ranked.length - 1; r >= 0; r--) {
+            int i = best.poll();
+            ranked[r] = new Hit(ticketIds[candidates.get(i)], scores[i]);
+        }
+        return new SearchResult(candidates.size(), List.of(ranked).subList(offset, ranked.length));
+    }
+
+    private int customer(Long customerId, String name, boolean rename) {
+        String[] terms = TurkishTextAnalyzer.tokens(name).toArray(String[]::new);
+        Integer number = customerNumbers.get(customerId);
+        if (number != null) {
+            if (rename && !Arrays.equals(customers.get(number).terms, terms)) {
+                rename(number, terms);
+            }
+            return number;
+        }
+        number = customers.size();
+        customers.add(new Customer());
+        customerNumbers.put(customerId, number);
+        rename(number, terms);
+        return number;
+    }
+
+    private void rename(int number, String[] terms) {
+        Customer customer = customers.get(number);
+        for (String term : Arrays.stream(customer.terms).distinct().toList()) {
+            IntList owners = customerPostings.get(term);
+            if (owners != null && owners.remove(number) && owners.isEmpty()) {
+                customerPostings.remove(term);
+            }
+        }
+        totalNameLength += (long) (terms.length - customer.terms.length) * customer.liveDocs;
+        customer.terms = terms;
+        for (String term : Arrays.stream(terms).distinct().toList()) {
+            customerPostings.computeIfAbsent(term, t -> new IntList(2)).add(number);
+        }
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        Customer customer = customers.get(customerOf[doc]);
+        customer.liveDocs--;
+        totalTitleLength -= titleLengths[doc];
+        totalDescriptionLength -= descriptionLengths[doc];
+        totalNameLength -= customer.terms.length;
+        liveDocs--;
+        docByTicket.remove(ticketIds[doc], doc);
+        if (++deletedSincePurge >= PURGE_MIN_DELETED && deletedSincePurge > liveDocs / 4) {
+            purge();
+        }
+    }
+
+    // Drops deleted documents and renumbers the rest in order, so postings stay sorted
+    private void purge() {
+        int[] renumbered = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = live;
+            ticketIds[live] = ticketIds[doc];
+            customerOf[live] = customerOf[doc];
+            titleLengths[live] = titleLengths[doc];
+            descriptionLengths[live] = descriptionLengths[doc];
+            live++;
+        }
+        postings.values().removeIf(list -> {
+            int kept = 0;
+            for (int i = 0; i < list.docs.size(); i++) {
+                int doc = renumbered[list.docs.get(i)];
+                if (doc >= 0) {
+                    list.docs.set(kept, doc);
+                    list.frequencies.set(kept++, list.frequencies.get(i));
+                }
+            }
+            list.docs.truncate(kept);
+            list.frequencies.truncate(kept);
+            return kept == 0;
+        });
+        for (Customer customer : customers) {
+            int kept = 0;
+            for (int i = 0; i < customer.docs.size(); i++) {
+                int doc = renumbered[customer.docs.get(i)];
+                if (doc >= 0) {
+                    customer.docs.set(kept++, doc);
+                }
+            }
+            customer.docs.truncate(kept);
+        }
+        docByTicket.replaceAll((ticketId, doc) -> renumbered[doc]);
+        docCount = live;
+        deleted.clear();
+        deletedSincePurge = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ticketIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ticketIds.length + (ticketIds.length >> 1));
+        ticketIds = Arrays.copyOf(ticketIds, grown);
+        customerOf = Arrays.copyOf(customerOf, grown);
+        titleLengths = Arrays.copyOf(titleLengths, grown);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, grown);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.ticketsystem.search;
+
+import com.example.ticketsystem.cache.CacheInvalidationBus;
+import com.example.ticketsystem.cache.InvalidatableCache;
+import com.example.ticketsystem.event.CustomerEvent;
+import com.example.ticketsystem.event.TicketEvent;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link TicketSearchIndex} in step with the database: a keyset-paged bulk load at
+ * startup, then one update per committed ticket or customer change on this node and one
+ * {@value #CACHE_NAME} cache invalidation, {@code ticket:<id>} or {@code customer:<id>}, per
+ * change on the others.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(SearchProperties.class)
+public class TicketSearchIndexer implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "ticket-search";
+
+    private final TicketRepository ticketRepository;
+    private final CustomerRepository customerRepository;
+    private final SearchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationBus invalidationBus;
+    private final TicketSearchIndex index = new TicketSearchIndex();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Gauge.builder("ticketsystem.search.documents", index, TicketSearchIndex::size)
+                .description("Tickets in the search index")
+                .register(meterRegistry);
+        Thread.ofPlatform().name("ticket-search-loader").daemon().start(() -> load(false));
+    }
+
+    /** Reads every ticket; {@code refresh} overwrites tickets already indexed instead of skipping them. */
+    void load(boolean refresh) {
+        long started = System.nanoTime();
+        long afterId = 0;
+        int loaded = 0;
+        index.beginLoad();
+        try {
+            while (true) {
+                List<TicketDocument> page = ticketRepository.findSearchDocumentsAfter(afterId,
+                        PageRequest.ofSize(properties.getLoadBatchSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (TicketDocument document : page) {
+                    // Tickets indexed, and customers renamed, by a live update while loading are newer than this page
+                    index.index(document, refresh);
+                }
+                loaded += page.size();
+                afterId = page.get(page.size() - 1).ticketId();
+            }
+            ready = true;
+            log.info("Search index loaded {} tickets in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Search index load failed after {} tickets", loaded, e);
+        } finally {
+            index.endLoad();
+        }
+    }
+
+    // Runs inside the service transaction, where the new ticket and its customer are already in the
+    // persistence context, so building the document costs no query; the index sees it after commit.
+    @EventListener
+    public void onTicketEvent(TicketEvent event) {
+        if (!properties.isEnabled() || event.type() != TicketEvent.Type.CREATED) {
+            return;
+        }
+        ticketRepository.findById(event.ticketId())
+                .map(ticket -> new TicketDocument(ticket.getId(), ticket.getTitle(), ticket.getDescription(),
+                        ticket.getCustomer().getId(), ticket.getCustomer().getName()))
+                .ifPresent(document -> afterCommit(() -> {
+                    index.index(document, true);
+                    invalidationBus.publish(CACHE_NAME, "ticket:" + document.ticketId());
+                }));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerUpdated(CustomerEvent event) {
+        if (properties.isEnabled() && event.type() == CustomerEvent.Type.UPDATED) {
+            index.renameCustomer(event.customerId(), event.name());
+            invalidationBus.publish(CACHE_NAME, "customer:" + event.customerId());
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /** Re-reads one ticket, or one customer's name, changed on another node. */
+    @Override
+    public void invalidate(String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long id = Long.parseLong(key.substring(key.indexOf(':') + 1));
+        if (key.startsWith("customer:")) {
+            customerRepository.findById(id).ifPresent(customer -> index.renameCustomer(id, customer.getName()));
+        } else {
+            ticketRepository.findSearchDocument(id).ifPresentOrElse(
+                    document -> index.index(document, true),
+                    () -> index.remove(id));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (properties.isEnabled()) {
+            load(true);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public TicketSearchIndex.SearchResult search(String query, int offset, int limit) {
+        if (!ready) {
+            throw new IllegalStateException("Arama dizini henüz hazır değil");
+        }
+        return index.search(query, offset, Math.min(limit, properties.getMaxPageSize()));
+    }
+}
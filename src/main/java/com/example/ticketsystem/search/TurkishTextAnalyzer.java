@@ -0,0 +1,73 @@
+package com.example.ticketsystem.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into search terms and folds them to plain ASCII with Turkish case rules:
+ * {@code I} lowercases to {@code ı} and {@code İ} to {@code i}, and both end up as {@code i},
+ * so "IADE", "İade", "ıade" and "iade" are the same term. The other Turkish letters lose their
+ * marks ({@code ş→s, ğ→g, ü→u, ö→o, ç→c}); users type either form.
+ */
+public final class TurkishTextAnalyzer {
+
+    private TurkishTextAnalyzer() {
+    }
+
+    /** A term and the {@code [start, end)} character range it came from in the original text. */
+    public record Token(String term, int start, int end) {
+    }
+
+    public static List<String> tokens(String text) {
+        return spans(text).stream().map(Token::term).toList();
+    }
+
+    public static List<Token> spans(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char folded = fold(text.charAt(i));
+            if (folded == 0) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(folded)) {
+                if (current.isEmpty()) {
+                    start = i;
+                }
+                current.append(folded);
+            } else if (!current.isEmpty()) {
+                tokens.add(new Token(current.toString(), start, i));
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(new Token(current.toString(), start, text.length()));
+        }
+        return tokens;
+    }
+
+    /** The folded character, a space for separators, or 0 for combining marks that are dropped. */
+    static char fold(char c) {
+        return switch (c) {
+            case 'I', 'İ', 'ı', 'Î', 'î', 'Ì', 'ì', 'Í', 'í' -> 'i';
+            case 'Ş', 'ş' -> 's';
+            case 'Ğ', 'ğ' -> 'g';
+            case 'Ü', 'ü', 'Û', 'û', 'Ù', 'ù', 'Ú', 'ú' -> 'u';
+            case 'Ö', 'ö', 'Ò', 'ò', 'Ó', 'ó', 'Ô', 'ô' -> 'o';
+            case 'Ç', 'ç' -> 'c';
+            case 'Â', 'â', 'À', 'à', 'Á', 'á', 'Ä', 'ä' -> 'a';
+            case 'Ê', 'ê', 'È', 'è', 'É', 'é', 'Ë', 'ë' -> 'e';
+            default -> {
+                if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                    // Decomposed input, e.g. "I" followed by a combining dot above
+                    yield 0;
+                }
+                yield Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ';
+            }
+        };
+    }
+}
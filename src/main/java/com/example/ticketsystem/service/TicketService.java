@@ -4,6 +4,7 @@ import com.example.ticketsystem.dto.AssignTicketRequest;
 import com.example.ticketsystem.dto.CreateTicketRequest;
 import com.example.ticketsystem.dto.SendMessageRequest;
 import com.example.ticketsystem.dto.MessageResponse;
+import com.example.ticketsystem.dto.MessageSearchResponse;
 import com.example.ticketsystem.dto.TicketResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,11 +16,14 @@ public interface TicketService {
 
     TicketResponse create(CreateTicketRequest request);
 
-    TicketResponse assign(Long ticketId, AssignTicketRequest request);
+    /** {@code actingAgentId} is the agent making the change, or {@code null} when the caller is not known. */
+    TicketResponse assign(Long ticketId, AssignTicketRequest request, Long actingAgentId);
 
-    TicketResponse updateStatus(Long ticketId, Long statusId);
+    /** {@code actingAgentId} is the agent making the change, or {@code null} when the caller is not known. */
+    TicketResponse updateStatus(Long ticketId, Long statusId, Long actingAgentId);
 
-    TicketResponse close(Long ticketId);
+    /** {@code actingAgentId} is the agent making the change, or {@code null} when the caller is not known. */
+    TicketResponse close(Long ticketId, Long actingAgentId);
 
     TicketResponse sendMessage(Long ticketId, SendMessageRequest request);
 
@@ -38,4 +42,19 @@ public interface TicketService {
 
     Page<TicketResponse> getUnassignedTickets(Pageable pageable);
 
+
+    /** Full-text search over title, description and customer name, best match first. */
+    Page<TicketResponse> search(String query, Pageable pageable);
+
+
+    /**
+     * Searches the messages of one ticket, newest first. Supports {@code prefix*} terms and
+     * {@code "quoted phrases"}; every term must occur in the same message.
+     */
+    Page<MessageSearchResponse> searchMessages(Long ticketId, String query, Pageable pageable);
+
+
+    /** Like {@link #searchMessages} over all of a customer's tickets. */
+    Page<MessageSearchResponse> searchCustomerMessages(Long customerId, String query, Pageable pageable);
+
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.example.ticketsystem.dto.AgentReplyRequest;
 import com.example.ticketsystem.dto.AssignTicketRequest;
 import com.example.ticketsystem.dto.CreateTicketRequest;
 import com.example.ticketsystem.dto.MessageResponse;
+import com.example.ticketsystem.dto.MessageSearchResponse;
 import com.example.ticketsystem.dto.TicketResponse;
 import com.example.ticketsystem.dto.SendMessageRequest;
 import com.example.ticketsystem.entity.Agent;
@@ -12,25 +13,46 @@ import com.example.ticketsystem.entity.Ticket;
 import com.example.ticketsystem.entity.TicketMessage;
 import com.example.ticketsystem.entity.TicketPriority;
 import com.example.ticketsystem.entity.TicketStatus;
+import com.example.ticketsystem.event.TicketEvent;
+import com.example.ticketsystem.event.TicketMessageEvent;
+import com.example.ticketsystem.event.TicketTransitionEvent;
+import com.example.ticketsystem.event.TicketTransitionEvent.ActorType;
 import com.example.ticketsystem.repository.AgentRepository;
 import com.example.ticketsystem.repository.CustomerRepository;
 import com.example.ticketsystem.repository.TicketMessageRepository;
 import com.example.ticketsystem.repository.TicketPriorityRepository;
 import com.example.ticketsystem.repository.TicketRepository;
 import com.example.ticketsystem.repository.TicketStatusRepository;
+import com.example.ticketsystem.search.MessageQuery;
+import com.example.ticketsystem.search.MessageSearchIndex;
+import com.example.ticketsystem.search.MessageSearchIndexer;
+import com.example.ticketsystem.search.MessageSnippet;
+import com.example.ticketsystem.search.SearchProperties;
+import com.example.ticketsystem.search.TicketSearchIndex;
+import com.example.ticketsystem.search.TicketSearchIndexer;
 import com.example.ticketsystem.service.TicketService;
+import com.example.ticketsystem.service.mapper.TicketResponseMapper;
+import com.example.ticketsystem.timing.RequestTiming;
+import com.example.ticketsystem.workflow.TicketStatusMachine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -44,14 +66,16 @@ public class TicketServiceImpl implements TicketService {
     private final TicketStatusRepository ticketStatusRepository;
     private final TicketPriorityRepository ticketPriorityRepository;
     private final TicketMessageRepository ticketMessageRepository;
-
-    private static final DateTimeFormatter DEFAULT_DT_FORMAT =
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private final TicketResponseMapper responseMapper;
+    private final TicketStatusMachine statusMachine;
+    private final TicketSearchIndexer ticketSearchIndexer;
+    private final MessageSearchIndexer messageSearchIndexer;
+    private final SearchProperties searchProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     private static final String STATUS_OPEN = "OPEN";
     private static final String STATUS_ASSIGNED = "ASSIGNED";
-    private static final String STATUS_CLOSED = "CLOSED";
     private static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
 
 
@@ -94,11 +118,15 @@ public class TicketServiceImpl implements TicketService {
             ticket.setDescription(request.getTrimmedDescription());
             ticket.setPriority(priority);
             ticket.setStatus(openStatus);
+            ticket.setCategory(request.category());
+            ticket.setLanguage(request.language());
             ticket.setCreatedAt(now);
             ticket.setUpdatedAt(now);
 
             ticket = ticketRepository.save(ticket);
             log.debug("Ticket created successfully with ID: {}", ticket.getId());
+            publish(TicketEvent.Type.CREATED, ticket, false);
+            publishTransitions(ticket, FieldState.NONE, ActorType.CUSTOMER, request.customerId());
 
             return toDetailedResponse(ticket);
         } catch (Exception e) {
@@ -108,7 +136,7 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public TicketResponse assign(Long ticketId, AssignTicketRequest request) {
+    public TicketResponse assign(Long ticketId, AssignTicketRequest request, Long actingAgentId) {
         try {
             Ticket ticket = requireTicket(ticketId);
             Agent agent = agentRepository.findById(request.agentId())
@@ -118,13 +146,17 @@ public class TicketServiceImpl implements TicketService {
                     .or(() -> ticketStatusRepository.findById(2L)) // Default assigned status ID=2
                     .orElseThrow(() -> new IllegalStateException("Atanmış (ASSIGNED) durumu bulunamadı"));
 
+            FieldState before = FieldState.of(ticket);
+            boolean wasActive = ticket.getStatus().isActive();
+            statusMachine.transition(ticket, assigned);
             ticket.setAgent(agent);
-            ticket.setStatus(assigned);
             ticket.setUpdatedAt(LocalDateTime.now());
 
             if (request.hasNote()) {
                 createSystemMessage(ticket, "Atama Notu: " + request.getTrimmedNote());
             }
+            publish(TicketEvent.Type.ASSIGNED, ticket, wasActive);
+            publishTransitions(ticket, before, actingAgentId);
 
             return toDetailedResponse(ticket);
         } catch (Exception e) {
@@ -134,20 +166,19 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public TicketResponse updateStatus(Long ticketId, Long statusId) {
+    public TicketResponse updateStatus(Long ticketId, Long statusId, Long actingAgentId) {
         try {
             Ticket ticket = requireTicket(ticketId);
             TicketStatus newStatus = ticketStatusRepository.findById(statusId)
                     .orElseThrow(() -> notFound("TicketStatus", statusId));
 
-            ticket.setStatus(newStatus);
+            FieldState before = FieldState.of(ticket);
+            boolean wasActive = ticket.getStatus().isActive();
+            statusMachine.transition(ticket, newStatus);
             ticket.setUpdatedAt(LocalDateTime.now());
-
-
-            if (STATUS_CLOSED.equalsIgnoreCase(newStatus.getName()) ||
-                    "Kapalı".equalsIgnoreCase(newStatus.getName())) {
-                ticket.setClosedAt(LocalDateTime.now());
-            }
+            publish(statusMachine.isActive(newStatus.getId()) ? TicketEvent.Type.STATUS_CHANGED : TicketEvent.Type.CLOSED,
+                    ticket, wasActive);
+            publishTransitions(ticket, before, actingAgentId);
 
             return toDetailedResponse(ticket);
         } catch (Exception e) {
@@ -157,16 +188,19 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public TicketResponse close(Long ticketId) {
+    public TicketResponse close(Long ticketId, Long actingAgentId) {
         try {
             Ticket ticket = requireTicket(ticketId);
-            TicketStatus closed = findStatusByName(STATUS_CLOSED)
-                    .or(() -> ticketStatusRepository.findById(3L)) // Default closed status ID=3
+            TicketStatus closed = statusMachine.closingStatusId()
+                    .flatMap(ticketStatusRepository::findById)
                     .orElseThrow(() -> new IllegalStateException("Kapalı (CLOSED) durumu bulunamadı"));
 
-            ticket.setStatus(closed);
-            ticket.setClosedAt(LocalDateTime.now());
+            FieldState before = FieldState.of(ticket);
+            boolean wasActive = ticket.getStatus().isActive();
+            statusMachine.transition(ticket, closed);
             ticket.setUpdatedAt(LocalDateTime.now());
+            publish(TicketEvent.Type.CLOSED, ticket, wasActive);
+            publishTransitions(ticket, before, actingAgentId);
 
             return toDetailedResponse(ticket);
         } catch (Exception e) {
@@ -184,6 +218,7 @@ public class TicketServiceImpl implements TicketService {
                 throw new IllegalArgumentException("Geçersiz mesaj isteği");
             }
 
+            FieldState before = FieldState.of(ticket);
             TicketMessage.SenderType senderType = detectSenderType(request.senderId());
 
             TicketMessage message = new TicketMessage();
@@ -193,16 +228,22 @@ public class TicketServiceImpl implements TicketService {
             message.setMessage(request.getTrimmedMessage());
             message.setCreatedAt(LocalDateTime.now());
             ticketMessageRepository.save(message);
+            publish(message);
 
             // Agent cevaplıyorsa status güncelle
             if (senderType == TicketMessage.SenderType.AGENT) {
                 findStatusByName(STATUS_IN_PROGRESS)
                         .or(() -> ticketStatusRepository.findById(4L))
                         .ifPresent(status -> {
-                            ticket.setStatus(status);
-                            ticket.setUpdatedAt(LocalDateTime.now());
+                            boolean wasActive = ticket.getStatus().isActive();
+                            if (statusMachine.tryTransition(ticket, status)) {
+                                ticket.setUpdatedAt(LocalDateTime.now());
+                                publish(TicketEvent.Type.STATUS_CHANGED, ticket, wasActive);
+                            }
                         });
             }
+            publishTransitions(ticket, before, actorType(senderType),
+                    senderType != TicketMessage.SenderType.SYSTEM ? request.senderId() : null);
 
             return toDetailedResponse(ticket);
         } catch (Exception e) {
@@ -227,11 +268,10 @@ public class TicketServiceImpl implements TicketService {
     @Transactional(readOnly = true)
     @Override
     public List<MessageResponse> getMessages(Long ticketId) {
-        requireTicket(ticketId);
-        return ticketMessageRepository.findByTicketIdOrderByCreatedAtAsc(ticketId)
-                .stream()
-                .map(this::toMessageResponse)
-                .toList();
+        if (!ticketRepository.existsById(ticketId)) {
+            throw notFound("Ticket", ticketId);
+        }
+        return toMessageResponses(ticketMessageRepository.findByTicketIdOrderByCreatedAtAsc(ticketId));
     }
 
 
@@ -242,6 +282,7 @@ public class TicketServiceImpl implements TicketService {
             log.debug("Agent {} replying to ticket {}", request.agentId(), ticketId);
 
             Ticket ticket = requireTicket(ticketId);
+            FieldState before = FieldState.of(ticket);
 
 
             Agent agent = agentRepository.findById(request.agentId())
@@ -250,12 +291,14 @@ public class TicketServiceImpl implements TicketService {
 
             if (ticket.getAgent() == null) {
                 log.info("Auto-assigning ticket {} to agent {}", ticketId, request.agentId());
+                boolean wasActive = ticket.getStatus().isActive();
                 ticket.setAgent(agent);
 
                 // Status'u ASSIGNED yap
                 findStatusByName(STATUS_ASSIGNED)
                         .or(() -> ticketStatusRepository.findById(2L))
-                        .ifPresent(ticket::setStatus);
+                        .ifPresent(status -> statusMachine.tryTransition(ticket, status));
+                publish(TicketEvent.Type.ASSIGNED, ticket, wasActive);
             }
 
 
@@ -272,28 +315,32 @@ public class TicketServiceImpl implements TicketService {
             }
 
             ticketMessageRepository.save(message);
+            publish(message);
 
 
             ticket.setUpdatedAt(LocalDateTime.now());
 
 
+            boolean wasActive = ticket.getStatus().isActive();
             if (request.hasStatusUpdate()) {
                 TicketStatus newStatus = ticketStatusRepository.findById(request.newStatusId())
                         .orElseThrow(() -> notFound("TicketStatus", request.newStatusId()));
-                ticket.setStatus(newStatus);
-
-
-                if (STATUS_CLOSED.equalsIgnoreCase(newStatus.getName()) ||
-                        "Kapalı".equalsIgnoreCase(newStatus.getName())) {
-                    ticket.setClosedAt(LocalDateTime.now());
-                }
+                statusMachine.transition(ticket, newStatus);
+                publish(statusMachine.isActive(newStatus.getId()) ? TicketEvent.Type.STATUS_CHANGED : TicketEvent.Type.CLOSED,
+                        ticket, wasActive);
             } else {
-
+                Long statusBefore = ticket.getStatus().getId();
                 findStatusByName(STATUS_IN_PROGRESS)
                         .or(() -> ticketStatusRepository.findById(3L))
-                        .ifPresent(ticket::setStatus);
+                        .ifPresent(status -> statusMachine.tryTransition(ticket, status));
+                // Replies on a ticket already in progress leave its status alone
+                if (!statusBefore.equals(ticket.getStatus().getId())) {
+                    publish(TicketEvent.Type.STATUS_CHANGED, ticket, wasActive);
+                }
             }
 
+            publishTransitions(ticket, before, ActorType.AGENT, request.agentId());
+
             log.debug("Agent reply saved successfully for ticket {}", ticketId);
             return toDetailedResponse(ticket);
 
@@ -323,6 +370,50 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Page<TicketResponse> search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Arama metni boş olamaz");
+        }
+        TicketSearchIndex.SearchResult result = ticketSearchIndexer.search(query,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = result.hits().stream().map(TicketSearchIndex.Hit::ticketId).toList();
+        Map<Long, Ticket> tickets = ids.isEmpty() ? Map.of()
+                : ticketRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        // Keep the index's ranking; a ticket deleted since it was indexed is skipped.
+        List<TicketResponse> content = ids.stream()
+                .map(tickets::get)
+                .filter(Objects::nonNull)
+                .map(this::toBasicResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<MessageSearchResponse> searchMessages(Long ticketId, String query, Pageable pageable) {
+        MessageQuery parsed = MessageQuery.parse(query);
+        if (!ticketRepository.existsById(ticketId)) {
+            throw notFound("Ticket", ticketId);
+        }
+        return toMessageHits(parsed, messageSearchIndexer.searchTicket(ticketId, parsed,
+                (int) pageable.getOffset(), pageable.getPageSize()), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<MessageSearchResponse> searchCustomerMessages(Long customerId, String query, Pageable pageable) {
+        MessageQuery parsed = MessageQuery.parse(query);
+        if (!customerRepository.existsById(customerId)) {
+            throw notFound("Customer", customerId);
+        }
+        return toMessageHits(parsed, messageSearchIndexer.searchCustomer(customerId, parsed,
+                (int) pageable.getOffset(), pageable.getPageSize()), pageable);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Page<TicketResponse> getUnassignedTickets(Pageable pageable) {
@@ -341,11 +432,51 @@ public class TicketServiceImpl implements TicketService {
 
 
 
+    // Customer, agent, status and priority are all read by the response mapping, so fetch them up front.
     private Ticket requireTicket(Long id) {
-        return ticketRepository.findById(id)
+        return ticketRepository.findTicketWithDetails(id)
                 .orElseThrow(() -> notFound("Ticket", id));
     }
 
+    private void publish(TicketEvent.Type type, Ticket ticket, boolean wasActive) {
+        eventPublisher.publishEvent(new TicketEvent(type, ticket.getId(), ticket.getCustomer().getId(),
+                wasActive, ticket.getStatus().isActive()));
+    }
+
+    private void publish(TicketMessage message) {
+        Ticket ticket = message.getTicket();
+        eventPublisher.publishEvent(new TicketMessageEvent(message.getId(), ticket.getId(),
+                ticket.getCustomer().getId(), message.getMessage()));
+    }
+
+    private void publishTransitions(Ticket ticket, FieldState before, Long actingAgentId) {
+        publishTransitions(ticket, before, actingAgentId != null ? ActorType.AGENT : ActorType.ANONYMOUS, actingAgentId);
+    }
+
+    private void publishTransitions(Ticket ticket, FieldState before, ActorType actorType, Long actorId) {
+        FieldState after = FieldState.of(ticket);
+        LocalDateTime now = LocalDateTime.now();
+        if (!Objects.equals(before.status(), after.status())) {
+            eventPublisher.publishEvent(new TicketTransitionEvent(ticket.getId(), TicketTransitionEvent.Field.STATUS,
+                    before.status(), after.status(), actorType, actorId, now));
+        }
+        if (!Objects.equals(before.agentId(), after.agentId())) {
+            eventPublisher.publishEvent(new TicketTransitionEvent(ticket.getId(), TicketTransitionEvent.Field.AGENT,
+                    Objects.toString(before.agentId(), null), Objects.toString(after.agentId(), null), actorType, actorId, now));
+        }
+    }
+
+    // Status and agent before a write, so publishTransitions can report what it changed.
+    private record FieldState(String status, Long agentId) {
+
+        static final FieldState NONE = new FieldState(null, null);
+
+        static FieldState of(Ticket ticket) {
+            return new FieldState(ticket.getStatus() != null ? ticket.getStatus().getName() : null,
+                    ticket.getAgent() != null ? ticket.getAgent().getId() : null);
+        }
+    }
+
     private RuntimeException notFound(String what, Object id) {
         return new NoSuchElementException("%s not found: %s".formatted(what, id));
     }
@@ -360,6 +491,14 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    private static ActorType actorType(TicketMessage.SenderType senderType) {
+        return switch (senderType) {
+            case CUSTOMER -> ActorType.CUSTOMER;
+            case AGENT -> ActorType.AGENT;
+            default -> ActorType.SYSTEM;
+        };
+    }
+
     private TicketMessage.SenderType detectSenderType(Long senderId) {
         try {
             if (senderId == null || senderId == 0L) {
@@ -388,100 +527,77 @@ public class TicketServiceImpl implements TicketService {
             m.setMessage(body);
             m.setCreatedAt(LocalDateTime.now());
             ticketMessageRepository.save(m);
+            publish(m);
         } catch (Exception e) {
             log.error("Error creating system message: ", e);
         }
     }
 
     private TicketResponse toBasicResponse(Ticket t) {
-        return TicketResponse.basic(
-                t.getId(),
-                t.getTitle(),
-                t.getDescription(),
-                t.getStatus() != null ? t.getStatus().getName() : "Unknown",
-                t.getPriority() != null ? t.getPriority().getName() : "Unknown",
-                t.getCustomer() != null ? t.getCustomer().getName() : "Unknown",
-                t.getCreatedAt(),
-                t.getUpdatedAt()
-        );
+        RequestTiming.Segment previous = RequestTiming.enter(RequestTiming.Segment.MAPPING);
+        try {
+            return responseMapper.toBasicResponse(t);
+        } finally {
+            RequestTiming.exit(previous);
+        }
     }
 
     private TicketResponse toDetailedResponse(Ticket t) {
+        RequestTiming.Segment previous = RequestTiming.enter(RequestTiming.Segment.MAPPING);
         try {
-            List<MessageResponse> messages = ticketMessageRepository
-                    .findByTicketIdOrderByCreatedAtAsc(t.getId())
-                    .stream()
-                    .map(this::toMessageResponse)
-                    .toList();
-
-            return TicketResponse.detailed(
-                    t.getId(),
-                    t.getTitle(),
-                    t.getDescription(),
-                    t.getStatus() != null ? t.getStatus().getName() : "Unknown",
-                    t.getPriority() != null ? t.getPriority().getName() : "Unknown",
-                    t.getCustomer() != null ? t.getCustomer().getName() : "Unknown",
-                    t.getCustomer() != null ? t.getCustomer().getEmail() : null,
-                    t.getAgent() != null ? t.getAgent().getName() : null,
-                    t.getAgent() != null ? t.getAgent().getEmail() : null,
-                    t.getCreatedAt(),
-                    t.getUpdatedAt(),
-                    t.getClosedAt(),
-                    messages
-            );
+            List<MessageResponse> messages = toMessageResponses(
+                    ticketMessageRepository.findByTicketIdOrderByCreatedAtAsc(t.getId()));
+            return responseMapper.toDetailedResponse(t, messages);
         } catch (Exception e) {
             log.error("Error creating detailed response for ticket {}: ", t.getId(), e);
             throw e;
+        } finally {
+            RequestTiming.exit(previous);
         }
     }
 
-    private MessageResponse toMessageResponse(TicketMessage m) {
-        try {
-            String senderName = "Unknown";
-            String senderEmail = null;
-
-
-            switch (m.getSenderType()) {
-                case AGENT:
-                    Optional<Agent> agent = agentRepository.findById(m.getSenderId());
-                    if (agent.isPresent()) {
-                        senderName = agent.get().getName();
-                        senderEmail = agent.get().getEmail();
-                    }
-                    break;
-                case CUSTOMER:
-                    Optional<Customer> customer = customerRepository.findById(m.getSenderId());
-                    if (customer.isPresent()) {
-                        senderName = customer.get().getName();
-                        senderEmail = customer.get().getEmail();
-                    }
-                    break;
-                case SYSTEM:
-                    senderName = "System";
-                    senderEmail = null;
-                    break;
-                default:
-                    senderName = "Unknown";
-                    break;
-            }
+    private Page<MessageSearchResponse> toMessageHits(MessageQuery query, MessageSearchIndex.SearchResult result,
+                                                      Pageable pageable) {
+        List<Long> ids = result.hits().stream().map(MessageSearchIndex.Hit::messageId).toList();
+        Map<Long, TicketMessage> messages = ids.isEmpty() ? Map.of()
+                : ticketMessageRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TicketMessage::getId, Function.identity()));
+
+        List<MessageSearchResponse> content = result.hits().stream()
+                .filter(hit -> messages.containsKey(hit.messageId()))
+                .map(hit -> {
+                    TicketMessage message = messages.get(hit.messageId());
+                    MessageSnippet snippet = MessageSnippet.of(message.getMessage(), query,
+                            searchProperties.getSnippetLength());
+                    return new MessageSearchResponse(message.getId(), hit.ticketId(),
+                            message.getSenderType().name(), message.getCreatedAt(), snippet.text(),
+                            snippet.highlights().stream()
+                                    .map(h -> new MessageSearchResponse.Highlight(h.start(), h.end()))
+                                    .toList());
+                })
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
 
-            var metadata = new MessageResponse.MessageMetadata(
-                    m.getMessage() != null ? m.getMessage().length() : 0,
-                    m.getCreatedAt() != null ? m.getCreatedAt().format(DEFAULT_DT_FORMAT) : null
-            );
-
-            return new MessageResponse(
-                    m.getId(),
-                    m.getSenderType() != null ? m.getSenderType().name() : "UNKNOWN",
-                    senderName,
-                    senderEmail,
-                    m.getMessage(),
-                    m.getCreatedAt(),
-                    metadata
-            );
-        } catch (Exception e) {
-            log.error("Error creating message response: ", e);
-            throw e;
+    private List<MessageResponse> toMessageResponses(List<TicketMessage> messages) {
+        Set<Long> agentIds = new HashSet<>();
+        Set<Long> customerIds = new HashSet<>();
+        for (TicketMessage m : messages) {
+            if (m.getSenderType() == TicketMessage.SenderType.AGENT) {
+                agentIds.add(m.getSenderId());
+            } else if (m.getSenderType() == TicketMessage.SenderType.CUSTOMER) {
+                customerIds.add(m.getSenderId());
+            }
         }
+
+        // One lookup per sender type instead of one per message.
+        Map<Long, Agent> agents = agentIds.isEmpty() ? Map.of()
+                : agentRepository.findAllById(agentIds).stream()
+                .collect(Collectors.toMap(Agent::getId, Function.identity()));
+        Map<Long, Customer> customers = customerIds.isEmpty() ? Map.of()
+                : customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        return responseMapper.toMessageResponses(messages, agents, customers);
     }
-}
\ No newline at end of file
+}
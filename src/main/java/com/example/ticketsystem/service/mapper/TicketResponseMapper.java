@@ -0,0 +1,115 @@
+package com.example.ticketsystem.service.mapper;
+
+import com.example.ticketsystem.dto.MessageResponse;
+import com.example.ticketsystem.dto.TicketResponse;
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.entity.TicketMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity to response mapping for tickets and messages. It never touches a repository; callers
+ * pass in everything that has to be loaded, which keeps it benchmarkable in isolation.
+ */
+@Slf4j
+@Component
+public class TicketResponseMapper {
+
+    private static final DateTimeFormatter DEFAULT_DT_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    public TicketResponse toBasicResponse(Ticket t) {
+        return TicketResponse.basic(
+                t.getId(),
+                t.getTitle(),
+                t.getDescription(),
+                t.getStatus() != null ? t.getStatus().getName() : "Unknown",
+                t.getPriority() != null ? t.getPriority().getName() : "Unknown",
+                t.getCustomer() != null ? t.getCustomer().getName() : "Unknown",
+                t.getCreatedAt(),
+                t.getUpdatedAt()
+        );
+    }
+
+    public TicketResponse toDetailedResponse(Ticket t, List<MessageResponse> messages) {
+        return TicketResponse.detailed(
+                t.getId(),
+                t.getTitle(),
+                t.getDescription(),
+                t.getStatus() != null ? t.getStatus().getName() : "Unknown",
+                t.getPriority() != null ? t.getPriority().getName() : "Unknown",
+                t.getCustomer() != null ? t.getCustomer().getName() : "Unknown",
+                t.getCustomer() != null ? t.getCustomer().getEmail() : null,
+                t.getAgent() != null ? t.getAgent().getName() : null,
+                t.getAgent() != null ? t.getAgent().getEmail() : null,
+                t.getCreatedAt(),
+                t.getUpdatedAt(),
+                t.getClosedAt(),
+                messages
+        );
+    }
+
+    public List<MessageResponse> toMessageResponses(List<TicketMessage> messages,
+                                                    Map<Long, Agent> agents,
+                                                    Map<Long, Customer> customers) {
+        return messages.stream()
+                .map(m -> toMessageResponse(m, agents, customers))
+                .toList();
+    }
+
+    public MessageResponse toMessageResponse(TicketMessage m, Map<Long, Agent> agents, Map<Long, Customer> customers) {
+        try {
+            String senderName = "Unknown";
+            String senderEmail = null;
+
+
+            switch (m.getSenderType()) {
+                case AGENT:
+                    Agent agent = agents.get(m.getSenderId());
+                    if (agent != null) {
+                        senderName = agent.getName();
+                        senderEmail = agent.getEmail();
+                    }
+                    break;
+                case CUSTOMER:
+                    Customer customer = customers.get(m.getSenderId());
+                    if (customer != null) {
+                        senderName = customer.getName();
+                        senderEmail = customer.getEmail();
+                    }
+                    break;
+                case SYSTEM:
+                    senderName = "System";
+                    senderEmail = null;
+                    break;
+                default:
+                    senderName = "Unknown";
+                    break;
+            }
+
+            var metadata = new MessageResponse.MessageMetadata(
+                    m.getMessage() != null ? m.getMessage().length() : 0,
+                    m.getCreatedAt() != null ? m.getCreatedAt().format(DEFAULT_DT_FORMAT) : null
+            );
+
+            return new MessageResponse(
+                    m.getId(),
+                    m.getSenderType() != null ? m.getSenderType().name() : "UNKNOWN",
+                    senderName,
+                    senderEmail,
+                    m.getMessage(),
+                    m.getCreatedAt(),
+                    metadata
+            );
+        } catch (Exception e) {
+            log.error("Error creating message response: ", e);
+            throw e;
+        }
+    }
+}
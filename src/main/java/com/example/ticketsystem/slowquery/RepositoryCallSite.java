@@ -0,0 +1,56 @@
+package com.example.ticketsystem.slowquery;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which repository method the current thread is inside, e.g.
+ * {@code TicketRepository.findById}, so slow statements can be attributed to it.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RepositoryCallSite {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    private static final Map<Class<?>, String> REPOSITORY_NAMES = new ConcurrentHashMap<>();
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object track(ProceedingJoinPoint pjp) throws Throwable {
+        String previous = CURRENT.get();
+        // The outermost repository call wins; default methods calling other queries stay attributed to it.
+        if (previous != null) {
+            return pjp.proceed();
+        }
+        CURRENT.set(repositoryName(pjp.getThis()) + "." + pjp.getSignature().getName());
+        try {
+            return pjp.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private static String repositoryName(Object proxy) {
+        return REPOSITORY_NAMES.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> candidate : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (Repository.class.isAssignableFrom(candidate)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ticketsystem.slowquery;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One statement that crossed the slow-query threshold. {@code rows} is the number of rows read
+ * for queries and the update count for DML.
+ */
+public record SlowQuery(
+        Instant at,
+        String sql,
+        List<String> binds,
+        long durationMillis,
+        long rows,
+        int batchSize,
+        String callSite,
+        String thread
+) {
+}
@@ -0,0 +1,249 @@
+package com.example.ticketsystem.slowquery;
+
+import com.example.ticketsystem.timing.RequestTiming;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Times every statement executed through the wrapped data source and hands the ones above
+ * the threshold to {@link SlowQueryLog}. For queries the clock runs until the result set is
+ * closed, so slow fetches count as well as slow executes. Execute and fetch time is also
+ * reported to {@link RequestTiming} as the {@code db} segment of sampled requests.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog log;
+    private final boolean recording;
+    private final long thresholdNanos;
+    private final int maxBindLength;
+
+    public SlowQueryDataSource(DataSource target, SlowQueryLog log) {
+        super(target);
+        this.log = log;
+        this.recording = log.getProperties().isEnabled();
+        this.thresholdNanos = log.getProperties().getThreshold().toNanos();
+        this.maxBindLength = log.getProperties().getMaxBindLength();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(target, method, args);
+                        if (result instanceof Statement statement) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                            yield wrapStatement(statement, sql);
+                        }
+                        yield result;
+                    }
+                });
+    }
+
+    private Statement wrapStatement(Statement target, String preparedSql) {
+        Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        StatementTracker tracker = new StatementTracker(preparedSql);
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> tracker.handle(target, proxy, method, args));
+    }
+
+    private final class StatementTracker {
+
+        private final String preparedSql;
+        private Object[] binds = new Object[8];
+        private int bindCount;
+        private int batchSize;
+        private long pendingStart;
+        private String pendingSql;
+
+        private StatementTracker(String preparedSql) {
+            this.preparedSql = preparedSql;
+        }
+
+        Object handle(Statement target, Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    bindCount = 0;
+                    return invoke(target, method, args);
+                case "addBatch":
+                    batchSize++;
+                    return invoke(target, method, args);
+                case "clearBatch":
+                    batchSize = 0;
+                    return invoke(target, method, args);
+                case "getResultSet":
+                    Object rs = invoke(target, method, args);
+                    if (rs instanceof ResultSet resultSet && pendingSql != null) {
+                        long start = pendingStart;
+                        String sql = pendingSql;
+                        pendingSql = null;
+                        return wrapResultSet(resultSet, sql, start);
+                    }
+                    return rs;
+                default:
+                    break;
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+                return invoke(target, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            RequestTiming.Segment previous = RequestTiming.enter(RequestTiming.Segment.DB);
+            Object result;
+            try {
+                result = invoke(target, method, args);
+            } finally {
+                RequestTiming.exit(previous);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet, sql, start);
+            }
+            if (result instanceof Boolean hasResultSet && hasResultSet) {
+                pendingStart = start;
+                pendingSql = sql;
+                return result;
+            }
+            finish(sql, start, updateCount(result));
+            batchSize = 0;
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            binds[index - 1] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+
+        private ResultSet wrapResultSet(ResultSet target, String sql, long start) {
+            long[] rows = new long[1];
+            boolean[] closed = new boolean[1];
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "next" -> {
+                            // The statement was counted when it executed; row fetches only add time
+                            RequestTiming.Segment previous = RequestTiming.resume(RequestTiming.Segment.DB);
+                            Object more;
+                            try {
+                                more = invoke(target, method, args);
+                            } finally {
+                                RequestTiming.exit(previous);
+                            }
+                            if (Boolean.TRUE.equals(more)) {
+                                rows[0]++;
+                            }
+                            yield more;
+                        }
+                        case "close" -> {
+                            Object result = invoke(target, method, args);
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                finish(sql, start, rows[0]);
+                            }
+                            yield result;
+                        }
+                        default -> invoke(target, method, args);
+                    });
+        }
+
+        private void finish(String sql, long start, long rows) {
+            long elapsed = System.nanoTime() - start;
+            if (!recording || elapsed < thresholdNanos) {
+                return;
+            }
+            log.record(new SlowQuery(Instant.now(), sql, bindValues(), elapsed / 1_000_000, rows, batchSize,
+                    callSite(), Thread.currentThread().getName()));
+        }
+
+        private List<String> bindValues() {
+            List<String> values = new ArrayList<>(bindCount);
+            for (int i = 0; i < bindCount; i++) {
+                String value = binds[i] == null ? "NULL" : String.valueOf(binds[i]);
+                values.add(value.length() > maxBindLength ? value.substring(0, maxBindLength) + "…" : value);
+            }
+            return values;
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Number n) {
+            return n.longValue();
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int c : counts) total += Math.max(c, 0);
+        } else if (result instanceof long[] counts) {
+            for (long c : counts) total += Math.max(c, 0);
+        }
+        return total;
+    }
+
+    // Outside a repository call (flushes, lazy loads) the stack is walked instead; this only
+    // happens for statements that were actually slow.
+    private static String callSite() {
+        String repository = RepositoryCallSite.current();
+        if (repository != null) {
+            return repository;
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.example.ticketsystem.")
+                        && !f.getClassName().startsWith("com.example.ticketsystem.slowquery.")
+                        && !f.getClassName().startsWith("com.example.ticketsystem.datasource."))
+                .map(f -> simpleName(f.getClassName()) + "." + f.getMethodName())
+                .findFirst()
+                .orElse("unknown"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
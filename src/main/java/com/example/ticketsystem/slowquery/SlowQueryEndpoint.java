@@ -0,0 +1,34 @@
+package com.example.ticketsystem.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public SlowQueryReport recent(@Nullable Integer limit) {
+        return new SlowQueryReport(
+                slowQueryLog.getProperties().getThreshold().toMillis(),
+                slowQueryLog.totalRecorded(),
+                slowQueryLog.recent(limit != null ? limit : Integer.MAX_VALUE));
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    public record SlowQueryReport(long thresholdMillis, long totalRecorded, List<SlowQuery> queries) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.ticketsystem.slowquery;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring buffer of the most recent slow statements. Writers never block each other:
+ * a slot is claimed with a counter increment and overwritten in place.
+ */
+@Component
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryLog {
+
+    private static final Logger JSON_LOG = LoggerFactory.getLogger("slowquery");
+
+    private final SlowQueryProperties properties;
+    private final AtomicReferenceArray<SlowQuery> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.properties = properties;
+        this.buffer = new AtomicReferenceArray<>(Math.max(1, properties.getCapacity()));
+    }
+
+    public SlowQueryProperties getProperties() {
+        return properties;
+    }
+
+    public void record(SlowQuery query) {
+        buffer.set((int) (sequence.getAndIncrement() % buffer.length()), query);
+        if (properties.isJsonLog() && JSON_LOG.isWarnEnabled()) {
+            try {
+                JSON_LOG.warn(mapper.writeValueAsString(query));
+            } catch (JsonProcessingException e) {
+                JSON_LOG.warn("{} ms {} [{}]", query.durationMillis(), query.sql(), query.callSite());
+            }
+        }
+    }
+
+    /** Most recent first. */
+    public List<SlowQuery> recent(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - buffer.length());
+        List<SlowQuery> result = new ArrayList<>();
+        for (long i = end - 1; i >= start && result.size() < limit; i--) {
+            SlowQuery query = buffer.get((int) (i % buffer.length()));
+            if (query != null) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+
+    public long totalRecorded() {
+        return sequence.get();
+    }
+
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+}
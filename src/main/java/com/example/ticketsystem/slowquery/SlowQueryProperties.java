@@ -0,0 +1,21 @@
+package com.example.ticketsystem.slowquery;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+    /** Statements taking at least this long (execute plus fetch) are recorded. */
+    private Duration threshold = Duration.ofMillis(500);
+    /** Size of the in-memory ring buffer behind the {@code slowqueries} endpoint. */
+    private int capacity = 200;
+    /** Bind values longer than this are truncated. */
+    private int maxBindLength = 100;
+    /** Also write each record as a single JSON line to the {@code slowquery} logger. */
+    private boolean jsonLog = false;
+}
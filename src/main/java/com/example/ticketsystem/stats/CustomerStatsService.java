@@ -0,0 +1,175 @@
+package com.example.ticketsystem.stats;
+
+import com.example.ticketsystem.cache.CacheInvalidationBus;
+import com.example.ticketsystem.cache.InvalidatableCache;
+import com.example.ticketsystem.dto.VipCustomerResponse;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.CustomerStats;
+import com.example.ticketsystem.event.TicketEvent;
+import com.example.ticketsystem.event.TicketMessageEvent;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.CustomerStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@code customer_stats} and the VIP leaderboard. The table is written by plain
+ * (synchronous) listeners inside the ticket service transaction, so it commits or rolls back
+ * with the ticket or message; the leaderboard follows after commit, from the same events on this
+ * node and from {@value #CACHE_NAME} cache invalidations, keyed by customer id, on the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(StatsProperties.class)
+public class CustomerStatsService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "vip-leaderboard";
+
+    private final CustomerStatsRepository statsRepository;
+    private final CustomerRepository customerRepository;
+    private final StatsProperties properties;
+    private final CacheInvalidationBus invalidationBus;
+    private volatile TopKLeaderboard leaderboard;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadLeaderboard();
+    }
+
+    // Concurrent first tickets of a customer outside the board can both count it; a reload corrects that.
+    @Scheduled(fixedDelayString = "${app.stats.leaderboard-refresh:10m}", initialDelayString = "${app.stats.leaderboard-refresh:10m}")
+    public void reloadLeaderboard() {
+        long started = System.nanoTime();
+        TopKLeaderboard fresh = new TopKLeaderboard(properties.getLeaderboardSize());
+        fresh.reset(statsRepository.findTopByTicketCount(PageRequest.ofSize(properties.getLeaderboardSize())).stream()
+                .map(s -> new TopKLeaderboard.Entry(s.getCustomerId(), s.getTicketCount()))
+                .toList());
+        leaderboard = fresh;
+        log.debug("VIP leaderboard loaded {} customers in {} ms", fresh.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    @Transactional
+    public void onTicketEvent(TicketEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        long open = (event.active() ? 1 : 0) - (event.wasActive() ? 1 : 0);
+        if (event.type() == TicketEvent.Type.CREATED) {
+            statsRepository.addTicket(event.customerId(), open, now);
+        } else if (open != 0) {
+            statsRepository.adjustOpenTickets(event.customerId(), open, now);
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onTicketMessageEvent(TicketMessageEvent event) {
+        statsRepository.addMessage(event.customerId(), LocalDateTime.now());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void updateLeaderboard(TicketEvent event) {
+        if (event.type() != TicketEvent.Type.CREATED) {
+            return;
+        }
+        invalidationBus.publish(CACHE_NAME, event.customerId().toString());
+        TopKLeaderboard board = leaderboard;
+        if (board == null || board.increment(event.customerId(), 1)) {
+            return;
+        }
+        if (!board.isFull()) {
+            // Everyone with tickets is on a board that is not full, so this was their first ticket
+            board.offer(event.customerId(), 1);
+            return;
+        }
+        Long count = statsRepository.findTicketCount(event.customerId());
+        if (count != null) {
+            board.offer(event.customerId(), count);
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /** Re-reads the ticket count of one customer who opened a ticket on another node. */
+    @Override
+    public void invalidate(String key) {
+        TopKLeaderboard board = leaderboard;
+        long customerId = Long.parseLong(key);
+        Long count = board != null ? statsRepository.findTicketCount(customerId) : null;
+        if (count != null) {
+            board.offer(customerId, count);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        reloadLeaderboard();
+    }
+
+    /** The customers with the most tickets, best first, at most {@code app.stats.leaderboard-size}. */
+    @Transactional(readOnly = true)
+    public List<VipCustomerResponse> vipCustomers(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit en az 1 olmalıdır");
+        }
+        TopKLeaderboard board = leaderboard;
+        if (board == null) {
+            throw new IllegalStateException("VIP sıralaması henüz hazır değil");
+        }
+        List<Long> ids = board.top(Math.min(limit, properties.getLeaderboardSize())).stream()
+                .map(TopKLeaderboard.Entry::customerId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CustomerStats> stats = statsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(CustomerStats::getCustomerId, Function.identity()));
+        Map<Long, Customer> customers = customerRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        List<VipCustomerResponse> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Customer customer = customers.get(id);
+            CustomerStats row = stats.get(id);
+            if (customer == null || row == null) {
+                continue;
+            }
+            result.add(new VipCustomerResponse(result.size() + 1, id, customer.getName(), customer.getEmail(),
+                    row.getTicketCount(), row.getOpenTicketCount(), row.getMessageCount(),
+                    row.getFirstTicketAt(), row.getLastTicketAt()));
+        }
+        return result;
+    }
+
+    /** A customer's lifetime totals; all zero for a customer without tickets. */
+    @Transactional(readOnly = true)
+    public CustomerStats lifetime(Long customerId) {
+        return statsRepository.findById(customerId).orElseGet(() -> {
+            if (!customerRepository.existsById(customerId)) {
+                throw new NoSuchElementException("Customer not found: " + customerId);
+            }
+            CustomerStats empty = new CustomerStats();
+            empty.setCustomerId(customerId);
+            return empty;
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ticketsystem.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Customer statistics settings ({@code app.stats.*}). The VIP leaderboard is loaded from
+ * {@code customer_stats} at startup, follows ticket writes after commit and is reloaded
+ * periodically to correct any drift from concurrent writes.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.stats")
+public class StatsProperties {
+
+    /** How many customers the VIP leaderboard holds; also the largest VIP page. */
+    private int leaderboardSize = 100;
+}
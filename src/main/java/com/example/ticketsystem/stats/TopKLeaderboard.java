@@ -0,0 +1,94 @@
+package com.example.ticketsystem.stats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code capacity} customers with the most tickets, ranked by count and then by id. A
+ * min-heap keeps the weakest member on top, so a customer whose count passes it replaces it in
+ * O(log k); members' counts are tracked in a map.
+ *
+ * <p>Ticket counts only grow, so while the board is not full it holds every customer that has
+ * tickets, and once full a non-member can only get in by beating the weakest member. That keeps
+ * it exact from increments alone. All methods are synchronized; the board is small.
+ */
+public class TopKLeaderboard {
+
+    public record Entry(long customerId, long ticketCount) {
+    }
+
+    /** Best first: most tickets, then lowest id. */
+    public static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::ticketCount).reversed()
+            .thenComparingLong(Entry::customerId);
+
+    private final int capacity;
+    private final PriorityQueue<Entry> weakestFirst;
+    private final Map<Long, Entry> members = new HashMap<>();
+
+    public TopKLeaderboard(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.weakestFirst = new PriorityQueue<>(capacity + 1, RANKING.reversed());
+    }
+
+    /** Replaces the board with {@code entries}, keeping the best {@code capacity} of them. */
+    public synchronized void reset(Collection<Entry> entries) {
+        weakestFirst.clear();
+        members.clear();
+        for (Entry entry : entries) {
+            offer(entry.customerId(), entry.ticketCount());
+        }
+    }
+
+    /** Records a customer's current ticket count; they join the board if it beats the weakest member. */
+    public synchronized void offer(long customerId, long ticketCount) {
+        Entry current = members.remove(customerId);
+        if (current != null) {
+            weakestFirst.remove(current);
+        }
+        Entry entry = new Entry(customerId, ticketCount);
+        if (weakestFirst.size() < capacity) {
+            add(entry);
+        } else if (RANKING.compare(entry, weakestFirst.peek()) < 0) {
+            members.remove(weakestFirst.poll().customerId());
+            add(entry);
+        }
+    }
+
+    /** Adds to a member's count; {@code false} if the customer is not on the board. */
+    public synchronized boolean increment(long customerId, long delta) {
+        Entry current = members.get(customerId);
+        if (current == null) {
+            return false;
+        }
+        offer(customerId, current.ticketCount() + delta);
+        return true;
+    }
+
+    public synchronized boolean isFull() {
+        return weakestFirst.size() >= capacity;
+    }
+
+    public synchronized int size() {
+        return weakestFirst.size();
+    }
+
+    /** The best {@code limit} members, best first. */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> ranked = new ArrayList<>(weakestFirst);
+        ranked.sort(RANKING);
+        return List.copyOf(ranked.subList(0, Math.min(limit, ranked.size())));
+    }
+
+    private void add(Entry entry) {
+        weakestFirst.add(entry);
+        members.put(entry.customerId(), entry);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ticketsystem.timing;
+
+/**
+ * Request-scoped, exclusive time attribution. Only sampled requests get a collector; for the
+ * rest every call is a single thread-local read that returns immediately.
+ *
+ * <p>Time always belongs to exactly one segment: entering a segment pauses the one it was
+ * entered from, so lazy loads inside mapping count as {@code db}, not twice.
+ */
+public final class RequestTiming {
+
+    public enum Segment {
+        APP("app"),
+        DB("db"),
+        MAPPING("mapping"),
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Segment(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[Segment.values().length];
+    private final int[] counts = new int[Segment.values().length];
+    private Segment current = Segment.APP;
+    private long since = startNanos;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Switches the current request to {@code segment} and returns the segment to hand back to
+     * {@link #exit}, or {@code null} when the request is not sampled.
+     */
+    public static Segment enter(Segment segment) {
+        Segment previous = resume(segment);
+        if (previous != null) {
+            CURRENT.get().counts[segment.ordinal()]++;
+        }
+        return previous;
+    }
+
+    /**
+     * Like {@link #enter} but attributes time only, without counting another call: for going
+     * back into work that was already counted, such as fetching further rows of a statement.
+     */
+    public static Segment resume(Segment segment) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return null;
+        }
+        Segment previous = timing.current;
+        timing.switchTo(segment);
+        return previous;
+    }
+
+    public static void exit(Segment previous) {
+        if (previous == null) {
+            return;
+        }
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.switchTo(previous);
+        }
+    }
+
+    private void switchTo(Segment next) {
+        long now = System.nanoTime();
+        nanos[current.ordinal()] += now - since;
+        since = now;
+        current = next;
+    }
+
+    /** Closes the open segment and returns elapsed nanos per segment. */
+    long[] finish() {
+        switchTo(Segment.APP);
+        return nanos.clone();
+    }
+
+    int count(Segment segment) {
+        return counts[segment.ordinal()];
+    }
+
+    long totalNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
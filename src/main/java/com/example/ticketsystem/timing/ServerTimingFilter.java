@@ -0,0 +1,106 @@
+package com.example.ticketsystem.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Emits a {@code Server-Timing} header and a key=value log line for sampled requests. The
+ * body of a sampled response is buffered so the header can still carry the serialization time.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@EnableConfigurationProperties(ServerTimingProperties.class)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger TIMING_LOG = LoggerFactory.getLogger("servertiming");
+
+    private final ServerTimingProperties properties;
+
+    public ServerTimingFilter(ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!sampled(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTiming.end();
+            if (!request.isAsyncStarted()) {
+                long[] nanos = timing.finish();
+                wrapper.setHeader("Server-Timing", header(nanos, timing));
+                logLine(request, wrapper.getStatus(), nanos, timing);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean sampled(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        String accept = request.getHeader("Accept");
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+            return false;
+        }
+        if (request.getHeader(properties.getForceHeader()) != null) {
+            return true;
+        }
+        return ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    }
+
+    private static String header(long[] nanos, RequestTiming timing) {
+        StringBuilder sb = new StringBuilder();
+        for (RequestTiming.Segment segment : RequestTiming.Segment.values()) {
+            sb.append(segment.metricName()).append(";dur=").append(millis(nanos[segment.ordinal()]));
+            if (segment == RequestTiming.Segment.DB) {
+                sb.append(";desc=\"").append(timing.count(segment)).append(" stmt\"");
+            }
+            sb.append(", ");
+        }
+        return sb.append("total;dur=").append(millis(timing.totalNanos())).toString();
+    }
+
+    private static void logLine(HttpServletRequest request, int status, long[] nanos, RequestTiming timing) {
+        if (!TIMING_LOG.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder()
+                .append("method=").append(request.getMethod())
+                .append(" path=").append(request.getRequestURI())
+                .append(" status=").append(status)
+                .append(" total_ms=").append(millis(timing.totalNanos()));
+        for (RequestTiming.Segment segment : RequestTiming.Segment.values()) {
+            sb.append(' ').append(segment.metricName()).append("_ms=").append(millis(nanos[segment.ordinal()]));
+        }
+        sb.append(" db_count=").append(timing.count(RequestTiming.Segment.DB));
+        TIMING_LOG.info(sb.toString());
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
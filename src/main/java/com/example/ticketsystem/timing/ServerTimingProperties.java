@@ -0,0 +1,15 @@
+package com.example.ticketsystem.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.server-timing")
+public class ServerTimingProperties {
+
+    private boolean enabled = true;
+    /** Fraction of requests (0.0 - 1.0) that get a timing breakdown. */
+    private double sampleRate = 0.01;
+    /** Requests carrying this header are always sampled. */
+    private String forceHeader = "X-Server-Timing";
+}
@@ -0,0 +1,225 @@
+package com.example.ticketsystem.workflow;
+
+import com.example.ticketsystem.cache.InvalidatableCache;
+import com.example.ticketsystem.entity.StatusCategory;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.entity.TicketStatus;
+import com.example.ticketsystem.repository.TicketStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The ticket workflow, compiled from the {@code ticket_statuses} rows and
+ * {@link WorkflowProperties#getTransitions()} into arrays indexed by status: the category of each
+ * status and an allowed-transition matrix, so checking a move is two array reads.
+ *
+ * <p>Statuses are loaded at startup. A status id the table does not know (one added since) makes
+ * it reload once; {@link #reload()} picks up renamed or recategorised statuses, on every node when
+ * the {@value #CACHE_NAME} cache is invalidated through the cache invalidation bus.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(WorkflowProperties.class)
+public class TicketStatusMachine implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "ticket-statuses";
+
+    private final TicketStatusRepository statusRepository;
+    private final WorkflowProperties properties;
+    private volatile Table table = Table.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        table = Table.compile(statusRepository.findAll(), properties.getTransitions());
+        log.info("Compiled ticket workflow: {} statuses, {} active", table.ids.length, table.activeIds.length);
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    // The table is compiled as a whole, so any status changing means recompiling it
+    @Override
+    public void invalidate(String key) {
+        reload();
+    }
+
+    @Override
+    public void invalidateAll() {
+        reload();
+    }
+
+    public StatusCategory category(long statusId) {
+        Table current = tableFor(statusId);
+        int slot = current.slot(statusId);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Bilinmeyen durum: " + statusId);
+        }
+        return current.categories[slot];
+    }
+
+    public boolean isActive(long statusId) {
+        return category(statusId) == StatusCategory.ACTIVE;
+    }
+
+    /** Ids of the active statuses, ascending. */
+    public List<Long> activeStatusIds() {
+        return Arrays.stream(table.activeIds).boxed().toList();
+    }
+
+    /** The status {@link com.example.ticketsystem.service.TicketService#close} moves a ticket to. */
+    public Optional<Long> closingStatusId() {
+        Table current = table;
+        return current.closing >= 0 ? Optional.of(current.ids[current.closing]) : Optional.empty();
+    }
+
+    public boolean canTransition(TicketStatus from, TicketStatus to) {
+        if (from == null || from.getId().equals(to.getId())) {
+            return true;
+        }
+        Table current = tableFor(from.getId());
+        if (current.slot(to.getId()) < 0) {
+            current = tableFor(to.getId());
+        }
+        int source = current.slot(from.getId());
+        int target = current.slot(to.getId());
+        return source >= 0 && target >= 0 && current.allowed[source][target];
+    }
+
+    public void validate(TicketStatus from, TicketStatus to) {
+        if (!canTransition(from, to)) {
+            throw new IllegalArgumentException("Geçersiz durum geçişi: %s → %s".formatted(from.getName(), to.getName()));
+        }
+    }
+
+    /**
+     * Moves {@code ticket} to {@code to}, or throws {@link IllegalArgumentException} if the workflow
+     * does not allow it. Entering a closed status stamps {@code closedAt} once; reopening clears it.
+     */
+    public void transition(Ticket ticket, TicketStatus to) {
+        validate(ticket.getStatus(), to);
+        apply(ticket, to);
+    }
+
+    /** Like {@link #transition} for automatic moves: a move the workflow forbids is skipped. */
+    public boolean tryTransition(Ticket ticket, TicketStatus to) {
+        if (!canTransition(ticket.getStatus(), to)) {
+            return false;
+        }
+        apply(ticket, to);
+        return true;
+    }
+
+    private void apply(Ticket ticket, TicketStatus to) {
+        ticket.setStatus(to);
+        if (isActive(to.getId())) {
+            ticket.setClosedAt(null);
+        } else if (ticket.getClosedAt() == null) {
+            ticket.setClosedAt(LocalDateTime.now());
+        }
+    }
+
+    private Table tableFor(long statusId) {
+        Table current = table;
+        if (current.slot(statusId) >= 0) {
+            return current;
+        }
+        synchronized (this) {
+            if (table.slot(statusId) < 0) {
+                reload();
+            }
+            return table;
+        }
+    }
+
+    /** One compiled workflow. Statuses are numbered densely in id order; {@code slots} maps id to number. */
+    static final class Table {
+
+        static final Table EMPTY = new Table(new int[0], new long[0], new StatusCategory[0], new boolean[0][0],
+                new long[0], -1);
+
+        private final int[] slots;
+        private final long[] ids;
+        private final StatusCategory[] categories;
+        private final boolean[][] allowed;
+        private final long[] activeIds;
+        private final int closing;
+
+        private Table(int[] slots, long[] ids, StatusCategory[] categories, boolean[][] allowed,
+                      long[] activeIds, int closing) {
+            this.slots = slots;
+            this.ids = ids;
+            this.categories = categories;
+            this.allowed = allowed;
+            this.activeIds = activeIds;
+            this.closing = closing;
+        }
+
+        static Table compile(List<TicketStatus> statuses, Map<String, List<String>> transitions) {
+            List<TicketStatus> sorted = statuses.stream()
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .toList();
+            int count = sorted.size();
+            long maxId = count == 0 ? -1 : sorted.get(count - 1).getId();
+            int[] slots = new int[(int) maxId + 1];
+            Arrays.fill(slots, -1);
+            long[] ids = new long[count];
+            StatusCategory[] categories = new StatusCategory[count];
+            Map<String, Integer> byName = new HashMap<>();
+            int closing = -1;
+            for (int i = 0; i < count; i++) {
+                TicketStatus status = sorted.get(i);
+                ids[i] = status.getId();
+                slots[(int) ids[i]] = i;
+                categories[i] = status.getCategory() != null ? status.getCategory()
+                        : TicketStatus.defaultCategory(status.getName());
+                byName.put(status.getName(), i);
+                if (categories[i] == StatusCategory.CLOSED && (closing < 0
+                        || TicketStatus.CLOSED.equals(status.getName()) || "CLOSED".equals(status.getName()))) {
+                    closing = i;
+                }
+            }
+
+            boolean[][] allowed = new boolean[count][count];
+            for (int from = 0; from < count; from++) {
+                List<String> targets = transitions.get(sorted.get(from).getName());
+                if (targets == null) {
+                    Arrays.fill(allowed[from], true);
+                } else {
+                    allowed[from][from] = true;
+                    for (String name : targets) {
+                        Integer to = byName.get(name);
+                        if (to != null) {
+                            allowed[from][to] = true;
+                        }
+                    }
+                }
+            }
+            long[] activeIds = Arrays.stream(ids)
+                    .filter(id -> categories[slots[(int) id]] == StatusCategory.ACTIVE)
+                    .toArray();
+            return new Table(slots, ids, categories, allowed, activeIds, closing);
+        }
+
+        int slot(long statusId) {
+            return statusId >= 0 && statusId < slots.length ? slots[(int) statusId] : -1;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ticketsystem.workflow;
+
+import com.example.ticketsystem.entity.TicketStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ticket workflow settings ({@code app.workflow.*}): the statuses each status may move to, by
+ * name. A status missing from the map may move anywhere; staying in the same status is always
+ * allowed. Names that match no status are ignored.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.workflow")
+public class WorkflowProperties {
+
+    private Map<String, List<String>> transitions = defaultTransitions();
+
+    private static Map<String, List<String>> defaultTransitions() {
+        Map<String, List<String>> transitions = new LinkedHashMap<>();
+        transitions.put(TicketStatus.OPEN, List.of(TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS,
+                TicketStatus.WAITING, TicketStatus.RESOLVED, TicketStatus.CLOSED));
+        transitions.put(TicketStatus.ASSIGNED, List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS,
+                TicketStatus.WAITING, TicketStatus.RESOLVED, TicketStatus.CLOSED));
+        transitions.put(TicketStatus.IN_PROGRESS, List.of(TicketStatus.ASSIGNED, TicketStatus.WAITING,
+                TicketStatus.RESOLVED, TicketStatus.CLOSED));
+        transitions.put(TicketStatus.WAITING, List.of(TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS,
+                TicketStatus.RESOLVED, TicketStatus.CLOSED));
+        // A resolved ticket is reopened by further work or confirmed closed; a closed one starts over
+        transitions.put(TicketStatus.RESOLVED, List.of(TicketStatus.IN_PROGRESS, TicketStatus.CLOSED));
+        transitions.put(TicketStatus.CLOSED, List.of(TicketStatus.OPEN));
+        return transitions;
+    }
+}
@@ -0,0 +1,58 @@
+package db.migration;
+
+import com.example.ticketsystem.phone.PhoneNumberNormalizer;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Fills {@code customers.phone_e164} for existing rows. The normalisation rules live in
+ * {@link PhoneNumberNormalizer} rather than SQL, so this walks the table by id in batches and
+ * writes back what the entity would have computed on save.
+ */
+public class V009__Backfill_customer_phone_e164 extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 1_000;
+
+    // Each batch commits on its own so a large table does not become one huge transaction; the
+    // backfill only recomputes a derived column, so a rerun after a failure is harmless.
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, phone FROM customers WHERE id > ? AND phone IS NOT NULL ORDER BY id LIMIT " + BATCH_SIZE);
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE customers SET phone_e164 = ? WHERE id = ?")) {
+            long afterId = 0;
+            while (true) {
+                int rows = 0;
+                select.setLong(1, afterId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        rows++;
+                        afterId = rs.getLong(1);
+                        String e164 = PhoneNumberNormalizer.toE164(rs.getString(2)).orElse(null);
+                        if (e164 != null) {
+                            update.setString(1, e164);
+                            update.setLong(2, afterId);
+                            update.addBatch();
+                        }
+                    }
+                }
+                update.executeBatch();
+                if (rows < BATCH_SIZE) {
+                    return;
+                }
+            }
+        }
+    }
+}
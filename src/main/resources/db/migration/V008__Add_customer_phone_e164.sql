@@ -0,0 +1,5 @@
+alter table customers
+    add column phone_e164 varchar(16) null;
+
+create index idx_customer_phone_e164
+    on customers (phone_e164);
@@ -0,0 +1,39 @@
+alter table customers
+    add column email_domain varchar(100) null;
+
+update customers
+set email_domain = lower(substring(email, locate('@', email) + 1))
+where locate('@', email) > 0;
+
+create index idx_customer_email_domain
+    on customers (email_domain);
+
+create table organizations
+(
+    id                bigint auto_increment
+        primary key,
+    domain            varchar(100) not null,
+    customer_count    bigint       not null,
+    ticket_count      bigint       not null,
+    open_ticket_count bigint       not null,
+    created_at        datetime(6)  not null,
+    updated_at        datetime(6)  not null,
+    constraint uk_organization_domain
+        unique (domain)
+);
+
+create index idx_organization_ticket_count
+    on organizations (ticket_count);
+
+-- Open means status 1-4 (Açık, Atanmış, İşlemde, Beklemede), as in the ticket repository queries
+insert into organizations (domain, customer_count, ticket_count, open_ticket_count, created_at, updated_at)
+select c.email_domain,
+       count(distinct c.id),
+       count(t.id),
+       coalesce(sum(case when t.status_id in (1, 2, 3, 4) then 1 else 0 end), 0),
+       min(c.created_at),
+       current_timestamp(6)
+from customers c
+         left join tickets t on t.customer_id = c.id
+where c.email_domain is not null
+group by c.email_domain;
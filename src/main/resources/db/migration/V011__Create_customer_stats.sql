@@ -0,0 +1,35 @@
+create table customer_stats
+(
+    customer_id       bigint      not null
+        primary key,
+    ticket_count      bigint      not null,
+    open_ticket_count bigint      not null,
+    message_count     bigint      not null,
+    first_ticket_at   datetime(6) null,
+    last_ticket_at    datetime(6) null,
+    updated_at        datetime(6) not null,
+    constraint fk_customer_stats_customer
+        foreign key (customer_id) references customers (id)
+);
+
+create index idx_customer_stats_ticket_count
+    on customer_stats (ticket_count);
+
+create index idx_customer_stats_open_ticket_count
+    on customer_stats (open_ticket_count);
+
+-- Open means status 1-4 (Açık, Atanmış, İşlemde, Beklemede), as in the ticket repository queries
+insert into customer_stats (customer_id, ticket_count, open_ticket_count, message_count,
+                            first_ticket_at, last_ticket_at, updated_at)
+select t.customer_id,
+       count(t.id),
+       sum(case when t.status_id in (1, 2, 3, 4) then 1 else 0 end),
+       coalesce(sum(m.message_count), 0),
+       min(t.created_at),
+       max(t.created_at),
+       current_timestamp(6)
+from tickets t
+         left join (select ticket_id, count(*) as message_count
+                    from ticket_messages
+                    group by ticket_id) m on m.ticket_id = t.id
+group by t.customer_id;
@@ -0,0 +1,21 @@
+create table outbox
+(
+    id          bigint auto_increment
+        primary key,
+    event_type  varchar(40) not null,
+    ticket_id   bigint      not null,
+    customer_id bigint      not null,
+    payload     text        not null,
+    created_at  datetime(6) not null
+);
+
+create index idx_outbox_created_at
+    on outbox (created_at);
+
+create table outbox_offsets
+(
+    consumer      varchar(100) not null
+        primary key,
+    last_event_id bigint       not null,
+    updated_at    datetime(6)  not null
+);
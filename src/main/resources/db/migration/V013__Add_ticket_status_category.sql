@@ -0,0 +1,10 @@
+alter table ticket_statuses
+    add column category varchar(10) default 'ACTIVE' not null;
+
+-- Resolved and closed tickets have left the queue; every other status is open work
+update ticket_statuses
+set category = 'CLOSED'
+where name in ('Çözüldü', 'Kapalı', 'RESOLVED', 'CLOSED');
+
+create index idx_status_category
+    on ticket_statuses (category);
@@ -0,0 +1,12 @@
+-- Comma-separated lowercase tags; routing keeps them in in-memory bitsets, so they are not indexed
+alter table agents
+    add column skills varchar(500) null;
+
+alter table agents
+    add column languages varchar(100) null;
+
+alter table tickets
+    add column category varchar(50) null;
+
+alter table tickets
+    add column language varchar(10) null;
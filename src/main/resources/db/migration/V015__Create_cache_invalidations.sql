@@ -0,0 +1,13 @@
+-- Broadcast log for node-local caches; every node tails it by id and rows only live for minutes
+create table cache_invalidations
+(
+    id         bigint auto_increment
+        primary key,
+    cache_name varchar(60)  not null,
+    cache_key  varchar(200) null,
+    origin     varchar(64)  not null,
+    created_at datetime(6)  not null
+);
+
+create index idx_cache_invalidations_created_at
+    on cache_invalidations (created_at);
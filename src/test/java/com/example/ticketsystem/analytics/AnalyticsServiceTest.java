@@ -0,0 +1,36 @@
+package com.example.ticketsystem.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Test
+    void rowsAfterARecentGapWaitForTheNextPass() {
+        LocalDateTime settledBefore = NOW.minusSeconds(10);
+
+        // 3 may still be committing, so 4 waits
+        assertThat(settledPrefix(List.of(customer(1, NOW), customer(2, NOW), customer(4, NOW)), 0, settledBefore))
+                .isEqualTo(2);
+        // A gap before the first row counts too
+        assertThat(settledPrefix(List.of(customer(7, NOW)), 5, settledBefore)).isZero();
+        // Once the row after the gap is old enough, the gap is a rollback or a deleted row
+        assertThat(settledPrefix(List.of(customer(1, NOW), customer(3, NOW.minusMinutes(1)), customer(4, NOW)),
+                0, settledBefore)).isEqualTo(3);
+    }
+
+    private static int settledPrefix(List<CustomerFact> rows, long afterId, LocalDateTime settledBefore) {
+        return AnalyticsService.settledPrefix(rows, afterId, CustomerFact::customerId, CustomerFact::createdAt,
+                settledBefore);
+    }
+
+    private static CustomerFact customer(long id, LocalDateTime createdAt) {
+        return new CustomerFact(id, createdAt);
+    }
+}
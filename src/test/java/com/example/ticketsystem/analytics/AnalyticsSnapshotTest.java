@@ -0,0 +1,138 @@
+package com.example.ticketsystem.analytics;
+
+import com.example.ticketsystem.entity.TicketMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsSnapshotTest {
+
+    private static final long OPEN = 1;
+    private static final long CLOSED = 6;
+    private static final long HIGH = 3;
+    private static final long LOW = 1;
+
+    private final AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+
+    @BeforeEach
+    void setUp() {
+        snapshot.setDictionaries(Map.of(1, "Açık", 6, "Kapalı"), Map.of(1, "Düşük", 3, "Yüksek"));
+        snapshot.appendCustomers(List.of(
+                new CustomerFact(10L, at(2024, 1, 5)),
+                new CustomerFact(11L, at(2024, 1, 20)),
+                new CustomerFact(12L, at(2024, 2, 3))));
+        snapshot.appendTickets(List.of(
+                ticket(100, 10, OPEN, HIGH, at(2024, 1, 6), null),
+                ticket(101, 10, CLOSED, LOW, at(2024, 3, 1), at(2024, 3, 2)),
+                ticket(102, 11, OPEN, LOW, at(2024, 1, 21), null),
+                ticket(103, 12, OPEN, HIGH, at(2024, 3, 10), null)));
+    }
+
+    @Test
+    void countsRegistrationsAndTicketsPerDayAndMonth() {
+        assertThat(snapshot.registrations(LocalDate.of(2024, 1, 1), AnalyticsSnapshot.Granularity.MONTH))
+                .containsExactly(new AnalyticsSnapshot.Bucket("2024-01", 2), new AnalyticsSnapshot.Bucket("2024-02", 1));
+        assertThat(snapshot.ticketsCreated(LocalDate.of(2024, 3, 1), AnalyticsSnapshot.Granularity.DAY))
+                .containsExactly(new AnalyticsSnapshot.Bucket("2024-03-01", 1), new AnalyticsSnapshot.Bucket("2024-03-10", 1));
+    }
+
+    @Test
+    void breaksTicketsDownByNameWithOpenCounts() {
+        assertThat(snapshot.breakdown(AnalyticsSnapshot.Dimension.STATUS, LocalDate.of(2024, 1, 1)))
+                .containsExactly(new AnalyticsSnapshot.Breakdown("Açık", 3, 3), new AnalyticsSnapshot.Breakdown("Kapalı", 1, 0));
+        assertThat(snapshot.breakdown(AnalyticsSnapshot.Dimension.PRIORITY, LocalDate.of(2024, 2, 1)))
+                .containsExactlyInAnyOrder(new AnalyticsSnapshot.Breakdown("Yüksek", 1, 1), new AnalyticsSnapshot.Breakdown("Düşük", 1, 0));
+    }
+
+    @Test
+    void updatesOverwriteStatusAndCloseDate() {
+        snapshot.updateTickets(List.of(ticket(100, 10, CLOSED, HIGH, at(2024, 1, 6), at(2024, 4, 1)),
+                ticket(999, 10, CLOSED, HIGH, at(2024, 1, 6), null)));
+
+        assertThat(snapshot.breakdown(AnalyticsSnapshot.Dimension.STATUS, LocalDate.of(2024, 1, 1)))
+                .containsExactlyInAnyOrder(new AnalyticsSnapshot.Breakdown("Açık", 2, 2), new AnalyticsSnapshot.Breakdown("Kapalı", 2, 0));
+        assertThat(snapshot.size().tickets()).isEqualTo(4);
+    }
+
+    @Test
+    void stopsAppendingAtTicketsOfUnknownCustomers() {
+        int appended = snapshot.appendTickets(List.of(
+                ticket(103, 12, OPEN, HIGH, at(2024, 3, 10), null),
+                ticket(104, 11, OPEN, LOW, at(2024, 3, 11), null),
+                ticket(105, 13, OPEN, LOW, at(2024, 3, 12), null),
+                ticket(106, 11, OPEN, LOW, at(2024, 3, 13), null)));
+
+        assertThat(appended).isEqualTo(2);
+        assertThat(snapshot.lastTicketId()).isEqualTo(104);
+    }
+
+    @Test
+    void findsActiveAndRetainedCustomers() {
+        assertThat(snapshot.activeCustomers(LocalDate.of(2024, 3, 1))).isEqualTo(2);
+        // Customer 10 registered in January and came back in March; 12 registered in February
+        assertThat(snapshot.retainedCustomers(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1))).isEqualTo(1);
+    }
+
+    @Test
+    void buildsMonthlyCohorts() {
+        List<AnalyticsSnapshot.Cohort> cohorts = snapshot.cohorts(YearMonth.of(2024, 1), 12);
+
+        // Data ends in March, so there are three cohorts and the later ones have fewer months
+        assertThat(cohorts).hasSize(3);
+        assertThat(cohorts.get(0).month()).isEqualTo("2024-01");
+        assertThat(cohorts.get(0).customers()).isEqualTo(2);
+        assertThat(cohorts.get(0).active()).containsExactly(2, 0, 1);
+        assertThat(cohorts.get(1).customers()).isEqualTo(1);
+        assertThat(cohorts.get(1).active()).containsExactly(0, 1);
+        assertThat(cohorts.get(2).customers()).isZero();
+    }
+
+    @Test
+    void deletedCustomersDropOutOfRegistrationsAndCohorts() {
+        snapshot.appendCustomers(List.of(new CustomerFact(13L, at(2024, 2, 10)), new CustomerFact(14L, at(2024, 2, 11))));
+
+        // 13 is gone; ids above upToId are not judged by this page
+        assertThat(snapshot.removeCustomersMissing(11, 13, List.of(12L))).isEqualTo(1);
+        assertThat(snapshot.removeCustomersMissing(11, 13, List.of(12L))).isZero();
+
+        assertThat(snapshot.size().customers()).isEqualTo(4);
+        assertThat(snapshot.registrations(LocalDate.of(2024, 1, 1), AnalyticsSnapshot.Granularity.MONTH))
+                .containsExactly(new AnalyticsSnapshot.Bucket("2024-01", 2), new AnalyticsSnapshot.Bucket("2024-02", 2));
+        assertThat(snapshot.cohorts(YearMonth.of(2024, 2), 1).get(0).customers()).isEqualTo(2);
+
+        // Tickets of later customers still find their customer by position
+        assertThat(snapshot.appendTickets(List.of(ticket(104, 14, OPEN, LOW, at(2024, 3, 12), null)))).isEqualTo(1);
+        assertThat(snapshot.activeCustomers(LocalDate.of(2024, 3, 12))).isEqualTo(1);
+    }
+
+    @Test
+    void countsMessagesPerDayBySender() {
+        snapshot.appendMessages(List.of(
+                new MessageFact(1L, at(2024, 3, 1), TicketMessage.SenderType.CUSTOMER),
+                new MessageFact(2L, at(2024, 3, 1), TicketMessage.SenderType.AGENT),
+                new MessageFact(3L, at(2024, 3, 1), TicketMessage.SenderType.CUSTOMER)));
+        snapshot.appendMessages(List.of(new MessageFact(3L, at(2024, 3, 1), TicketMessage.SenderType.CUSTOMER)));
+
+        List<AnalyticsSnapshot.MessageDay> days = snapshot.messagesPerDay(LocalDate.of(2024, 3, 1));
+        assertThat(days).hasSize(1);
+        assertThat(days.get(0).total()).isEqualTo(3);
+        assertThat(days.get(0).bySender()).containsEntry("CUSTOMER", 2L).containsEntry("AGENT", 1L);
+        assertThat(snapshot.lastMessageId()).isEqualTo(3);
+    }
+
+    private static TicketFact ticket(long id, long customerId, long status, long priority,
+                                     LocalDateTime createdAt, LocalDateTime closedAt) {
+        return new TicketFact(id, customerId, status, priority, createdAt, closedAt, createdAt);
+    }
+
+    private static LocalDateTime at(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 12, 0);
+    }
+}
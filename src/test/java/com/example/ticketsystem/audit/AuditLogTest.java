@@ -0,0 +1,112 @@
+package com.example.ticketsystem.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void returnsATicketsTransitionsInOrder() {
+        try (AuditLog log = AuditLog.open(directory, 4096)) {
+            log.append(entry(1, "STATUS", "Açık", "Atanmış", T0.plusMinutes(1)));
+            log.append(entry(2, "STATUS", null, "Açık", T0.plusMinutes(2)));
+            log.append(entry(1, "AGENT", null, "7", T0.plusMinutes(1)));
+            log.append(entry(1, "STATUS", "Atanmış", "Kapalı", T0.plusMinutes(3)));
+
+            assertThat(log.history(1)).extracting(AuditEntry::newValue).containsExactly("Atanmış", "7", "Kapalı");
+            assertThat(log.history(2)).singleElement().satisfies(e -> {
+                assertThat(e.oldValue()).isNull();
+                assertThat(e.actorType()).isEqualTo("AGENT");
+                assertThat(e.actorId()).isEqualTo(42L);
+            });
+            assertThat(log.history(3)).isEmpty();
+        }
+    }
+
+    @Test
+    void rollsSegmentsAndRebuildsTheIndexOnReopen() {
+        try (AuditLog log = AuditLog.open(directory, 256)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(entry(i % 3, "STATUS", "a" + i, "b" + i, T0.plusMinutes(i)));
+            }
+            assertThat(log.stats().segments()).isGreaterThan(2);
+        }
+        try (AuditLog log = AuditLog.open(directory, 256)) {
+            assertThat(log.stats().records()).isEqualTo(20);
+            assertThat(log.history(0)).hasSize(7).extracting(AuditEntry::newValue).startsWith("b0", "b3");
+        }
+    }
+
+    @Test
+    void ignoresARecordTornByACrash() throws IOException {
+        try (AuditLog log = AuditLog.open(directory, 4096)) {
+            log.append(entry(1, "STATUS", "Açık", "Atanmış", T0));
+            log.append(entry(1, "STATUS", "Atanmış", "Kapalı", T0.plusMinutes(1)));
+        }
+        Path segment = segments().get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Corrupt the second record's body so its checksum no longer matches
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), size - 3);
+        }
+        try (AuditLog log = AuditLog.open(directory, 4096)) {
+            assertThat(log.history(1)).extracting(AuditEntry::newValue).containsExactly("Atanmış");
+            log.append(entry(1, "STATUS", "Atanmış", "Kapalı", T0.plusMinutes(2)));
+            assertThat(log.history(1)).hasSize(2);
+        }
+    }
+
+    @Test
+    void compactsOldSegmentsByTicketAndExpiresPastRetention() {
+        try (AuditLog log = AuditLog.open(directory, 256)) {
+            for (int i = 0; i < 12; i++) {
+                log.append(entry(i % 2, "STATUS", "a" + i, "b" + i, T0.plusDays(i)));
+            }
+            int before = log.stats().segments();
+
+            // Compact everything older than day 9, dropping the first two days
+            int merged = log.compact(T0.plusDays(9), T0.plusDays(2));
+            assertThat(merged).isPositive();
+            assertThat(log.stats().segments()).isEqualTo(before - merged + 1);
+            assertThat(log.history(0)).extracting(AuditEntry::newValue).doesNotContain("b0").contains("b2", "b10");
+            assertThat(log.history(1)).extracting(AuditEntry::newValue).doesNotContain("b1").contains("b3", "b11");
+            assertThat(log.stats().records()).isEqualTo(10);
+
+            // Appends after the swap land in the new index
+            log.append(entry(0, "STATUS", "b10", "b12", T0.plusDays(12)));
+            assertThat(log.history(0)).extracting(AuditEntry::newValue).endsWith("b10", "b12");
+
+            // Only the active segment survives, and it is never expired
+            assertThat(log.expire(T0.plusDays(100))).isPositive();
+            assertThat(log.stats().segments()).isEqualTo(1);
+            assertThat(log.history(0)).extracting(AuditEntry::newValue).doesNotContain("b2", "b4");
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static AuditEntry entry(long ticketId, String field, String oldValue, String newValue, LocalDateTime at) {
+        return new AuditEntry(ticketId, field, oldValue, newValue, "AGENT", 42L, at);
+    }
+}
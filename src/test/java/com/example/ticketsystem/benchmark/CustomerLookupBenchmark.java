@@ -0,0 +1,101 @@
+package com.example.ticketsystem.benchmark;
+
+import com.example.ticketsystem.search.CustomerDocument;
+import com.example.ticketsystem.search.CustomerLookupIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer type-ahead and filter lookups over a synthetic customer base, the latency agents see
+ * while looking up a caller. Run with
+ * {@code mvn -Pjmh test -Djmh.args="CustomerLookup -p customerCount=2000000"}; the index for two
+ * million customers needs a few gigabytes of heap, hence the larger fork heap. Suggestions stop
+ * once the list is full, so watch their p0.99 against the 5 ms budget; the maximum mostly shows
+ * GC pauses of the large heap. A filter counts every match for its total, so its cost follows
+ * the number of matching customers rather than the size of the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CustomerLookupBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Ayşe", "Ali", "Mehmet", "Fatma", "Mustafa", "Emine", "Ahmet", "Hatice", "Hüseyin", "Zeynep",
+            "Hasan", "Elif", "İbrahim", "Merve", "Halil", "Özlem", "Can", "Şule", "Murat", "Gül"};
+    private static final String[] LAST_NAMES = {
+            "Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım", "Öztürk", "Aydın", "Özdemir",
+            "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt", "Özkan", "Şimşek"};
+    private static final String[] DOMAINS = {"example.com", "firma.com.tr", "posta.net", "mail.org"};
+
+    @Param({"100000", "2000000"})
+    public int customerCount;
+
+    private final CustomerLookupIndex index = new CustomerLookupIndex();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 1; i <= customerCount; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String email = ascii(first) + "." + ascii(last) + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            String phone = "05" + (30 + random.nextInt(30)) + String.format("%07d", random.nextInt(10_000_000));
+            index.index(new CustomerDocument((long) i, first + " " + last, email, phone, start.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public List<CustomerLookupIndex.Suggestion> suggestNamePrefix() {
+        return index.suggest("ayş", 10);
+    }
+
+    @Benchmark
+    public List<CustomerLookupIndex.Suggestion> suggestTwoWords() {
+        return index.suggest("ali yıld", 10);
+    }
+
+    @Benchmark
+    public List<CustomerLookupIndex.Suggestion> suggestInfix() {
+        return index.suggest("ürk", 10);
+    }
+
+    @Benchmark
+    public List<CustomerLookupIndex.Suggestion> suggestEmail() {
+        return index.suggest("mehmet.kaya12", 10);
+    }
+
+    @Benchmark
+    public List<CustomerLookupIndex.Suggestion> suggestPhone() {
+        return index.suggest("0532 123", 10);
+    }
+
+    @Benchmark
+    public CustomerLookupIndex.FilterResult filterNameAndEmail() {
+        return index.filter("zeynep", "firma", null, null, 0, 20);
+    }
+
+    private static String ascii(String name) {
+        return name.toLowerCase(Locale.ROOT).replace("\u0307", "")
+                .replace('ç', 'c').replace('ğ', 'g').replace('ı', 'i')
+                .replace('ö', 'o').replace('ş', 's').replace('ü', 'u');
+    }
+}
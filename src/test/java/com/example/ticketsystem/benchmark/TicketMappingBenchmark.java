@@ -0,0 +1,117 @@
+package com.example.ticketsystem.benchmark;
+
+import com.example.ticketsystem.dto.MessageResponse;
+import com.example.ticketsystem.dto.TicketResponse;
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.entity.TicketMessage;
+import com.example.ticketsystem.entity.TicketPriority;
+import com.example.ticketsystem.entity.TicketStatus;
+import com.example.ticketsystem.service.mapper.TicketResponseMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and JSON serialization of a detailed ticket, isolated from the database. Run with
+ * {@code mvn -Pjmh test}; the default arguments add the GC profiler so allocation per
+ * operation ({@code gc.alloc.rate.norm}) is reported next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketMappingBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int messageCount;
+
+    private final TicketResponseMapper mapper = new TicketResponseMapper();
+    // Same defaults as the ObjectMapper Spring Boot configures for the web layer.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Ticket ticket;
+    private List<TicketMessage> messages;
+    private Map<Long, Agent> agents;
+    private Map<Long, Customer> customers;
+    private TicketResponse mapped;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+        Customer customer = new Customer("Ayşe Yılmaz", "ayse.yilmaz@example.com", "05551234567");
+        customer.setId(1L);
+        customers = Map.of(customer.getId(), customer);
+
+        agents = new HashMap<>();
+        for (long id = 1; id <= 3; id++) {
+            Agent agent = new Agent("Temsilci " + id, "temsilci" + id + "@example.com", "0532000000" + id);
+            agent.setId(id);
+            agents.put(id, agent);
+        }
+
+        TicketStatus status = new TicketStatus("İşlemde", "İşlem yapılıyor");
+        status.setId(3L);
+        TicketPriority priority = new TicketPriority("Yüksek", 3);
+        priority.setId(3L);
+
+        ticket = new Ticket(customer, agents.get(1L), "Fatura tutarı hatalı",
+                "Son faturada kullanmadığım bir paket için ücret alınmış", status, priority);
+        ticket.setId(1L);
+        ticket.setCreatedAt(start);
+        ticket.setUpdatedAt(start.plusDays(2));
+
+        messages = new ArrayList<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            boolean fromCustomer = i % 2 == 0;
+            TicketMessage message = new TicketMessage(ticket,
+                    fromCustomer ? customer.getId() : 1L + random.nextInt(3),
+                    fromCustomer ? TicketMessage.SenderType.CUSTOMER : TicketMessage.SenderType.AGENT,
+                    "Mesaj " + i + " " + "x".repeat(40 + random.nextInt(200)));
+            message.setId((long) i + 1);
+            message.setCreatedAt(start.plusMinutes(i));
+            messages.add(message);
+        }
+
+        mapped = map();
+    }
+
+    @Benchmark
+    public TicketResponse map() {
+        List<MessageResponse> responses = mapper.toMessageResponses(messages, agents, customers);
+        return mapper.toDetailedResponse(ticket, responses);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(mapped);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(map());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.ticketsystem.cache;
+
+import com.example.ticketsystem.datasource.WorkloadClass;
+import com.example.ticketsystem.datasource.WorkloadContext;
+import com.example.ticketsystem.entity.CacheInvalidation;
+import com.example.ticketsystem.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationBusTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final CacheInvalidationRepository repository = mock(CacheInvalidationRepository.class);
+    private final List<String> invalidated = new ArrayList<>();
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<InvalidatableCache> caches = mock(ObjectProvider.class);
+    private final CacheInvalidationBus bus = bus();
+
+    @Test
+    void coalescesKeysPerCacheAndSkipsOwnRows() {
+        List<CacheInvalidation> rows = List.of(
+                row(1, "agents", "7", "node-b"),
+                row(2, "agents", "7", "node-b"),
+                row(3, "agents", "8", "node-a"),
+                row(4, "agents", "9", "node-c"),
+                row(5, "ticket-statuses", "1", "node-b"),
+                row(6, "ticket-statuses", null, "node-c"),
+                row(7, "ticket-statuses", "2", "node-b"));
+
+        Map<String, Set<String>> keys = CacheInvalidationBus.coalesce(rows, "node-a");
+
+        assertThat(keys.get("agents")).containsExactly("7", "9");
+        assertThat(keys).containsEntry("ticket-statuses", null);
+    }
+
+    @Test
+    void rowsAfterARecentGapWait() {
+        LocalDateTime settledBefore = NOW.minusSeconds(5);
+
+        assertThat(CacheInvalidationBus.settledPrefix(
+                List.of(row(1, NOW), row(2, NOW), row(4, NOW)), 0, settledBefore)).isEqualTo(2);
+        assertThat(CacheInvalidationBus.settledPrefix(
+                List.of(row(1, NOW), row(3, NOW.minusMinutes(1)), row(4, NOW)), 0, settledBefore)).isEqualTo(3);
+    }
+
+    @Test
+    void appliesOtherNodesInvalidationsAndAdvances() {
+        when(repository.findLatestId()).thenReturn(10L);
+        when(repository.findAfter(eq(10L), any())).thenReturn(List.of(
+                row(11, "agents", "7", "node-b"),
+                row(12, "agents", "8", "node-a"),
+                row(13, "unknown", "1", "node-b")));
+        bus.prepare();
+
+        assertThat(bus.pollOnce()).isEqualTo(3);
+        assertThat(invalidated).containsExactly("agents:7@PRIMARY");
+        assertThat(WorkloadContext.current()).isEqualTo(WorkloadClass.OLTP);
+        assertThat(bus.status().appliedId()).isEqualTo(13);
+        assertThat(bus.status().applied()).isEqualTo(2);
+    }
+
+    private CacheInvalidationBus bus() {
+        InvalidatableCache agents = new InvalidatableCache() {
+            @Override
+            public String cacheName() {
+                return "agents";
+            }
+
+            @Override
+            public void invalidate(String key) {
+                invalidated.add("agents:" + key + "@" + WorkloadContext.current());
+            }
+
+            @Override
+            public void invalidateAll() {
+                invalidated.add("agents:*");
+            }
+        };
+        when(caches.orderedStream()).thenAnswer(i -> Stream.of(agents));
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setNodeId("node-a");
+        return new CacheInvalidationBus(repository, caches, properties, new SimpleMeterRegistry(),
+                mock(PlatformTransactionManager.class));
+    }
+
+    private static CacheInvalidation row(long id, LocalDateTime createdAt) {
+        CacheInvalidation row = row(id, "agents", "1", "node-b");
+        row.setCreatedAt(createdAt);
+        return row;
+    }
+
+    private static CacheInvalidation row(long id, String cacheName, String key, String origin) {
+        CacheInvalidation row = new CacheInvalidation();
+        row.setId(id);
+        row.setCacheName(cacheName);
+        row.setCacheKey(key);
+        row.setOrigin(origin);
+        row.setCreatedAt(NOW);
+        return row;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.ticketsystem.cache;
+
+import com.example.ticketsystem.entity.CacheInvalidation;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.phone.CallerIdService;
+import com.example.ticketsystem.repository.CacheInvalidationRepository;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.search.CustomerLookupIndexer;
+import com.example.ticketsystem.support.TicketFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Changes another node announces through the bus reach this node's customer lookup and caller-ID indexes. */
+@SpringBootTest
+class CrossNodeInvalidationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private CacheInvalidationRepository invalidationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerLookupIndexer customerLookupIndexer;
+
+    @Autowired
+    private CallerIdService callerIdService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TicketFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TicketFixtures(context);
+    }
+
+    @Test
+    void anotherNodesCustomerChangeIsReadBackFromTheDatabase() throws Exception {
+        await(() -> customerLookupIndexer.isReady() && callerIdService.isReady());
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        Customer customer = fixtures.customer();
+        // Written without events, as another node's write looks from here
+        customer.setName("Başkadüğüm " + key);
+        customer.setPhone("0532" + String.format("%07d", Math.floorMod(key.hashCode(), 10_000_000)));
+        customerRepository.save(customer);
+
+        announce(CustomerLookupIndexer.CACHE_NAME, customer.getId());
+        announce(CallerIdService.CACHE_NAME, customer.getId());
+
+        await(() -> !customerLookupIndexer.suggest("başkadüğüm " + key, 5).isEmpty());
+        await(() -> callerIdService.identify(customer.getPhone()).isPresent());
+        assertThat(customerLookupIndexer.suggest("başkadüğüm " + key, 5)).singleElement()
+                .satisfies(s -> assertThat(s.id()).isEqualTo(customer.getId()));
+    }
+
+    @Test
+    void publishingFromAnAfterCommitListenerIsNotLost() throws Exception {
+        long published = bus.status().published();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        bus.publish(CustomerLookupIndexer.CACHE_NAME, "0");
+                    }
+                }));
+
+        await(() -> bus.status().published() > published);
+    }
+
+    private void announce(String cacheName, Long customerId) {
+        CacheInvalidation row = new CacheInvalidation();
+        row.setCacheName(cacheName);
+        row.setCacheKey(customerId.toString());
+        row.setOrigin("node-b");
+        row.setCreatedAt(LocalDateTime.now());
+        invalidationRepository.save(row);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 1000 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
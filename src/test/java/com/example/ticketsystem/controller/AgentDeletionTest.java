@@ -0,0 +1,95 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.repository.AgentRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import com.example.ticketsystem.support.TicketFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Deleting a representative with tickets hands them over in the background and audits every hand-off. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AgentDeletionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TicketFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TicketFixtures(context);
+    }
+
+    @Test
+    void deletesAfterMovingOpenTicketsAndDetachingClosedOnes() throws Exception {
+        Agent leaving = fixtures.agent();
+        fixtures.agent();
+        Customer customer = fixtures.customer();
+        Ticket open = fixtures.ticket(customer, leaving);
+        Ticket closed = fixtures.ticket(customer, leaving);
+        mockMvc.perform(post("/api/tickets/{id}/close", closed.getId())).andExpect(status().isOk());
+        LocalDateTime closedAt = ticketRepository.findById(closed.getId()).orElseThrow().getUpdatedAt();
+
+        String body = mockMvc.perform(delete("/api/representatives/{id}", leaving.getId()))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(body).get("id").asText();
+
+        JsonNode progress = null;
+        for (int i = 0; i < 500; i++) {
+            progress = objectMapper.readTree(mockMvc.perform(get("/api/representatives/rebalance/{jobId}", jobId))
+                    .andReturn().getResponse().getContentAsString());
+            if (!"RUNNING".equals(progress.get("state").asText())) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        assertThat(progress.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(progress.get("moved").asLong()).isEqualTo(1);
+        assertThat(progress.get("detached").asLong()).isEqualTo(1);
+        assertThat(agentRepository.existsById(leaving.getId())).isFalse();
+        assertThat(ticketRepository.findById(closed.getId()).orElseThrow().getUpdatedAt()).isAfter(closedAt);
+
+        String from = leaving.getId().toString();
+        mockMvc.perform(get("/api/tickets/{id}/history", open.getId()))
+                .andExpect(jsonPath("$[-1].field").value("AGENT"))
+                .andExpect(jsonPath("$[-1].oldValue").value(from))
+                .andExpect(jsonPath("$[-1].actorType").value("SYSTEM"));
+        mockMvc.perform(get("/api/tickets/{id}/history", closed.getId()))
+                .andExpect(jsonPath("$[-1].field").value("AGENT"))
+                .andExpect(jsonPath("$[-1].oldValue").value(from))
+                .andExpect(jsonPath("$[-1].newValue").doesNotExist());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.outbox.OutboxWriter;
+import com.example.ticketsystem.repository.OutboxEventRepository;
+import com.example.ticketsystem.support.TicketFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Agent replies announce a status change only when the reply actually moved the ticket. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AgentReplyOutboxTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private TicketFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TicketFixtures(context);
+    }
+
+    @Test
+    void aSecondReplyOnATicketInProgressWritesNoStatusChange() throws Exception {
+        Ticket ticket = fixtures.ticket(fixtures.customer(), fixtures.agent());
+
+        reply(ticket).andExpect(jsonPath("$.status").value("İşlemde"));
+        assertThat(statusChanges(ticket)).isEqualTo(1);
+
+        reply(ticket).andExpect(jsonPath("$.status").value("İşlemde"));
+        assertThat(statusChanges(ticket)).isEqualTo(1);
+    }
+
+    private ResultActions reply(Ticket ticket) throws Exception {
+        return mockMvc.perform(post("/api/representatives/{agentId}/tickets/{ticketId}/reply",
+                        ticket.getAgent().getId(), ticket.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"message": "Talebiniz işleme alındı."}
+                                """))
+                .andExpect(status().isOk());
+    }
+
+    private long statusChanges(Ticket ticket) {
+        return outboxEventRepository.findAll().stream()
+                .filter(e -> ticket.getId().equals(e.getTicketId()))
+                .filter(e -> OutboxWriter.TICKET_STATUS_CHANGED.equals(e.getEventType()))
+                .count();
+    }
+}
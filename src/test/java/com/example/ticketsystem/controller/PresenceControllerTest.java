@@ -0,0 +1,69 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.routing.RoutingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Only known, active agents can report themselves online. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PresenceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoutingService routingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void awaitRoutingIndex() throws InterruptedException {
+        for (int i = 0; i < 500 && !routingService.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(routingService.isReady()).isTrue();
+    }
+
+    @Test
+    void activeAgentsGoOnline() throws Exception {
+        long agentId = createAgent(true);
+
+        mockMvc.perform(put("/api/presence/agents/{agentId}", agentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("ONLINE"));
+    }
+
+    @Test
+    void unknownAndDeactivatedAgentsAreRefused() throws Exception {
+        mockMvc.perform(put("/api/presence/agents/{agentId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/presence/agents/{agentId}", createAgent(false)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createAgent(boolean active) throws Exception {
+        String body = mockMvc.perform(post("/api/representatives")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Nöbetçi Temsilci", "email": "presence-%d@example.com", "phone": "05320000000",
+                                 "isActive": %s}
+                                """.formatted(System.nanoTime(), active)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
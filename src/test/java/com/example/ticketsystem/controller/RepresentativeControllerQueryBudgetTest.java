@@ -0,0 +1,138 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.support.QueryBudgetConfig;
+import com.example.ticketsystem.support.TicketFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.ticketsystem.support.QueryBudget.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Statement budgets for every {@link RepresentativeController} endpoint. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryBudgetConfig.class)
+class RepresentativeControllerQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private TicketFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TicketFixtures(context);
+    }
+
+    @Test
+    void crud() throws Exception {
+        Agent agent = fixtures.agent();
+        fixtures.agent();
+        fixtures.agent();
+
+        perform(mockMvc, 1, post("/api/representatives")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"name": "Yeni Temsilci", "email": "new-%d@example.com", "phone": "05320000000"}
+                        """.formatted(System.nanoTime())))
+                .andExpect(status().isCreated());
+        perform(mockMvc, 2, get("/api/representatives").param("size", "10")).andExpect(status().isOk());
+        perform(mockMvc, 1, get("/api/representatives/{id}", agent.getId())).andExpect(status().isOk());
+        perform(mockMvc, 3, put("/api/representatives/{id}", agent.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"name": "Güncel Temsilci", "email": "%s", "phone": "05321111111"}
+                        """.formatted(agent.getEmail())))
+                .andExpect(status().isOk());
+        perform(mockMvc, 4, delete("/api/representatives/{id}", fixtures.agent().getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void reply() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 3);
+        perform(mockMvc, 9, post("/api/representatives/{agentId}/tickets/{ticketId}/reply",
+                ticket.getAgent().getId(), ticket.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"message": "İnceliyoruz", "newStatusId": 4}
+                        """))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void assignedTickets() throws Exception {
+        Agent agent = fixtures.agent();
+        for (int i = 0; i < 10; i++) {
+            fixtures.ticket(fixtures.customer(), agent);
+        }
+        perform(mockMvc, 4, get("/api/representatives/{agentId}/tickets", agent.getId()).param("size", "10"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void assignToSelf() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 0);
+        Agent agent = fixtures.agent();
+        perform(mockMvc, 11, post("/api/representatives/{agentId}/tickets/{ticketId}/assign",
+                agent.getId(), ticket.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unassignedTickets() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            fixtures.ticket(fixtures.customer(), null);
+        }
+        perform(mockMvc, 2, get("/api/representatives/tickets/unassigned").param("size", "10"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateStatusWithNote() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 0);
+        Agent agent = fixtures.agent();
+        perform(mockMvc, 30, patch("/api/representatives/{agentId}/tickets/{ticketId}/status",
+                agent.getId(), ticket.getId())
+                .param("statusId", "4")
+                .param("note", "Müşteriden dönüş bekleniyor"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void closeWithNote() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 3);
+        perform(mockMvc, 20, post("/api/representatives/{agentId}/tickets/{ticketId}/close",
+                ticket.getAgent().getId(), ticket.getId())
+                .param("closeNote", "Sorun giderildi"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void dashboard() throws Exception {
+        Agent agent = fixtures.agent();
+        for (int i = 0; i < 5; i++) {
+            fixtures.ticket(fixtures.customer(), agent);
+            fixtures.ticket(fixtures.customer(), null);
+        }
+        perform(mockMvc, 6, get("/api/representatives/{agentId}/dashboard", agent.getId()))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.search.MessageSearchIndexer;
+import com.example.ticketsystem.search.TicketSearchIndexer;
+import com.example.ticketsystem.support.QueryBudgetConfig;
+import com.example.ticketsystem.support.TicketFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static com.example.ticketsystem.support.QueryBudget.perform;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for every {@link TicketController} endpoint. Conversations and pages are
+ * large enough that a per-row lookup would blow the budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryBudgetConfig.class)
+class TicketControllerQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TicketSearchIndexer ticketSearchIndexer;
+
+    @Autowired
+    private MessageSearchIndexer messageSearchIndexer;
+
+    private TicketFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TicketFixtures(context);
+    }
+
+    @Test
+    void create() throws Exception {
+        Customer customer = fixtures.customer();
+        perform(mockMvc, 9, post("/api/tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"customerId": %d, "title": "Fatura hatası", "description": "Bu ay iki kez ücret alındı", "priorityId": 3}
+                        """.formatted(customer.getId())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void assign() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 3);
+        Agent agent = fixtures.agent();
+        perform(mockMvc, 10, post("/api/tickets/{id}/assign", ticket.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"agentId": %d, "note": "Fatura ekibine aktarıldı"}
+                        """.formatted(agent.getId())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateStatus() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 3);
+        perform(mockMvc, 7, patch("/api/tickets/{id}/status/{statusId}", ticket.getId(), 3))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void close() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 3);
+        perform(mockMvc, 10, post("/api/tickets/{id}/close", ticket.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void sendMessage() throws Exception {
+        Ticket ticket = fixtures.conversation(10, 3);
+        perform(mockMvc, 11, post("/api/tickets/{id}/messages", ticket.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"senderId": %d, "message": "Hâlâ çözülmedi"}
+                        """.formatted(ticket.getCustomer().getId())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getDetailed() throws Exception {
+        Ticket ticket = fixtures.conversation(20, 4);
+        perform(mockMvc, 4, get("/api/tickets/{id}", ticket.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages.length()").value(20));
+    }
+
+    @Test
+    void list() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            fixtures.ticket(fixtures.customer(), i % 2 == 0 ? fixtures.agent() : null);
+        }
+        perform(mockMvc, 2, get("/api/tickets").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10));
+    }
+
+    @Test
+    void messages() throws Exception {
+        Ticket ticket = fixtures.conversation(20, 4);
+        perform(mockMvc, 4, get("/api/tickets/{id}/messages", ticket.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20));
+    }
+
+    @Test
+    void search() throws Exception {
+        String reference = "ref" + UUID.randomUUID().toString().replace("-", "");
+        Customer customer = fixtures.customer();
+        mockMvc.perform(post("/api/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"customerId": %d, "title": "Kargo gecikmesi", "description": "Takip numarası %s", "priorityId": 2}
+                                """.formatted(customer.getId(), reference)))
+                .andExpect(status().isCreated());
+        awaitReady(ticketSearchIndexer::isReady);
+
+        perform(mockMvc, 1, get("/api/tickets/search").param("q", "kargo " + reference))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].customerName").value(customer.getName()));
+    }
+
+    @Test
+    void searchMessages() throws Exception {
+        Customer customer = fixtures.customer();
+        Ticket ticket = fixtures.ticket(customer, null);
+        for (String message : List.of("Kargo takip numarası çalışmıyor", "Kargo hâlâ gelmedi", "Teşekkürler")) {
+            mockMvc.perform(post("/api/tickets/{id}/messages", ticket.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"senderId": %d, "message": "%s"}
+                                    """.formatted(customer.getId(), message)))
+                    .andExpect(status().isOk());
+        }
+        awaitReady(messageSearchIndexer::isReady);
+
+        perform(mockMvc, 2, get("/api/tickets/{id}/messages/search", ticket.getId()).param("q", "kargo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].snippet").value("Kargo hâlâ gelmedi"))
+                .andExpect(jsonPath("$.content[0].highlights[0].end").value(5));
+    }
+
+    @Test
+    void debugEndpoints() throws Exception {
+        perform(mockMvc, 0, get("/api/tickets/test")).andExpect(status().isOk());
+        perform(mockMvc, 0, post("/api/tickets/debug/raw")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"a\": 1}"))
+                .andExpect(status().isOk());
+        // Looks up customer 1 only when there are customers; the H2 database is shared with other test classes
+        fixtures.customer();
+        perform(mockMvc, 10, get("/api/tickets/debug/database")).andExpect(status().isOk());
+        perform(mockMvc, 10, post("/api/tickets/debug/seed-data")).andExpect(status().isOk());
+        perform(mockMvc, 4, post("/api/tickets/debug/simple-create")).andExpect(status().isOk());
+    }
+
+    private static void awaitReady(BooleanSupplier ready) throws InterruptedException {
+        for (int i = 0; i < 500 && !ready.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(ready.getAsBoolean()).isTrue();
+    }
+}
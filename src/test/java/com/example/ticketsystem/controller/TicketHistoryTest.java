@@ -0,0 +1,63 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.support.TicketFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Every transition in a ticket's history says who made it, or that the caller was not named. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketHistoryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private TicketFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TicketFixtures(context);
+    }
+
+    @Test
+    void closingThroughTheRepresentativeEndpointRecordsTheAgent() throws Exception {
+        Agent agent = fixtures.agent();
+        Ticket ticket = fixtures.ticket(fixtures.customer(), agent);
+
+        mockMvc.perform(post("/api/representatives/{agentId}/tickets/{ticketId}/close", agent.getId(), ticket.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tickets/{id}/history", ticket.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[-1].actorType").value("AGENT"))
+                .andExpect(jsonPath("$[-1].actorId").value(agent.getId().intValue()));
+    }
+
+    @Test
+    void closingThroughTheTicketEndpointIsRecordedAsAnonymous() throws Exception {
+        Ticket ticket = fixtures.ticket(fixtures.customer(), fixtures.agent());
+
+        mockMvc.perform(post("/api/tickets/{id}/close", ticket.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tickets/{id}/history", ticket.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[-1].actorType").value("ANONYMOUS"))
+                .andExpect(jsonPath("$[-1].actorId").value(nullValue()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ticketsystem.controller;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.support.TicketFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Moves the workflow does not allow answer 400 on every endpoint that changes a ticket's status. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketTransitionValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private TicketFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new TicketFixtures(context);
+    }
+
+    @Test
+    void assigningAClosedTicketIsABadRequest() throws Exception {
+        Ticket ticket = closedTicket();
+        Agent agent = fixtures.agent();
+
+        mockMvc.perform(post("/api/tickets/{id}/assign", ticket.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"agentId": %d}
+                                """.formatted(agent.getId())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/representatives/{agentId}/tickets/{ticketId}/assign", agent.getId(), ticket.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void replyingWithADisallowedStatusIsABadRequest() throws Exception {
+        Ticket ticket = closedTicket();
+
+        // Kapalı may only be reopened, not moved to Çözüldü
+        mockMvc.perform(post("/api/representatives/{agentId}/tickets/{ticketId}/reply",
+                        ticket.getAgent().getId(), ticket.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"message": "Tekrar bakıyoruz", "newStatusId": 5}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Ticket closedTicket() throws Exception {
+        Ticket ticket = fixtures.ticket(fixtures.customer(), fixtures.agent());
+        mockMvc.perform(post("/api/tickets/{id}/close", ticket.getId())).andExpect(status().isOk());
+        return ticket;
+    }
+}
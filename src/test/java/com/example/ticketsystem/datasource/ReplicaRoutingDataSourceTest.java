@@ -0,0 +1,104 @@
+package com.example.ticketsystem.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DriverManagerDataSource primaryDb;
+    private DriverManagerDataSource replicaDb;
+    private ClientWriteTracker writeTracker;
+
+    @BeforeEach
+    void setUp() {
+        primaryDb = h2("routing_primary", "primary");
+        replicaDb = h2("routing_replica", "replica");
+        writeTracker = new ClientWriteTracker(Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ClientWriteTracker.clear();
+        new JdbcTemplate(primaryDb).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replicaDb).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        DataSource routed = routed(null);
+
+        assertThat(whereAmI(routed, true)).isEqualTo("replica");
+        assertThat(whereAmI(routed, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() {
+        DataSource routed = routed(null);
+        ClientWriteTracker.bind("client-a");
+
+        whereAmI(routed, false);
+        assertThat(whereAmI(routed, true)).isEqualTo("primary");
+
+        ClientWriteTracker.bind("client-b");
+        assertThat(whereAmI(routed, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void primaryWorkloadNeverReadsAReplica() {
+        DataSource routed = routed(null);
+
+        WorkloadClass previous = WorkloadContext.enter(WorkloadClass.PRIMARY);
+        try {
+            assertThat(whereAmI(routed, true)).isEqualTo("primary");
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+        assertThat(whereAmI(routed, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDb, null,
+                List.of(new ReplicaRoutingDataSource.ReplicaNode("replica-0", replicaDb)),
+                writeTracker, Duration.ofSeconds(5), "SELECT 60 AS Seconds_Behind_Source");
+        DataSource routed = new LazyConnectionDataSourceProxy(routing);
+
+        routing.refreshReplicaHealth();
+
+        assertThat(routing.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(whereAmI(routed, true)).isEqualTo("primary");
+    }
+
+    private DataSource routed(String lagQuery) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDb, null,
+                List.of(new ReplicaRoutingDataSource.ReplicaNode("replica-0", replicaDb)),
+                writeTracker, Duration.ofSeconds(5), lagQuery));
+    }
+
+    private String whereAmI(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT role FROM node_role", String.class));
+    }
+
+    private static DriverManagerDataSource h2(String name, String role) {
+        DriverManagerDataSource ds = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE node_role (role VARCHAR(20))");
+        jdbc.update("INSERT INTO node_role VALUES (?)", role);
+        return ds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ticketsystem.datasource;
+
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class WorkloadRoutingTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Test
+    void reportingQueriesUseTheReportingPool() throws Exception {
+        HikariDataSource reportingPool = routingDataSource.getPools()
+                .get(ReplicaRoutingDataSource.REPORTING)
+                .unwrap(HikariDataSource.class);
+
+        customerRepository.getCustomerLifetimeStats();
+
+        assertThat(reportingPool.getHikariPoolMXBean()).isNotNull();
+        assertThat(reportingPool.getHikariPoolMXBean().getTotalConnections()).isPositive();
+        assertThat(WorkloadContext.current()).isEqualTo(WorkloadClass.OLTP);
+    }
+}
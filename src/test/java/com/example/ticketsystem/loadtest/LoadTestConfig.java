@@ -0,0 +1,64 @@
+package com.example.ticketsystem.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options, {@code --name=value}. Anything that is not an option is collected as
+ * a positional argument (used by {@code compare}).
+ */
+record LoadTestConfig(
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        int customers,
+        int agents,
+        Path output,
+        List<String> positional
+) {
+
+    static LoadTestConfig parse(String[] args) {
+        int concurrency = 16;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(5);
+        int customers = 200;
+        int agents = 20;
+        Path output = Path.of("target", "loadtest", "result-" + System.currentTimeMillis() + ".json");
+        List<String> positional = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                positional.add(arg);
+                continue;
+            }
+            String[] kv = arg.substring(2).split("=", 2);
+            String value = kv.length > 1 ? kv[1] : "";
+            switch (kv[0]) {
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "duration" -> duration = parseDuration(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "customers" -> customers = Integer.parseInt(value);
+                case "agents" -> agents = Integer.parseInt(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return new LoadTestConfig(concurrency, duration, warmup, customers, agents, output, List.copyOf(positional));
+    }
+
+    /** Accepts {@code 30s}, {@code 2m} or an ISO-8601 duration. */
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
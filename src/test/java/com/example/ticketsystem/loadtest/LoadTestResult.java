@@ -0,0 +1,35 @@
+package com.example.ticketsystem.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.Map;
+
+/** What one run writes to disk and what {@code compare} reads back. */
+record LoadTestResult(
+        Instant startedAt,
+        int concurrency,
+        double durationSeconds,
+        long flows,
+        long failedFlows,
+        double flowsPerSecond,
+        double requestsPerSecond,
+        Map<String, StepStats> steps
+) {
+
+    /** Latencies in milliseconds. */
+    record StepStats(long count, long errors, double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static StepStats of(Histogram micros, long errors) {
+            return new StepStats(
+                    micros.getTotalCount(),
+                    errors,
+                    micros.getMean() / 1000.0,
+                    micros.getValueAtPercentile(50) / 1000.0,
+                    micros.getValueAtPercentile(90) / 1000.0,
+                    micros.getValueAtPercentile(99) / 1000.0,
+                    micros.getValueAtPercentile(99.9) / 1000.0,
+                    micros.getMaxValue() / 1000.0);
+        }
+    }
+}
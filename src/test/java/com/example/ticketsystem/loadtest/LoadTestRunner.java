@@ -0,0 +1,202 @@
+package com.example.ticketsystem.loadtest;
+
+import com.example.ticketsystem.TicketSystemApplication;
+import com.example.ticketsystem.support.TicketFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application on an in-memory H2 database and drives the create, assign, message,
+ * reply and close flow from {@code concurrency} closed-loop virtual users.
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dloadtest.args="--concurrency=32 --duration=60s --output=target/loadtest/after.json"
+ * mvn -Ploadtest test -Dloadtest.args="compare target/loadtest/before.json target/loadtest/after.json"
+ * </pre>
+ *
+ * Each virtual user waits for a response before sending the next request, so latencies are
+ * service times under the offered concurrency, not under a fixed arrival rate.
+ */
+public class LoadTestRunner {
+
+    static final List<String> STEPS = List.of("createTicket", "assign", "customerMessage", "agentReply", "close", "flow");
+
+    private static final long IN_PROGRESS_STATUS_ID = 3L;
+
+    private final LoadTestConfig config;
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private volatile boolean measuring;
+
+    LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        for (String step : STEPS) {
+            recorders.put(step, new Recorder(3));
+            errors.put(step, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ObjectMapper mapper = objectMapper();
+        if (!config.positional().isEmpty() && "compare".equals(config.positional().get(0))) {
+            RunComparison.print(mapper, Path.of(config.positional().get(1)), Path.of(config.positional().get(2)));
+            return;
+        }
+
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(TicketSystemApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.ticketsystem=WARN",
+                        "app.server-timing.sample-rate=0")
+                .run();
+        try {
+            new TicketFixtures(app);
+            String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            LoadTestResult result = new LoadTestRunner(config).run(new TicketFlowClient(
+                    HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), mapper, baseUrl));
+
+            Files.createDirectories(config.output().toAbsolutePath().getParent());
+            mapper.writeValue(config.output().toFile(), result);
+            RunComparison.printSingle(result);
+            System.out.println("Result written to " + config.output());
+        } finally {
+            app.close();
+        }
+    }
+
+    LoadTestResult run(TicketFlowClient client) throws Exception {
+        List<Long> customers = new ArrayList<>();
+        List<Long> agents = new ArrayList<>();
+        String runKey = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < config.customers(); i++) {
+            customers.add(client.createCustomer(runKey + "_" + i));
+        }
+        for (int i = 0; i < config.agents(); i++) {
+            agents.add(client.createAgent(runKey + "_" + i));
+        }
+
+        System.out.printf("Warming up for %s, then measuring for %s with %d virtual users%n",
+                config.warmup(), config.duration(), config.concurrency());
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+
+        ExecutorService users = Executors.newFixedThreadPool(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            users.submit(() -> {
+                while (System.nanoTime() < end) {
+                    flow(client, customers, agents);
+                }
+                return null;
+            });
+        }
+
+        Thread.sleep(Math.max(0, TimeUnit.NANOSECONDS.toMillis(warmupEnd - System.nanoTime())));
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(e -> e.set(0));
+        requests.set(0);
+        measuring = true;
+        Instant startedAt = Instant.now();
+        long measureStart = System.nanoTime();
+
+        users.shutdown();
+        users.awaitTermination(config.duration().toSeconds() + 60, TimeUnit.SECONDS);
+        measuring = false;
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        Map<String, LoadTestResult.StepStats> steps = new LinkedHashMap<>();
+        for (String step : STEPS) {
+            Histogram histogram = recorders.get(step).getIntervalHistogram();
+            steps.put(step, LoadTestResult.StepStats.of(histogram, errors.get(step).get()));
+        }
+        LoadTestResult.StepStats flow = steps.get("flow");
+        return new LoadTestResult(startedAt, config.concurrency(), seconds,
+                flow.count(), flow.errors(), flow.count() / seconds, requests.get() / seconds, steps);
+    }
+
+    private void flow(TicketFlowClient client, List<Long> customers, List<Long> agents) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long customerId = customers.get(random.nextInt(customers.size()));
+        long agentId = agents.get(random.nextInt(agents.size()));
+        long flowStart = System.nanoTime();
+        try {
+            long ticketId = step("createTicket", () -> client.createTicket(customerId, 1 + random.nextInt(5)));
+            step("assign", () -> {
+                client.assign(ticketId, agentId);
+                return null;
+            });
+            step("customerMessage", () -> {
+                client.customerMessage(ticketId, customerId);
+                return null;
+            });
+            step("agentReply", () -> {
+                client.agentReply(ticketId, agentId, IN_PROGRESS_STATUS_ID);
+                return null;
+            });
+            step("close", () -> {
+                client.close(ticketId, agentId);
+                return null;
+            });
+            record("flow", flowStart);
+        } catch (Exception e) {
+            if (measuring) {
+                errors.get("flow").incrementAndGet();
+            }
+        }
+    }
+
+    private <T> T step(String name, Step<T> call) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T result = call.run();
+            record(name, start);
+            return result;
+        } catch (Exception e) {
+            if (measuring) {
+                errors.get(name).incrementAndGet();
+            }
+            throw e;
+        } finally {
+            requests.incrementAndGet();
+        }
+    }
+
+    private void record(String name, long startNanos) {
+        recorders.get(name).recordValue(Math.max(1, (System.nanoTime() - startNanos) / 1000));
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @FunctionalInterface
+    private interface Step<T> {
+        T run() throws Exception;
+    }
+}
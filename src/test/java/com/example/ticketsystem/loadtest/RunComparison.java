@@ -0,0 +1,53 @@
+package com.example.ticketsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/** Prints one run, or two runs side by side with the relative change. */
+final class RunComparison {
+
+    private RunComparison() {
+    }
+
+    static void printSingle(LoadTestResult result) {
+        System.out.printf(Locale.ROOT, "%nconcurrency=%d duration=%.1fs flows=%d failed=%d flows/s=%.1f req/s=%.1f%n",
+                result.concurrency(), result.durationSeconds(), result.flows(), result.failedFlows(),
+                result.flowsPerSecond(), result.requestsPerSecond());
+        System.out.printf(Locale.ROOT, "%-16s %8s %6s %9s %9s %9s %9s %9s%n",
+                "step", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        result.steps().forEach((name, s) -> System.out.printf(Locale.ROOT,
+                "%-16s %8d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, s.count(), s.errors(), s.p50(), s.p90(), s.p99(), s.p999(), s.max()));
+    }
+
+    static void print(ObjectMapper mapper, Path baselinePath, Path candidatePath) throws IOException {
+        LoadTestResult baseline = mapper.readValue(baselinePath.toFile(), LoadTestResult.class);
+        LoadTestResult candidate = mapper.readValue(candidatePath.toFile(), LoadTestResult.class);
+
+        System.out.printf("baseline:  %s%ncandidate: %s%n%n", baselinePath, candidatePath);
+        System.out.printf(Locale.ROOT, "%-16s %12s %12s %9s%n", "metric", "baseline", "candidate", "change");
+        row("flows/s", baseline.flowsPerSecond(), candidate.flowsPerSecond());
+        row("requests/s", baseline.requestsPerSecond(), candidate.requestsPerSecond());
+        for (String step : LoadTestRunner.STEPS) {
+            LoadTestResult.StepStats b = baseline.steps().get(step);
+            LoadTestResult.StepStats c = candidate.steps().get(step);
+            if (b == null || c == null) {
+                continue;
+            }
+            row(step + " p50", b.p50(), c.p50());
+            row(step + " p99", b.p99(), c.p99());
+        }
+        if (baseline.concurrency() != candidate.concurrency()) {
+            System.out.printf("%nWarning: runs used different concurrency (%d vs %d)%n",
+                    baseline.concurrency(), candidate.concurrency());
+        }
+    }
+
+    private static void row(String metric, double baseline, double candidate) {
+        double change = baseline == 0 ? 0 : (candidate - baseline) / baseline * 100;
+        System.out.printf(Locale.ROOT, "%-16s %12.2f %12.2f %+8.1f%%%n", metric, baseline, candidate, change);
+    }
+}
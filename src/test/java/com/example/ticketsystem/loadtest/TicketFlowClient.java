@@ -0,0 +1,89 @@
+package com.example.ticketsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * The HTTP calls of the Postman "Complete Workflow" folder, one method per request. Every
+ * call returns the parsed body and fails on a non-2xx status.
+ */
+class TicketFlowClient {
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+
+    TicketFlowClient(HttpClient http, ObjectMapper mapper, String baseUrl) {
+        this.http = http;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+    }
+
+    long createCustomer(String key) throws IOException, InterruptedException {
+        return post("/api/customers", """
+                {"name": "Yük Müşterisi %s", "email": "load_customer_%s@test.com", "phone": "05551234567"}
+                """.formatted(key, key)).get("id").asLong();
+    }
+
+    long createAgent(String key) throws IOException, InterruptedException {
+        return post("/api/representatives", """
+                {"name": "Yük Temsilcisi %s", "email": "load_agent_%s@company.com", "phone": "05321234567"}
+                """.formatted(key, key)).get("id").asLong();
+    }
+
+    long createTicket(long customerId, int priorityId) throws IOException, InterruptedException {
+        return post("/api/tickets", """
+                {"customerId": %d, "title": "İnternet bağlantı sorunu", "description": "Bağlantı birkaç dakikada bir kopuyor, modem yeniden başlatıldı.", "priorityId": %d}
+                """.formatted(customerId, priorityId)).get("id").asLong();
+    }
+
+    void assign(long ticketId, long agentId) throws IOException, InterruptedException {
+        post("/api/tickets/" + ticketId + "/assign", """
+                {"agentId": %d, "note": "Ağ uzmanına atandı"}
+                """.formatted(agentId));
+    }
+
+    void customerMessage(long ticketId, long customerId) throws IOException, InterruptedException {
+        post("/api/tickets/" + ticketId + "/messages", """
+                {"senderId": %d, "message": "Sorun hâlâ devam ediyor, lütfen yardım edin."}
+                """.formatted(customerId));
+    }
+
+    void agentReply(long ticketId, long agentId, long inProgressStatusId) throws IOException, InterruptedException {
+        post("/api/representatives/" + agentId + "/tickets/" + ticketId + "/reply", """
+                {"agentId": %d, "message": "Sorunu tespit ettik, çözüm üzerinde çalışıyoruz.", "newStatusId": %d, "isInternal": false}
+                """.formatted(agentId, inProgressStatusId));
+    }
+
+    void close(long ticketId, long agentId) throws IOException, InterruptedException {
+        post("/api/representatives/" + agentId + "/tickets/" + ticketId + "/close?closeNote="
+                + URLEncoder.encode("Sorun giderildi", StandardCharsets.UTF_8), null);
+    }
+
+    private JsonNode post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (json != null) {
+            request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8));
+        } else {
+            request.POST(HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("POST " + path + " -> " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ticketsystem.metrics;
+
+import com.example.ticketsystem.service.TicketService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TicketServiceMetricsTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void recordsLatencyAndQueriesPerOperation() {
+        ticketService.list(PageRequest.of(0, 10));
+
+        Timer timer = registry.get(TicketServiceMetricsAspect.TIMER)
+                .tag("operation", "list")
+                .tag("outcome", "success")
+                .timer();
+        DistributionSummary queries = registry.get(TicketServiceMetricsAspect.QUERIES)
+                .tag("operation", "list")
+                .summary();
+
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(queries.totalAmount()).isPositive();
+    }
+}
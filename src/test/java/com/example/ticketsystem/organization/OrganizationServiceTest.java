@@ -0,0 +1,82 @@
+package com.example.ticketsystem.organization;
+
+import com.example.ticketsystem.entity.Organization;
+import com.example.ticketsystem.event.CustomerEvent;
+import com.example.ticketsystem.event.TicketEvent;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.OrganizationRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import com.example.ticketsystem.service.mapper.TicketResponseMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrganizationServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final OrganizationRepository organizationRepository = mock(OrganizationRepository.class);
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final OrganizationService service = new OrganizationService(organizationRepository,
+            mock(CustomerRepository.class), ticketRepository, mock(TicketResponseMapper.class));
+
+    @Test
+    void domainIsTheLowerCasedPartAfterTheAt() {
+        assertThat(Organization.domainOf("Ayse.Yilmaz@Firma.COM.tr")).isEqualTo("firma.com.tr");
+        assertThat(Organization.domainOf("no-at-sign")).isNull();
+        assertThat(Organization.domainOf("trailing@")).isNull();
+        assertThat(Organization.domainOf(null)).isNull();
+    }
+
+    @Test
+    void customersAreCountedInTheirDomain() {
+        service.onCustomerEvent(customer(CustomerEvent.Type.CREATED, "a@firma.com", null));
+        verify(organizationRepository).adjust(eq("firma.com"), eq(1L), eq(0L), eq(0L), any());
+
+        service.onCustomerEvent(customer(CustomerEvent.Type.DELETED, "a@firma.com", null));
+        verify(organizationRepository).adjust(eq("firma.com"), eq(-1L), eq(0L), eq(0L), any());
+    }
+
+    @Test
+    void changingDomainMovesTheCustomerAndTheirTickets() {
+        when(ticketRepository.countByCustomerId(7L)).thenReturn(5L);
+        when(ticketRepository.countOpenByCustomerId(7L)).thenReturn(2L);
+
+        service.onCustomerEvent(customer(CustomerEvent.Type.UPDATED, "a@yeni.com", "a@eski.com"));
+
+        verify(organizationRepository).adjust(eq("eski.com"), eq(-1L), eq(-5L), eq(-2L), any());
+        verify(organizationRepository).adjust(eq("yeni.com"), eq(1L), eq(5L), eq(2L), any());
+    }
+
+    @Test
+    void updatesWithinTheSameDomainTouchNothing() {
+        service.onCustomerEvent(customer(CustomerEvent.Type.UPDATED, "b@FIRMA.com", "a@firma.com"));
+        verify(organizationRepository, never()).adjust(anyString(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void ticketEventsAdjustOnlyWhatChanged() {
+        service.onTicketEvent(new TicketEvent(TicketEvent.Type.CREATED, 1L, 7L, false, true));
+        verify(organizationRepository).adjustTicketCounts(eq(7L), eq(1L), eq(1L), any());
+
+        service.onTicketEvent(new TicketEvent(TicketEvent.Type.CLOSED, 1L, 7L, true, false));
+        verify(organizationRepository).adjustTicketCounts(eq(7L), eq(0L), eq(-1L), any());
+
+        service.onTicketEvent(new TicketEvent(TicketEvent.Type.ASSIGNED, 1L, 8L, true, true));
+        verify(organizationRepository, never()).adjustTicketCounts(eq(8L), anyLong(), anyLong(), any());
+    }
+
+    private static CustomerEvent customer(CustomerEvent.Type type, String email, String previousEmail) {
+        return new CustomerEvent(type, 7L, "Ayşe Yılmaz", email, null, T0, previousEmail);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ticketsystem.outbox;
+
+import com.example.ticketsystem.entity.OutboxEvent;
+import com.example.ticketsystem.repository.OutboxEventRepository;
+import com.example.ticketsystem.repository.OutboxOffsetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final OutboxEventRepository eventRepository = mock(OutboxEventRepository.class);
+    private final OutboxOffsetRepository offsetRepository = mock(OutboxOffsetRepository.class);
+    private final List<OutboxMessage> received = new ArrayList<>();
+    private OutboxListener listener = received::add;
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<OutboxListener> listeners = mock(ObjectProvider.class);
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<OutboxSink> sinks = mock(ObjectProvider.class);
+    private final OutboxRelay relay = new OutboxRelay(eventRepository, offsetRepository, listeners, sinks,
+            new ObjectMapper(), new OutboxProperties());
+
+    @Test
+    void rowsAfterARecentGapWaitButOldGapsAreSkipped() {
+        LocalDateTime settledBefore = NOW.minusSeconds(10);
+
+        assertThat(OutboxRelay.settledPrefix(List.of(row(1, NOW), row(2, NOW), row(4, NOW)), 0, settledBefore))
+                .isEqualTo(2);
+        assertThat(OutboxRelay.settledPrefix(List.of(row(1, NOW), row(3, NOW.minusMinutes(1)), row(4, NOW)), 0, settledBefore))
+                .isEqualTo(3);
+        // Retention deleted everything up to 40, so a new consumer starts at an old row
+        assertThat(OutboxRelay.settledPrefix(List.of(row(41, NOW.minusDays(1))), 0, settledBefore))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void deliversInOrderAndCommitsTheLastOffset() {
+        when(listeners.orderedStream()).thenAnswer(i -> Stream.of(listener));
+        when(eventRepository.findAfter(eq(0L), any())).thenReturn(List.of(row(1, NOW), row(2, NOW)));
+
+        assertThat(relay.relayOnce()).isEqualTo(2);
+
+        assertThat(received).extracting(OutboxMessage::offset).containsExactly(1L, 2L);
+        assertThat(received.get(0).payload().get("ticketId").asLong()).isEqualTo(10);
+        verify(offsetRepository).commit(eq("default"), eq(2L), any());
+    }
+
+    @Test
+    void aFailingListenerLeavesTheOffsetForRedelivery() {
+        listener = message -> {
+            throw new IllegalStateException("downstream unavailable");
+        };
+        when(listeners.orderedStream()).thenAnswer(i -> Stream.of(listener));
+        when(eventRepository.findAfter(eq(0L), any())).thenReturn(List.of(row(1, NOW)));
+
+        assertThatThrownBy(relay::relayOnce).isInstanceOf(IllegalStateException.class);
+        verify(offsetRepository, never()).commit(any(), anyLong(), any());
+    }
+
+    private static OutboxEvent row(long id, LocalDateTime createdAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType(OutboxWriter.TICKET_CREATED);
+        event.setTicketId(10L);
+        event.setCustomerId(20L);
+        event.setPayload("{\"ticketId\":10,\"customerId\":20}");
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ticketsystem.phone;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhoneIndexTest {
+
+    private final PhoneIndex index = new PhoneIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.put(1L, "05321234567", "+905321234567");
+        index.put(2L, "+905329876543", "+905329876543");
+        index.put(3L, "+4915112345678", "+4915112345678");
+        index.put(4L, "5329876543", "+905329876543");
+    }
+
+    @Test
+    void normalizesTheWaysPeopleTypeTurkishNumbers() {
+        assertThat(PhoneNumberNormalizer.toE164("0532 123 45 67")).contains("+905321234567");
+        assertThat(PhoneNumberNormalizer.toE164("(532) 123-45-67")).contains("+905321234567");
+        assertThat(PhoneNumberNormalizer.toE164("0090 532 123 45 67")).contains("+905321234567");
+        assertThat(PhoneNumberNormalizer.toE164("+49 151 12345678")).contains("+4915112345678");
+        assertThat(PhoneNumberNormalizer.toE164("12345")).isEmpty();
+        assertThat(PhoneNumberNormalizer.toE164(null)).isEmpty();
+    }
+
+    @Test
+    void exactLookupMatchesAnyFormatOfTheSameNumber() {
+        PhoneIndex.Match match = index.lookup("0532 123 45 67", 5);
+        assertThat(match.type()).isEqualTo(PhoneIndex.MatchType.EXACT);
+        assertThat(match.customerIds()).containsExactly(1L);
+
+        assertThat(index.lookup("+90 532 987 65 43", 5).customerIds()).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void suffixLookupMatchesOnTheSubscriberDigits() {
+        PhoneIndex.Match match = index.lookup("151 12345678", 5);
+        assertThat(match.type()).isEqualTo(PhoneIndex.MatchType.SUFFIX);
+        assertThat(match.customerIds()).containsExactly(3L);
+
+        assertThat(index.lookup("9876543", 5).customerIds()).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(index.lookup("9876543", 1)).isNull();
+        assertThat(index.lookup("5550000000", 5)).isNull();
+    }
+
+    @Test
+    void updatesReplaceAndDeletesRemove() {
+        index.put(1L, "05550001122", "+905550001122");
+        assertThat(index.lookup("05321234567", 5)).isNull();
+        assertThat(index.lookup("05550001122", 5).customerIds()).containsExactly(1L);
+
+        assertThat(index.putIfAbsent(1L, "05321234567", "+905321234567")).isFalse();
+
+        index.remove(2L);
+        assertThat(index.lookup("05329876543", 5).customerIds()).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void bulkLoadSkipsCustomersChangedWhileItRuns() {
+        index.beginLoad();
+        index.remove(5L);
+        index.put(6L, null, null);
+
+        assertThat(index.putIfAbsent(5L, "05551112233", "+905551112233")).isFalse();
+        assertThat(index.putIfAbsent(6L, "05554445566", "+905554445566")).isFalse();
+        assertThat(index.putIfAbsent(7L, "05557778899", "+905557778899")).isTrue();
+        index.endLoad();
+
+        assertThat(index.lookup("05551112233", 5)).isNull();
+        assertThat(index.lookup("05554445566", 5)).isNull();
+        assertThat(index.putIfAbsent(5L, "05551112233", "+905551112233")).isTrue();
+    }
+
+    @Test
+    void rejectsNumbersTooShortToLookUp() {
+        assertThatThrownBy(() -> index.lookup("12 34", 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ticketsystem.presence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PresenceRegistryTest {
+
+    private final Instant start = Instant.parse("2025-01-06T09:00:00Z");
+    private final PresenceRegistry registry = new PresenceRegistry(Duration.ofSeconds(90), Duration.ofSeconds(1), start);
+
+    @Test
+    void tracksStatesAndCounts() {
+        registry.heartbeat(1, PresenceState.ONLINE, start);
+        registry.heartbeat(2, PresenceState.ONLINE, start);
+        registry.heartbeat(3, PresenceState.BUSY, start);
+        registry.heartbeat(2, PresenceState.AWAY, start.plusSeconds(5));
+
+        assertThat(registry.isOnline(1)).isTrue();
+        assertThat(registry.isOnline(2)).isFalse();
+        assertThat(registry.state(2)).isEqualTo(PresenceState.AWAY);
+        assertThat(registry.state(4)).isEqualTo(PresenceState.OFFLINE);
+        assertThat(registry.agents(PresenceState.ONLINE)).containsExactly(1L);
+        assertThat(registry.counts()).containsEntry(PresenceState.ONLINE, 1)
+                .containsEntry(PresenceState.AWAY, 1)
+                .containsEntry(PresenceState.BUSY, 1);
+    }
+
+    @Test
+    void expiresAgentsOnlyAfterTheirLastHeartbeatsTtl() {
+        registry.heartbeat(1, PresenceState.ONLINE, start);
+        registry.heartbeat(2, PresenceState.ONLINE, start);
+        registry.heartbeat(2, PresenceState.ONLINE, start.plusSeconds(60));
+
+        assertThat(registry.expire(start.plusSeconds(89))).isZero();
+        assertThat(registry.expire(start.plusSeconds(90))).isEqualTo(1);
+        assertThat(registry.isOnline(1)).isFalse();
+        assertThat(registry.isOnline(2)).isTrue();
+
+        assertThat(registry.expire(start.plusSeconds(151))).isEqualTo(1);
+        assertThat(registry.presence(2).state()).isEqualTo(PresenceState.OFFLINE);
+    }
+
+    @Test
+    void expiresEverythingDueAfterALongPause() {
+        for (long id = 1; id <= 100; id++) {
+            registry.heartbeat(id, PresenceState.ONLINE, start.plusSeconds(id));
+        }
+
+        assertThat(registry.expire(start.plusSeconds(3600))).isEqualTo(100);
+        assertThat(registry.counts()).containsEntry(PresenceState.ONLINE, 0);
+    }
+
+    @Test
+    void signOffRemovesTheAgentAndItsTimer() {
+        registry.heartbeat(1, PresenceState.ONLINE, start);
+
+        assertThat(registry.signOff(1)).isTrue();
+        assertThat(registry.signOff(1)).isFalse();
+        assertThat(registry.expire(start.plusSeconds(120))).isZero();
+        assertThatThrownBy(() -> registry.heartbeat(1, PresenceState.OFFLINE, start))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
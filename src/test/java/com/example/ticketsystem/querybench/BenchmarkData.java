@@ -0,0 +1,39 @@
+package com.example.ticketsystem.querybench;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parameter values picked from the seeded data, so every size runs each query against
+ * comparable rows: the busiest customer and agent, a typical customer and ticket, and the
+ * longest conversation.
+ */
+record BenchmarkData(
+        long hotCustomerId,
+        long customerId,
+        String customerEmail,
+        long agentId,
+        long ticketId,
+        long longTicketId,
+        LocalDateTime now
+) {
+
+    static BenchmarkData resolve(JdbcTemplate jdbc) {
+        long hotCustomerId = jdbc.queryForObject(
+                "SELECT customer_id FROM tickets GROUP BY customer_id ORDER BY COUNT(*) DESC, customer_id LIMIT 1", Long.class);
+        long ticketId = jdbc.queryForObject("SELECT (MIN(id) + MAX(id)) / 2 FROM tickets", Long.class);
+        long customerId = jdbc.queryForObject("SELECT customer_id FROM tickets WHERE id = ?", Long.class, ticketId);
+        String customerEmail = jdbc.queryForObject("SELECT email FROM customers WHERE id = ?", String.class, customerId);
+        long agentId = jdbc.queryForObject(
+                "SELECT agent_id FROM tickets WHERE agent_id IS NOT NULL GROUP BY agent_id ORDER BY COUNT(*) DESC, agent_id LIMIT 1", Long.class);
+        long longTicketId = jdbc.queryForObject(
+                "SELECT ticket_id FROM ticket_messages GROUP BY ticket_id ORDER BY COUNT(*) DESC, ticket_id LIMIT 1", Long.class);
+        LocalDateTime now = jdbc.queryForObject("SELECT MAX(created_at) FROM tickets", LocalDateTime.class);
+        return new BenchmarkData(hotCustomerId, customerId, customerEmail, agentId, ticketId, longTicketId, now);
+    }
+
+    LocalDateTime daysAgo(int days) {
+        return now.minusDays(days);
+    }
+}
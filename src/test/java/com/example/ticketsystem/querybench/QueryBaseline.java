@@ -0,0 +1,89 @@
+package com.example.ticketsystem.querybench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measurements keyed by data size and case name, stored as JSON. A case regresses when its
+ * median grows by more than {@code maxSlowdown} and by at least {@code minDeltaMs} (so that
+ * sub-millisecond noise never fails the build), when it issues more statements, when a plan
+ * starts scanning a table it used to reach through an index, or when it starts failing. A case
+ * missing from the baseline fails too, so new cases cannot slip past the gate unmeasured.
+ */
+final class QueryBaseline {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<Integer, Map<String, QueryMeasurement>> sizes;
+
+    QueryBaseline() {
+        this(new TreeMap<>());
+    }
+
+    private QueryBaseline(Map<Integer, Map<String, QueryMeasurement>> sizes) {
+        this.sizes = sizes;
+    }
+
+    static QueryBaseline read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return new QueryBaseline(MAPPER.readValue(file.toFile(),
+                new TypeReference<TreeMap<Integer, Map<String, QueryMeasurement>>>() {
+                }));
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), sizes);
+    }
+
+    void put(int size, String name, QueryMeasurement measurement) {
+        sizes.computeIfAbsent(size, s -> new TreeMap<>()).put(name, measurement);
+    }
+
+    List<String> regressions(QueryBaseline current, double maxSlowdown, double minDeltaMs) {
+        List<String> regressions = new ArrayList<>();
+        current.sizes.forEach((size, cases) -> cases.forEach((name, now) -> {
+            QueryMeasurement before = sizes.getOrDefault(size, Map.of()).get(name);
+            String label = name + " @ " + size + " tickets";
+            if (before == null) {
+                // A case the baseline has never seen would otherwise go unchecked for good
+                regressions.add(label + ": not in the baseline");
+                return;
+            }
+            if (now.error() != null) {
+                if (before.error() == null) {
+                    regressions.add(label + ": now fails with " + now.error());
+                }
+                return;
+            }
+            if (before.error() != null) {
+                return;
+            }
+            double delta = now.medianMs() - before.medianMs();
+            if (delta >= minDeltaMs && now.medianMs() > before.medianMs() * (1 + maxSlowdown)) {
+                regressions.add(String.format("%s: median %.1f ms -> %.1f ms", label, before.medianMs(), now.medianMs()));
+            }
+            if (now.statements() > before.statements()) {
+                regressions.add(label + ": " + before.statements() + " -> " + now.statements() + " statements");
+            }
+            List<String> newScans = now.fullScans().stream()
+                    .filter(table -> !before.fullScans().contains(table))
+                    .toList();
+            if (!newScans.isEmpty()) {
+                regressions.add(label + ": full scan of " + String.join(", ", newScans));
+            }
+        }));
+        return regressions;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.ticketsystem.querybench;
+
+import com.example.ticketsystem.entity.TicketMessage.SenderType;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.TicketMessageRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * The repository calls under benchmark. Names are {@code Repository.method}, with a suffix when
+ * the same method runs with different parameters; they key the baseline file, so renaming a
+ * case drops its history.
+ */
+final class QueryCatalogue {
+
+    record QueryCase(String name, Callable<Object> call) {
+    }
+
+    private QueryCatalogue() {
+    }
+
+    static List<QueryCase> cases(ApplicationContext context, BenchmarkData d) {
+        TicketRepository tickets = context.getBean(TicketRepository.class);
+        TicketMessageRepository messages = context.getBean(TicketMessageRepository.class);
+        CustomerRepository customers = context.getBean(CustomerRepository.class);
+        PageRequest page = PageRequest.of(0, 20);
+
+        return List.of(
+                // Tickets
+                new QueryCase("TicketRepository.findTicketWithDetails", () -> tickets.findTicketWithDetails(d.ticketId())),
+                new QueryCase("TicketRepository.findByCustomerId", () -> tickets.findByCustomerId(d.customerId())),
+                new QueryCase("TicketRepository.findByCustomerId.hot", () -> tickets.findByCustomerId(d.hotCustomerId())),
+                new QueryCase("TicketRepository.findByIdAndCustomerId", () -> tickets.findByIdAndCustomerId(d.ticketId(), d.customerId())),
+                new QueryCase("TicketRepository.findOpenTicketsByAgent", () -> tickets.findOpenTicketsByAgent(d.agentId())),
+                new QueryCase("TicketRepository.findUnassignedTickets", tickets::findUnassignedTickets),
+                new QueryCase("TicketRepository.searchTickets", () -> tickets.searchTickets("fatura")),
+                new QueryCase("TicketRepository.findByPriorityAndStatusIn",
+                        () -> tickets.findByPriorityAndStatusIn(4, List.of(1L, 2L, 3L))),
+                new QueryCase("TicketRepository.findTicketsCreatedBetween.week",
+                        () -> tickets.findTicketsCreatedBetween(d.daysAgo(7), d.now())),
+                new QueryCase("TicketRepository.findOldOpenTickets", () -> tickets.findOldOpenTickets(d.daysAgo(90))),
+                new QueryCase("TicketRepository.findStaleTickets", () -> tickets.findStaleTickets(d.daysAgo(30))),
+                new QueryCase("TicketRepository.findByCustomerIdOrderByCreatedAtDesc",
+                        () -> tickets.findByCustomerIdOrderByCreatedAtDesc(d.hotCustomerId(), page)),
+                new QueryCase("TicketRepository.findByAgentIdOrderByUpdatedAtDesc",
+                        () -> tickets.findByAgentIdOrderByUpdatedAtDesc(d.agentId(), page)),
+                new QueryCase("TicketRepository.findByStatusIdOrderByCreatedAtDesc",
+                        () -> tickets.findByStatusIdOrderByCreatedAtDesc(1L, page)),
+                new QueryCase("TicketRepository.findByAgentIsNullOrderByCreatedAtAsc",
+                        () -> tickets.findByAgentIsNullOrderByCreatedAtAsc(page)),
+                new QueryCase("TicketRepository.findAll.page", () -> tickets.findAll(page)),
+                new QueryCase("TicketRepository.countByStatusId", () -> tickets.countByStatusId(3L)),
+                new QueryCase("TicketRepository.countActiveTicketsByAgent", () -> tickets.countActiveTicketsByAgent(d.agentId())),
+                new QueryCase("TicketRepository.countByCustomerId", () -> tickets.countByCustomerId(d.hotCustomerId())),
+                new QueryCase("TicketRepository.findByCustomerEmailDomain",
+                        () -> tickets.findByCustomerEmailDomain("example.com", page)),
+                new QueryCase("TicketRepository.getAverageResolutionTimeInHours",
+                        () -> tickets.getAverageResolutionTimeInHours(d.daysAgo(30))),
+                new QueryCase("TicketRepository.getTicketCountByPriority", tickets::getTicketCountByPriority),
+                new QueryCase("TicketRepository.getTicketCountByStatus", tickets::getTicketCountByStatus),
+                new QueryCase("TicketRepository.getDailyTicketCreationStats",
+                        () -> tickets.getDailyTicketCreationStats(d.daysAgo(30))),
+
+                // Messages
+                new QueryCase("TicketMessageRepository.findByTicketIdOrderByCreatedAtAsc",
+                        () -> messages.findByTicketIdOrderByCreatedAtAsc(d.ticketId())),
+                new QueryCase("TicketMessageRepository.findByTicketIdOrderByCreatedAtAsc.long",
+                        () -> messages.findByTicketIdOrderByCreatedAtAsc(d.longTicketId())),
+                new QueryCase("TicketMessageRepository.findByTicketIdOrderByCreatedAtAsc.page",
+                        () -> messages.findByTicketIdOrderByCreatedAtAsc(d.longTicketId(), page)),
+                new QueryCase("TicketMessageRepository.countByTicketId", () -> messages.countByTicketId(d.longTicketId())),
+                new QueryCase("TicketMessageRepository.findBySenderTypeAndSenderIdOrderByCreatedAtDesc",
+                        () -> messages.findBySenderTypeAndSenderIdOrderByCreatedAtDesc(SenderType.CUSTOMER, d.customerId())),
+                new QueryCase("TicketMessageRepository.findTopByTicketIdOrderByCreatedAtDesc",
+                        () -> messages.findTopByTicketIdOrderByCreatedAtDesc(d.longTicketId())),
+                new QueryCase("TicketMessageRepository.findRecentMessagesByTicket",
+                        () -> messages.findRecentMessagesByTicket(d.longTicketId(), d.daysAgo(7))),
+                new QueryCase("TicketMessageRepository.findMessagesCreatedBetween.day",
+                        () -> messages.findMessagesCreatedBetween(d.daysAgo(1), d.now())),
+                new QueryCase("TicketMessageRepository.searchMessagesInTicket",
+                        () -> messages.searchMessagesInTicket(d.longTicketId(), "modem")),
+                new QueryCase("TicketMessageRepository.searchCustomerMessages",
+                        () -> messages.searchCustomerMessages(d.hotCustomerId(), "iade")),
+                new QueryCase("TicketMessageRepository.getMessageCountBySenderType",
+                        () -> messages.getMessageCountBySenderType(d.longTicketId())),
+                new QueryCase("TicketMessageRepository.countMessagesBySenderAfter",
+                        () -> messages.countMessagesBySenderAfter(d.agentId(), SenderType.AGENT, d.daysAgo(30))),
+                new QueryCase("TicketMessageRepository.getDailyMessageStats",
+                        () -> messages.getDailyMessageStats(d.daysAgo(30))),
+                new QueryCase("TicketMessageRepository.findMessagesByAgentTickets",
+                        () -> messages.findMessagesByAgentTickets(d.agentId())),
+                new QueryCase("TicketMessageRepository.findTicketsWithUnrepliedCustomerMessages",
+                        () -> messages.findTicketsWithUnrepliedCustomerMessages(d.daysAgo(7))),
+
+                // Customers
+                new QueryCase("CustomerRepository.findByEmail", () -> customers.findByEmail(d.customerEmail())),
+                new QueryCase("CustomerRepository.searchCustomers", () -> customers.searchCustomers("yılmaz")),
+                new QueryCase("CustomerRepository.findByMultipleCriteria",
+                        () -> customers.findByMultipleCriteria(null, d.customerEmail(), null, null)),
+                new QueryCase("CustomerRepository.findByPhoneStartingWith", () -> customers.findByPhoneStartingWith("0532")),
+                new QueryCase("CustomerRepository.findByEmailDomainOrderByCreatedAtDesc",
+                        () -> customers.findByEmailDomainOrderByCreatedAtDesc("example.com", page)),
+                new QueryCase("CustomerRepository.countCustomersByEmailDomain",
+                        () -> customers.countCustomersByEmailDomain("example.com")),
+                new QueryCase("CustomerRepository.countActiveCustomersAfter",
+                        () -> customers.countActiveCustomersAfter(d.daysAgo(30))),
+                new QueryCase("CustomerRepository.findVipCustomers", () -> customers.findVipCustomers(50)),
+                new QueryCase("CustomerRepository.findRecentActiveCustomers",
+                        () -> customers.findRecentActiveCustomers(d.daysAgo(7))),
+                new QueryCase("CustomerRepository.findCustomersWithoutTickets", customers::findCustomersWithoutTickets),
+                new QueryCase("CustomerRepository.findSatisfiedCustomers",
+                        () -> customers.findSatisfiedCustomers(d.daysAgo(7))),
+                new QueryCase("CustomerRepository.findCustomersWithManyOpenTickets",
+                        () -> customers.findCustomersWithManyOpenTickets(5)),
+                new QueryCase("CustomerRepository.getCustomerLifetimeStats", customers::getCustomerLifetimeStats),
+                new QueryCase("CustomerRepository.findCustomersByTicketRange",
+                        () -> customers.findCustomersByTicketRange(10, 20)),
+                new QueryCase("CustomerRepository.findRetainedCustomers",
+                        () -> customers.findRetainedCustomers(d.daysAgo(365), d.daysAgo(30))),
+                new QueryCase("CustomerRepository.countCustomersWithResolvedTickets",
+                        customers::countCustomersWithResolvedTickets),
+                new QueryCase("CustomerRepository.getCustomerSummary", () -> customers.getCustomerSummary(d.customerId()))
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.ticketsystem.querybench;
+
+import java.util.List;
+
+/**
+ * One query case at one data size. {@code fullScans} lists the tables the plans read without an
+ * index; {@code error} is set instead of timings when the call fails on this database.
+ */
+record QueryMeasurement(
+        double medianMs,
+        double p95Ms,
+        int statements,
+        List<String> fullScans,
+        List<String> plans,
+        String error
+) {
+
+    static QueryMeasurement failed(String error) {
+        return new QueryMeasurement(0, 0, 0, List.of(), List.of(), error);
+    }
+}
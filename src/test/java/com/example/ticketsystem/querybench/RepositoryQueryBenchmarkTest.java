@@ -0,0 +1,147 @@
+package com.example.ticketsystem.querybench;
+
+import com.example.ticketsystem.TicketSystemApplication;
+import com.example.ticketsystem.querybench.QueryCatalogue.QueryCase;
+import com.example.ticketsystem.seed.SeedConfig;
+import com.example.ticketsystem.seed.SyntheticDataGenerator;
+import com.example.ticketsystem.support.QueryBudgetConfig;
+import com.example.ticketsystem.support.SqlRecorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds H2 at each size in {@code querybench.sizes}, runs every {@link QueryCatalogue} case and
+ * compares latency, statement count and {@code EXPLAIN} plans with the committed baseline.
+ * Excluded from the default build; run with {@code mvn -Pquerybench test}.
+ *
+ * <p>Plans are H2's, so a full scan here means the schema offers no usable index for the
+ * query; MySQL may still pick a different plan for the same SQL.
+ */
+@Tag("querybench")
+class RepositoryQueryBenchmarkTest {
+
+    private static final Path BASELINE = Path.of("src", "test", "resources", "querybench", "baseline.json");
+    private static final Path RESULT = Path.of("target", "querybench", "result.json");
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+    private static final int WARMUP = 5;
+
+    @Test
+    void repositoryQueriesStayWithinBaseline() throws Exception {
+        List<Integer> sizes = Arrays.stream(System.getProperty("querybench.sizes", "10000,50000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        int iterations = Integer.getInteger("querybench.iterations", 7);
+        double maxSlowdown = Double.parseDouble(System.getProperty("querybench.maxSlowdown", "0.5"));
+        double minDeltaMs = Double.parseDouble(System.getProperty("querybench.minDeltaMs", "5"));
+
+        QueryBaseline current = new QueryBaseline();
+        for (int size : sizes) {
+            measure(size, iterations, current);
+        }
+        current.write(RESULT);
+
+        QueryBaseline baseline = QueryBaseline.read(BASELINE);
+        if (baseline == null || Boolean.getBoolean("querybench.updateBaseline")) {
+            current.write(BASELINE);
+            System.out.println("Wrote baseline " + BASELINE.toAbsolutePath());
+            return;
+        }
+        assertThat(baseline.regressions(current, maxSlowdown, minDeltaMs))
+                .as("Query regressions against %s (accept with -Dquerybench.updateBaseline=true)", BASELINE)
+                .isEmpty();
+    }
+
+    private static void measure(int size, int iterations, QueryBaseline into) throws Exception {
+        String url = "jdbc:h2:mem:querybench_" + size + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        new SyntheticDataGenerator(SeedConfig.parse(new String[]{
+                "--url=" + url, "--migrate", "--tickets=" + size,
+                "--customers=" + Math.max(100, size / 10), "--agents=50"})).run();
+
+        // Command line arguments, so they win over the test application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                TicketSystemApplication.class, QueryBudgetConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.ticketsystem=WARN")) {
+            JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+            BenchmarkData data = BenchmarkData.resolve(jdbc);
+
+            System.out.printf("%n%,d tickets%n%-72s %9s %9s %6s  %s%n", size, "case", "p50 ms", "p95 ms", "stmts", "full scans");
+            for (QueryCase queryCase : QueryCatalogue.cases(context, data)) {
+                QueryMeasurement m = measure(queryCase, iterations, jdbc);
+                into.put(size, queryCase.name(), m);
+                if (m.error() != null) {
+                    System.out.printf("%-72s %s%n", queryCase.name(), "ERROR " + m.error());
+                } else {
+                    System.out.printf("%-72s %9.2f %9.2f %6d  %s%n", queryCase.name(), m.medianMs(), m.p95Ms(),
+                            m.statements(), String.join(",", m.fullScans()));
+                }
+            }
+        }
+    }
+
+    private static QueryMeasurement measure(QueryCase queryCase, int iterations, JdbcTemplate jdbc) {
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                queryCase.call().call();
+            }
+            long[] nanos = new long[iterations];
+            List<String> statements = List.of();
+            for (int i = 0; i < iterations; i++) {
+                long started = System.nanoTime();
+                statements = SqlRecorder.record(queryCase.call()).statements();
+                nanos[i] = System.nanoTime() - started;
+            }
+            Arrays.sort(nanos);
+
+            List<String> plans = statements.stream().distinct().map(sql -> explain(jdbc, sql)).toList();
+            TreeSet<String> fullScans = new TreeSet<>();
+            for (String plan : plans) {
+                Matcher matcher = TABLE_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    fullScans.add(matcher.group(1).toLowerCase(Locale.ROOT));
+                }
+            }
+            return new QueryMeasurement(nanos[iterations / 2] / 1e6,
+                    nanos[Math.min(iterations - 1, (int) Math.ceil(iterations * 0.95) - 1)] / 1e6,
+                    statements.size(), List.copyOf(fullScans), plans, null);
+        } catch (Exception e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            String message = String.valueOf(cause.getMessage()).lines().findFirst().orElse("");
+            return QueryMeasurement.failed(message.length() > 200 ? message.substring(0, 200) : message);
+        }
+    }
+
+    // Hibernate's SQL still has its '?' placeholders; H2 plans a prepared EXPLAIN without binds
+    private static String explain(JdbcTemplate jdbc, String sql) {
+        return jdbc.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1).replaceAll("\\s+", " ") : "";
+            }
+        });
+    }
+}
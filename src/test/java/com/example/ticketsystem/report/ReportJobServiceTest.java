@@ -0,0 +1,80 @@
+package com.example.ticketsystem.report;
+
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.TicketMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportJobServiceTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final TicketMessageRepository messageRepository = mock(TicketMessageRepository.class);
+    private final ReportProperties properties = new ReportProperties();
+    private ReportJobService service;
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void identicalRequestsShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerRepository.findCustomersWithManyOpenTickets(anyLong())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.<Object[]>of(new Object[]{"customer", 7L});
+        });
+        service = new ReportJobService(customerRepository, messageRepository, properties);
+
+        ReportJob first = service.submit(ReportType.CUSTOMERS_WITH_MANY_OPEN_TICKETS, Map.of("threshold", "3"));
+        ReportJob second = service.submit(ReportType.CUSTOMERS_WITH_MANY_OPEN_TICKETS, Map.of("threshold", "03"));
+        assertThat(second).isSameAs(first);
+        assertThat(first.isDone()).isFalse();
+
+        release.countDown();
+        first.getResult().get(5, TimeUnit.SECONDS);
+
+        assertThat(service.submit(ReportType.CUSTOMERS_WITH_MANY_OPEN_TICKETS, Map.of("threshold", "3"))).isSameAs(first);
+        assertThat(service.submit(ReportType.CUSTOMERS_WITH_MANY_OPEN_TICKETS, Map.of("threshold", "4"))).isNotSameAs(first);
+        verify(customerRepository, times(1)).findCustomersWithManyOpenTickets(3L);
+    }
+
+    @Test
+    void expiredResultsAreRecomputed() throws Exception {
+        properties.setResultTtl(Duration.ZERO);
+        when(customerRepository.getCustomerLifetimeStats()).thenReturn(List.of());
+        service = new ReportJobService(customerRepository, messageRepository, properties);
+
+        ReportJob first = service.submit(ReportType.CUSTOMER_LIFETIME_STATS, Map.of());
+        first.getResult().get(5, TimeUnit.SECONDS);
+        Thread.sleep(5);
+        service.purgeExpired();
+
+        assertThat(service.find(first.getId())).isEmpty();
+        assertThat(service.submit(ReportType.CUSTOMER_LIFETIME_STATS, Map.of())).isNotSameAs(first);
+    }
+
+    @Test
+    void missingOrMalformedParametersAreRejected() {
+        service = new ReportJobService(customerRepository, messageRepository, properties);
+
+        assertThatThrownBy(() -> service.submit(ReportType.DAILY_MESSAGE_STATS, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.submit(ReportType.DAILY_MESSAGE_STATS, Map.of("since", "dün")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ticketsystem.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillIndexTest {
+
+    private final SkillIndex index = new SkillIndex();
+
+    @Test
+    void matchesActiveAgentsWithEverySkillAndTheLanguage() {
+        index.put(1, true, Set.of("billing", "network"), Set.of("tr"));
+        index.put(2, true, Set.of("billing"), Set.of("tr", "en"));
+        index.put(3, false, Set.of("billing", "network"), Set.of("tr"));
+        index.put(4, true, Set.of("billing", "network"), Set.of("en"));
+
+        assertThat(index.eligible(List.of("billing", "network"), "tr")).containsExactly(1);
+        assertThat(index.eligible(List.of("billing"), null)).containsExactly(1, 2, 4);
+        assertThat(index.eligible(List.of(), "en")).containsExactly(2, 4);
+        assertThat(index.eligible(List.of("legal"), null)).isEmpty();
+        assertThat(index.coverage()).containsEntry("billing", 3).containsEntry("network", 2);
+    }
+
+    @Test
+    void replacingAnAgentDropsItsOldSkills() {
+        index.put(1, true, Set.of("billing"), Set.of("tr"));
+        index.put(1, true, Set.of("network"), Set.of("tr"));
+
+        assertThat(index.eligible(List.of("billing"), null)).isEmpty();
+        assertThat(index.eligible(List.of("network"), "tr")).containsExactly(1);
+        assertThat(index.stats()).isEqualTo(new SkillIndex.Stats(1, 1, 1, 1));
+    }
+
+    @Test
+    void reusesTheSlotsOfRemovedAgents() {
+        for (long id = 1; id <= 200; id++) {
+            index.put(id, true, Set.of(id % 2 == 0 ? "even" : "odd"), Set.of("tr"));
+        }
+        for (long id = 1; id <= 100; id++) {
+            index.remove(id);
+        }
+        index.put(500, true, Set.of("even"), Set.of("tr"));
+
+        assertThat(index.eligible(List.of("even"), "tr")).hasSize(51).contains(500L);
+        assertThat(index.stats().agents()).isEqualTo(101);
+    }
+
+    @Test
+    void knowsWhichAgentsExistAndAreActive() {
+        index.put(1, true, Set.of("billing"), Set.of("tr"));
+        index.put(2, false, Set.of("billing"), Set.of("tr"));
+
+        assertThat(index.contains(1)).isTrue();
+        assertThat(index.isActive(1)).isTrue();
+        assertThat(index.contains(2)).isTrue();
+        assertThat(index.isActive(2)).isFalse();
+        assertThat(index.contains(3)).isFalse();
+        assertThat(index.isActive(3)).isFalse();
+
+        index.remove(1);
+        assertThat(index.contains(1)).isFalse();
+    }
+}
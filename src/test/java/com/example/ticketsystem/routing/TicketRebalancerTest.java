@@ -0,0 +1,92 @@
+package com.example.ticketsystem.routing;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.presence.PresenceService;
+import com.example.ticketsystem.repository.AgentRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TicketRebalancerTest {
+
+    @Test
+    void fillsTheLeastLoadedAgentsFirst() {
+        Map<Long, Long> load = new HashMap<>(Map.of(1L, 3L, 2L, 0L, 3L, 1L));
+        List<RebalanceTicket> tickets = List.of(ticket(10), ticket(11), ticket(12), ticket(13), ticket(14));
+
+        Map<Long, List<Long>> plan = TicketRebalancer.plan(tickets, load, ticket -> new long[]{1, 2, 3});
+
+        assertThat(plan).containsEntry(2L, List.of(10L, 11L, 13L)).containsEntry(3L, List.of(12L, 14L))
+                .doesNotContainKey(1L);
+        assertThat(load).containsEntry(1L, 3L).containsEntry(2L, 3L).containsEntry(3L, 3L);
+    }
+
+    @Test
+    void keepsEachTicketWithinItsEligibleAgents() {
+        Map<Long, Long> load = new HashMap<>(Map.of(1L, 10L, 2L, 0L));
+        List<RebalanceTicket> tickets = List.of(
+                new RebalanceTicket(10L, "billing", "tr"),
+                new RebalanceTicket(11L, "network", "en"));
+
+        Map<Long, List<Long>> plan = TicketRebalancer.plan(tickets, load,
+                ticket -> "billing".equals(ticket.category()) ? new long[]{1} : new long[]{1, 2});
+
+        assertThat(plan).containsEntry(1L, List.of(10L)).containsEntry(2L, List.of(11L));
+    }
+
+    @Test
+    void skipsTicketsWithNoEligibleAgent() {
+        Map<Long, List<Long>> plan = TicketRebalancer.plan(List.of(ticket(10)), new HashMap<>(), ticket -> new long[0]);
+
+        assertThat(plan).isEmpty();
+    }
+
+    @Test
+    void deletingAnAgentWithARunningJobReusesIt() throws Exception {
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        AgentRepository agentRepository = mock(AgentRepository.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ticketRepository.existsByAgentId(7L)).thenReturn(true);
+        when(ticketRepository.countActiveTicketsByAgent(7L)).thenAnswer(i -> {
+            release.await();
+            return 0L;
+        });
+        Agent agent = new Agent("Temsilci", "temsilci@example.com", "05320000000");
+        agent.setId(7L);
+        when(agentRepository.save(agent)).thenReturn(agent);
+        when(agentRepository.findById(7L)).thenReturn(Optional.of(agent));
+        TicketRebalancer rebalancer = new TicketRebalancer(ticketRepository, agentRepository,
+                mock(RoutingService.class), mock(PresenceService.class), mock(ApplicationEventPublisher.class),
+                new RebalanceProperties(), mock(PlatformTransactionManager.class));
+
+        RebalanceJob rebalance = rebalancer.start(7L);
+        RebalanceJob first = rebalancer.delete(agent).orElseThrow();
+        RebalanceJob second = rebalancer.delete(agent).orElseThrow();
+
+        assertThat(first).isSameAs(rebalance).isSameAs(second);
+        assertThat(first.deletesAgent()).isTrue();
+        release.countDown();
+        for (int i = 0; i < 500 && first.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(first.progress().state()).isEqualTo(RebalanceJob.State.COMPLETED);
+        verify(agentRepository, times(1)).delete(agent);
+    }
+
+    private static RebalanceTicket ticket(long id) {
+        return new RebalanceTicket(id, null, null);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ticketsystem.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerLookupIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final CustomerLookupIndex index = new CustomerLookupIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.index(new CustomerDocument(1L, "Ayşe Yılmaz", "ayse.yilmaz@example.com", "05321234567", T0));
+        index.index(new CustomerDocument(2L, "Ali Kaya", "akaya@firma.com.tr", "05329876543", T0.plusDays(1)));
+        index.index(new CustomerDocument(3L, "Halil İbrahim Yıldız", "halil@example.com", "+905551112233", T0.plusDays(2)));
+        index.index(new CustomerDocument(4L, "Alican Şahin", "alican@example.com", null, T0.plusDays(3)));
+    }
+
+    @Test
+    void suggestionsRankWordPrefixesBeforeInfixMatches() {
+        // Word prefixes in word order ("ali" before "alican"), then "ali" inside "halil"
+        assertThat(suggest("ali")).containsExactly(2L, 4L, 3L);
+        assertThat(suggest("YIL")).containsExactly(3L, 1L);
+        assertThat(suggest("ayşe yıl")).containsExactly(1L);
+        assertThat(suggest("ali sah")).containsExactly(4L);
+        assertThat(index.suggest("firma", 10)).singleElement()
+                .satisfies(s -> assertThat(s.matched()).isEqualTo(CustomerLookupIndex.Field.EMAIL));
+        assertThat(index.suggest("ali", 1)).hasSize(1);
+    }
+
+    @Test
+    void digitQueriesLookUpPhones() {
+        assertThat(suggest("0532")).containsExactly(1L, 2L);
+        assertThat(suggest("555 111")).containsExactly(3L);
+        assertThat(suggest("9876")).containsExactly(2L);
+    }
+
+    @Test
+    void filterMatchesEveryGivenFieldNewestFirst() {
+        assertThat(filter("al", null, null, null).ids()).containsExactly(4L, 3L, 2L);
+        assertThat(filter("yıl", "example", null, null).ids()).containsExactly(3L, 1L);
+        assertThat(filter(null, "EXAMPLE.COM", "0532", null).ids()).containsExactly(1L);
+        assertThat(filter(null, "example", null, T0.plusDays(2)).ids()).containsExactly(4L);
+        assertThat(filter("zzz", null, null, null).total()).isZero();
+
+        CustomerLookupIndex.FilterResult page = index.filter(null, "example", null, null, 1, 1);
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(page.ids()).containsExactly(3L);
+    }
+
+    @Test
+    void updatesReplaceAndDeletesRemove() {
+        index.index(new CustomerDocument(2L, "Ali Demir", "ali.demir@firma.com.tr", "05329876543", T0.plusDays(1)));
+        assertThat(suggest("kaya")).isEmpty();
+        assertThat(suggest("demir")).containsExactly(2L);
+        assertThat(index.indexIfAbsent(new CustomerDocument(2L, "Ali Kaya", "akaya@firma.com.tr", null, T0))).isFalse();
+        assertThat(suggest("demir")).containsExactly(2L);
+
+        index.remove(4L);
+        assertThat(suggest("alican")).isEmpty();
+        assertThat(filter(null, "example", null, null).ids()).containsExactly(3L, 1L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void purgeRenumbersWithoutLosingOrReorderingCustomers() {
+        for (int i = 0; i < 3_000; i++) {
+            index.index(new CustomerDocument(2L, "Ali Kaya " + i, "akaya@firma.com.tr", "05329876543", T0.plusDays(1)));
+        }
+        index.index(new CustomerDocument(5L, "Aliye Tan", "aliye@example.com", "05321110000", T0.plusDays(4)));
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(suggest("kaya")).containsExactly(2L);
+        assertThat(suggest("kaya 2999")).containsExactly(2L);
+        assertThat(suggest("1234")).containsExactly(1L);
+        assertThat(suggest("ali")).containsExactly(2L, 4L, 5L, 3L);
+        assertThat(filter("al", null, null, null).ids()).containsExactly(5L, 4L, 3L, 2L);
+        assertThat(filter(null, null, "0532", null).ids()).containsExactly(5L, 2L, 1L);
+    }
+
+    @Test
+    void bulkLoadSkipsCustomersDeletedWhileItRuns() {
+        index.beginLoad();
+        index.remove(4L);
+        index.remove(5L);
+
+        assertThat(index.indexIfAbsent(new CustomerDocument(4L, "Alican Şahin", "alican@example.com", null, T0))).isFalse();
+        assertThat(index.indexIfAbsent(new CustomerDocument(5L, "Aliye Tan", "aliye@example.com", null, T0))).isFalse();
+        assertThat(index.indexIfAbsent(new CustomerDocument(6L, "Deniz Ak", "deniz@example.com", null, T0))).isTrue();
+        index.endLoad();
+
+        assertThat(suggest("ali")).containsExactly(2L, 3L);
+        assertThat(suggest("deniz")).containsExactly(6L);
+    }
+
+    @Test
+    void rareWordsDriveSuggestionsPastCommonOnes() {
+        for (long id = 10; id < 30_010; id++) {
+            index.index(new CustomerDocument(id, "Mehmet Demir", "mehmet" + id + "@example.com", null, T0.plusDays(5)));
+        }
+        index.index(new CustomerDocument(9L, "Mehmet Kaya", "mkaya@example.com", null, T0.minusDays(1)));
+
+        // Every Mehmet is newer than Mehmet Kaya and outnumbers the candidates a lookup verifies
+        assertThat(suggest("mehmet kaya")).containsExactly(9L);
+        assertThat(suggest("meh aya")).containsExactly(9L);
+        assertThat(suggest("mehmet qqq")).isEmpty();
+    }
+
+    @Test
+    void onlyValuesOfThreeCharactersNarrowAFilter() {
+        assertThat(CustomerLookupIndex.narrowsFilter("al", null, null)).isFalse();
+        assertThat(CustomerLookupIndex.narrowsFilter(null, null, "0-5 ")).isFalse();
+        assertThat(CustomerLookupIndex.narrowsFilter("al", null, "0532")).isTrue();
+        assertThat(CustomerLookupIndex.narrowsFilter(" Şİ ", "a.b", null)).isTrue();
+    }
+
+    private List<Long> suggest(String query) {
+        return index.suggest(query, 10).stream().map(CustomerLookupIndex.Suggestion::id).toList();
+    }
+
+    private CustomerLookupIndex.FilterResult filter(String name, String email, String phone, LocalDateTime after) {
+        return index.filter(name, email, phone, after, 0, 10);
+    }
+}
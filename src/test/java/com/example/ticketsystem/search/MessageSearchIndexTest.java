@@ -0,0 +1,97 @@
+package com.example.ticketsystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageSearchIndexTest {
+
+    private final MessageSearchIndex index = new MessageSearchIndex();
+
+    @Test
+    void queriesParseIntoTermsPrefixesAndPhrases() {
+        assertThat(MessageQuery.parse("İade \"kargo GECİKTİ\" fatu*").clauses()).containsExactly(
+                new MessageQuery.Term("iade"),
+                new MessageQuery.Phrase(List.of("kargo", "gecikti")),
+                new MessageQuery.Prefix("fatu"));
+        assertThat(MessageQuery.parse("\"modem\"").clauses()).containsExactly(new MessageQuery.Term("modem"));
+        assertThatThrownBy(() -> MessageQuery.parse("  \"\" ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MessageQuery.parse("k*")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchesAreScopedToTheTicketOrCustomer() {
+        index.index(new MessageDocument(1L, 10L, 100L, "Kargom hâlâ gelmedi"));
+        index.index(new MessageDocument(2L, 10L, 100L, "Kargo firmasıyla görüşüyoruz"));
+        index.index(new MessageDocument(3L, 11L, 100L, "Faturadaki kargo ücreti yanlış"));
+        index.index(new MessageDocument(4L, 12L, 200L, "Kargo nerede?"));
+
+        assertThat(ticket(10L, "kargo")).containsExactly(2L);
+        assertThat(customer(100L, "kargo")).containsExactly(3L, 2L);
+        assertThat(customer(100L, "karg*")).containsExactly(3L, 2L, 1L);
+        assertThat(customer(200L, "kargo")).containsExactly(4L);
+        assertThat(customer(300L, "kargo")).isEmpty();
+        assertThat(index.searchCustomer(100L, MessageQuery.parse("karg*"), 1, 1).total()).isEqualTo(3);
+
+        // Messages arriving twice, from the startup load and a live update, are indexed once
+        assertThat(index.index(new MessageDocument(2L, 10L, 100L, "Kargo firmasıyla görüşüyoruz"))).isFalse();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void phrasesNeedAdjacentTermsInOneMessage() {
+        index.index(new MessageDocument(1L, 10L, 100L, "Şifre sıfırlama bağlantısı çalışmıyor"));
+        index.index(new MessageDocument(2L, 10L, 100L, "Bağlantı için şifre istendi, sıfırlama yapmadım"));
+        index.index(new MessageDocument(3L, 10L, 100L, "sifre"));
+        index.index(new MessageDocument(4L, 10L, 100L, "sıfırlama"));
+
+        assertThat(ticket(10L, "\"şifre sıfırlama\"")).containsExactly(1L);
+        assertThat(ticket(10L, "sifre sifirlama")).containsExactly(2L, 1L);
+        assertThat(ticket(10L, "\"sıfırlama şifre\"")).isEmpty();
+        assertThat(ticket(10L, "\"şifre sıfırlama\" baglanti*")).containsExactly(1L);
+    }
+
+    @Test
+    void longConversationsKeepPhrasesAndPrefixesExact() {
+        for (long id = 1; id <= 2_000; id++) {
+            String message = id % 500 == 0 ? "Modem ışıkları yanıp sönüyor " + id : "Mesaj numarası " + id;
+            index.index(new MessageDocument(id, 10L, 100L, message));
+        }
+
+        assertThat(ticket(10L, "\"modem isiklari\"")).containsExactly(2000L, 1500L, 1000L, 500L);
+        assertThat(ticket(10L, "\"mesaj numarası 1999\"")).containsExactly(1999L);
+        assertThat(index.searchTicket(10L, MessageQuery.parse("mesa*"), 0, 1).total()).isEqualTo(1_996);
+    }
+
+    @Test
+    void snippetsCentreOnTheMatchesAndPointAtThem() {
+        String message = "Merhaba, geçen hafta verdiğim siparişle ilgili yazıyorum. Kargo takip numarası "
+                + "çalışmıyor ve kargo firması da bir bilgi veremiyor. Lütfen yardımcı olur musunuz?";
+        MessageSnippet snippet = MessageSnippet.of(message, MessageQuery.parse("kargo"), 60);
+
+        assertThat(snippet.text()).startsWith(MessageSnippet.ELLIPSIS).endsWith(MessageSnippet.ELLIPSIS);
+        assertThat(snippet.highlights()).hasSize(2);
+        assertThat(snippet.highlights()).allSatisfy(h ->
+                assertThat(snippet.text().substring(h.start(), h.end())).isEqualToIgnoringCase("kargo"));
+
+        MessageSnippet phrase = MessageSnippet.of("Şifre yok. Şifre sıfırlama gerekli", MessageQuery.parse("\"sifre sifirlama\""), 160);
+        assertThat(phrase.text()).isEqualTo("Şifre yok. Şifre sıfırlama gerekli");
+        assertThat(phrase.highlights()).extracting(h -> phrase.text().substring(h.start(), h.end()))
+                .containsExactly("Şifre", "sıfırlama");
+    }
+
+    private List<Long> ticket(long ticketId, String query) {
+        return ids(index.searchTicket(ticketId, MessageQuery.parse(query), 0, 10));
+    }
+
+    private List<Long> customer(long customerId, String query) {
+        return ids(index.searchCustomer(customerId, MessageQuery.parse(query), 0, 10));
+    }
+
+    private static List<Long> ids(MessageSearchIndex.SearchResult result) {
+        return result.hits().stream().map(MessageSearchIndex.Hit::messageId).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.ticketsystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketSearchIndexTest {
+
+    private final TicketSearchIndex index = new TicketSearchIndex();
+
+    @Test
+    void turkishCaseAndMarksFoldToTheSameTerm() {
+        assertThat(TurkishTextAnalyzer.tokens("İADE ıade Iade iade")).containsOnly("iade");
+        assertThat(TurkishTextAnalyzer.tokens("Şifre sıfırlama, ÇAĞRI!")).containsExactly("sifre", "sifirlama", "cagri");
+        assertThat(TurkishTextAnalyzer.tokens("İSTANBUL")).containsExactly("istanbul");
+
+        index.index(new TicketDocument(1L, "İade talebi", "Ürün hasarlı geldi", 10L, "Ayşe Yılmaz"), true);
+
+        assertThat(ids("IADE")).containsExactly(1L);
+        assertThat(ids("urun hasarli")).containsExactly(1L);
+        assertThat(ids("yilmaz iade")).containsExactly(1L);
+        assertThat(ids("iade kargo")).isEmpty();
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        index.index(new TicketDocument(1L, "Modem arızası", "Fatura tutarı yüksek geldi", 10L, "Ali Kaya"), true);
+        index.index(new TicketDocument(2L, "Fatura itirazı", "Ek paket yansıtılmış", 11L, "Can Demir"), true);
+        index.index(new TicketDocument(3L, "Bağlantı sorunu", "Modem sürekli kopuyor", 12L, "Elif Şahin"), true);
+
+        assertThat(ids("fatura")).containsExactly(2L, 1L);
+        assertThat(ids("modem")).containsExactly(1L, 3L);
+        assertThat(index.search("modem", 1, 1).hits()).extracting(TicketSearchIndex.Hit::ticketId).containsExactly(3L);
+        assertThat(index.search("modem", 1, 1).total()).isEqualTo(2);
+    }
+
+    @Test
+    void reindexAndRenameReplaceOldTerms() {
+        index.index(new TicketDocument(1L, "Kargo gecikmesi", "Sipariş gelmedi", 10L, "Ayşe Yılmaz"), true);
+        index.index(new TicketDocument(2L, "Adres değişikliği", "Yeni adres", 10L, "Ayşe Yılmaz"), true);
+
+        index.index(new TicketDocument(1L, "Kargo teslim edildi", "Sipariş geldi", 10L, "Ayşe Yılmaz"), true);
+        assertThat(ids("gecikmesi")).isEmpty();
+        assertThat(ids("teslim")).containsExactly(1L);
+
+        index.renameCustomer(10L, "Ayşe Demir");
+        assertThat(ids("yilmaz")).isEmpty();
+        assertThat(ids("demir")).containsExactlyInAnyOrder(1L, 2L);
+
+        // A bulk load must not overwrite what a live update already indexed
+        assertThat(index.index(new TicketDocument(1L, "Kargo gecikmesi", "Sipariş gelmedi", 10L, "Ayşe Yılmaz"), false)).isFalse();
+        assertThat(ids("teslim")).containsExactly(1L);
+
+        index.remove(2L);
+        assertThat(ids("demir")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeRenumbersWithoutLosingMatchesOrCustomers() {
+        for (long id = 1; id <= 3000; id++) {
+            index.index(new TicketDocument(id, "Fatura " + (id % 2 == 0 ? "itirazı" : "sorunu"), "Açıklama",
+                    id % 3, "Müşteri" + (id % 3)), true);
+        }
+        for (long id = 1; id <= 3000; id += 2) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1500);
+        assertThat(ids("sorunu")).isEmpty();
+        assertThat(index.search("itirazi", 0, 10).total()).isEqualTo(1500);
+        assertThat(index.search("musteri0 fatura", 0, 1000).hits()).extracting(TicketSearchIndex.Hit::ticketId)
+                .hasSize(500).allMatch(id -> id % 6 == 0);
+
+        index.index(new TicketDocument(2L, "Modem arızası", "Açıklama", 2L, "Müşteri2"), true);
+        assertThat(ids("modem")).containsExactly(2L);
+        assertThat(index.search("itirazi", 0, 10).total()).isEqualTo(1499);
+    }
+
+    @Test
+    void deletedPostingsDoNotCountTowardsDocumentFrequency() {
+        index.index(new TicketDocument(1L, "Modem", "Fatura", 10L, "Ali Kaya"), true);
+        index.index(new TicketDocument(2L, "Kargo", "Adres", 11L, "Can Demir"), true);
+        index.index(new TicketDocument(3L, "Iade", "Paket", 12L, "Elif Şahin"), true);
+        float before = index.search("modem", 0, 10).hits().get(0).score();
+
+        index.index(new TicketDocument(4L, "Modem", "Kablo", 13L, "Ece Tan"), true);
+        index.remove(4L);
+
+        assertThat(index.search("modem", 0, 10).hits().get(0).score()).isEqualTo(before);
+    }
+
+    @Test
+    void bulkLoadKeepsNamesRenamedWhileItRuns() {
+        index.beginLoad();
+        index.renameCustomer(10L, "Ayşe Demir");
+        index.index(new TicketDocument(1L, "Kargo gecikmesi", "Sipariş gelmedi", 10L, "Ayşe Yılmaz"), false);
+        index.index(new TicketDocument(2L, "Adres değişikliği", "Yeni adres", 10L, "Ayşe Yılmaz"), false);
+        index.endLoad();
+
+        assertThat(ids("yilmaz")).isEmpty();
+        assertThat(ids("demir")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 0, 10).hits().stream().map(TicketSearchIndex.Hit::ticketId).toList();
+    }
+}
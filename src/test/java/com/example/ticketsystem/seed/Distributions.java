@@ -0,0 +1,85 @@
+package com.example.ticketsystem.seed;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samplers for the generator. All of them draw from the caller's {@link SplittableRandom} so a
+ * fixed seed reproduces the same data set.
+ */
+final class Distributions {
+
+    private Distributions() {
+    }
+
+    /**
+     * Zipf over {@code 0..n-1}: rank 0 is the most frequent. Ranks are mapped through a seeded
+     * permutation so the heavy hitters are not simply the lowest ids.
+     */
+    static final class Zipf {
+
+        private final double[] cumulative;
+        private final int[] permutation;
+
+        Zipf(int n, double exponent, SplittableRandom random) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= sum;
+            }
+            permutation = new int[n];
+            for (int i = 0; i < n; i++) {
+                permutation[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = tmp;
+            }
+        }
+
+        int next(SplittableRandom random) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            rank = rank >= 0 ? rank : Math.min(-rank - 1, cumulative.length - 1);
+            return permutation[rank];
+        }
+    }
+
+    /** Picks an index with probability proportional to its weight. */
+    static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /** Log-normal around {@code median}, clamped to {@code [1, max]}: most values short, a long tail. */
+    static int logNormal(SplittableRandom random, int median, double sigma, int max) {
+        double value = median * Math.exp(sigma * gaussian(random));
+        return (int) Math.max(1, Math.min(max, Math.round(value)));
+    }
+
+    /** Exponential with the given mean, for gaps between events. */
+    static long exponential(SplittableRandom random, long mean) {
+        return (long) (-mean * Math.log(1 - random.nextDouble()));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ticketsystem.seed;
+
+/**
+ * Command line options, {@code --name=value}; {@code --migrate} is a flag. The default target is
+ * a file-based H2 database under {@code target/seed} in MySQL mode.
+ */
+public record SeedConfig(
+        String url,
+        String username,
+        String password,
+        boolean migrate,
+        long seed,
+        int customers,
+        int agents,
+        int tickets,
+        int years,
+        double customerSkew,
+        int medianMessages,
+        int maxMessages,
+        int batchSize
+) {
+
+    public static SeedConfig parse(String[] args) {
+        String url = "jdbc:h2:file:./target/seed/ticket_system;MODE=MySQL";
+        String username = "sa";
+        String password = "";
+        boolean migrate = false;
+        long seed = 42;
+        int customers = 50_000;
+        int agents = 200;
+        int tickets = 1_000_000;
+        int years = 3;
+        double customerSkew = 0.9;
+        int medianMessages = 4;
+        int maxMessages = 500;
+        int batchSize = 2_000;
+
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String[] kv = arg.substring(2).split("=", 2);
+            String value = kv.length > 1 ? kv[1] : "";
+            switch (kv[0]) {
+                case "url" -> url = value;
+                case "user" -> username = value;
+                case "password" -> password = value;
+                case "migrate" -> migrate = value.isEmpty() || Boolean.parseBoolean(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "customers" -> customers = Integer.parseInt(value);
+                case "agents" -> agents = Integer.parseInt(value);
+                case "tickets" -> tickets = Integer.parseInt(value);
+                case "years" -> years = Integer.parseInt(value);
+                case "customer-skew" -> customerSkew = Double.parseDouble(value);
+                case "median-messages" -> medianMessages = Integer.parseInt(value);
+                case "max-messages" -> maxMessages = Integer.parseInt(value);
+                case "batch-size" -> batchSize = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (customers < 1 || agents < 1 || tickets < 0 || years < 1 || batchSize < 1
+                || medianMessages < 1 || maxMessages < medianMessages) {
+            throw new IllegalArgumentException("Invalid sizes: customers, agents, years, batch size and message counts must be positive");
+        }
+        return new SeedConfig(url, username, password, migrate, seed, customers, agents, tickets, years,
+                customerSkew, medianMessages, maxMessages, batchSize);
+    }
+
+    boolean isMySql() {
+        return url.startsWith("jdbc:mysql:");
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.ticketsystem.seed;
+
+import com.example.ticketsystem.entity.TicketStatus;
+import com.example.ticketsystem.phone.PhoneNumberNormalizer;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills a database with production-shaped data: a few customers own most of the tickets
+ * (Zipf), conversation lengths have a long tail, ticket volume grows towards the present and
+ * follows business hours, and statuses depend on age (old tickets are mostly closed).
+ *
+ * <pre>
+ * mvn -Pseed test -Dseed.args="--tickets=2000000 --customers=100000"
+ * mvn -Pseed test -Dseed.args="--url=jdbc:mysql://localhost:3306/ticket_system --user=root --password=..."
+ * </pre>
+ *
+ * Rows are appended after the current maximum ids with plain JDBC batches, so the generator can
+ * run against an empty schema ({@code --migrate} applies the Flyway migrations first) or top up
+ * an existing database. The same {@code --seed} and sizes always produce the same rows; only the
+ * time window moves, ending at the start of the current day.
+ */
+public class SyntheticDataGenerator {
+
+    static final List<String> STATUSES = List.of("Açık", "Atanmış", "İşlemde", "Beklemede", "Çözüldü", "Kapalı");
+    static final List<String> PRIORITIES = List.of("Düşük", "Normal", "Yüksek", "Acil", "Kritik");
+
+    private static final int OPEN = 0;
+    private static final int RESOLVED = 4;
+    private static final int CLOSED = 5;
+
+    // Status weights by ticket age, in STATUSES order
+    private static final int[] RECENT_STATUS_WEIGHTS = {25, 20, 25, 10, 10, 10};
+    private static final int[] MIDDLE_STATUS_WEIGHTS = {4, 6, 10, 10, 20, 50};
+    private static final int[] OLD_STATUS_WEIGHTS = {1, 1, 2, 3, 13, 80};
+    private static final int[] PRIORITY_WEIGHTS = {20, 50, 20, 8, 2};
+    private static final int[] HOUR_WEIGHTS = {
+            1, 1, 1, 1, 1, 1, 2, 4, 8, 12, 14, 14, 10, 12, 14, 13, 11, 8, 5, 4, 3, 2, 2, 1};
+
+    private static final String[] FIRST_NAMES = {
+            "Ahmet", "Mehmet", "Ayşe", "Fatma", "Mustafa", "Zeynep", "Emre", "Elif", "Can", "Şeyma",
+            "Burak", "Gül", "Hakan", "İrem", "Oğuz", "Özge", "Serkan", "Çağla", "Tolga", "Ümran"};
+    private static final String[] LAST_NAMES = {
+            "Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım", "Öztürk", "Aydın", "Özdemir",
+            "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt", "Özkan", "Şimşek"};
+
+    private static final List<Topic> TOPICS = List.of(
+            new Topic("Bağlantı sorunu", "İnternet bağlantısı gün içinde sürekli kopuyor.",
+                    "Modemi yeniden başlattım ama sorun devam ediyor.", "Hattınızda ölçüm yapıyoruz, lütfen modemi açık bırakın."),
+            new Topic("Fatura itirazı", "Bu ayki faturada kullanmadığım bir ek paket görünüyor.",
+                    "Ek paketi hiç aktif etmedim, iade talep ediyorum.", "Fatura detayınızı inceledik, düzeltme talebi oluşturuldu."),
+            new Topic("Şifre sıfırlama", "Hesabıma giriş yapamıyorum, sıfırlama e-postası gelmiyor.",
+                    "Spam klasörünü de kontrol ettim, e-posta yok.", "Sıfırlama bağlantısını yeniden gönderdik."),
+            new Topic("Kargo gecikmesi", "Siparişim bir haftadır aynı şubede bekliyor.",
+                    "Takip numarası hâlâ güncellenmedi.", "Kargo firmasıyla iletişime geçtik, teslimat planlandı."),
+            new Topic("İade talebi", "Ürün hasarlı geldi, iade etmek istiyorum.",
+                    "Fotoğrafları ekte gönderiyorum.", "İade kodunuz oluşturuldu, ürünü en yakın şubeye bırakabilirsiniz."),
+            new Topic("Uygulama hatası", "Mobil uygulama ödeme ekranında kapanıyor.",
+                    "Uygulamayı silip yeniden yükledim, yine aynı.", "Hata kaydını yazılım ekibine ilettik."),
+            new Topic("Adres değişikliği", "Abonelik adresimi güncellemek istiyorum.",
+                    "Yeni adresim bir önceki mesajımda yazılı.", "Adres bilginiz güncellendi."),
+            new Topic("Hız düşüklüğü", "Taahhüt edilen hızın çok altında bağlantı alıyorum.",
+                    "Hız testi sonuçları akşam saatlerinde daha kötü.", "Bölgenizdeki altyapı çalışması sonrası hız normale dönecek."));
+
+    private final SeedConfig config;
+    private final SplittableRandom random;
+    private final LocalDateTime end;
+    private final LocalDateTime start;
+
+    public SyntheticDataGenerator(SeedConfig config) {
+        this.config = config;
+        this.random = new SplittableRandom(config.seed());
+        this.end = LocalDate.now().atStartOfDay();
+        this.start = end.minusYears(config.years());
+    }
+
+    public static void main(String[] args) throws Exception {
+        SeedConfig config = SeedConfig.parse(args);
+        Summary summary = new SyntheticDataGenerator(config).run();
+        System.out.printf("%nSeeded %,d customers, %,d agents, %,d tickets, %,d messages in %s (seed %d)%n",
+                summary.customers(), summary.agents(), summary.tickets(), summary.messages(),
+                summary.elapsed(), config.seed());
+    }
+
+    public record Summary(long customers, long agents, long tickets, long messages, Duration elapsed) {
+    }
+
+    public Summary run() throws SQLException {
+        long started = System.nanoTime();
+        String url = jdbcUrl();
+        if (config.migrate()) {
+            Flyway.configure()
+                    .dataSource(url, config.username(), config.password())
+                    .locations("classpath:db/migration")
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+        }
+        try (Connection connection = DriverManager.getConnection(url, config.username(), config.password())) {
+            connection.setAutoCommit(false);
+            seedLookups(connection);
+
+            long agentBase = maxId(connection, "agents");
+            long customerBase = maxId(connection, "customers");
+            long ticketBase = maxId(connection, "tickets");
+            long messageBase = maxId(connection, "ticket_messages");
+
+            insertPeople(connection, agentBase, config.agents(), true);
+            insertPeople(connection, customerBase, config.customers(), false);
+            long messages = insertTickets(connection, customerBase, agentBase, ticketBase, messageBase);
+            rebuildAggregates(connection);
+
+            if (!config.isMySql()) {
+                for (String table : List.of("ticket_statuses", "ticket_priorities", "agents", "customers",
+                        "tickets", "ticket_messages")) {
+                    restartIdentity(connection, table);
+                }
+            }
+            connection.commit();
+            return new Summary(config.customers(), config.agents(), config.tickets(), messages,
+                    Duration.ofNanos(System.nanoTime() - started).withNanos(0));
+        }
+    }
+
+    // MySQL only turns a JDBC batch into multi-row inserts with this flag
+    private String jdbcUrl() {
+        String url = config.url();
+        if (config.isMySql() && !url.contains("rewriteBatchedStatements")) {
+            url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        }
+        return url;
+    }
+
+    private void seedLookups(Connection connection) throws SQLException {
+        if (maxId(connection, "ticket_statuses") == 0) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO ticket_statuses (id, name, description, category) VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < STATUSES.size(); i++) {
+                    ps.setLong(1, i + 1);
+                    ps.setString(2, STATUSES.get(i));
+                    ps.setString(3, STATUSES.get(i));
+                    ps.setString(4, TicketStatus.defaultCategory(STATUSES.get(i)).name());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        if (maxId(connection, "ticket_priorities") == 0) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO ticket_priorities (id, name, level) VALUES (?, ?, ?)")) {
+                for (int i = 0; i < PRIORITIES.size(); i++) {
+                    ps.setLong(1, i + 1);
+                    ps.setString(2, PRIORITIES.get(i));
+                    ps.setInt(3, i + 1);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        connection.commit();
+    }
+
+    private void insertPeople(Connection connection, long base, int count, boolean agents) throws SQLException {
+        String sql = agents
+                ? "INSERT INTO agents (id, name, email, phone, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)"
+                : "INSERT INTO customers (id, name, email, email_domain, phone, phone_e164, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String domain = agents ? "@destek.example.com" : "@example.com";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                long id = base + i;
+                // People exist before the ticket window opens, so every ticket is newer than its owner
+                Timestamp created = Timestamp.valueOf(start.minusMinutes(random.nextLong(365L * 24 * 60)));
+                int column = 1;
+                ps.setLong(column++, id);
+                ps.setString(column++, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                ps.setString(column++, (agents ? "temsilci." : "musteri.") + id + domain);
+                if (!agents) {
+                    ps.setString(column++, domain.substring(1));
+                }
+                String phone = "05" + (300_000_000 + random.nextInt(600_000_000));
+                ps.setString(column++, phone);
+                if (agents) {
+                    ps.setBoolean(column++, random.nextInt(20) != 0);
+                } else {
+                    ps.setString(column++, PhoneNumberNormalizer.toE164(phone).orElse(null));
+                }
+                ps.setTimestamp(column++, created);
+                ps.setTimestamp(column, created);
+                ps.addBatch();
+                if (i % config.batchSize() == 0) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    // The rows above bypass the application, so recount organizations and customer stats from scratch
+    private void rebuildAggregates(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM organizations");
+            statement.executeUpdate("""
+                    INSERT INTO organizations (domain, customer_count, ticket_count, open_ticket_count, created_at, updated_at)
+                    SELECT c.email_domain, COUNT(DISTINCT c.id), COUNT(t.id),
+                           COALESCE(SUM(CASE WHEN t.status_id IN (1, 2, 3, 4) THEN 1 ELSE 0 END), 0),
+                           MIN(c.created_at), CURRENT_TIMESTAMP(6)
+                    FROM customers c LEFT JOIN tickets t ON t.customer_id = c.id
+                    WHERE c.email_domain IS NOT NULL
+                    GROUP BY c.email_domain
+                    """);
+            statement.executeUpdate("DELETE FROM customer_stats");
+            statement.executeUpdate("""
+                    INSERT INTO customer_stats (customer_id, ticket_count, open_ticket_count, message_count,
+                                                first_ticket_at, last_ticket_at, updated_at)
+                    SELECT t.customer_id, COUNT(t.id),
+                           SUM(CASE WHEN t.status_id IN (1, 2, 3, 4) THEN 1 ELSE 0 END),
+                           COALESCE(SUM(m.message_count), 0), MIN(t.created_at), MAX(t.created_at), CURRENT_TIMESTAMP(6)
+                    FROM tickets t
+                    LEFT JOIN (SELECT ticket_id, COUNT(*) AS message_count FROM ticket_messages GROUP BY ticket_id) m
+                        ON m.ticket_id = t.id
+                    GROUP BY t.customer_id
+                    """);
+        }
+        connection.commit();
+    }
+
+    private long insertTickets(Connection connection, long customerBase, long agentBase,
+                               long ticketBase, long messageBase) throws SQLException {
+        Distributions.Zipf customerPicker = new Distributions.Zipf(config.customers(), config.customerSkew(), random);
+        Distributions.Zipf agentPicker = new Distributions.Zipf(config.agents(), 0.5, random);
+        long messageId = messageBase;
+        int pendingMessages = 0;
+        long progressStarted = System.nanoTime();
+
+        try (PreparedStatement tickets = connection.prepareStatement(
+                "INSERT INTO tickets (id, customer_id, agent_id, title, description, status_id, priority_id, "
+                        + "created_at, updated_at, closed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement messages = connection.prepareStatement(
+                     "INSERT INTO ticket_messages (id, ticket_id, sender_id, sender_type, message, message_type, "
+                             + "priority, is_active, created_at, updated_at, read_at) "
+                             + "VALUES (?, ?, ?, ?, ?, 'NORMAL', 'NORMAL', TRUE, ?, ?, ?)")) {
+
+            for (int i = 1; i <= config.tickets(); i++) {
+                long ticketId = ticketBase + i;
+                long customerId = customerBase + 1 + customerPicker.next(random);
+                LocalDateTime created = ticketCreatedAt();
+                long ageDays = Duration.between(created, end).toDays();
+                int status = Distributions.weighted(random, ageDays < 14 ? RECENT_STATUS_WEIGHTS
+                        : ageDays < 60 ? MIDDLE_STATUS_WEIGHTS : OLD_STATUS_WEIGHTS);
+                Long agentId = status == OPEN ? null : agentBase + 1 + agentPicker.next(random);
+                Topic topic = TOPICS.get(random.nextInt(TOPICS.size()));
+
+                // Unassigned tickets have only heard from the customer
+                int messageCount = agentId == null
+                        ? 1 + random.nextInt(2)
+                        : Distributions.logNormal(random, config.medianMessages(), 0.9, config.maxMessages());
+                LocalDateTime at = created;
+                boolean lastFromAgent = false;
+                for (int m = 0; m < messageCount; m++) {
+                    boolean fromAgent = agentId != null && m > 0 && random.nextInt(100) < (lastFromAgent ? 25 : 80);
+                    long senderId = fromAgent
+                            ? (random.nextInt(20) == 0 ? agentBase + 1 + agentPicker.next(random) : agentId)
+                            : customerId;
+                    if (m > 0) {
+                        at = min(at.plusMinutes(Distributions.exponential(random, lastFromAgent ? 600 : 180)), end);
+                    }
+                    LocalDateTime readAt = m + 1 < messageCount ? min(at.plusMinutes(random.nextInt(120)), end) : null;
+                    messages.setLong(1, ++messageId);
+                    messages.setLong(2, ticketId);
+                    messages.setLong(3, senderId);
+                    messages.setString(4, fromAgent ? "AGENT" : "CUSTOMER");
+                    messages.setString(5, m == 0 ? topic.description() : fromAgent ? topic.agentLine() : topic.customerLine());
+                    messages.setTimestamp(6, Timestamp.valueOf(at));
+                    messages.setTimestamp(7, Timestamp.valueOf(at));
+                    messages.setTimestamp(8, readAt != null ? Timestamp.valueOf(readAt) : null);
+                    messages.addBatch();
+                    pendingMessages++;
+                    lastFromAgent = fromAgent;
+                }
+
+                LocalDateTime closedAt = status == RESOLVED || status == CLOSED
+                        ? min(at.plusMinutes(Distributions.exponential(random, 360)), end)
+                        : null;
+                tickets.setLong(1, ticketId);
+                tickets.setLong(2, customerId);
+                if (agentId != null) {
+                    tickets.setLong(3, agentId);
+                } else {
+                    tickets.setNull(3, Types.BIGINT);
+                }
+                tickets.setString(4, topic.title());
+                tickets.setString(5, topic.description());
+                tickets.setLong(6, status + 1);
+                tickets.setLong(7, Distributions.weighted(random, PRIORITY_WEIGHTS) + 1);
+                tickets.setTimestamp(8, Timestamp.valueOf(created));
+                tickets.setTimestamp(9, Timestamp.valueOf(closedAt != null ? closedAt : at));
+                tickets.setTimestamp(10, closedAt != null ? Timestamp.valueOf(closedAt) : null);
+                tickets.addBatch();
+
+                if (i % config.batchSize() == 0 || pendingMessages >= config.batchSize() * 4) {
+                    tickets.executeBatch();
+                    messages.executeBatch();
+                    connection.commit();
+                    pendingMessages = 0;
+                }
+                if (i % 100_000 == 0) {
+                    double seconds = (System.nanoTime() - progressStarted) / 1e9;
+                    System.out.printf("  %,d tickets, %,d messages (%.0f tickets/s)%n",
+                            i, messageId - messageBase, i / seconds);
+                }
+            }
+            tickets.executeBatch();
+            messages.executeBatch();
+            connection.commit();
+        }
+        return messageId - messageBase;
+    }
+
+    /** Volume grows linearly towards the present and follows business hours. */
+    private LocalDateTime ticketCreatedAt() {
+        long days = Duration.between(start, end).toDays();
+        long day = Math.min(days - 1, (long) (Math.sqrt(random.nextDouble()) * days));
+        return start.plusDays(day)
+                .plusHours(Distributions.weighted(random, HOUR_WEIGHTS))
+                .plusMinutes(random.nextInt(60))
+                .plusSeconds(random.nextInt(60));
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // H2 does not move an identity column past explicitly inserted ids; MySQL's AUTO_INCREMENT does
+    private static void restartIdentity(Connection connection, String table) throws SQLException {
+        long next = maxId(connection, table) + 1;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private record Topic(String title, String description, String customerLine, String agentLine) {
+    }
+}
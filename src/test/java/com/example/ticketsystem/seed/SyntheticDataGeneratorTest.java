@@ -0,0 +1,55 @@
+package com.example.ticketsystem.seed;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDataGeneratorTest {
+
+    private static final String FINGERPRINT = """
+            SELECT COUNT(*) || ':' || SUM(customer_id) || ':' || SUM(COALESCE(agent_id, 0)) || ':'
+                   || SUM(status_id * priority_id) || ':' || MIN(created_at) || ':' || MAX(updated_at)
+            FROM tickets""";
+
+    @Test
+    void sameSeedProducesTheSameData() throws Exception {
+        JdbcTemplate first = generate("seed_a", 42);
+        JdbcTemplate second = generate("seed_b", 42);
+        JdbcTemplate other = generate("seed_c", 7);
+
+        assertThat(first.queryForObject(FINGERPRINT, String.class))
+                .isEqualTo(second.queryForObject(FINGERPRINT, String.class))
+                .isNotEqualTo(other.queryForObject(FINGERPRINT, String.class));
+        assertThat(first.queryForObject("SELECT COUNT(*) FROM ticket_messages", Long.class))
+                .isEqualTo(second.queryForObject("SELECT COUNT(*) FROM ticket_messages", Long.class));
+    }
+
+    @Test
+    void dataIsSkewedAndConsistent() throws Exception {
+        JdbcTemplate jdbc = generate("seed_shape", 42);
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Integer.class)).isEqualTo(5_000);
+        // The busiest customer has far more than the average of 10 tickets
+        assertThat(jdbc.queryForObject(
+                "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM tickets GROUP BY customer_id) t", Integer.class))
+                .isGreaterThan(100);
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM tickets WHERE (status_id = 1) <> (agent_id IS NULL)", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM ticket_messages m JOIN tickets t ON t.id = m.ticket_id "
+                        + "WHERE m.created_at < t.created_at", Integer.class)).isZero();
+        // Identity columns continue after the generated ids
+        jdbc.update("INSERT INTO customers (name, email, created_at) VALUES ('Yeni', 'yeni@example.com', NOW())");
+        assertThat(jdbc.queryForObject("SELECT MAX(id) FROM customers", Long.class)).isEqualTo(501L);
+    }
+
+    private static JdbcTemplate generate(String database, long seed) throws Exception {
+        String url = "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        new SyntheticDataGenerator(SeedConfig.parse(new String[]{
+                "--url=" + url, "--migrate", "--seed=" + seed,
+                "--customers=500", "--agents=20", "--tickets=5000", "--batch-size=500"})).run();
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ticketsystem.slowquery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryDataSourceTest {
+
+    private final DriverManagerDataSource db =
+            new DriverManagerDataSource("jdbc:h2:mem:slow_query;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(db).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void recordsSqlBindsRowsAndUpdateCounts() {
+        SlowQueryLog log = log(Duration.ZERO, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(new SlowQueryDataSource(db, log));
+
+        jdbc.execute("CREATE TABLE item (id INT, name VARCHAR(20))");
+        jdbc.update("INSERT INTO item VALUES (?, ?), (?, ?)", 1, "a", 2, null);
+        List<String> names = jdbc.queryForList("SELECT name FROM item WHERE id >= ?", String.class, 1);
+
+        assertThat(names).hasSize(2);
+        SlowQuery select = log.recent(1).get(0);
+        assertThat(select.sql()).isEqualTo("SELECT name FROM item WHERE id >= ?");
+        assertThat(select.binds()).containsExactly("1");
+        assertThat(select.rows()).isEqualTo(2);
+        assertThat(select.callSite()).isNotBlank();
+
+        SlowQuery insert = log.recent(2).get(1);
+        assertThat(insert.binds()).containsExactly("1", "a", "2", "NULL");
+        assertThat(insert.rows()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresFastStatementsAndKeepsOnlyTheNewest() {
+        SlowQueryLog fast = log(Duration.ofMinutes(1), 10);
+        new JdbcTemplate(new SlowQueryDataSource(db, fast)).queryForObject("SELECT 1", Integer.class);
+        assertThat(fast.recent(10)).isEmpty();
+
+        SlowQueryLog small = log(Duration.ZERO, 2);
+        JdbcTemplate jdbc = new JdbcTemplate(new SlowQueryDataSource(db, small));
+        for (int i = 0; i < 5; i++) {
+            jdbc.queryForObject("SELECT " + i, Integer.class);
+        }
+        assertThat(small.recent(10)).extracting(SlowQuery::sql).containsExactly("SELECT 4", "SELECT 3");
+        assertThat(small.totalRecorded()).isEqualTo(5);
+    }
+
+    private static SlowQueryLog log(Duration threshold, int capacity) {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThreshold(threshold);
+        properties.setCapacity(capacity);
+        return new SlowQueryLog(properties);
+    }
+}
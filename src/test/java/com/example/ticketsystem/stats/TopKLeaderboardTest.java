@@ -0,0 +1,74 @@
+package com.example.ticketsystem.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKLeaderboardTest {
+
+    @Test
+    void keepsTheBestCustomersRankedByCountThenId() {
+        TopKLeaderboard board = new TopKLeaderboard(3);
+        board.reset(List.of(entry(1, 5), entry(2, 9), entry(3, 5), entry(4, 1), entry(5, 7)));
+
+        assertThat(ids(board.top(10))).containsExactly(2L, 5L, 1L);
+        assertThat(board.isFull()).isTrue();
+        assertThat(ids(board.top(2))).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void incrementsReorderMembersAndPromoteOutsiders() {
+        TopKLeaderboard board = new TopKLeaderboard(2);
+        board.reset(List.of(entry(1, 3), entry(2, 2)));
+
+        assertThat(board.increment(2, 2)).isTrue();
+        assertThat(ids(board.top(2))).containsExactly(2L, 1L);
+
+        assertThat(board.increment(3, 1)).isFalse();
+        board.offer(3, 3);
+        // Ties rank the lower id first, so 3 does not displace 1
+        assertThat(ids(board.top(2))).containsExactly(2L, 1L);
+
+        board.offer(3, 4);
+        assertThat(ids(board.top(2))).containsExactly(2L, 3L);
+        assertThat(board.increment(1, 1)).isFalse();
+    }
+
+    @Test
+    void staysExactUnderRandomTicketCreation() {
+        int customers = 200;
+        long[] counts = new long[customers];
+        TopKLeaderboard board = new TopKLeaderboard(10);
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            // Skewed towards low ids, like real ticket volume
+            int customer = (int) Math.min(customers - 1, Math.abs(random.nextGaussian()) * 40);
+            counts[customer]++;
+            if (!board.increment(customer, 1)) {
+                board.offer(customer, counts[customer]);
+            }
+        }
+
+        List<Long> expected = IntStream.range(0, customers)
+                .mapToObj(id -> entry(id, counts[id]))
+                .filter(e -> e.ticketCount() > 0)
+                .sorted(TopKLeaderboard.RANKING)
+                .limit(10)
+                .map(TopKLeaderboard.Entry::customerId)
+                .toList();
+        assertThat(ids(board.top(10))).isEqualTo(expected);
+    }
+
+    private static TopKLeaderboard.Entry entry(long customerId, long ticketCount) {
+        return new TopKLeaderboard.Entry(customerId, ticketCount);
+    }
+
+    private static List<Long> ids(List<TopKLeaderboard.Entry> entries) {
+        return entries.stream().map(TopKLeaderboard.Entry::customerId).toList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ticketsystem.support;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Performs a MockMvc request and fails if it issued more SQL statements than allowed. The
+ * failure message lists the statements, which is usually enough to spot the N+1.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultActions perform(MockMvc mockMvc, int maxStatements, RequestBuilder request) throws Exception {
+        SqlRecorder.Recording<ResultActions> recording = SqlRecorder.record(() -> mockMvc.perform(request));
+        String label = recording.result().andReturn().getRequest().getMethod() + " "
+                + recording.result().andReturn().getRequest().getRequestURI();
+        assertThat(recording.count())
+                .as("%s issued %d statements (budget %d):%n  %s", label, recording.count(), maxStatements,
+                        String.join(System.lineSeparator() + "  ", recording.statements()))
+                .isLessThanOrEqualTo(maxStatements);
+        return recording.result();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ticketsystem.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's primary data source so that {@link SqlRecorder} sees every
+ * statement, including the ones Hibernate issues for lazy loads and flushes.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetConfig {
+
+    @Bean
+    static BeanPostProcessor statementRecordingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new StatementRecordingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
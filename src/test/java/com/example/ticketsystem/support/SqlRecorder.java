@@ -0,0 +1,48 @@
+package com.example.ticketsystem.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Collects the SQL executed on the current thread while recording. MockMvc runs the request
+ * on the test thread, so a recording around {@code perform(..)} sees exactly that request.
+ */
+public final class SqlRecorder {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    private SqlRecorder() {
+    }
+
+    static void statement(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    public static <T> Recording<T> record(Callable<T> action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        List<String> outer = STATEMENTS.get();
+        STATEMENTS.set(statements);
+        try {
+            T result = action.call();
+            return new Recording<>(result, List.copyOf(statements));
+        } finally {
+            if (outer != null) {
+                outer.addAll(statements);
+                STATEMENTS.set(outer);
+            } else {
+                STATEMENTS.remove();
+            }
+        }
+    }
+
+    public record Recording<T>(T result, List<String> statements) {
+
+        public int count() {
+            return statements.size();
+        }
+    }
+}
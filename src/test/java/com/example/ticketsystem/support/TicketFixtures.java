@@ -0,0 +1,93 @@
+package com.example.ticketsystem.support;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.Customer;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.entity.TicketMessage;
+import com.example.ticketsystem.entity.TicketPriority;
+import com.example.ticketsystem.entity.TicketStatus;
+import com.example.ticketsystem.repository.AgentRepository;
+import com.example.ticketsystem.repository.CustomerRepository;
+import com.example.ticketsystem.repository.TicketMessageRepository;
+import com.example.ticketsystem.repository.TicketPriorityRepository;
+import com.example.ticketsystem.repository.TicketRepository;
+import com.example.ticketsystem.repository.TicketStatusRepository;
+import com.example.ticketsystem.workflow.TicketStatusMachine;
+import org.springframework.context.ApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Builds test data through the repositories. Statuses and priorities are created once with the
+ * same names and ids as the Flyway seed data; everything else is unique per call.
+ */
+public class TicketFixtures {
+
+    private final CustomerRepository customers;
+    private final AgentRepository agents;
+    private final TicketRepository tickets;
+    private final TicketMessageRepository messages;
+    private final TicketStatusRepository statuses;
+    private final TicketPriorityRepository priorities;
+    private final TicketStatusMachine statusMachine;
+
+    public TicketFixtures(ApplicationContext context) {
+        this.customers = context.getBean(CustomerRepository.class);
+        this.agents = context.getBean(AgentRepository.class);
+        this.tickets = context.getBean(TicketRepository.class);
+        this.messages = context.getBean(TicketMessageRepository.class);
+        this.statuses = context.getBean(TicketStatusRepository.class);
+        this.priorities = context.getBean(TicketPriorityRepository.class);
+        this.statusMachine = context.getBean(TicketStatusMachine.class);
+        seedLookups();
+    }
+
+    private void seedLookups() {
+        if (statuses.count() == 0) {
+            for (String name : List.of("Açık", "Atanmış", "İşlemde", "Beklemede", "Çözüldü", "Kapalı")) {
+                statuses.save(new TicketStatus(name, name));
+            }
+            // Compile the new statuses now rather than inside the first measured request
+            statusMachine.reload();
+        }
+        if (priorities.count() == 0) {
+            List<String> names = List.of("Düşük", "Normal", "Yüksek", "Acil", "Kritik");
+            for (int i = 0; i < names.size(); i++) {
+                priorities.save(new TicketPriority(names.get(i), i + 1));
+            }
+        }
+    }
+
+    public Customer customer() {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        return customers.save(new Customer("Müşteri " + key, "customer-" + key + "@example.com", "05551234567"));
+    }
+
+    public Agent agent() {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        return agents.save(new Agent("Temsilci " + key, "agent-" + key + "@example.com", "05329876543"));
+    }
+
+    public Ticket ticket(Customer customer, Agent agent) {
+        Ticket ticket = new Ticket(customer, agent, "Bağlantı sorunu", "İnternet bağlantısı sürekli kopuyor",
+                statuses.findById(agent != null ? 2L : 1L).orElseThrow(),
+                priorities.findById(2L).orElseThrow());
+        return tickets.save(ticket);
+    }
+
+    /** A ticket whose conversation alternates between its customer and {@code agentCount} agents. */
+    public Ticket conversation(int messageCount, int agentCount) {
+        Customer customer = customer();
+        List<Agent> repliers = IntStream.range(0, agentCount).mapToObj(i -> agent()).toList();
+        Ticket ticket = ticket(customer, repliers.isEmpty() ? null : repliers.get(0));
+        for (int i = 0; i < messageCount; i++) {
+            TicketMessage message = i % 2 == 0 || repliers.isEmpty()
+                    ? new TicketMessage(ticket, customer.getId(), TicketMessage.SenderType.CUSTOMER, "Müşteri mesajı " + i)
+                    : new TicketMessage(ticket, repliers.get(i / 2 % repliers.size()).getId(), TicketMessage.SenderType.AGENT, "Temsilci cevabı " + i);
+            messages.save(message);
+        }
+        return ticket;
+    }
+}
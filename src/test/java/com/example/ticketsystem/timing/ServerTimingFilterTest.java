@@ -0,0 +1,63 @@
+package com.example.ticketsystem.timing;
+
+import com.example.ticketsystem.slowquery.SlowQueryDataSource;
+import com.example.ticketsystem.slowquery.SlowQueryLog;
+import com.example.ticketsystem.slowquery.SlowQueryProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingProperties properties = new ServerTimingProperties();
+
+    @Test
+    void forcedRequestGetsBreakdownAndBodyIsPreserved() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets/1");
+        request.addHeader(properties.getForceHeader(), "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(properties).doFilter(request, response, (req, res) -> {
+            RequestTiming.Segment mapping = RequestTiming.enter(RequestTiming.Segment.MAPPING);
+            RequestTiming.Segment db = RequestTiming.enter(RequestTiming.Segment.DB);
+            RequestTiming.exit(db);
+            RequestTiming.exit(mapping);
+            RequestTiming.enter(RequestTiming.Segment.SERIALIZATION);
+            res.getWriter().write("{\"id\":1}");
+        });
+
+        assertThat(response.getHeader("Server-Timing"))
+                .contains("app;dur=", "db;dur=", "desc=\"1 stmt\"", "mapping;dur=", "serialization;dur=", "total;dur=");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(RequestTiming.enter(RequestTiming.Segment.DB)).isNull();
+    }
+
+    @Test
+    void multiRowQueryCountsAsOneStatement() throws Exception {
+        DriverManagerDataSource db = new DriverManagerDataSource("jdbc:h2:mem:server_timing;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(new SlowQueryDataSource(db, new SlowQueryLog(new SlowQueryProperties())));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets");
+        request.addHeader(properties.getForceHeader(), "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(properties).doFilter(request, response, (req, res) ->
+                assertThat(jdbc.queryForList("SELECT x FROM SYSTEM_RANGE(1, 5)", Long.class)).hasSize(5));
+
+        assertThat(response.getHeader("Server-Timing")).contains("db;dur=", "desc=\"1 stmt\"");
+    }
+
+    @Test
+    void unsampledRequestsAreUntouched() throws Exception {
+        properties.setSampleRate(0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(properties).doFilter(new MockHttpServletRequest("GET", "/api/tickets"), response,
+                (req, res) -> assertThat(RequestTiming.enter(RequestTiming.Segment.DB)).isNull());
+
+        assertThat(response.getHeader("Server-Timing")).isNull();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ticketsystem.workflow;
+
+import com.example.ticketsystem.entity.Agent;
+import com.example.ticketsystem.entity.StatusCategory;
+import com.example.ticketsystem.entity.Ticket;
+import com.example.ticketsystem.entity.TicketStatus;
+import com.example.ticketsystem.repository.TicketStatusRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TicketStatusMachineTest {
+
+    private final List<TicketStatus> statuses = new ArrayList<>(List.of(
+            status(1, TicketStatus.OPEN), status(2, TicketStatus.ASSIGNED), status(3, TicketStatus.IN_PROGRESS),
+            status(4, TicketStatus.WAITING), status(5, TicketStatus.RESOLVED), status(6, TicketStatus.CLOSED)));
+    private final TicketStatusRepository repository = mock(TicketStatusRepository.class);
+    private final TicketStatusMachine machine = new TicketStatusMachine(repository, new WorkflowProperties());
+
+    TicketStatusMachineTest() {
+        when(repository.findAll()).thenAnswer(i -> List.copyOf(statuses));
+        machine.reload();
+    }
+
+    @Test
+    void compilesCategoriesAndTheClosingStatus() {
+        assertThat(machine.activeStatusIds()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(machine.category(5)).isEqualTo(StatusCategory.CLOSED);
+        assertThat(machine.closingStatusId()).contains(6L);
+    }
+
+    @Test
+    void followsTheConfiguredTransitions() {
+        assertThat(machine.canTransition(statuses.get(0), statuses.get(1))).isTrue();
+        assertThat(machine.canTransition(statuses.get(4), statuses.get(2))).isTrue();
+        assertThat(machine.canTransition(statuses.get(5), statuses.get(5))).isTrue();
+        assertThat(machine.canTransition(statuses.get(5), statuses.get(2))).isFalse();
+        assertThatThrownBy(() -> machine.validate(statuses.get(2), statuses.get(0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("İşlemde → Açık");
+    }
+
+    @Test
+    void stampsClosedAtOnceAndClearsItOnReopen() {
+        Ticket ticket = new Ticket();
+        ticket.setStatus(statuses.get(2));
+
+        machine.transition(ticket, statuses.get(4));
+        LocalDateTime resolvedAt = ticket.getClosedAt();
+        assertThat(resolvedAt).isNotNull();
+        machine.transition(ticket, statuses.get(5));
+        assertThat(ticket.getClosedAt()).isEqualTo(resolvedAt);
+
+        assertThat(machine.tryTransition(ticket, statuses.get(2))).isFalse();
+        assertThat(ticket.getStatus()).isEqualTo(statuses.get(5));
+        machine.transition(ticket, statuses.get(0));
+        assertThat(ticket.getClosedAt()).isNull();
+    }
+
+    @Test
+    void ticketPredicatesFollowTheCategoryNotTheName() {
+        TicketStatus archived = status(7, "Arşivlendi");
+        archived.setCategory(StatusCategory.CLOSED);
+        Ticket ticket = new Ticket();
+        ticket.setStatus(statuses.get(3));
+
+        assertThat(ticket.isOpen()).isTrue();
+        ticket.setAgent(new Agent());
+        assertThat(ticket.isAssigned()).isTrue();
+        ticket.setStatus(archived);
+        assertThat(ticket.isClosed()).isTrue();
+        assertThat(ticket.isActive()).isFalse();
+    }
+
+    @Test
+    void reloadsOnceForAStatusAddedAfterCompiling() {
+        TicketStatus escalated = status(9, "Eskale");
+        statuses.add(escalated);
+
+        // Not named in the transitions, so it may move anywhere
+        assertThat(machine.canTransition(escalated, statuses.get(5))).isTrue();
+        assertThat(machine.isActive(9)).isTrue();
+        verify(repository, times(2)).findAll();
+    }
+
+    private static TicketStatus status(long id, String name) {
+        TicketStatus status = new TicketStatus(name, name);
+        status.setId(id);
+        return status;
+    }
+}